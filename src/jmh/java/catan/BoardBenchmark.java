@@ -0,0 +1,118 @@
+package catan;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Board queries used on every turn: tile corners, edge lookup by
+ * intersection pair, adjacency, the settlement distance rule and the tiles
+ * producing for a roll. Each operation covers the whole board once.
+ * Board creation, copying and reset measure per-game setup cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    @Param({"EARLY", "MID", "LATE"})
+    public Fixtures.Stage stage;
+
+    private Board board;
+    private Edge[] edges;
+    private int tileCount;
+    private int intersectionCount;
+
+    @Setup
+    public void setUp() {
+        board = stage.state().toBoard();
+        edges = board.getAllEdges();
+        tileCount = board.getTileCount();
+        intersectionCount = board.getIntersectionCount();
+    }
+
+    /** All 19 tiles through the list-returning API. */
+    @Benchmark
+    public void intersectionsAdjacentToTile(Blackhole bh) {
+        for (int t = 0; t < tileCount; t++) {
+            bh.consume(board.getIntersectionsAdjacentToTile(t));
+        }
+    }
+
+    /** All 19 tiles through the shared corner arrays. */
+    @Benchmark
+    public void tileCornerIds(Blackhole bh) {
+        for (int t = 0; t < tileCount; t++) {
+            bh.consume(board.getTileCornerIds(t));
+        }
+    }
+
+    /** Every edge looked up by its two intersections. */
+    @Benchmark
+    public int edgeOccupiedLookup() {
+        int occupied = 0;
+        for (Edge e : edges) {
+            if (board.isEdgeOccupied(e.getIntersectionA(), e.getIntersectionB())) occupied++;
+        }
+        return occupied;
+    }
+
+    /** Every intersection's neighbours, visited without allocation. */
+    @Benchmark
+    public void adjacentIntersections(Blackhole bh) {
+        for (int i = 0; i < intersectionCount; i++) {
+            board.forEachAdjacentIntersection(i, bh::consume);
+        }
+    }
+
+    /** The distance rule for every intersection. */
+    @Benchmark
+    public int settlementDistanceRule() {
+        int blocked = 0;
+        for (int i = 0; i < intersectionCount; i++) {
+            if (board.hasOccupiedAdjacentIntersection(i)) blocked++;
+        }
+        return blocked;
+    }
+
+    /** The producing tiles for every roll but 7. */
+    @Benchmark
+    public void tilesForEachRoll(Blackhole bh) {
+        for (int roll = 2; roll <= 12; roll++) {
+            if (roll != 7) bh.consume(board.getTilesWithDiceNumber(roll));
+        }
+    }
+
+    /** A fresh standard board on the shared topology. */
+    @Benchmark
+    public Board newBoard() {
+        return new Board();
+    }
+
+    /** A copy of the stage's board, as taken by every rollout. */
+    @Benchmark
+    public Board copyBoard() {
+        return new Board(board);
+    }
+
+    /** A copy of the stage's board cleared back to the start position. */
+    @Benchmark
+    public Board copyAndReset() {
+        Board copy = new Board(board);
+        copy.reset();
+        return copy;
+    }
+}
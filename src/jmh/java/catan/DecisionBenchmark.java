@@ -0,0 +1,81 @@
+package catan;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decisions per second: RuleBasedDecisionEngine.chooseBestAction over the
+ * legal actions of a player who can afford everything, and one Monte Carlo
+ * play-out (Rollout) of the same position, which is what
+ * MonteCarloStrategy runs a thousand times per decision.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DecisionBenchmark {
+
+    @Param({"EARLY", "MID", "LATE"})
+    public Fixtures.Stage stage;
+
+    /** Turn limit of one play-out, as in MonteCarloStrategy. */
+    private static final int ROLLOUT_TURNS = MonteCarloStrategy.DEFAULT_ROLLOUT_TURNS;
+
+    private final Rules rules = new Rules();
+    private RuleBasedDecisionEngine engine;
+    private Board board;
+    private List<Player> players;
+    private Player player;
+    private List<Action> actions;
+
+    private Rollout rollout;
+    private GameState start;
+    private Board scratchBoard;
+    private IncrementalMoveGenerator scratchMoves;
+    private List<Player> scratchPlayers;
+    private Action firstAction;
+    private final Random rolloutRng = new Random(Fixtures.SEED);
+
+    @Setup
+    public void setUp() {
+        engine = new RuleBasedDecisionEngine(new Random(Fixtures.SEED), rules);
+        engine.setEventSink(NoOpEventSink.INSTANCE);
+        board = stage.state().toBoard();
+        players = Fixtures.players(stage);
+        player = players.get(0);
+        Fixtures.fillHand(player);
+        actions = rules.getValidActionsByLinearScan(player, board);
+
+        rollout = new Rollout(rules);
+        start = GameState.capture(board, players, stage.rounds);
+        scratchBoard = start.toBoard();
+        scratchMoves = new IncrementalMoveGenerator(scratchBoard);
+        scratchPlayers = start.toPlayers(new Random(Fixtures.SEED));
+        firstAction = engine.chooseBestAction(player, board, actions, players);
+    }
+
+    @Benchmark
+    public Action chooseBestAction() {
+        return engine.chooseBestAction(player, board, actions, players);
+    }
+
+    @Benchmark
+    public int rollout() {
+        return rollout.play(start, scratchBoard, scratchMoves, scratchPlayers, 0, firstAction, rolloutRng,
+            ROLLOUT_TURNS, MonteCarloStrategy.DEFAULT_VICTORY_POINTS_TO_WIN);
+    }
+}
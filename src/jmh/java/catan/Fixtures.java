@@ -0,0 +1,154 @@
+package catan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Board positions shared by the benchmarks.
+ *
+ * Positions come from real headless AI games with fixed seeds, stopped at
+ * three stages:
+ * <ul>
+ *   <li>EARLY: just after initial placement (2 settlements and 2 roads each)</li>
+ *   <li>MID: after 25 rounds</li>
+ *   <li>LATE: after 80 rounds, or when someone won</li>
+ * </ul>
+ * Each fixture is captured once per JVM and handed out as fresh boards and
+ * players, so benchmarks that change the position can reset it.
+ */
+public final class Fixtures {
+
+    /** Seed of the games the positions come from. */
+    static final long SEED = 20240917L;
+
+    /** Game stages a benchmark can be parameterized with. */
+    public enum Stage {
+        EARLY(0), MID(25), LATE(80);
+
+        final int rounds;
+        private GameState state;
+
+        Stage(int rounds) {
+            this.rounds = rounds;
+        }
+
+        /**
+         * Returns the position, playing the game the first time.
+         *
+         * @return the captured position; do not modify
+         */
+        synchronized GameState state() {
+            if (state == null) {
+                state = play(rounds, SEED).captureState();
+            }
+            return state;
+        }
+    }
+
+    private Fixtures() {
+    }
+
+    /**
+     * Plays a headless AI game for a number of rounds.
+     *
+     * @param rounds rounds to play; 0 stops after initial placement
+     * @param seed the game's seed
+     * @return the game
+     */
+    static Game play(int rounds, long seed) {
+        Game game = new Game(Math.max(rounds, 1), seed);
+        game.setHeadless(true);
+        game.initializeAiOnlyGame();
+        if (rounds > 0) {
+            game.runSimulationUntilTermination();
+        }
+        return game;
+    }
+
+    /**
+     * Builds new players holding a stage's position.
+     *
+     * @param stage the stage
+     * @return the players in seat order
+     */
+    static List<Player> players(Stage stage) {
+        return stage.state().toPlayers(new Random(SEED));
+    }
+
+    /**
+     * Gives a player enough cards to afford every action, so move
+     * generation and decisions see every action type.
+     *
+     * @param player the player
+     */
+    static void fillHand(Player player) {
+        for (Resources r : Resources.values()) {
+            int missing = 5 - player.getResourceCount(r);
+            if (missing > 0) player.addResource(r, missing);
+        }
+    }
+
+    /**
+     * Builds the worst case for longest road with 15 roads: one player owns
+     * every edge around three hexes that meet at a corner. The network has
+     * three cycles and nine branch points, so a trail search has to try many
+     * ways around it.
+     *
+     * @param board an empty standard board; the roads are placed on it
+     * @return the owner of the roads, player 1
+     */
+    static Player placeThreeHexRoadNetwork(Board board) {
+        int[] tiles = findMeetingTriple(board);
+        Player player = new Player(1, Colour.RED, new Random(SEED));
+        int roads = 0;
+        for (int tile : tiles) {
+            int[] corners = board.getTileCornerIds(tile);
+            for (int i = 0; i < corners.length; i++) {
+                for (int j = i + 1; j < corners.length; j++) {
+                    int a = corners[i];
+                    int b = corners[j];
+                    if (board.getEdge(a, b) != null && !board.isEdgeOccupied(a, b)) {
+                        board.placeRoad(player.getPlayerId(), a, b);
+                        player.recordPlacedRoad(a, b);
+                        roads++;
+                    }
+                }
+            }
+        }
+        if (roads != 15) {
+            throw new IllegalStateException("Expected 15 roads, placed " + roads);
+        }
+        return player;
+    }
+
+    // three tiles that pairwise share an edge and all share one corner
+    private static int[] findMeetingTriple(Board board) {
+        int n = board.getTileCount();
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                for (int c = b + 1; c < n; c++) {
+                    if (shared(board, a, b).size() == 2 && shared(board, a, c).size() == 2
+                            && shared(board, b, c).size() == 2) {
+                        List<Integer> ab = shared(board, a, b);
+                        ab.retainAll(shared(board, a, c));
+                        if (ab.size() == 1) {
+                            return new int[] {a, b, c};
+                        }
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException("No three tiles meet at a corner");
+    }
+
+    private static List<Integer> shared(Board board, int tileA, int tileB) {
+        List<Integer> result = new ArrayList<>();
+        for (int x : board.getTileCornerIds(tileA)) {
+            for (int y : board.getTileCornerIds(tileB)) {
+                if (x == y) result.add(x);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package catan;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Whole headless AI-only games, as BatchSimulator plays them: set-up,
+ * initial placement and rounds until someone wins or the round limit.
+ * Every operation plays a new seed, so the average covers many games.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FullGameBenchmark {
+
+    @Param({"200"})
+    public int maxRounds;
+
+    private long seed = Fixtures.SEED;
+
+    @Benchmark
+    public int headlessGame() {
+        Game game = new Game(maxRounds, seed++);
+        game.setHeadless(true);
+        game.initializeAiOnlyGame();
+        game.runSimulationUntilTermination();
+        return game.getRoundNumber();
+    }
+}
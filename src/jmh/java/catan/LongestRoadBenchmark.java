@@ -0,0 +1,63 @@
+package catan;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * RoadNetworkAnalyzer.calculateLongestRoad for the player with the most
+ * roads in each game stage, plus the 15-road worst case (every edge around
+ * three hexes meeting at a corner).
+ *
+ * "uncached" uses a new analyzer per call and so always runs the trail
+ * search; "cached" reuses one analyzer the way the decision engine does, so
+ * only the cache check runs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LongestRoadBenchmark {
+
+    @Param({"EARLY", "MID", "LATE", "WORST_15"})
+    public String network;
+
+    private Board board;
+    private Player player;
+    private final RoadNetworkAnalyzer sharedAnalyzer = new RoadNetworkAnalyzer();
+
+    @Setup
+    public void setUp() {
+        if (network.equals("WORST_15")) {
+            board = new Board();
+            player = Fixtures.placeThreeHexRoadNetwork(board);
+            return;
+        }
+        Fixtures.Stage stage = Fixtures.Stage.valueOf(network);
+        board = stage.state().toBoard();
+        for (Player p : Fixtures.players(stage)) {
+            if (player == null || p.getRoadCount() > player.getRoadCount()) player = p;
+        }
+    }
+
+    @Benchmark
+    public int uncached() {
+        return new RoadNetworkAnalyzer().calculateLongestRoad(player, board);
+    }
+
+    @Benchmark
+    public int cached() {
+        return sharedAnalyzer.calculateLongestRoad(player, board);
+    }
+}
@@ -0,0 +1,51 @@
+package catan;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Game.distributeResourcesForRoll for every roll but 7 in one operation,
+ * with the buildings of each game stage. Hands are reset to the stage's
+ * position before every iteration so they do not grow without bound.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResourceDistributionBenchmark {
+
+    @Param({"EARLY", "MID", "LATE"})
+    public Fixtures.Stage stage;
+
+    private Game game;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = Fixtures.play(stage.rounds, Fixtures.SEED);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetHands() {
+        game.restoreState(stage.state());
+    }
+
+    @Benchmark
+    public void distributeResourcesForRoll() {
+        for (int roll = 2; roll <= 12; roll++) {
+            if (roll != 7) game.distributeResourcesForRoll(roll);
+        }
+    }
+}
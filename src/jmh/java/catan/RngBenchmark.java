@@ -0,0 +1,78 @@
+package catan;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The random draws of a turn: the dice roll, discarding half a hand on a
+ * 7 and stealing a card, with children of a secure or a seeded
+ * RandomSource. The discard refills the hand to ten cards first, so each
+ * operation discards five.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RngBenchmark {
+
+    public enum Source {
+        SECURE, SEEDED;
+
+        RandomSource create() {
+            return this == SECURE ? RandomSource.secure() : RandomSource.seeded(Fixtures.SEED);
+        }
+    }
+
+    private static final Resources[] HAND = {
+        Resources.WOOD, Resources.BRICK, Resources.SHEEP, Resources.WHEAT, Resources.ORE
+    };
+
+    @Param({"SECURE", "SEEDED"})
+    public Source source;
+
+    private Dice dice;
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        RandomSource rng = source.create();
+        dice = new Dice(rng.split());
+        player = new Player(1, Colour.RED, rng.split());
+        refill();
+    }
+
+    @Benchmark
+    public int rollTwoSixSidedDice() {
+        return dice.rollTwoSixSidedDice();
+    }
+
+    @Benchmark
+    public int discardHalfCards() {
+        refill();
+        return player.discardHalfCards();
+    }
+
+    /** The hand keeps its cards, so every draw sees the same ten. */
+    @Benchmark
+    public Resources getRandomResource() {
+        return player.getRandomResource();
+    }
+
+    private void refill() {
+        for (Resources type : HAND) {
+            player.addResource(type, 2 - player.getResourceCount(type));
+        }
+    }
+}
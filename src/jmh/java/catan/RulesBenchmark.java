@@ -0,0 +1,55 @@
+package catan;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Legal move generation for one player: the full linear scan over every
+ * intersection and edge, against the incremental generator the game uses.
+ * The player holds enough cards for every action type.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RulesBenchmark {
+
+    @Param({"EARLY", "MID", "LATE"})
+    public Fixtures.Stage stage;
+
+    private final Rules rules = new Rules();
+    private Board board;
+    private Player player;
+    private IncrementalMoveGenerator generator;
+
+    @Setup
+    public void setUp() {
+        board = stage.state().toBoard();
+        player = Fixtures.players(stage).get(0);
+        Fixtures.fillHand(player);
+        generator = new IncrementalMoveGenerator(board);
+    }
+
+    @Benchmark
+    public List<Action> validActionsByLinearScan() {
+        return rules.getValidActionsByLinearScan(player, board);
+    }
+
+    @Benchmark
+    public List<Action> validActionsIncremental() {
+        return generator.getValidActions(player);
+    }
+}
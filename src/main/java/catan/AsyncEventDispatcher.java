@@ -0,0 +1,145 @@
+package catan;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands events to a listener on a background thread through an SpscRing.
+ *
+ * Subscribe the dispatcher instead of a slow listener: the game thread only
+ * stores the event in the ring, and the "event-dispatcher" thread delivers
+ * it, in publication order. When the ring is full the game thread waits
+ * for room, so a slow listener slows the game down instead of using
+ * unbounded memory. An idle dispatcher thread parks until the next event.
+ *
+ * Events must be published from one thread at a time, which is how a Game
+ * publishes. flush() waits until everything published so far has been
+ * delivered; close() also stops the thread.
+ */
+public class AsyncEventDispatcher implements GameEventListener, AutoCloseable {
+
+    /** Ring capacity used by the single-argument constructor. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /** How long flush() sleeps between checks for delivery. */
+    private static final long FLUSH_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final SpscRing<GameEvent> ring;
+    private final GameEventListener listener;
+    private final Thread worker;
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    // events offered by the producer, and delivered by the worker
+    private volatile long published;
+    private volatile long delivered;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a dispatcher with the default ring capacity.
+     *
+     * @param listener the listener to call on the background thread
+     */
+    public AsyncEventDispatcher(GameEventListener listener) {
+        this(listener, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a dispatcher and starts its background thread.
+     *
+     * @param listener the listener to call on the background thread
+     * @param capacity most events waiting before the publisher blocks
+     */
+    public AsyncEventDispatcher(GameEventListener listener, int capacity) {
+        this.listener = listener;
+        this.ring = new SpscRing<>(capacity);
+        worker = new Thread(this::drainLoop, "event-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Queues an event for the listener. Called by the bus on the publishing thread.
+     *
+     * @param event the event
+     * @throws IllegalStateException if the dispatcher is closed
+     */
+    @Override
+    public void onEvent(GameEvent event) {
+        if (closed) {
+            throw new IllegalStateException("Event dispatcher is closed");
+        }
+        while (!ring.offer(event)) {
+            LockSupport.unpark(worker);
+            Thread.yield();
+        }
+        published++;
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * Waits until every event queued before this call has been delivered.
+     *
+     * @throws RuntimeException the first exception a listener threw since
+     *         the last flush; delivery of later events went on
+     */
+    public void flush() {
+        long target = published;
+        while (delivered < target && worker.isAlive()) {
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(FLUSH_PARK_NANOS);
+        }
+        RuntimeException first = failure.getAndSet(null);
+        if (first != null) {
+            throw first;
+        }
+    }
+
+    /**
+     * Delivers the remaining events and stops the background thread.
+     * The thread is stopped even if a listener failed. Calling it again
+     * does nothing.
+     *
+     * @throws RuntimeException the first exception a listener threw since
+     *         the last flush
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+            LockSupport.unpark(worker);
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            GameEvent event = ring.poll();
+            if (event != null) {
+                deliver(event);
+            } else if (closed) {
+                return;
+            } else {
+                // onEvent() and close() unpark after their write, so no wakeup is lost
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    private void deliver(GameEvent event) {
+        try {
+            listener.onEvent(event);
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+        delivered++;
+    }
+}
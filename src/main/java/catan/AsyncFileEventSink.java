@@ -0,0 +1,205 @@
+package catan;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Appends messages to a text file on a background thread.
+ *
+ * The game thread only puts the message on a bounded queue; the background
+ * thread writes it through a buffered writer as "LEVEL message" lines. When
+ * the queue is full the game thread waits, so a slow disk slows the game
+ * down instead of using unbounded memory. Messages are on disk after
+ * flush() or close(); a write failure stops the file and is reported by
+ * getFailure().
+ */
+public class AsyncFileEventSink implements GameEventSink {
+
+    /** Queue capacity used by the two-argument constructor. */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final int BATCH = 256;
+
+    private final Level threshold;
+    private final BlockingQueue<Object> queue;
+    private final BufferedWriter out;
+    private final Thread worker;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    /**
+     * Opens a log file with the default queue capacity.
+     *
+     * @param file the file to append to; created if missing
+     * @param threshold the lowest level written
+     * @throws IOException if the file cannot be opened
+     */
+    public AsyncFileEventSink(Path file, Level threshold) throws IOException {
+        this(file, threshold, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Opens a log file and starts the background thread.
+     *
+     * @param file the file to append to; created if missing
+     * @param threshold the lowest level written
+     * @param capacity most messages waiting at once before the game thread blocks
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public AsyncFileEventSink(Path file, Level threshold, int capacity) throws IOException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.threshold = threshold;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        worker = new Thread(this::drainLoop, "event-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public boolean isEnabled(Level level) {
+        return !closed && level.isAtLeast(threshold);
+    }
+
+    @Override
+    public void emit(Level level, String message) {
+        if (!closed) {
+            put(new Entry(level, message));
+        }
+    }
+
+    /**
+     * Waits until every message logged before this call is on disk.
+     */
+    @Override
+    public synchronized void flush() {
+        if (!closed) {
+            awaitMarker(new Marker(false));
+        }
+    }
+
+    /**
+     * Writes the remaining messages, closes the file and stops the
+     * background thread. Later messages are discarded.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        awaitMarker(new Marker(true));
+        closed = true;
+    }
+
+    /**
+     * Returns the write failure that stopped the file, if any.
+     *
+     * @return the first I/O error, or null
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    private void awaitMarker(Marker marker) {
+        put(marker);
+        try {
+            marker.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void put(Object item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        List<Object> batch = new ArrayList<>(BATCH);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, BATCH - 1);
+            for (Object item : batch) {
+                if (item instanceof Entry) {
+                    write((Entry) item);
+                } else {
+                    Marker marker = (Marker) item;
+                    finish(marker.close);
+                    marker.done.countDown();
+                    if (marker.close) {
+                        return;
+                    }
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(Entry entry) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            out.write(entry.level.name());
+            out.write(' ');
+            out.write(entry.message);
+            out.newLine();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private void finish(boolean close) {
+        try {
+            if (close) {
+                out.close();
+            } else if (failure == null) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+    }
+
+    private static final class Entry {
+        final Level level;
+        final String message;
+
+        Entry(Level level, String message) {
+            this.level = level;
+            this.message = message;
+        }
+    }
+
+    private static final class Marker {
+        final boolean close;
+        final CountDownLatch done = new CountDownLatch(1);
+
+        Marker(boolean close) {
+            this.close = close;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package catan;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes JSON state files on a background thread so file I/O stays off the
+ * game thread.
+ *
+ * The game thread takes a GameSnapshot and hands it over through a bounded
+ * queue; the background thread passes it to the writers registered in a
+ * StateWriterRegistry. When the queue is full the game thread waits, so a
+ * slow disk slows the game down instead of using unbounded memory.
+ *
+ * Turn snapshots are coalesced: only the latest state matters, so a turn
+ * snapshot submitted while an older one is still waiting replaces it. Round
+ * snapshots are all kept and written in order, in batches of whatever has
+ * queued up (see StateWriter.writeAll). Turn log writers get every turn
+ * snapshot, in order with the rounds.
+ *
+ * flush() waits until everything submitted so far is on disk, flushing
+ * every registered writer. close() also closes the writers. A JVM shutdown
+ * hook flushes on exit as well, until close() is called.
+ */
+public class AsyncStateWriter implements AutoCloseable {
+
+    /** Queue capacity used by the single-argument constructor. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /** How long the shutdown hook waits for pending writes. */
+    private static final long EXIT_FLUSH_SECONDS = 5;
+
+    // queue item that stands for the snapshot waiting in latestTurn
+    private static final Object TURN_PENDING = new Object();
+    private static final Object STOP = new Object();
+
+    private final BlockingQueue<Object> queue;
+    private final AtomicReference<SnapshotWrite> latestTurn = new AtomicReference<>();
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+    private final StateWriterRegistry registry;
+    private final Thread worker;
+    private final Thread shutdownHook;
+    private volatile boolean closed;
+    private volatile TurnProfiler profiler = TurnProfiler.disabled();
+
+    /**
+     * Constructs a writer with the default queue capacity.
+     *
+     * @param registry the writers to pass snapshots to
+     */
+    public AsyncStateWriter(StateWriterRegistry registry) {
+        this(registry, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a writer and starts its background thread.
+     *
+     * @param registry the writers to pass snapshots to
+     * @param capacity most writes waiting at once before submitters block
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public AsyncStateWriter(StateWriterRegistry registry, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.registry = registry;
+        queue = new ArrayBlockingQueue<>(capacity);
+
+        worker = new Thread(this::drainLoop, "state-writer");
+        worker.setDaemon(true);
+        worker.start();
+
+        shutdownHook = new Thread(this::flushOnExit, "state-writer-exit");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Times the round and turn writers into a profiler, on the background
+     * thread (phases ROUND_STATE_WRITE and TURN_STATE_WRITE).
+     *
+     * @param profiler the profiler, or null to stop timing
+     */
+    public void setProfiler(TurnProfiler profiler) {
+        this.profiler = (profiler == null) ? TurnProfiler.disabled() : profiler;
+    }
+
+    /**
+     * Queues a snapshot for the round writers.
+     *
+     * @param snapshot the end-of-round snapshot
+     * @param outputDir the directory to write into, or null for the current folder
+     * @throws IllegalStateException if the writer is closed
+     */
+    public void submitRoundSnapshot(GameSnapshot snapshot, Path outputDir) {
+        put(new SnapshotWrite(snapshot, orCurrent(outputDir)));
+    }
+
+    /**
+     * Queues a snapshot for the turn writers, replacing any turn snapshot
+     * still waiting.
+     *
+     * @param snapshot the end-of-turn snapshot
+     * @param outputDir the directory to write into, or null for the current folder
+     * @throws IllegalStateException if the writer is closed
+     */
+    public void submitTurnSnapshot(GameSnapshot snapshot, Path outputDir) {
+        ensureOpen();
+        SnapshotWrite write = new SnapshotWrite(snapshot, orCurrent(outputDir));
+        if (!registry.getTurnLogWriters().isEmpty()) {
+            put(new TurnLogWrite(write));
+        }
+        if (registry.getTurnWriters().isEmpty()) {
+            return;
+        }
+        if (latestTurn.getAndSet(write) == null) {
+            // nothing was waiting, so no marker is queued yet
+            put(TURN_PENDING);
+        }
+    }
+
+    /**
+     * Waits until everything submitted before this call has been written.
+     *
+     * @throws IOException the first write failure since the last flush; the
+     *         writes after it were still attempted
+     * @throws IllegalStateException if the writer is closed or the wait is interrupted
+     */
+    public void flush() throws IOException {
+        awaitBarrier(false);
+    }
+
+    private void awaitBarrier(boolean closeWriters) throws IOException {
+        Barrier barrier = new Barrier(closeWriters);
+        put(barrier);
+        try {
+            barrier.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while flushing state files", e);
+        }
+        IOException first = failure.getAndSet(null);
+        if (first != null) {
+            throw first;
+        }
+    }
+
+    /**
+     * Writes everything pending, closes the registered writers, then stops
+     * the background thread and removes the shutdown hook.
+     *
+     * @throws IOException the first write failure since the last flush
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            awaitBarrier(true);
+        } finally {
+            closed = true;
+            queue.offer(STOP);
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // already shutting down; the hook is running or has run
+            }
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("State writer is closed");
+        }
+    }
+
+    private void put(Object item) {
+        ensureOpen();
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a state file", e);
+        }
+    }
+
+    private void flushOnExit() {
+        if (closed) {
+            return;
+        }
+        Barrier barrier = new Barrier(true);
+        try {
+            if (queue.offer(barrier, EXIT_FLUSH_SECONDS, TimeUnit.SECONDS)) {
+                barrier.done.await(EXIT_FLUSH_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Background thread: takes everything queued, writes it in order, repeats.
+     */
+    private void drainLoop() {
+        List<Object> batch = new ArrayList<>();
+        List<GameSnapshot> rounds = new ArrayList<>();
+        Path roundsDir = null;
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+
+            for (Object item : batch) {
+                if (item instanceof SnapshotWrite) {
+                    SnapshotWrite write = (SnapshotWrite) item;
+                    if (!write.dir.equals(roundsDir)) {
+                        writeRounds(rounds, roundsDir);
+                        roundsDir = write.dir;
+                    }
+                    rounds.add(write.snapshot);
+                    continue;
+                }
+
+                // anything else is ordered after the rounds before it
+                writeRounds(rounds, roundsDir);
+                if (item == TURN_PENDING) {
+                    TurnProfiler timer = profiler;
+                    long start = timer.start();
+                    writeTurn(registry.getTurnWriters(), latestTurn.getAndSet(null));
+                    timer.stop(TurnProfiler.Phase.TURN_STATE_WRITE, start);
+                } else if (item instanceof TurnLogWrite) {
+                    writeTurn(registry.getTurnLogWriters(), ((TurnLogWrite) item).write);
+                } else if (item instanceof Barrier) {
+                    finish((Barrier) item);
+                } else if (item == STOP) {
+                    return;
+                }
+            }
+            writeRounds(rounds, roundsDir);
+            batch.clear();
+        }
+    }
+
+    private void writeRounds(List<GameSnapshot> rounds, Path dir) {
+        if (rounds.isEmpty()) {
+            return;
+        }
+        TurnProfiler timer = profiler;
+        long start = timer.start();
+        for (StateWriter writer : registry.getRoundWriters()) {
+            try {
+                writer.writeAll(rounds, dir);
+            } catch (IOException | RuntimeException e) {
+                recordFailure(e);
+            }
+        }
+        timer.stop(TurnProfiler.Phase.ROUND_STATE_WRITE, start);
+        rounds.clear();
+    }
+
+    private void writeTurn(List<StateWriter> writers, SnapshotWrite write) {
+        if (write == null) {
+            return;
+        }
+        for (StateWriter writer : writers) {
+            try {
+                writer.write(write.snapshot, write.dir);
+            } catch (IOException | RuntimeException e) {
+                recordFailure(e);
+            }
+        }
+    }
+
+    private void finish(Barrier barrier) {
+        for (StateWriter writer : registry.allWriters()) {
+            try {
+                if (barrier.closeWriters) {
+                    writer.close();
+                } else {
+                    writer.flush();
+                }
+            } catch (IOException | RuntimeException e) {
+                recordFailure(e);
+            }
+        }
+        barrier.done.countDown();
+    }
+
+    // a failing writer must not stop the thread or the other writers
+    private void recordFailure(Exception e) {
+        IOException io = (e instanceof IOException) ? (IOException) e : new IOException(e.getMessage(), e);
+        failure.compareAndSet(null, io);
+    }
+
+    private static Path orCurrent(Path dir) {
+        return (dir == null) ? Paths.get(".") : dir;
+    }
+
+    private static final class SnapshotWrite {
+
+        final GameSnapshot snapshot;
+        final Path dir;
+
+        SnapshotWrite(GameSnapshot snapshot, Path dir) {
+            this.snapshot = snapshot;
+            this.dir = dir;
+        }
+    }
+
+    private static final class TurnLogWrite {
+
+        final SnapshotWrite write;
+
+        TurnLogWrite(SnapshotWrite write) {
+            this.write = write;
+        }
+    }
+
+    private static final class Barrier {
+
+        final CountDownLatch done = new CountDownLatch(1);
+        final boolean closeWriters;
+
+        Barrier(boolean closeWriters) {
+            this.closeWriters = closeWriters;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package catan;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays many AI-only games concurrently and reports aggregate statistics.
+ *
+ * Each game is fully independent: it owns its own Board, Rules, Dice and a
+ * fast seeded RandomSource (batch seed plus the game index), so any single
+ * game can be replayed from its seed. Games run headless, so no console or
+ * file output is produced, and are spread over a fixed worker pool sized to
+ * the number of available cores by default.
+ *
+ * Usage: BatchSimulator [games] [maxRounds] [threads] [seed] [profile.json]
+ *
+ * Given a fifth argument, every game also times its turn phases (see
+ * TurnProfiler); the combined timings are printed after the report and
+ * written to that file as JSON.
+ */
+@SuppressWarnings("java:S106")
+public class BatchSimulator {
+
+    /** Highest victory point total tracked individually in the VP distribution. */
+    static final int MAX_TRACKED_VP = 20;
+
+    private final int games;
+    private final int maxRounds;
+    private final int threads;
+    private final long baseSeed;
+    private TurnProfiler profiler = TurnProfiler.disabled();
+    private HexShape boardShape;
+
+    /**
+     * Constructs a batch simulator.
+     *
+     * @param games number of games to play
+     * @param maxRounds maximum number of rounds per game
+     * @param threads number of worker threads
+     * @param baseSeed seed of game 0; game i uses baseSeed + i
+     * @throws IllegalArgumentException if games, maxRounds or threads is not positive
+     */
+    public BatchSimulator(int games, int maxRounds, int threads, long baseSeed) {
+        if (games < 1 || maxRounds < 1 || threads < 1) {
+            throw new IllegalArgumentException(
+                "games, maxRounds and threads must all be positive.");
+        }
+        this.games = games;
+        this.maxRounds = maxRounds;
+        this.threads = threads;
+        this.baseSeed = baseSeed;
+    }
+
+    /**
+     * Times the turn phases of every game and adds them to a profiler.
+     *
+     * @param profiler the profiler collecting all games, or null for none
+     */
+    public void setProfiler(TurnProfiler profiler) {
+        this.profiler = (profiler == null) ? TurnProfiler.disabled() : profiler;
+    }
+
+    /**
+     * Plays every game on its own random board of the given shape, generated
+     * from the game's seed, instead of the standard fixed layout.
+     *
+     * @param boardShape the shape to generate, or null for the standard layout
+     */
+    public void setBoardShape(HexShape boardShape) {
+        this.boardShape = boardShape;
+    }
+
+    /**
+     * Entry point for headless batch simulation.
+     *
+     * @param args optional: games, maxRounds, threads, seed, profile output file
+     * @throws IOException if the profile cannot be written
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException, IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int maxRounds = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                                      : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        BatchSimulator simulator = new BatchSimulator(games, maxRounds, threads, seed);
+        TurnProfiler profiler = args.length > 4 ? new TurnProfiler() : null;
+        simulator.setProfiler(profiler);
+        System.out.println(simulator.run().toReport());
+        if (profiler != null) {
+            System.out.println(profiler.toReport());
+            profiler.writeJson(Paths.get(args[4]));
+        }
+    }
+
+    /**
+     * Plays every game in the batch and aggregates the results.
+     *
+     * @return the aggregate result of all games
+     * @throws InterruptedException if interrupted while waiting for games
+     * @throws ExecutionException if a game throws an exception
+     */
+    public BatchResult run() throws InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<GameResult>> futures = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                long seed = baseSeed + i;
+                futures.add(pool.submit(() -> playOneGame(seed, maxRounds, profiler, boardShape)));
+            }
+
+            BatchResult result = new BatchResult();
+            for (Future<GameResult> future : futures) {
+                result.add(future.get());
+            }
+            result.elapsedNanos = System.nanoTime() - start;
+            return result;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays a single headless AI-only game to termination.
+     *
+     * @param seed the root seed of the game's RandomSource
+     * @param maxRounds maximum number of rounds
+     * @return the outcome of the game
+     */
+    static GameResult playOneGame(long seed, int maxRounds) {
+        return playOneGame(seed, maxRounds, TurnProfiler.disabled());
+    }
+
+    /**
+     * Plays a single headless AI-only game to termination, timing its turns
+     * into a profiler of its own and adding that to the given one.
+     *
+     * @param seed the root seed of the game's RandomSource
+     * @param maxRounds maximum number of rounds
+     * @param total the profiler collecting every game, or the disabled one
+     * @return the outcome of the game
+     */
+    static GameResult playOneGame(long seed, int maxRounds, TurnProfiler total) {
+        return playOneGame(seed, maxRounds, total, null);
+    }
+
+    /**
+     * Plays a single headless AI-only game to termination, optionally on a
+     * random board generated from the seed.
+     *
+     * @param seed the root seed of the game's RandomSource and of its board
+     * @param maxRounds maximum number of rounds
+     * @param total the profiler collecting every game, or the disabled one
+     * @param boardShape the shape to generate, or null for the standard layout
+     * @return the outcome of the game
+     */
+    static GameResult playOneGame(long seed, int maxRounds, TurnProfiler total, HexShape boardShape) {
+        Game game = new Game(maxRounds, seed);
+        game.setHeadless(true);
+        if (boardShape != null) {
+            game.setBoardTopology(BoardGenerator.generate(boardShape, seed));
+        }
+        if (total.isEnabled()) {
+            game.setProfiler(new TurnProfiler());
+        }
+        game.initializeAiOnlyGame();
+        game.runSimulationUntilTermination();
+        if (total.isEnabled()) {
+            total.add(game.getProfiler());
+        }
+
+        List<Player> players = game.getPlayers();
+        int[] victoryPoints = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            victoryPoints[i] = players.get(i).getVictoryPoints();
+        }
+
+        Player winner = game.getWinnerOrNull();
+        int winnerSeat = (winner == null) ? -1 : players.indexOf(winner);
+
+        // roundNumber is advanced past the final round when the loop exits
+        return new GameResult(winnerSeat, game.getRoundNumber() - 1, victoryPoints);
+    }
+
+    /**
+     * The outcome of one simulated game.
+     */
+    public static class GameResult {
+
+        private final int winnerSeat;
+        private final int roundsPlayed;
+        private final int[] victoryPoints;
+
+        /**
+         * Constructs a GameResult.
+         *
+         * @param winnerSeat seat index of the winner, or -1 if nobody won
+         * @param roundsPlayed number of rounds played
+         * @param victoryPoints final victory points indexed by seat
+         */
+        public GameResult(int winnerSeat, int roundsPlayed, int[] victoryPoints) {
+            this.winnerSeat = winnerSeat;
+            this.roundsPlayed = roundsPlayed;
+            this.victoryPoints = victoryPoints.clone();
+        }
+
+        /**
+         * Returns the seat index of the winner.
+         *
+         * @return the winning seat (0-based), or -1 if nobody won
+         */
+        public int getWinnerSeat() {return winnerSeat;}
+
+        /**
+         * Returns the number of rounds played.
+         *
+         * @return rounds played
+         */
+        public int getRoundsPlayed() {return roundsPlayed;}
+
+        /**
+         * Returns the final victory points of each seat.
+         *
+         * @return a copy of the victory points array
+         */
+        public int[] getVictoryPoints() {return victoryPoints.clone();}
+    }
+
+    /**
+     * Aggregate statistics across all games in a batch.
+     */
+    public static class BatchResult {
+
+        private int gamesPlayed;
+        private int gamesWithoutWinner;
+        private long totalRounds;
+        private long elapsedNanos;
+        private int[] winsBySeat = new int[0];
+        private final long[] victoryPointHistogram = new long[MAX_TRACKED_VP + 1];
+
+        /**
+         * Adds one game's outcome to the aggregate.
+         *
+         * @param game the result to add
+         */
+        void add(GameResult game) {
+            int seats = game.victoryPoints.length;
+            if (winsBySeat.length < seats) {
+                winsBySeat = java.util.Arrays.copyOf(winsBySeat, seats);
+            }
+
+            gamesPlayed++;
+            totalRounds += game.roundsPlayed;
+            if (game.winnerSeat < 0) {
+                gamesWithoutWinner++;
+            } else {
+                winsBySeat[game.winnerSeat]++;
+            }
+
+            // VP above the tracked range is counted in the last bucket
+            for (int vp : game.victoryPoints) {
+                victoryPointHistogram[Math.min(vp, MAX_TRACKED_VP)]++;
+            }
+        }
+
+        /**
+         * Returns the number of games played.
+         *
+         * @return games played
+         */
+        public int getGamesPlayed() {return gamesPlayed;}
+
+        /**
+         * Returns the number of games that hit the round limit without a winner.
+         *
+         * @return games without a winner
+         */
+        public int getGamesWithoutWinner() {return gamesWithoutWinner;}
+
+        /**
+         * Returns how many games each seat won.
+         *
+         * @return wins indexed by seat
+         */
+        public int[] getWinsBySeat() {return winsBySeat.clone();}
+
+        /**
+         * Returns the fraction of games won by the given seat.
+         *
+         * @param seat the seat index
+         * @return win rate between 0 and 1
+         */
+        public double getWinRate(int seat) {
+            if (gamesPlayed == 0 || seat < 0 || seat >= winsBySeat.length) return 0.0;
+            return (double) winsBySeat[seat] / gamesPlayed;
+        }
+
+        /**
+         * Returns the mean number of rounds per game.
+         *
+         * @return average rounds
+         */
+        public double getAverageRounds() {
+            return gamesPlayed == 0 ? 0.0 : (double) totalRounds / gamesPlayed;
+        }
+
+        /**
+         * Returns how many final player scores fell on each VP total.
+         * Index i counts scores of exactly i VP; the last index also holds
+         * every score above it.
+         *
+         * @return the VP distribution
+         */
+        public long[] getVictoryPointHistogram() {return victoryPointHistogram.clone();}
+
+        /**
+         * Returns the wall-clock time taken by the batch.
+         *
+         * @return elapsed time in nanoseconds
+         */
+        public long getElapsedNanos() {return elapsedNanos;}
+
+        /**
+         * Returns batch throughput.
+         *
+         * @return games completed per second of wall-clock time
+         */
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : gamesPlayed / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        /**
+         * Builds a human-readable summary of the batch.
+         *
+         * @return the report text
+         */
+        public String toReport() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("=== BATCH SIMULATION ===\n");
+            sb.append("Games: ").append(gamesPlayed).append('\n');
+            sb.append(String.format("Average rounds: %.2f%n", getAverageRounds()));
+            for (int seat = 0; seat < winsBySeat.length; seat++) {
+                sb.append(String.format("Seat %d (Player %d) win rate: %.2f%%%n",
+                    seat, seat + 1, getWinRate(seat) * 100.0));
+            }
+            sb.append("No winner: ").append(gamesWithoutWinner).append('\n');
+            sb.append("VP distribution:\n");
+            for (int vp = 0; vp < victoryPointHistogram.length; vp++) {
+                if (victoryPointHistogram[vp] > 0) {
+                    sb.append("  ").append(vp).append(vp == MAX_TRACKED_VP ? "+" : "")
+                      .append(" VP: ").append(victoryPointHistogram[vp]).append('\n');
+                }
+            }
+            sb.append(String.format("Throughput: %.1f games/s%n", getGamesPerSecond()));
+            return sb.toString();
+        }
+    }
+}
@@ -5,9 +5,8 @@
 package catan;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.function.IntConsumer;
 
 /**
  * Represents the game board for Catan.
@@ -16,165 +15,176 @@ import java.util.Map;
  * Tile ID:  center=0, inner ring=1-6, outer ring=7-18
  * Node ID:  0-53
  *
+ * The layout itself (resources, number tokens and adjacency) lives in a
+ * shared, immutable BoardTopology; a Board only holds the pieces, the
+ * robber and the hash, so creating or resetting one is cheap.
+ *
  * @author Rameen Tariq, Komal Khan
  */
 public class Board {
 
+    private BoardTopology topology;
+
     private Tile[] tiles;
 
     private Intersection[] intersections;
     private Edge[] edges;
 
     /**
-     * Maps each intersection ID to the list of adjacent intersection IDs.
-     * Built once during initialization and used for distance rule checks.
+     * Tiles carrying each dice number token, indexed by number (0-12).
+     * Mirrors the topology's table with this board's tile objects.
      */
-    private Map<Integer, List<Integer>> adjacentIntersectionIdsByIntersectionId;
+    private Tile[][] tilesByDiceNumber;
 
     /**
-     * Maps each intersection ID to the list of adjacent tile IDs.
-     * Built once during initialization and used for resource distribution.
+     * Edges touching each intersection, indexed by intersection ID.
+     * Mirrors the topology's table with this board's edge objects.
      */
-    private Map<Integer, List<Integer>> adjacentTileIdsByIntersectionId;
+    private Edge[][] incidentEdgesByIntersectionId;
 
     private int robberTileId;
 
     /**
-     * Creates a new Board and initializes the fixed layout.
+     * Zobrist hash of the buildings, roads and robber tile, updated in
+     * constant time by every place, remove and robber move (see Zobrist).
+     */
+    private long zobristHash;
+
+    /** Notified of every piece placed or removed; usually empty. */
+    private final List<BoardListener> listeners = new ArrayList<>();
+
+    /**
+     * Creates a new Board with the standard layout and the robber on the desert.
      */
     public Board() {
-        initializeFixedMapLayout();
-        initializeRobber();
+        this(BoardTopology.standard());
     }
 
     /**
-     * Initializes the board with all tiles, intersections, and edges.
+     * Creates an empty board on the given layout, with the robber on its
+     * start tile. The topology is shared, not copied.
+     *
+     * @param topology the layout
+     */
+    public Board(BoardTopology topology) {
+        this.topology = topology;
+        createPieces();
+    }
+
+    /**
+     * Creates an independent copy of another board: same tiles, pieces and
+     * robber position, with no listeners. The topology is shared; only the
+     * tile, intersection and edge objects are copied.
+     *
+     * @param other the board to copy
+     */
+    public Board(Board other) {
+        topology = other.topology;
+        createPieces();
+
+        for (int i = 0; i < intersections.length; i++) {
+            Intersection source = other.intersections[i];
+            if (source.hasBuilding()) {
+                intersections[i].placeSettlement(source.getOwnerPlayerId());
+                intersections[i].setBuilding(source.getBuilding());
+            }
+        }
+        for (int i = 0; i < edges.length; i++) {
+            Edge source = other.edges[i];
+            if (source.isOccupied()) {
+                edges[i].placeRoad(source.getRoadOwnerId());
+            }
+        }
+
+        moveRobber(other.robberTileId);
+        zobristHash = other.zobristHash;
+    }
+
+    /**
+     * Returns the layout this board is built on.
+     *
+     * @return the shared topology
+     */
+    public BoardTopology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Removes every building and road and puts the robber back on its start
+     * tile, leaving the board as it was when created. Listeners stay
+     * registered and are told about each removed piece. Linear in the
+     * board size; nothing is reallocated.
+     */
+    public void reset() {
+        for (Intersection inter : intersections) {
+            if (inter.hasBuilding()) removeSettlement(inter.getIntersectionId());
+        }
+        for (Edge e : edges) {
+            if (e.isOccupied()) removeRoad(e.getIntersectionA(), e.getIntersectionB());
+        }
+        moveRobber(topology.getRobberStartTileId());
+    }
+
+    /**
+     * Rebuilds the board on the standard layout with no pieces and the
+     * robber on the desert. The constructor already does this; kept for
+     * callers that set a board up in two steps. Listeners are not notified.
      */
     public void initializeFixedMapLayout() {
-        tiles = new Tile[19];
-
-        Resources[] resources = {
-            Resources.WOOD,
-            Resources.WHEAT,
-            Resources.BRICK,
-            Resources.ORE,
-            Resources.SHEEP,
-            Resources.SHEEP,
-            Resources.SHEEP,
-            Resources.WHEAT,
-            Resources.ORE,
-            Resources.WOOD,
-            Resources.ORE,
-            Resources.WHEAT,
-            Resources.WOOD,
-            Resources.BRICK,
-            Resources.BRICK,
-            Resources.WHEAT,
-            Resources.DESERT,
-            Resources.WOOD,
-            Resources.SHEEP
-        };
-
-        int[] diceNumbers = {10, 11, 8, 3, 11, 5, 12, 3, 6, 4, 6, 9, 5, 9, 8, 4, 0, 2, 10};
-
-        for (int i = 0; i < 19; i++) {
-            tiles[i] = new Tile(i, resources[i], diceNumbers[i]);
+        topology = BoardTopology.standard();
+        createPieces();
+    }
+
+    /**
+     * Allocates fresh tiles, intersections and edges for the topology and
+     * puts the robber on its start tile.
+     */
+    private void createPieces() {
+        tiles = new Tile[topology.getTileCount()];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = new Tile(i, topology.getResource(i), topology.getDiceNumber(i));
         }
 
-        intersections = new Intersection[54];
-        for (int i = 0; i < 54; i++) {
+        intersections = new Intersection[topology.getIntersectionCount()];
+        for (int i = 0; i < intersections.length; i++) {
             intersections[i] = new Intersection(i);
         }
 
-        Map<Integer, int[]> tileCorners = new HashMap<>();
-
-        /*
-         * CHANGE:
-         * This tile-to-corner mapping matches the visualizer / Catanatron
-         * node numbering.
-         */
-        tileCorners.put(0,  new int[]{0, 1, 2, 3, 4, 5});
-
-        tileCorners.put(1,  new int[]{2, 6, 7, 8, 9, 3});
-        tileCorners.put(2,  new int[]{4, 3, 9, 10, 11, 12});
-        tileCorners.put(3,  new int[]{13, 5, 4, 12, 14, 15});
-        tileCorners.put(4,  new int[]{16, 17, 0, 5, 13, 18});
-        tileCorners.put(5,  new int[]{19, 20, 21, 1, 0, 17});
-        tileCorners.put(6,  new int[]{21, 22, 23, 6, 2, 1});
-
-        tileCorners.put(7,  new int[]{7, 24, 25, 26, 27, 8});
-        tileCorners.put(8,  new int[]{9, 8, 27, 28, 29, 10});
-        tileCorners.put(9,  new int[]{11, 10, 29, 30, 31, 32});
-        tileCorners.put(10, new int[]{14, 12, 11, 32, 33, 34});
-        tileCorners.put(11, new int[]{35, 15, 14, 34, 36, 37});
-        tileCorners.put(12, new int[]{38, 18, 13, 15, 35, 39});
-        tileCorners.put(13, new int[]{40, 41, 16, 18, 38, 42});
-        tileCorners.put(14, new int[]{43, 44, 19, 17, 16, 41});
-        tileCorners.put(15, new int[]{45, 46, 47, 20, 19, 44});
-        tileCorners.put(16, new int[]{47, 48, 49, 22, 21, 20});
-        tileCorners.put(17, new int[]{49, 50, 51, 52, 23, 22});
-        tileCorners.put(18, new int[]{23, 52, 53, 24, 7, 6});
-
-        /*
-         * CHANGE:
-         * Build intersection -> adjacent tile mapping.
-         */
-        adjacentTileIdsByIntersectionId = new HashMap<>();
-        for (int tileId = 0; tileId < 19; tileId++) {
-            int[] corners = tileCorners.get(tileId);
-            for (int nodeId : corners) {
-                adjacentTileIdsByIntersectionId
-                    .computeIfAbsent(nodeId, k -> new ArrayList<>())
-                    .add(tileId);
-            }
+        edges = new Edge[topology.getEdgeCount()];
+        for (int i = 0; i < edges.length; i++) {
+            edges[i] = new Edge(topology.edgeIntersectionA(i), topology.edgeIntersectionB(i));
         }
 
-        /*
-         * CHANGE:
-         * Generate legal edges directly from the correct tile corner map.
-         * This produces exactly 72 unique edges.
-         */
-        adjacentIntersectionIdsByIntersectionId = new HashMap<>();
-        List<int[]> edgePairs = new ArrayList<>();
-        Map<String, Boolean> seenEdges = new HashMap<>();
-
-        for (int tileId = 0; tileId < 19; tileId++) {
-            int[] corners = tileCorners.get(tileId);
-
-            for (int i = 0; i < corners.length; i++) {
-                int a = corners[i];
-                int b = corners[(i + 1) % corners.length];
-
-                String key = Edge.edgeKey(a, b);
-
-                if (!seenEdges.containsKey(key)) {
-                    seenEdges.put(key, true);
-                    edgePairs.add(new int[]{a, b});
-
-                    adjacentIntersectionIdsByIntersectionId
-                        .computeIfAbsent(a, k -> new ArrayList<>())
-                        .add(b);
-                    adjacentIntersectionIdsByIntersectionId
-                        .computeIfAbsent(b, k -> new ArrayList<>())
-                        .add(a);
-                }
+        tilesByDiceNumber = new Tile[13][];
+        for (int number = 0; number < 13; number++) {
+            int[] tileIds = topology.tileIdsWithDiceNumber(number);
+            tilesByDiceNumber[number] = new Tile[tileIds.length];
+            for (int k = 0; k < tileIds.length; k++) {
+                tilesByDiceNumber[number][k] = tiles[tileIds[k]];
             }
         }
 
-        edges = new Edge[edgePairs.size()];
-        for (int i = 0; i < edgePairs.size(); i++) {
-            edges[i] = new Edge(edgePairs.get(i)[0], edgePairs.get(i)[1]);
+        int[] offsets = topology.incidentEdgeOffsets();
+        int[] edgeIndices = topology.incidentEdgeIndices();
+        incidentEdgesByIntersectionId = new Edge[intersections.length][];
+        for (int id = 0; id < intersections.length; id++) {
+            Edge[] incident = new Edge[offsets[id + 1] - offsets[id]];
+            for (int k = 0; k < incident.length; k++) {
+                incident[k] = edges[edgeIndices[offsets[id] + k]];
+            }
+            incidentEdgesByIntersectionId[id] = incident;
         }
 
+        robberTileId = topology.getRobberStartTileId();
+        tiles[robberTileId].setHasRobber(true);
+        zobristHash = topology.emptyZobristHash();
     }
 
     /**
-     * Initializes the robber on the desert tile (tile 16).
-     * Must be called after initializeFixedMapLayout().
+     * Moves the robber back to its start tile (the desert).
      */
     public void initializeRobber() {
-        robberTileId = 16;
-        tiles[16].setHasRobber(true);
+        moveRobber(topology.getRobberStartTileId());
     }
 
     /**
@@ -199,6 +209,24 @@ public class Board {
         return intersections[intersectionId];
     }
 
+    /**
+     * Returns the number of tiles; tile IDs run from 0 to this minus one.
+     *
+     * @return tile count
+     */
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    /**
+     * Returns the number of intersections; IDs run from 0 to this minus one.
+     *
+     * @return intersection count
+     */
+    public int getIntersectionCount() {
+        return intersections.length;
+    }
+
     /**
      * Returns an array of all valid intersection IDs (0 to 53).
      *
@@ -238,24 +266,67 @@ public class Board {
      * @return true if a road is on this edge
      */
     public boolean isEdgeOccupied(int intersectionA, int intersectionB) {
-        for (Edge e : edges) {
-            if (e.touchesIntersection(intersectionA) && e.touchesIntersection(intersectionB)) {
-                return e.isOccupied();
-            }
+        Edge e = getEdge(intersectionA, intersectionB);
+        return e != null && e.isOccupied();
+    }
+
+    /**
+     * Returns the index in getAllEdges() of the edge between two intersections.
+     * Constant time; endpoint order does not matter.
+     *
+     * @param intersectionA first endpoint
+     * @param intersectionB second endpoint
+     * @return the edge index, or -1 if no such edge exists
+     */
+    public int getEdgeIndex(int intersectionA, int intersectionB) {
+        int n = intersections.length;
+        if (intersectionA < 0 || intersectionA >= n || intersectionB < 0 || intersectionB >= n) {
+            return -1;
         }
-        return false;
+        return topology.edgeIndex(intersectionA, intersectionB);
+    }
+
+    /**
+     * Returns the edge between two intersections.
+     * Constant time; endpoint order does not matter.
+     *
+     * @param intersectionA first endpoint
+     * @param intersectionB second endpoint
+     * @return the Edge, or null if no such edge exists
+     */
+    public Edge getEdge(int intersectionA, int intersectionB) {
+        int index = getEdgeIndex(intersectionA, intersectionB);
+        return index < 0 ? null : edges[index];
+    }
+
+    /**
+     * Returns the edges touching the given intersection.
+     * The returned array is shared by the board and must not be modified.
+     *
+     * @param intersectionId the intersection to look up
+     * @return the incident edges, or an empty array if the ID is out of range
+     */
+    public Edge[] getIncidentEdges(int intersectionId) {
+        if (intersectionId < 0 || intersectionId >= incidentEdgesByIntersectionId.length) {
+            return new Edge[0];
+        }
+        return incidentEdgesByIntersectionId[intersectionId];
     }
 
     /**
      * Places a settlement at the given intersection for the given player.
-     * Does nothing if the intersection ID is out of range.
+     * Does nothing if the intersection ID is out of range or already occupied.
      *
      * @param playerId the player placing the settlement
      * @param intersectionId the intersection to place at
      */
     public void placeSettlement(int playerId, int intersectionId) {
         Intersection inter = getIntersection(intersectionId);
-        if (inter != null) inter.placeSettlement(playerId);
+        if (inter == null || inter.hasBuilding()) return;
+        inter.placeSettlement(playerId);
+        zobristHash ^= Zobrist.buildingKey(intersectionId, -1, GameState.NO_BUILDING)
+            ^ Zobrist.buildingKey(intersectionId, playerId, GameState.SETTLEMENT);
+        for (BoardListener l : listeners) l.settlementPlaced(playerId, intersectionId);
     }
 
     /**
@@ -266,24 +337,46 @@ public class Board {
      */
     public void upgradeSettlementToCity(int playerId, int intersectionId) {
         Intersection inter = getIntersection(intersectionId);
-        if (inter != null) inter.upgradeToCity(playerId);
+        if (inter == null || inter.getBuilding() != Building.SETTLEMENT) return;
+        inter.upgradeToCity(playerId);
+        if (inter.getBuilding() != Building.CITY) return;
+        zobristHash ^= Zobrist.buildingKey(intersectionId, playerId, GameState.SETTLEMENT)
+            ^ Zobrist.buildingKey(intersectionId, playerId, GameState.CITY);
+        for (BoardListener l : listeners) l.cityUpgraded(playerId, intersectionId);
     }
 
     /**
      * Places a road on the edge between two intersections.
-     * Does nothing if no such edge exists.
+     * Does nothing if no such edge exists or it already has a road.
      *
      * @param playerId the player placing the road
      * @param intersectionA first endpoint
      * @param intersectionB second endpoint
      */
     public void placeRoad(int playerId, int intersectionA, int intersectionB) {
-        for (Edge e : edges) {
-            if (e.touchesIntersection(intersectionA) && e.touchesIntersection(intersectionB)) {
-                e.placeRoad(playerId);
-                return;
-            }
-        }
+        int index = getEdgeIndex(intersectionA, intersectionB);
+        if (index < 0 || edges[index].isOccupied()) return;
+        edges[index].placeRoad(playerId);
+        zobristHash ^= roadKey(index, -1) ^ roadKey(index, playerId);
+        for (BoardListener l : listeners) l.roadPlaced(playerId, index);
+    }
+
+    /**
+     * Registers a listener for piece placement and removal events.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(BoardListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a previously added listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(BoardListener listener) {
+        listeners.remove(listener);
     }
 
     /**
@@ -293,9 +386,45 @@ public class Board {
      * @return array of adjacent intersection IDs
      */
     public int[] getAdjacentIntersectionIds(int intersectionId) {
-        List<Integer> adj = adjacentIntersectionIdsByIntersectionId.get(intersectionId);
-        if (adj == null) return new int[0];
-        return adj.stream().mapToInt(Integer::intValue).toArray();
+        if (!isValidIntersectionId(intersectionId)) return new int[0];
+        int[] offsets = topology.incidentEdgeOffsets();
+        return java.util.Arrays.copyOfRange(topology.adjacentIntersectionIds(),
+            offsets[intersectionId], offsets[intersectionId + 1]);
+    }
+
+    /**
+     * Calls the action with each intersection ID adjacent to the given one,
+     * without allocating.
+     *
+     * @param intersectionId the intersection to look up
+     * @param action called once per neighbour
+     */
+    public void forEachAdjacentIntersection(int intersectionId, IntConsumer action) {
+        if (!isValidIntersectionId(intersectionId)) return;
+        int[] offsets = topology.incidentEdgeOffsets();
+        int[] neighbours = topology.adjacentIntersectionIds();
+        for (int k = offsets[intersectionId]; k < offsets[intersectionId + 1]; k++) {
+            action.accept(neighbours[k]);
+        }
+    }
+
+    /**
+     * Returns whether any intersection adjacent to the given one has a building.
+     * Used by the distance rule; reads the topology's CSR arrays directly.
+     *
+     * @param intersectionId the intersection to check around
+     * @return true if a neighbour is occupied
+     */
+    public boolean hasOccupiedAdjacentIntersection(int intersectionId) {
+        if (!isValidIntersectionId(intersectionId)) return false;
+        int[] offsets = topology.incidentEdgeOffsets();
+        int[] neighbours = topology.adjacentIntersectionIds();
+        for (int k = offsets[intersectionId]; k < offsets[intersectionId + 1]; k++) {
+            if (intersections[neighbours[k]].hasBuilding()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -305,9 +434,30 @@ public class Board {
      * @return array of adjacent tile IDs
      */
     public int[] getAdjacentTileIds(int intersectionId) {
-        List<Integer> adj = adjacentTileIdsByIntersectionId.get(intersectionId);
-        if (adj == null) return new int[0];
-        return adj.stream().mapToInt(Integer::intValue).toArray();
+        if (!isValidIntersectionId(intersectionId)) return new int[0];
+        int[] offsets = topology.adjacentTileOffsets();
+        return java.util.Arrays.copyOfRange(topology.adjacentTileIds(),
+            offsets[intersectionId], offsets[intersectionId + 1]);
+    }
+
+    /**
+     * Calls the action with each tile ID adjacent to the given intersection,
+     * without allocating.
+     *
+     * @param intersectionId the intersection to look up
+     * @param action called once per adjacent tile
+     */
+    public void forEachAdjacentTile(int intersectionId, IntConsumer action) {
+        if (!isValidIntersectionId(intersectionId)) return;
+        int[] offsets = topology.adjacentTileOffsets();
+        int[] tileIds = topology.adjacentTileIds();
+        for (int k = offsets[intersectionId]; k < offsets[intersectionId + 1]; k++) {
+            action.accept(tileIds[k]);
+        }
+    }
+
+    private boolean isValidIntersectionId(int intersectionId) {
+        return intersectionId >= 0 && intersectionId < intersections.length;
     }
 
     /**
@@ -319,12 +469,26 @@ public class Board {
      */
     public List<Tile> getTilesProducingOnRoll(int roll) {
         List<Tile> result = new ArrayList<>();
-        for (Tile t : tiles) {
+        for (Tile t : getTilesWithDiceNumber(roll)) {
             if (t.producesOnRoll(roll)) result.add(t);
         }
         return result;
     }
 
+    /**
+     * Returns the tiles whose dice number token equals the given number,
+     * whether or not they currently produce (robber and desert are not
+     * filtered; use Tile.producesOnRoll).
+     * The returned array is shared by the board and must not be modified.
+     *
+     * @param diceNumber the dice number
+     * @return tiles with that token, or an empty array for numbers outside 0-12
+     */
+    public Tile[] getTilesWithDiceNumber(int diceNumber) {
+        if (diceNumber < 0 || diceNumber >= tilesByDiceNumber.length) return new Tile[0];
+        return tilesByDiceNumber[diceNumber];
+    }
+
     /**
      * Returns all intersection IDs adjacent to the given tile.
      *
@@ -333,14 +497,25 @@ public class Board {
      */
     public List<Integer> getIntersectionsAdjacentToTile(int tileId) {
         List<Integer> result = new ArrayList<>();
-        for (Map.Entry<Integer, List<Integer>> entry : adjacentTileIdsByIntersectionId.entrySet()) {
-            if (entry.getValue().contains(tileId)) {
-                result.add(entry.getKey());
-            }
+        for (int id : getTileCornerIds(tileId)) {
+            result.add(id);
         }
         return result;
     }
 
+    /**
+     * Returns the corner intersection IDs of the given tile in ascending order
+     * without allocating.
+     * The returned array is shared by the board and must not be modified.
+     *
+     * @param tileId the tile ID
+     * @return the tile's corner IDs, or an empty array if the ID is out of range
+     */
+    public int[] getTileCornerIds(int tileId) {
+        if (tileId < 0 || tileId >= tiles.length) return new int[0];
+        return topology.cornerIds(tileId);
+    }
+
     /**
      * Returns the tile ID the robber is currently on.
      *
@@ -357,6 +532,7 @@ public class Board {
      * @param newTileId the tile ID to move the robber to
      */
     public void moveRobber(int newTileId) {
+        zobristHash ^= robberKey(robberTileId) ^ robberKey(newTileId);
         if (robberTileId >= 0 && robberTileId < tiles.length) {
             tiles[robberTileId].setHasRobber(false);
         }
@@ -389,7 +565,7 @@ public class Board {
      */
     public List<Integer> getPlayersAdjacentToTile(int tileId) {
         List<Integer> playerIds = new ArrayList<>();
-        for (int intersectionId : getIntersectionsAdjacentToTile(tileId)) {
+        for (int intersectionId : getTileCornerIds(tileId)) {
             Intersection inter = getIntersection(intersectionId);
             if (inter != null && inter.hasBuilding()) {
                 Integer ownerId = inter.getBuildingOwnerId();
@@ -420,9 +596,13 @@ public class Board {
      */
     public void removeSettlement(int intersectionId) {
         Intersection inter = getIntersection(intersectionId);
-        if (inter != null) {
-            inter.clearBuilding();
-        }
+        if (inter == null || !inter.hasBuilding()) return;
+        int ownerId = inter.getOwnerPlayerId();
+        Building removed = inter.getBuilding();
+        inter.clearBuilding();
+        zobristHash ^= Zobrist.buildingKey(intersectionId, ownerId, buildingCode(removed))
+            ^ Zobrist.buildingKey(intersectionId, -1, GameState.NO_BUILDING);
+        for (BoardListener l : listeners) l.buildingRemoved(ownerId, intersectionId, removed);
     }
 
     /**
@@ -433,13 +613,12 @@ public class Board {
      * @param intersectionB the ID of the second intersection
      */
     public void removeRoad(int intersectionA, int intersectionB) {
-        for (Edge e : edges) {
-            if ((e.getIntersectionA() == intersectionA && e.getIntersectionB() == intersectionB) ||
-                (e.getIntersectionA() == intersectionB && e.getIntersectionB() == intersectionA)) {
-                e.clearRoad();
-                return;
-            }
-        }
+        int index = getEdgeIndex(intersectionA, intersectionB);
+        if (index < 0 || !edges[index].isOccupied()) return;
+        int ownerId = edges[index].getRoadOwnerId();
+        edges[index].clearRoad();
+        zobristHash ^= roadKey(index, ownerId) ^ roadKey(index, -1);
+        for (BoardListener l : listeners) l.roadRemoved(ownerId, index);
     }
 
     /**
@@ -452,6 +631,51 @@ public class Board {
         Intersection inter = getIntersection(intersectionId);
         if (inter != null && inter.getBuilding() == Building.CITY) {
             inter.setBuilding(Building.SETTLEMENT);
+            zobristHash ^= Zobrist.buildingKey(intersectionId, inter.getOwnerPlayerId(), GameState.CITY)
+                ^ Zobrist.buildingKey(intersectionId, inter.getOwnerPlayerId(), GameState.SETTLEMENT);
+            for (BoardListener l : listeners) l.cityDowngraded(inter.getOwnerPlayerId(), intersectionId);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the Zobrist hash of the buildings, roads and robber position.
+     * Kept up to date in constant time by placeSettlement, upgradeSettlementToCity,
+     * placeRoad, moveRobber and the undo methods; changes made directly on an
+     * Intersection or Edge are not seen.
+     *
+     * @return the 64-bit board hash
+     */
+    public long getZobristHash() {
+        return zobristHash;
+    }
+
+    /**
+     * Computes the board hash from scratch; used to check the incremental hash.
+     *
+     * @return the 64-bit board hash
+     */
+    long computeZobristHash() {
+        long h = robberKey(robberTileId);
+        for (Intersection inter : intersections) {
+            h ^= Zobrist.buildingKey(inter.getIntersectionId(), inter.getOwnerPlayerId(),
+                buildingCode(inter.getBuilding()));
+        }
+        for (int e = 0; e < edges.length; e++) {
+            h ^= roadKey(e, edges[e].getRoadOwnerId());
+        }
+        return h;
+    }
+
+    private static int buildingCode(Building building) {
+        if (building == null) return GameState.NO_BUILDING;
+        return (building == Building.CITY) ? GameState.CITY : GameState.SETTLEMENT;
+    }
+
+    private static long roadKey(int edgeIndex, int ownerId) {
+        return Zobrist.key(Zobrist.ROAD, edgeIndex, ownerId);
+    }
+
+    private static long robberKey(int tileId) {
+        return Zobrist.key(Zobrist.ROBBER, 0, tileId);
+    }
+}
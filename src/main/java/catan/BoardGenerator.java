@@ -0,0 +1,207 @@
+package catan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Builds random boards of any HexShape.
+ *
+ * The geometry of each shape (corners, edges and adjacency) is built once
+ * and cached, so generating another board of the same shape only shuffles
+ * resources and number tokens onto the cached tables. Generation is
+ * deterministic for a given Random, so a game seed fixes its board.
+ *
+ * Resources and tokens keep the standard proportions. A board of n tiles
+ * gets round(n / 19) deserts (at least one); the other tiles are split
+ * 4:4:4:3:3 between wood, sheep, wheat, brick and ore. Tokens are taken
+ * from the standard 18 in a fixed order that spreads the numbers
+ * evenly, repeating as needed. For 19 and 30 tiles this gives exactly the
+ * standard and 5-6 player sets. A 6 or 8 is never placed next to another
+ * 6 or 8.
+ */
+public final class BoardGenerator {
+
+    /** Resources in proportion, four parts each of the first three, three of the others. */
+    private static final Resources[] PRODUCING = {
+        Resources.WOOD, Resources.SHEEP, Resources.WHEAT, Resources.BRICK, Resources.ORE
+    };
+    private static final int[] PRODUCING_WEIGHTS = {4, 4, 4, 3, 3};
+
+    /**
+     * The 18 standard number tokens, ordered so every prefix is spread over
+     * the numbers: the first ten cover 2-12 once each.
+     */
+    private static final int[] TOKEN_ORDER = {6, 8, 5, 9, 4, 10, 3, 11, 2, 12, 3, 11, 4, 10, 5, 9, 6, 8};
+
+    /** Attempts at placing the 6s and 8s before giving up. */
+    private static final int MAX_ATTEMPTS = 1000;
+
+    private static final ConcurrentMap<HexShape, BoardTopology> GEOMETRY = new ConcurrentHashMap<>();
+
+    private BoardGenerator() {
+    }
+
+    /**
+     * Returns the cached geometry of a shape, building it on first use. Every
+     * tile of the returned topology is a desert without a token; generate()
+     * or BoardTopology.withTiles() fill in the tiles while sharing its tables.
+     * Tile IDs are those of HexShape; intersections are numbered in the
+     * order tile corners are first met.
+     *
+     * @param shape the board shape
+     * @return the shared topology for the shape
+     */
+    public static BoardTopology geometry(HexShape shape) {
+        return GEOMETRY.computeIfAbsent(shape, s -> {
+            int tiles = s.getTileCount();
+            Resources[] deserts = new Resources[tiles];
+            Arrays.fill(deserts, Resources.DESERT);
+            return new BoardTopology(deserts, new int[tiles], s.tileCorners());
+        });
+    }
+
+    /**
+     * Generates a random board from a seed.
+     *
+     * @param shape the board shape
+     * @param seed the seed; the same seed and shape give the same board
+     * @return the board's topology
+     */
+    public static BoardTopology generate(HexShape shape, long seed) {
+        return generate(shape, new Random(seed));
+    }
+
+    /**
+     * Generates a random board: resources shuffled over the tiles, then
+     * number tokens shuffled over the producing tiles with no 6 or 8
+     * next to another 6 or 8.
+     *
+     * @param shape the board shape
+     * @param rng the random number generator to shuffle with
+     * @return the board's topology
+     * @throws IllegalStateException if the 6s and 8s cannot be kept apart,
+     *         which only happens on shapes too small to allow it
+     */
+    public static BoardTopology generate(HexShape shape, Random rng) {
+        int tiles = shape.getTileCount();
+        List<Resources> resources = resourceBag(tiles);
+        List<Integer> tokens = tokenBag(tiles - countDeserts(tiles));
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Collections.shuffle(resources, rng);
+            Collections.shuffle(tokens, rng);
+            int[] numbers = placeTokens(shape, resources, tokens, rng);
+            if (numbers != null) {
+                return geometry(shape).withTiles(resources.toArray(new Resources[0]), numbers);
+            }
+        }
+        throw new IllegalStateException("Could not keep the 6s and 8s apart on " + shape);
+    }
+
+    /**
+     * Puts the 6s and 8s on producing tiles in random order, skipping tiles
+     * next to one already placed, then the other tokens on the tiles left.
+     *
+     * @return the token of each tile, or null if the 6s and 8s did not fit
+     */
+    private static int[] placeTokens(HexShape shape, List<Resources> resources, List<Integer> tokens, Random rng) {
+        List<Integer> producing = new ArrayList<>(tokens.size());
+        for (int tileId = 0; tileId < resources.size(); tileId++) {
+            if (resources.get(tileId) != Resources.DESERT) producing.add(tileId);
+        }
+        Collections.shuffle(producing, rng);
+
+        int[] numbers = new int[resources.size()];
+        boolean[] used = new boolean[resources.size()];
+        List<Integer> others = new ArrayList<>(tokens.size());
+        int next = 0;
+        for (int token : tokens) {
+            if (!isRed(token)) {
+                others.add(token);
+                continue;
+            }
+            while (next < producing.size() && hasRedNeighbour(shape, producing.get(next), numbers)) next++;
+            if (next == producing.size()) return null;
+            int tileId = producing.get(next++);
+            numbers[tileId] = token;
+            used[tileId] = true;
+        }
+
+        int k = 0;
+        for (int tileId : producing) {
+            if (!used[tileId]) numbers[tileId] = others.get(k++);
+        }
+        return numbers;
+    }
+
+    private static boolean hasRedNeighbour(HexShape shape, int tileId, int[] numbers) {
+        for (int direction = 0; direction < HexShape.DIRECTIONS; direction++) {
+            int neighbour = shape.neighbour(tileId, direction);
+            if (neighbour >= 0 && isRed(numbers[neighbour])) return true;
+        }
+        return false;
+    }
+
+    private static boolean isRed(int number) {
+        return number == 6 || number == 8;
+    }
+
+    private static int countDeserts(int tiles) {
+        return Math.max(1, Math.round(tiles / 19.0f));
+    }
+
+    /**
+     * Splits the producing tiles by PRODUCING_WEIGHTS, giving the rounding
+     * leftovers to the largest remainders.
+     */
+    private static List<Resources> resourceBag(int tiles) {
+        int deserts = Math.min(tiles, countDeserts(tiles));
+        int producing = tiles - deserts;
+        int weightTotal = 0;
+        for (int w : PRODUCING_WEIGHTS) weightTotal += w;
+
+        int[] counts = new int[PRODUCING.length];
+        int assigned = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = producing * PRODUCING_WEIGHTS[i] / weightTotal;
+            assigned += counts[i];
+        }
+        // fewer leftovers than resources, so each gets at most one extra
+        boolean[] topped = new boolean[counts.length];
+        while (assigned < producing) {
+            int best = -1;
+            for (int i = 0; i < counts.length; i++) {
+                if (!topped[i] && (best < 0
+                        || remainder(producing, i, weightTotal) > remainder(producing, best, weightTotal))) {
+                    best = i;
+                }
+            }
+            topped[best] = true;
+            counts[best]++;
+            assigned++;
+        }
+
+        List<Resources> bag = new ArrayList<>(tiles);
+        for (int i = 0; i < counts.length; i++) {
+            for (int c = 0; c < counts[i]; c++) bag.add(PRODUCING[i]);
+        }
+        for (int d = 0; d < deserts; d++) bag.add(Resources.DESERT);
+        return bag;
+    }
+
+    /** The fraction of a tile resource i lost to rounding down, in 1/weightTotal units. */
+    private static int remainder(int producing, int i, int weightTotal) {
+        return producing * PRODUCING_WEIGHTS[i] % weightTotal;
+    }
+
+    private static List<Integer> tokenBag(int count) {
+        List<Integer> bag = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) bag.add(TOKEN_ORDER[i % TOKEN_ORDER.length]);
+        return bag;
+    }
+}
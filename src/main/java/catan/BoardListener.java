@@ -0,0 +1,61 @@
+package catan;
+
+/**
+ * Receives a callback whenever a piece is added to or removed from a Board.
+ *
+ * Events fire after the board has changed, and only when it actually
+ * changed, so a placement on an occupied spot produces no event. Undo
+ * operations fire the matching removal or downgrade event. All methods
+ * default to doing nothing so listeners only override what they need.
+ */
+public interface BoardListener {
+
+    /**
+     * Called after a settlement is placed on an empty intersection.
+     *
+     * @param playerId the owner of the new settlement
+     * @param intersectionId the intersection built on
+     */
+    default void settlementPlaced(int playerId, int intersectionId) {}
+
+    /**
+     * Called after a settlement is upgraded to a city.
+     *
+     * @param playerId the owner of the city
+     * @param intersectionId the upgraded intersection
+     */
+    default void cityUpgraded(int playerId, int intersectionId) {}
+
+    /**
+     * Called after a city is downgraded back to a settlement.
+     *
+     * @param playerId the owner of the settlement
+     * @param intersectionId the downgraded intersection
+     */
+    default void cityDowngraded(int playerId, int intersectionId) {}
+
+    /**
+     * Called after a building is removed from an intersection.
+     *
+     * @param playerId the former owner
+     * @param intersectionId the cleared intersection
+     * @param removed the building that was removed
+     */
+    default void buildingRemoved(int playerId, int intersectionId, Building removed) {}
+
+    /**
+     * Called after a road is placed on an empty edge.
+     *
+     * @param playerId the owner of the new road
+     * @param edgeIndex index of the edge in Board.getAllEdges()
+     */
+    default void roadPlaced(int playerId, int edgeIndex) {}
+
+    /**
+     * Called after a road is removed from an edge.
+     *
+     * @param playerId the former owner
+     * @param edgeIndex index of the edge in Board.getAllEdges()
+     */
+    default void roadRemoved(int playerId, int edgeIndex) {}
+}
@@ -0,0 +1,421 @@
+package catan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The fixed part of a board: each tile's resource and number token, and how
+ * tiles, intersections and edges connect.
+ *
+ * A topology is built once per layout and never changes afterwards, so
+ * every Board on that layout shares it and it can be read from any thread
+ * without locking. A Board only adds the pieces and the robber on top.
+ * The standard layout is built on first use and cached (see standard()).
+ *
+ * Arrays returned by the accessors are shared and must not be modified.
+ */
+public final class BoardTopology {
+
+    private static final Resources[] STANDARD_RESOURCES = {
+        Resources.WOOD,
+        Resources.WHEAT,
+        Resources.BRICK,
+        Resources.ORE,
+        Resources.SHEEP,
+        Resources.SHEEP,
+        Resources.SHEEP,
+        Resources.WHEAT,
+        Resources.ORE,
+        Resources.WOOD,
+        Resources.ORE,
+        Resources.WHEAT,
+        Resources.WOOD,
+        Resources.BRICK,
+        Resources.BRICK,
+        Resources.WHEAT,
+        Resources.DESERT,
+        Resources.WOOD,
+        Resources.SHEEP
+    };
+
+    private static final int[] STANDARD_DICE_NUMBERS =
+        {10, 11, 8, 3, 11, 5, 12, 3, 6, 4, 6, 9, 5, 9, 8, 4, 0, 2, 10};
+
+    /*
+     * Corners of each tile going round the hexagon, indexed by tile ID
+     * (center=0, inner ring=1-6, outer ring=7-18). Matches the visualizer /
+     * Catanatron node numbering.
+     */
+    private static final int[][] STANDARD_TILE_CORNERS = {
+        {0, 1, 2, 3, 4, 5},
+
+        {2, 6, 7, 8, 9, 3},
+        {4, 3, 9, 10, 11, 12},
+        {13, 5, 4, 12, 14, 15},
+        {16, 17, 0, 5, 13, 18},
+        {19, 20, 21, 1, 0, 17},
+        {21, 22, 23, 6, 2, 1},
+
+        {7, 24, 25, 26, 27, 8},
+        {9, 8, 27, 28, 29, 10},
+        {11, 10, 29, 30, 31, 32},
+        {14, 12, 11, 32, 33, 34},
+        {35, 15, 14, 34, 36, 37},
+        {38, 18, 13, 15, 35, 39},
+        {40, 41, 16, 18, 38, 42},
+        {43, 44, 19, 17, 16, 41},
+        {45, 46, 47, 20, 19, 44},
+        {47, 48, 49, 22, 21, 20},
+        {49, 50, 51, 52, 23, 22},
+        {23, 52, 53, 24, 7, 6}
+    };
+
+    private static final BoardTopology STANDARD =
+        new BoardTopology(STANDARD_RESOURCES, STANDARD_DICE_NUMBERS, STANDARD_TILE_CORNERS);
+
+    private final Resources[] resources;
+    private final int[] diceNumbers;
+    private final int intersectionCount;
+    private final int robberStartTileId;
+
+    /** Corner intersection IDs of each tile in ascending order, indexed by tile ID. */
+    private final int[][] cornerIdsByTileId;
+
+    /** Tile IDs carrying each dice number token, indexed by number (0-12). */
+    private final int[][] tileIdsByDiceNumber;
+
+    /**
+     * Intersection -> adjacent tile IDs in compressed sparse row form: the
+     * tiles of intersection i are
+     * adjacentTileIds[adjacentTileOffsets[i] .. adjacentTileOffsets[i + 1]),
+     * in ascending ID order.
+     */
+    private final int[] adjacentTileOffsets;
+    private final int[] adjacentTileIds;
+
+    /** Endpoints of each edge, indexed by edge index. */
+    private final int[] edgeIntersectionA;
+    private final int[] edgeIntersectionB;
+
+    /** Intersection -> incident edge indices, CSR form, in edge index order. */
+    private final int[] incidentEdgeOffsets;
+    private final int[] incidentEdgeIndices;
+
+    /**
+     * Intersection -> adjacent intersection IDs, CSR form; the neighbour
+     * across incident edge k is stored at position k.
+     */
+    private final int[] adjacentIntersectionIds;
+
+    /** Zobrist hash of this layout with no pieces and the robber on its start tile. */
+    private final long emptyZobristHash;
+
+    /**
+     * Builds a topology from per-tile data. Edges are the sides of the
+     * tiles, numbered in the order they are first met walking tile 0's
+     * corners, then tile 1's, and so on.
+     *
+     * @param resources the resource of each tile, indexed by tile ID
+     * @param diceNumbers the number token of each tile (0 for none), indexed by tile ID
+     * @param tileCorners the corner intersection IDs of each tile in order
+     *        around it, indexed by tile ID; intersection IDs must run from 0
+     *        without gaps
+     * @throws IllegalArgumentException if the arrays disagree in length, a
+     *         number token is outside 0-12, or an intersection ID is unused
+     */
+    BoardTopology(Resources[] resources, int[] diceNumbers, int[][] tileCorners) {
+        int tileCount = tileCorners.length;
+        if (resources.length != tileCount || diceNumbers.length != tileCount) {
+            throw new IllegalArgumentException("Every tile needs a resource, a number token and its corners.");
+        }
+        this.resources = resources.clone();
+        this.diceNumbers = diceNumbers.clone();
+        robberStartTileId = findRobberStart(resources);
+        tileIdsByDiceNumber = groupByDiceNumber(diceNumbers);
+
+        int maxCorner = -1;
+        for (int[] corners : tileCorners) {
+            for (int id : corners) maxCorner = Math.max(maxCorner, id);
+        }
+        intersectionCount = maxCorner + 1;
+
+        cornerIdsByTileId = new int[tileCount][];
+        for (int tileId = 0; tileId < tileCount; tileId++) {
+            int[] corners = tileCorners[tileId].clone();
+            Arrays.sort(corners);
+            cornerIdsByTileId[tileId] = corners;
+        }
+
+        adjacentTileOffsets = new int[intersectionCount + 1];
+        for (int[] corners : tileCorners) {
+            for (int id : corners) adjacentTileOffsets[id + 1]++;
+        }
+        prefixSum(adjacentTileOffsets);
+        adjacentTileIds = new int[adjacentTileOffsets[intersectionCount]];
+        int[] tileFill = adjacentTileOffsets.clone();
+        for (int tileId = 0; tileId < tileCount; tileId++) {
+            for (int id : tileCorners[tileId]) adjacentTileIds[tileFill[id]++] = tileId;
+        }
+        for (int id = 0; id < intersectionCount; id++) {
+            if (adjacentTileOffsets[id] == adjacentTileOffsets[id + 1]) {
+                throw new IllegalArgumentException("Intersection " + id + " is not a corner of any tile.");
+            }
+        }
+
+        List<int[]> edgePairs = new ArrayList<>();
+        Set<Long> seenEdges = new HashSet<>();
+        for (int[] corners : tileCorners) {
+            for (int i = 0; i < corners.length; i++) {
+                int a = corners[i];
+                int b = corners[(i + 1) % corners.length];
+                if (seenEdges.add((long) Math.min(a, b) * intersectionCount + Math.max(a, b))) {
+                    edgePairs.add(new int[] {a, b});
+                }
+            }
+        }
+
+        int n = intersectionCount;
+        edgeIntersectionA = new int[edgePairs.size()];
+        edgeIntersectionB = new int[edgePairs.size()];
+        incidentEdgeOffsets = new int[n + 1];
+        for (int e = 0; e < edgePairs.size(); e++) {
+            int a = edgePairs.get(e)[0];
+            int b = edgePairs.get(e)[1];
+            edgeIntersectionA[e] = a;
+            edgeIntersectionB[e] = b;
+            incidentEdgeOffsets[a + 1]++;
+            incidentEdgeOffsets[b + 1]++;
+        }
+        prefixSum(incidentEdgeOffsets);
+
+        incidentEdgeIndices = new int[incidentEdgeOffsets[n]];
+        adjacentIntersectionIds = new int[incidentEdgeOffsets[n]];
+        int[] edgeFill = incidentEdgeOffsets.clone();
+        for (int e = 0; e < edgeIntersectionA.length; e++) {
+            int a = edgeIntersectionA[e];
+            int b = edgeIntersectionB[e];
+            adjacentIntersectionIds[edgeFill[a]] = b;
+            incidentEdgeIndices[edgeFill[a]++] = e;
+            adjacentIntersectionIds[edgeFill[b]] = a;
+            incidentEdgeIndices[edgeFill[b]++] = e;
+        }
+
+        long h = robberKey(robberStartTileId);
+        for (int id = 0; id < n; id++) {
+            h ^= Zobrist.buildingKey(id, -1, GameState.NO_BUILDING);
+        }
+        for (int e = 0; e < edgeIntersectionA.length; e++) {
+            h ^= Zobrist.key(Zobrist.ROAD, e, -1);
+        }
+        emptyZobristHash = h;
+    }
+
+    /**
+     * Shares the geometry of another topology with new tile contents.
+     */
+    private BoardTopology(BoardTopology geometry, Resources[] resources, int[] diceNumbers) {
+        if (resources.length != geometry.getTileCount() || diceNumbers.length != geometry.getTileCount()) {
+            throw new IllegalArgumentException("Every tile needs a resource and a number token.");
+        }
+        this.resources = resources.clone();
+        this.diceNumbers = diceNumbers.clone();
+        robberStartTileId = findRobberStart(resources);
+        tileIdsByDiceNumber = groupByDiceNumber(diceNumbers);
+
+        intersectionCount = geometry.intersectionCount;
+        cornerIdsByTileId = geometry.cornerIdsByTileId;
+        adjacentTileOffsets = geometry.adjacentTileOffsets;
+        adjacentTileIds = geometry.adjacentTileIds;
+        edgeIntersectionA = geometry.edgeIntersectionA;
+        edgeIntersectionB = geometry.edgeIntersectionB;
+        incidentEdgeOffsets = geometry.incidentEdgeOffsets;
+        incidentEdgeIndices = geometry.incidentEdgeIndices;
+        adjacentIntersectionIds = geometry.adjacentIntersectionIds;
+        emptyZobristHash = geometry.emptyZobristHash
+            ^ robberKey(geometry.robberStartTileId) ^ robberKey(robberStartTileId);
+    }
+
+    /**
+     * Returns the standard 19-tile layout. Built once and shared.
+     *
+     * @return the standard topology
+     */
+    public static BoardTopology standard() {
+        return STANDARD;
+    }
+
+    /**
+     * Returns a topology with the same tiles, intersections and edges as
+     * this one but different resources and number tokens. The adjacency
+     * tables are shared, so this costs one pass over the tiles.
+     *
+     * @param resources the resource of each tile, indexed by tile ID
+     * @param diceNumbers the number token of each tile (0 for none), indexed by tile ID
+     * @return the new topology
+     * @throws IllegalArgumentException if an array does not have one entry
+     *         per tile or a number token is outside 0-12
+     */
+    public BoardTopology withTiles(Resources[] resources, int[] diceNumbers) {
+        return new BoardTopology(this, resources, diceNumbers);
+    }
+
+    /**
+     * Returns the number of tiles; tile IDs run from 0 to this minus one.
+     *
+     * @return tile count
+     */
+    public int getTileCount() {
+        return cornerIdsByTileId.length;
+    }
+
+    /**
+     * Returns the number of intersections; IDs run from 0 to this minus one.
+     *
+     * @return intersection count
+     */
+    public int getIntersectionCount() {
+        return intersectionCount;
+    }
+
+    /**
+     * Returns the number of edges; edge indices run from 0 to this minus one.
+     *
+     * @return edge count
+     */
+    public int getEdgeCount() {
+        return edgeIntersectionA.length;
+    }
+
+    /**
+     * Returns the resource of a tile.
+     *
+     * @param tileId the tile ID
+     * @return the resource
+     */
+    public Resources getResource(int tileId) {
+        return resources[tileId];
+    }
+
+    /**
+     * Returns the number token of a tile.
+     *
+     * @param tileId the tile ID
+     * @return the number, or 0 for none
+     */
+    public int getDiceNumber(int tileId) {
+        return diceNumbers[tileId];
+    }
+
+    /**
+     * Returns the tile the robber starts on: the first desert, or tile 0
+     * if the layout has no desert.
+     *
+     * @return the robber's start tile ID
+     */
+    public int getRobberStartTileId() {
+        return robberStartTileId;
+    }
+
+    int[] cornerIds(int tileId) {
+        return cornerIdsByTileId[tileId];
+    }
+
+    int[] tileIdsWithDiceNumber(int number) {
+        return tileIdsByDiceNumber[number];
+    }
+
+    int[] adjacentTileOffsets() {
+        return adjacentTileOffsets;
+    }
+
+    int[] adjacentTileIds() {
+        return adjacentTileIds;
+    }
+
+    /** Offsets into both incidentEdgeIndices() and adjacentIntersectionIds(). */
+    int[] incidentEdgeOffsets() {
+        return incidentEdgeOffsets;
+    }
+
+    int[] incidentEdgeIndices() {
+        return incidentEdgeIndices;
+    }
+
+    int[] adjacentIntersectionIds() {
+        return adjacentIntersectionIds;
+    }
+
+    int edgeIntersectionA(int edgeIndex) {
+        return edgeIntersectionA[edgeIndex];
+    }
+
+    int edgeIntersectionB(int edgeIndex) {
+        return edgeIntersectionB[edgeIndex];
+    }
+
+    /**
+     * Finds the edge between two intersections among the first one's
+     * incident edges: at most three, so constant time, and no table that
+     * grows with the square of the board.
+     */
+    int edgeIndex(int intersectionA, int intersectionB) {
+        for (int k = incidentEdgeOffsets[intersectionA]; k < incidentEdgeOffsets[intersectionA + 1]; k++) {
+            if (adjacentIntersectionIds[k] == intersectionB) return incidentEdgeIndices[k];
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether another topology has the same edges under the same
+     * indexes, so edge-indexed data from one applies to the other.
+     */
+    boolean hasSameEdgesAs(BoardTopology other) {
+        return (other.edgeIntersectionA == edgeIntersectionA && other.edgeIntersectionB == edgeIntersectionB)
+            || (Arrays.equals(other.edgeIntersectionA, edgeIntersectionA)
+                && Arrays.equals(other.edgeIntersectionB, edgeIntersectionB));
+    }
+
+    long emptyZobristHash() {
+        return emptyZobristHash;
+    }
+
+    private static int findRobberStart(Resources[] resources) {
+        for (int tileId = 0; tileId < resources.length; tileId++) {
+            if (resources[tileId] == Resources.DESERT) return tileId;
+        }
+        return 0;
+    }
+
+    private static int[][] groupByDiceNumber(int[] diceNumbers) {
+        int[] counts = new int[13];
+        for (int number : diceNumbers) {
+            if (number < 0 || number > 12) {
+                throw new IllegalArgumentException("Number token out of range: " + number);
+            }
+            counts[number]++;
+        }
+        int[][] tileIds = new int[13][];
+        for (int number = 0; number < 13; number++) {
+            tileIds[number] = new int[counts[number]];
+            counts[number] = 0;
+        }
+        for (int tileId = 0; tileId < diceNumbers.length; tileId++) {
+            int number = diceNumbers[tileId];
+            tileIds[number][counts[number]++] = tileId;
+        }
+        return tileIds;
+    }
+
+    private static long robberKey(int tileId) {
+        return Zobrist.key(Zobrist.ROBBER, 0, tileId);
+    }
+
+    private static void prefixSum(int[] offsets) {
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+    }
+}
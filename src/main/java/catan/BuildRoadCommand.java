@@ -6,6 +6,7 @@ package catan;
  *
  * Implements the Command interface as part of the Command Pattern (R3.1).
  * Supports undo by removing the placed road from the edge between the two intersections
+ * and from the player's road record
  *
  * @author Rameen Tariq
  */
@@ -36,19 +37,23 @@ public class BuildRoadCommand implements Command {
     }
 
     /**
-     * Executes the command by placing a road on the edge between the two intersections.
+     * Executes the command by placing a road on the edge between the two intersections
+     * and recording it on the player.
      */
     @Override
     public void execute() {
         board.placeRoad(player.getPlayerId(), intersectionA, intersectionB);
+        player.recordPlacedRoad(intersectionA, intersectionB);
     }
 
     /**
      * Undoes the command by removing the road from the edge between the two intersections
+     * and from the player's record
      */
     @Override
     public void undo() {
         board.removeRoad(intersectionA, intersectionB);
+        player.unrecordPlacedRoad(intersectionA, intersectionB);
     }
 
     /**
@@ -0,0 +1,56 @@
+package catan;
+
+import java.io.PrintStream;
+
+/**
+ * Prints messages to the console, one per line, exactly as the game has
+ * always printed them. This is the sink of every game that is not headless.
+ */
+public class ConsoleEventSink implements GameEventSink {
+
+    private final Level threshold;
+    // null means whatever System.out is at the time of printing
+    private final PrintStream out;
+
+    /**
+     * Constructs a sink that prints every level to System.out.
+     */
+    public ConsoleEventSink() {
+        this(Level.DEBUG);
+    }
+
+    /**
+     * Constructs a sink that prints to System.out.
+     *
+     * @param threshold the lowest level printed
+     */
+    public ConsoleEventSink(Level threshold) {
+        this(threshold, null);
+    }
+
+    /**
+     * Constructs a sink that prints to a given stream.
+     *
+     * @param threshold the lowest level printed
+     * @param out the stream, or null for System.out
+     */
+    public ConsoleEventSink(Level threshold, PrintStream out) {
+        this.threshold = threshold;
+        this.out = out;
+    }
+
+    @Override
+    public boolean isEnabled(Level level) {
+        return level.isAtLeast(threshold);
+    }
+
+    @Override
+    public void emit(Level level, String message) {
+        (out != null ? out : System.out).println(message);
+    }
+
+    @Override
+    public void flush() {
+        (out != null ? out : System.out).flush();
+    }
+}
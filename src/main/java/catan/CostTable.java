@@ -0,0 +1,110 @@
+package catan;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable building costs for every action type.
+ *
+ * The standard table is built once and shared by Rules, every Rule and the
+ * decision engine, so evaluating an action never rebuilds cost maps. Each
+ * cost is available three ways: as a read-only map, as a card vector indexed
+ * by Resources.ordinal(), and as a precomputed total number of cards.
+ */
+public final class CostTable {
+
+    private static final CostTable STANDARD = new CostTable();
+
+    private final Map<ActionType, Map<Resources, Integer>> costs;
+
+    /** Indexed [ActionType.ordinal()][Resources.ordinal()]. */
+    private final int[][] costVectors;
+
+    /** Indexed by ActionType.ordinal(). */
+    private final int[] totalCosts;
+
+    private CostTable() {
+        Map<ActionType, Map<Resources, Integer>> map = new EnumMap<>(ActionType.class);
+
+        map.put(ActionType.BUILD_ROAD, costOf(
+                Resources.WOOD, 1,
+                Resources.BRICK, 1
+        ));
+
+        map.put(ActionType.BUILD_SETTLEMENT, costOf(
+                Resources.WOOD, 1,
+                Resources.BRICK, 1,
+                Resources.WHEAT, 1,
+                Resources.SHEEP, 1
+        ));
+
+        map.put(ActionType.BUILD_CITY, costOf(
+                Resources.WHEAT, 2,
+                Resources.ORE, 3
+        ));
+
+        map.put(ActionType.PASS, Collections.emptyMap());
+        this.costs = Collections.unmodifiableMap(map);
+
+        costVectors = new int[ActionType.values().length][Resources.values().length];
+        totalCosts = new int[ActionType.values().length];
+        for (Map.Entry<ActionType, Map<Resources, Integer>> cost : costs.entrySet()) {
+            int type = cost.getKey().ordinal();
+            for (Map.Entry<Resources, Integer> entry : cost.getValue().entrySet()) {
+                costVectors[type][entry.getKey().ordinal()] = entry.getValue();
+                totalCosts[type] += entry.getValue();
+            }
+        }
+    }
+
+    /**
+     * Returns the shared table of standard Catan building costs.
+     *
+     * @return the standard cost table
+     */
+    public static CostTable standard() {
+        return STANDARD;
+    }
+
+    private static Map<Resources, Integer> costOf(Object... pairs) {
+        Map<Resources, Integer> map = new EnumMap<>(Resources.class);
+        for (int i = 0; i < pairs.length; i += 2) {
+            map.put((Resources) pairs[i], (Integer) pairs[i + 1]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Returns the resource cost for the given action type.
+     *
+     * @param actionType the type of action to look up
+     * @return a read-only map of resource types to quantities required
+     */
+    public Map<Resources, Integer> getCost(ActionType actionType) {
+        Map<Resources, Integer> cost = costs.get(actionType);
+        return (cost == null) ? Collections.emptyMap() : cost;
+    }
+
+    /**
+     * Returns the resource cost for the given action type as card counts
+     * indexed by Resources.ordinal().
+     * The returned array is shared by the table and must not be modified.
+     *
+     * @param actionType the type of action to look up
+     * @return the cost vector; all zeros for PASS
+     */
+    public int[] getCostVector(ActionType actionType) {
+        return costVectors[actionType.ordinal()];
+    }
+
+    /**
+     * Returns the total number of cards the action costs.
+     *
+     * @param actionType the type of action to look up
+     * @return the number of cards spent; 0 for PASS
+     */
+    public int getTotalCost(ActionType actionType) {
+        return totalCosts[actionType.ordinal()];
+    }
+}
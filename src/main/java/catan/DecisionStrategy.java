@@ -0,0 +1,38 @@
+package catan;
+
+import java.util.List;
+
+/**
+ * Chooses the action a computer-controlled seat takes on its turn.
+ *
+ * Game asks the strategy of the current seat once per turn, after the dice
+ * have been resolved, with the legal and affordable actions for that turn.
+ * RuleBasedDecisionEngine is the default for every seat; other strategies
+ * can be set per seat with Game.setDecisionStrategy.
+ *
+ * Implementations must not modify the board or the players they are given.
+ */
+public interface DecisionStrategy {
+
+    /**
+     * Chooses one of the given actions.
+     *
+     * @param player the player taking the turn
+     * @param board the current board state
+     * @param actions the legal actions available to the player; never empty
+     * @param allPlayers every player in the game in turn order, including the chooser
+     * @return the chosen action
+     */
+    Action chooseAction(Player player, Board board, List<Action> actions, List<Player> allPlayers);
+
+    /**
+     * Tells the strategy how many victory points win the game. Game calls
+     * this when the strategy is given a seat and whenever the target
+     * changes. Strategies that play positions ahead use it to know when a
+     * game ends; the default ignores it.
+     *
+     * @param victoryPointsToWin the winning score
+     */
+    default void setVictoryPointsToWin(int victoryPointsToWin) {
+    }
+}
@@ -13,7 +13,6 @@ import java.nio.file.Files;
  * It initializes and runs a simulation that satisfies all assignment requirements
  * @author Komal Khan, Alisha Faridi
  */
-@SuppressWarnings("java:S106")
 public class Demonstrator {
 
 	/**
@@ -65,20 +64,21 @@ public class Demonstrator {
 	public static void main(String[] args) {
 		
 		int maxRounds = 200;
+		GameEventSink log = new ConsoleEventSink();
 		
 		try {
 			maxRounds = readConfigFile("config.txt");
 			
 		}
 		catch(IOException e){
-			System.out.println("Could not read config file, using default: " + maxRounds + " rounds");
+			log.log(GameEventSink.Level.WARN, "Could not read config file, using default: " + maxRounds + " rounds");
 		}
 		
 		//Validating that turns value is within acceptable range 
 		//R1.4 specifies: turns: int [1-8192]
 		
 		if (maxRounds < 1 || maxRounds > 8192) {
-			System.out.println("Invalid turns value: " + maxRounds + ". Must be between 1-8192. Using default: 200");
+			log.log(GameEventSink.Level.WARN, "Invalid turns value: " + maxRounds + ". Must be between 1-8192. Using default: 200");
 			maxRounds = 200;;
 		}
 		
@@ -113,7 +113,7 @@ public class Demonstrator {
 					try {
 						Files.delete(f.toPath()); // use NIO delete for better error reporting
 					} catch (IOException e) {
-						System.out.println("Warning: Failed to delete file " 
+						log.log(GameEventSink.Level.WARN, "Warning: Failed to delete file " 
 							+ f.getName() + " (" + e.getMessage() + ")");
 					}
 				}
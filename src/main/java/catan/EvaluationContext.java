@@ -0,0 +1,144 @@
+package catan;
+
+import java.util.List;
+
+/**
+ * Player-level facts shared by every candidate action of one decision.
+ *
+ * The decision engine builds one context per chooseBestAction call. Facts
+ * that do not depend on the candidate action (card count, road network,
+ * longest roads) are computed at most once, the first time a constraint asks
+ * for them, instead of once per action per constraint.
+ */
+public class EvaluationContext {
+
+    private final Player player;
+    private final Board board;
+    private final List<Player> allPlayers;
+    private final RoadNetworkAnalyzer analyzer;
+    private final int cardCount;
+
+    // computed on first use; null / -1 until then
+    private RoadConnectivity roadNetwork;
+    private int roadCount = -1;
+    private int longestRoad = -1;
+    private Boolean opponentCloseOnLongestRoad;
+
+    /**
+     * Creates a context for one decision.
+     *
+     * @param player the player choosing an action
+     * @param board the current board state
+     * @param allPlayers every player in the game, including the chooser
+     * @param analyzer the analyzer used for longest road lengths
+     */
+    public EvaluationContext(Player player, Board board, List<Player> allPlayers,
+                             RoadNetworkAnalyzer analyzer) {
+        this.player = player;
+        this.board = board;
+        this.allPlayers = allPlayers;
+        this.analyzer = analyzer;
+        this.cardCount = player.getTotalCardsInHand();
+    }
+
+    /**
+     * Returns the player choosing an action.
+     *
+     * @return the player
+     */
+    public Player getPlayer() {return player;}
+
+    /**
+     * Returns the board the decision is made on.
+     *
+     * @return the board
+     */
+    public Board getBoard() {return board;}
+
+    /**
+     * Returns the number of cards in the player's hand.
+     *
+     * @return card count
+     */
+    public int getCardCount() {return cardCount;}
+
+    /**
+     * Returns whether a road between a and b would join two of the player's
+     * separate road networks.
+     *
+     * @param a first endpoint
+     * @param b second endpoint
+     * @return true if the road bridges two networks
+     */
+    public boolean wouldJoinRoadNetworks(int a, int b) {
+        return roadNetwork().wouldJoinNetworks(a, b);
+    }
+
+    /**
+     * Returns whether a road between a and b touches the player's roads,
+     * or true if the player has no roads yet.
+     *
+     * @param a first endpoint
+     * @param b second endpoint
+     * @return true if the road extends the network
+     */
+    public boolean extendsRoadNetwork(int a, int b) {
+        RoadConnectivity network = roadNetwork();
+        return roadCount == 0 || network.hasRoadAt(a) || network.hasRoadAt(b);
+    }
+
+    /**
+     * Returns the length of the player's longest road.
+     *
+     * @return longest road length
+     */
+    public int getLongestRoad() {
+        if (longestRoad < 0) {
+            longestRoad = analyzer.calculateLongestRoad(player, board);
+        }
+        return longestRoad;
+    }
+
+    /**
+     * Returns whether some opponent's longest road is tied with the
+     * player's or exactly one shorter.
+     *
+     * @return true if an opponent is close on longest road
+     */
+    public boolean isOpponentCloseOnLongestRoad() {
+        if (opponentCloseOnLongestRoad == null) {
+            int mine = getLongestRoad();
+            boolean close = false;
+            for (Player opponent : allPlayers) {
+                if (opponent.getPlayerId() == player.getPlayerId()) {
+                    continue;
+                }
+                int theirs = analyzer.calculateLongestRoad(opponent, board);
+                if (theirs >= mine - 1 && theirs <= mine) {
+                    close = true;
+                    break;
+                }
+            }
+            opponentCloseOnLongestRoad = close;
+        }
+        return opponentCloseOnLongestRoad;
+    }
+
+    /**
+     * Builds the player's road network once, from the same roads
+     * RoadNetworkAnalyzer uses.
+     */
+    private RoadConnectivity roadNetwork() {
+        if (roadNetwork == null) {
+            java.util.BitSet roads = RoadNetworkAnalyzer.getPlayerRoadEdges(player, board);
+            int[][] offLayout = player.getOffLayoutRoads();
+            roadCount = roads.cardinality() + offLayout.length;
+            roadNetwork = new RoadConnectivity(board.getTopology());
+            roadNetwork.rebuild(roads);
+            for (int[] road : offLayout) {
+                roadNetwork.addRoad(road[0], road[1]);
+            }
+        }
+        return roadNetwork;
+    }
+}
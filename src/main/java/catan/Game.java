@@ -5,11 +5,13 @@
 package catan;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.security.SecureRandom;
+import catan.GameEventSink.Level;
 
 /**
  * Main game controller for the Catan simulation.
@@ -17,13 +19,17 @@ import java.security.SecureRandom;
  * @author Komal Khan, Rameen Tariq, Alisha Faridi, Maria Shashati
  */
 @SuppressWarnings("java:S106")
-public class Game {
+public class Game implements AutoCloseable {
 
     private Board board;
 
     // The list of players in turn order.
     private List<Player> players;
-    private Rules rules;
+    // Stateless legality checks and the shared cost table, reused across games
+    private final Rules rules;
+
+    // Tracks each player's legal build actions as the board changes
+    private IncrementalMoveGenerator moveGenerator;
     private Dice dice;
     private java.util.Random rng;
     private int roundNumber;
@@ -40,8 +46,46 @@ public class Game {
     private Path stateOutputDir = Paths.get(".");
 
 
+    // Hands out a child RNG stream to every random component of this game
+    private final RandomSource randomSource;
+
     // Implements the rule evaluation system required for R3.2
-    private final RuleBasedDecisionEngine decisionEngine = new RuleBasedDecisionEngine();
+    private final RuleBasedDecisionEngine decisionEngine;
+
+    // Seats that use a strategy other than decisionEngine, keyed by player ID
+    private final Map<Integer, DecisionStrategy> seatStrategies = new HashMap<>();
+
+    // When true the game prints nothing and writes no state files (batch simulation)
+    private boolean headless;
+
+    // Receives every log message; the console unless headless or replaced
+    private GameEventSink events = new ConsoleEventSink();
+
+    // Writers that receive a snapshot after every round and every turn
+    private final StateWriterRegistry stateWriters = StateWriterRegistry.standard();
+
+    // Writes state files off the game thread; created on first use, closed when the game ends
+    private AsyncStateWriter stateWriter;
+
+    // Records every placement, roll and action for binary replay; null when not recording
+    private ReplayWriter replayWriter;
+
+    // Layout the next initialize call builds its board on
+    private BoardTopology boardTopology = BoardTopology.standard();
+
+    // Typed events for listeners; events are only created for kinds with subscribers
+    private final GameEventBus eventBus = new GameEventBus();
+
+    // The game's own subscribers; each is on the bus only while it has work to do
+    private GameEventListener turnLog;
+    private GameEventListener stateOutput;
+    private GameEventListener replayRecorder;
+
+    // The player whose turn it is, for DiceRolled; 0 outside a turn
+    private int turnPlayerId;
+
+    // Times the phases of each turn; the shared disabled profiler unless replaced
+    private TurnProfiler profiler = TurnProfiler.disabled();
 
     /**
      * Sets the directory to write game state JSON files into.
@@ -59,10 +103,203 @@ public class Game {
      * @param maxRounds maximum number of rounds to play
      */
     public Game(int maxRounds) {
+        this(maxRounds, RandomSource.secure());
+    }
+
+    /**
+     * Constructs a new reproducible Game.
+     * The same seed and maxRounds replay the same AI-only game bit-for-bit.
+     *
+     * @param maxRounds maximum number of rounds to play
+     * @param seed the root seed for every random component of the game
+     */
+    public Game(int maxRounds, long seed) {
+        this(maxRounds, RandomSource.seeded(seed));
+    }
+
+    /**
+     * Constructs a new Game drawing all randomness from the given source.
+     * Dice, placement/robber choices, each AI player and the decision
+     * engine each receive their own child stream.
+     *
+     * @param maxRounds maximum number of rounds to play
+     * @param randomSource the source of every random number in the game
+     */
+    public Game(int maxRounds, RandomSource randomSource) {
         this.maxRounds = maxRounds;
-        this.rng = new SecureRandom();
-        this.dice = new Dice(rng);
+        this.randomSource = randomSource;
+        this.rng = randomSource.split();
+        this.dice = new Dice(randomSource.split());
+        this.rules = new Rules();
+        this.decisionEngine = new RuleBasedDecisionEngine(randomSource.split(), rules);
         this.victoryPointsToWin = 10;
+        subscribeTurnLog();
+        subscribeStateOutput(true);
+    }
+
+    /**
+     * Enables or disables headless mode.
+     *
+     * A headless game prints nothing to the console, writes no JSON state
+     * files and never waits for a human to step forward. Used for bulk
+     * AI-only simulation where stdout and file I/O would dominate run time.
+     *
+     * Switching headless mode on replaces the event sink with NoOpEventSink,
+     * and switching it off goes back to the console. Call setEventSink()
+     * afterwards to keep a log of a headless game.
+     *
+     * @param headless true to run without console or file output
+     */
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+        setEventSink(headless ? NoOpEventSink.INSTANCE : new ConsoleEventSink());
+        subscribeStateOutput(!headless);
+    }
+
+    /**
+     * Sets where this game's log messages go, including the decision
+     * engine's constraint explanations.
+     *
+     * @param sink the sink, or null for NoOpEventSink
+     */
+    public void setEventSink(GameEventSink sink) {
+        this.events = (sink == null) ? NoOpEventSink.INSTANCE : sink;
+        decisionEngine.setEventSink(this.events);
+        subscribeTurnLog();
+    }
+
+    /**
+     * Returns where this game's log messages go.
+     *
+     * @return the event sink
+     */
+    public GameEventSink getEventSink() {
+        return events;
+    }
+
+    /**
+     * Sets the strategy a computer-controlled seat uses to choose its actions.
+     * Seats without a strategy of their own use the rule-based decision engine.
+     * Has no effect on a human-controlled seat.
+     *
+     * @param playerId the seat's player ID (1-4)
+     * @param strategy the strategy to use, or null to go back to the default
+     */
+    public void setDecisionStrategy(int playerId, DecisionStrategy strategy) {
+        if (strategy == null) {
+            seatStrategies.remove(playerId);
+        } else {
+            strategy.setVictoryPointsToWin(victoryPointsToWin);
+            seatStrategies.put(playerId, strategy);
+        }
+    }
+
+    /**
+     * Returns the strategy the given seat uses to choose its actions.
+     *
+     * @param playerId the seat's player ID
+     * @return the seat's strategy, or the rule-based decision engine by default
+     */
+    public DecisionStrategy getDecisionStrategy(int playerId) {
+        return seatStrategies.getOrDefault(playerId, decisionEngine);
+    }
+
+    /**
+     * Records this game into a binary replay file, or stops if null.
+     * Must be set before initializeAiOnlyGame(); games with a human seat
+     * cannot be recorded. The caller closes the writer.
+     *
+     * @param replayWriter the writer to record into
+     */
+    public void setReplayWriter(ReplayWriter replayWriter) {
+        if (replayRecorder != null) {
+            eventBus.unsubscribe(replayRecorder);
+            replayRecorder = null;
+        }
+        this.replayWriter = replayWriter;
+        if (replayWriter != null) {
+            replayRecorder = this::recordForReplay;
+            eventBus.subscribe(GameEvent.Kind.GAME_STARTED, replayRecorder);
+            eventBus.subscribe(GameEvent.Kind.INITIAL_SETTLEMENT_PLACED, replayRecorder);
+            eventBus.subscribe(GameEvent.Kind.INITIAL_ROAD_PLACED, replayRecorder);
+            eventBus.subscribe(GameEvent.Kind.ROUND_STARTED, replayRecorder);
+            eventBus.subscribe(GameEvent.Kind.DICE_ROLLED, replayRecorder);
+            eventBus.subscribe(GameEvent.Kind.CARDS_DISCARDED, replayRecorder);
+            eventBus.subscribe(GameEvent.Kind.ACTION_EXECUTED, replayRecorder);
+            eventBus.subscribe(GameEvent.Kind.ROBBER_MOVED, replayRecorder);
+            eventBus.subscribe(GameEvent.Kind.CARD_STOLEN, replayRecorder);
+            eventBus.subscribe(GameEvent.Kind.GAME_OVER, replayRecorder);
+        }
+    }
+
+    /**
+     * Sets the layout the board is built on, for example one made by
+     * BoardGenerator. Must be set before the game is initialized; the
+     * standard layout is used by default. Replays only support the
+     * standard layout.
+     *
+     * @param boardTopology the layout, or null for the standard one
+     */
+    public void setBoardTopology(BoardTopology boardTopology) {
+        this.boardTopology = (boardTopology == null) ? BoardTopology.standard() : boardTopology;
+    }
+
+    /**
+     * Sets the victory points a player needs to win; 10 by default. Set it
+     * before the game starts. Seat strategies are told the new target.
+     *
+     * @param victoryPointsToWin the winning score
+     */
+    public void setVictoryPointsToWin(int victoryPointsToWin) {
+        this.victoryPointsToWin = victoryPointsToWin;
+        for (DecisionStrategy strategy : seatStrategies.values()) {
+            strategy.setVictoryPointsToWin(victoryPointsToWin);
+        }
+    }
+
+    /**
+     * Returns the bus this game publishes its events on. Subscribe before
+     * the events of interest happen; publishing to a kind with no
+     * subscribers costs nothing.
+     *
+     * The game's turn log, state writers and replay recorder are
+     * subscribers on this bus too, so clearing it silences them.
+     *
+     * @return the game's event bus
+     */
+    public GameEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Times the phases of every computer turn and of the state writers into
+     * the given profiler. Set it before the game starts.
+     *
+     * @param profiler the profiler, or null to stop timing
+     */
+    public void setProfiler(TurnProfiler profiler) {
+        this.profiler = (profiler == null) ? TurnProfiler.disabled() : profiler;
+        if (stateWriter != null) {
+            stateWriter.setProfiler(this.profiler);
+        }
+    }
+
+    /**
+     * Returns the profiler timing this game's turns.
+     *
+     * @return the profiler; disabled by default
+     */
+    public TurnProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Returns whether this game runs without console or file output.
+     *
+     * @return true if headless
+     */
+    public boolean isHeadless() {
+        return headless;
     }
 
     /**
@@ -75,23 +312,48 @@ public class Game {
      * Robber is placed on the desert tile during board setup.
      */
     public void initializeNewGame() {
-        board = new Board();
-        board.initializeFixedMapLayout();
-        board.initializeRobber();
+        initializeGame(true);
+    }
+
+    /**
+     * Initializes a new game in which all 4 seats are computer players.
+     *
+     * Same setup as initializeNewGame(), but no seat is bound to the console,
+     * so the game can run to completion without any human input.
+     */
+    public void initializeAiOnlyGame() {
+        initializeGame(false);
+    }
+
+    /**
+     * Sets up the board and players, then runs initial placement.
+     *
+     * @param withHumanPlayer if true, Player 1 is human-controlled
+     */
+    private void initializeGame(boolean withHumanPlayer) {
+        board = new Board(boardTopology);
 
-        rules = new Rules();
+        moveGenerator = new IncrementalMoveGenerator(board);
 
         players = new ArrayList<>();
 
-        // Player 1 is human-controlled; players 2–4 are computer players
-        players.add(new HumanPlayer(1, Colour.RED, new ConsoleInputHandler()));
-        players.add(new Player(2, Colour.BLUE));
-        players.add(new Player(3, Colour.GREEN));
-        players.add(new Player(4, Colour.YELLOW));
+        // Player 1 is human-controlled unless every seat is an AI; players 2–4 are computer players
+        if (withHumanPlayer) {
+            players.add(new HumanPlayer(1, Colour.RED, new ConsoleInputHandler(), boardTopology));
+        } else {
+            players.add(new Player(1, Colour.RED, randomSource.split(), boardTopology));
+        }
+        players.add(new Player(2, Colour.BLUE, randomSource.split(), boardTopology));
+        players.add(new Player(3, Colour.GREEN, randomSource.split(), boardTopology));
+        players.add(new Player(4, Colour.YELLOW, randomSource.split(), boardTopology));
 
         roundNumber = 1;
 
-        GameLogger.printGameStart(maxRounds);
+        if (eventBus.hasSubscribers(GameEvent.Kind.GAME_STARTED)) {
+            eventBus.publish(new GameEvent.GameStarted(roundNumber, randomSource.getSeed(),
+                maxRounds, victoryPointsToWin));
+        }
+        GameLogger.printGameStart(events, maxRounds);
         initialPlacementPhase();
     }
 
@@ -103,7 +365,7 @@ public class Game {
      * Second settlement gives the player resources from all adjacent tiles.
      */
     private void initialPlacementPhase() {
-        System.out.println("=== Initial Placement Phase ===");
+        println("=== Initial Placement Phase ===");
 
         // First round of placements (players 1,2,3,4)
         for (int i = 0; i < players.size(); i++) {
@@ -115,7 +377,7 @@ public class Game {
             placeInitialSettlementAndRoad(players.get(i), true);
         }
 
-        System.out.println();
+        println("");
     }
 
     /**
@@ -136,7 +398,7 @@ public class Game {
         }
 
         if (validSettlements.isEmpty()) {
-            System.out.println(PLAYER_PREFIX + player.getPlayerId() + ": No valid settlement locations!");
+            events.log(Level.WARN, PLAYER_PREFIX + player.getPlayerId() + ": No valid settlement locations!");
             return;
         }
 
@@ -145,9 +407,15 @@ public class Game {
         board.placeSettlement(player.getPlayerId(), settlementId);
         player.recordPlacedSettlement(settlementId);
         player.addVictoryPoints(Building.SETTLEMENT.getVictoryPoints());
+        if (eventBus.hasSubscribers(GameEvent.Kind.INITIAL_SETTLEMENT_PLACED)) {
+            eventBus.publish(new GameEvent.InitialSettlementPlaced(roundNumber, player.getPlayerId(),
+                settlementId, giveResources));
+        }
 
-        System.out.println(PLAYER_PREFIX + player.getPlayerId()
-            + ": Placed initial settlement at intersection " + settlementId);
+        if (logging()) {
+            println(PLAYER_PREFIX + player.getPlayerId()
+                + ": Placed initial settlement at intersection " + settlementId);
+        }
 
         // Second placement only and give resources from adjacent tiles
         if (giveResources) {
@@ -156,8 +424,8 @@ public class Game {
 
         // Collect all valid road locations adjacent to the new settlement
         List<Edge> validRoads = new ArrayList<>();
-        for (Edge edge : board.getAllEdges()) {
-            if (edge.touchesIntersection(settlementId) && !edge.isOccupied()) {
+        for (Edge edge : board.getIncidentEdges(settlementId)) {
+            if (!edge.isOccupied()) {
                 validRoads.add(edge);
             }
         }
@@ -168,10 +436,16 @@ public class Game {
                 roadEdge.getIntersectionA(), roadEdge.getIntersectionB());
             player.recordPlacedRoad(
                 roadEdge.getIntersectionA(), roadEdge.getIntersectionB());
+            if (eventBus.hasSubscribers(GameEvent.Kind.INITIAL_ROAD_PLACED)) {
+                eventBus.publish(new GameEvent.InitialRoadPlaced(roundNumber, player.getPlayerId(),
+                    roadEdge.getIntersectionA(), roadEdge.getIntersectionB()));
+            }
 
-            System.out.println(PLAYER_PREFIX + player.getPlayerId()
-                + ": Placed initial road between "
-                + roadEdge.getIntersectionA() + " and " + roadEdge.getIntersectionB());
+            if (logging()) {
+                println(PLAYER_PREFIX + player.getPlayerId()
+                    + ": Placed initial road between "
+                    + roadEdge.getIntersectionA() + " and " + roadEdge.getIntersectionB());
+            }
         }
     }
 
@@ -183,6 +457,18 @@ public class Game {
      * @param intersectionId the second settlement location
      */
     private void giveInitialResources(Player player, int intersectionId) {
+        giveInitialResources(board, player, intersectionId);
+    }
+
+    /**
+     * Gives the initial resources for a second settlement on any board;
+     * shared with ReplayReader.
+     *
+     * @param board the board
+     * @param player the player receiving resources
+     * @param intersectionId the second settlement location
+     */
+    static void giveInitialResources(Board board, Player player, int intersectionId) {
         int[] adjacentTileIds = board.getAdjacentTileIds(intersectionId);
         for (int tileId : adjacentTileIds) {
             Tile tile = board.getTile(tileId);
@@ -196,37 +482,110 @@ public class Game {
 
     /**
      * Runs the game loop until a termination condition is reached.
-     * Writes a JSON state file at the end of each round.
+     * A JSON state file is written at the end of each round by the state
+     * output subscriber.
      */
     public void runSimulationUntilTermination() {
         while (!isTerminationReached()) {
             playOneRound();
             printRoundScoreboard();
-
-            // Write JSON state at end of each round
-            try {
-                GameStateWriter.writeBasicRoundState(this, stateOutputDir);
-            } catch (Exception e) {
-                System.out.println("Failed to write game state: " + e.getMessage());
-            }
             roundNumber++;
         }
 
+        close();
+
         Player winner = getWinnerOrNull();
-        GameLogger.printGameOver(winner, roundNumber);
+        GameLogger.printGameOver(events, winner, roundNumber);
+        if (eventBus.hasSubscribers(GameEvent.Kind.GAME_OVER)) {
+            eventBus.publish(new GameEvent.GameOver(roundNumber, (winner == null) ? 0 : winner.getPlayerId()));
+        }
     }
 
     /**
      * Plays one complete round
      * Stops early if a termination condition is reached mid-round.
+     *
+     * State files queued during the round are written in the background and
+     * may still be pending when this returns; call flushStateOutput() to wait
+     * for them, and close() when done with the game.
      */
     public void playOneRound() {
+        if (eventBus.hasSubscribers(GameEvent.Kind.ROUND_STARTED)) {
+            eventBus.publish(new GameEvent.RoundStarted(roundNumber));
+        }
         for (Player p : players) {
             playOneTurn(p);
 
 
             if (isTerminationReached()) break;
         }
+        if (eventBus.hasSubscribers(GameEvent.Kind.ROUND_ENDED)) {
+            eventBus.publish(new GameEvent.RoundEnded(roundNumber));
+        }
+    }
+
+    /**
+     * Waits until every state file queued so far has been written.
+     * Does nothing if no state file was queued.
+     */
+    public void flushStateOutput() {
+        if (stateWriter == null) {
+            return;
+        }
+        try {
+            stateWriter.flush();
+        } catch (Exception e) {
+            events.log(Level.WARN, "Failed to write game state: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes out pending state files and stops the background writer,
+     * removing its JVM shutdown hook. runSimulationUntilTermination() calls
+     * this itself; callers that drive playOneRound() or playOneTurn()
+     * directly call it when done with the game. If the game plays on, a new
+     * writer is started when the next state file is queued.
+     */
+    @Override
+    public void close() {
+        if (stateWriter == null) {
+            return;
+        }
+        try {
+            stateWriter.close();
+        } catch (Exception e) {
+            events.log(Level.WARN, "Failed to write game state: " + e.getMessage());
+        }
+        stateWriter = null;
+    }
+
+    private AsyncStateWriter stateWriter() {
+        if (stateWriter == null) {
+            stateWriter = new AsyncStateWriter(stateWriters);
+            stateWriter.setProfiler(profiler);
+        }
+        return stateWriter;
+    }
+
+    /**
+     * Returns a copy of the current round, players, roads and buildings.
+     * The snapshot never changes and holds no references into the game,
+     * so it can be read on any thread.
+     *
+     * @return the snapshot
+     */
+    public GameSnapshot snapshot() {
+        return GameSnapshot.capture(roundNumber, board, players);
+    }
+
+    /**
+     * Returns the writers this game hands its snapshots to. Add a writer
+     * to export another format; clear it to write no state files.
+     *
+     * @return the game's writer registry
+     */
+    public StateWriterRegistry getStateWriters() {
+        return stateWriters;
     }
 
     /**
@@ -243,21 +602,43 @@ public class Game {
      * @param player the player taking their turn
      */
     public void playOneTurn(Player player) {
+        turnPlayerId = player.getPlayerId();
 
         // Human player turn
         if (player instanceof HumanPlayer) {
             ((HumanPlayer) player).takeTurn(roundNumber, this, board, rules);
+            turnPlayerId = 0;
+            publishTurnEnded(player);
             return;
         }
 
+        long turnStart = profiler.start();
         handleComputerRoll(player);
 
+        long phaseStart = profiler.start();
         List<Action> validActions = getFilteredValidActions(player);
-        Action chosen = decisionEngine.chooseBestAction(player, board, validActions);
+        profiler.stop(TurnProfiler.Phase.VALID_ACTIONS, phaseStart);
+
+        phaseStart = profiler.start();
+        Action chosen = getDecisionStrategy(player.getPlayerId())
+            .chooseAction(player, board, validActions, players);
+        profiler.stop(TurnProfiler.Phase.CHOOSE_ACTION, phaseStart);
 
+        phaseStart = profiler.start();
         processChosenAction(player, chosen);
-        waitForHumanStepForward(player);
-        writeVisualizerStateSafely();
+        profiler.stop(TurnProfiler.Phase.PROCESS_ACTION, phaseStart);
+        profiler.stop(TurnProfiler.Phase.TURN, turnStart);
+        turnPlayerId = 0;
+        if (!headless) {
+            waitForHumanStepForward(player);
+        }
+        publishTurnEnded(player);
+    }
+
+    private void publishTurnEnded(Player player) {
+        if (eventBus.hasSubscribers(GameEvent.Kind.TURN_ENDED)) {
+            eventBus.publish(new GameEvent.TurnEnded(roundNumber, player.getPlayerId()));
+        }
     }
 
     /**
@@ -269,12 +650,17 @@ public class Game {
      * @param player the computer player taking the turn
      */
     private void handleComputerRoll(Player player) {
+        long phaseStart = profiler.start();
         int roll = rollDice();
+        profiler.stop(TurnProfiler.Phase.ROLL, phaseStart);
 
+        phaseStart = profiler.start();
         if (roll == 7) {
             handleSevenRoll(player);
+            profiler.stop(TurnProfiler.Phase.SEVEN_ROLL, phaseStart);
         } else {
             distributeResourcesForRoll(roll);
+            profiler.stop(TurnProfiler.Phase.DISTRIBUTE_RESOURCES, phaseStart);
         }
     }
 
@@ -290,7 +676,7 @@ public class Game {
      */
     private List<Action> getFilteredValidActions(Player player) {
         boolean mustBuild = player.getTotalCardsInHand() > 7;
-        List<Action> validActions = rules.getValidActionsByLinearScan(player, board);
+        List<Action> validActions = moveGenerator.getValidActions(player);
 
         validActions = filterAffordableActions(player, validActions);
 
@@ -316,8 +702,7 @@ public class Game {
             if (action.getType() == ActionType.PASS) {
                 affordableActions.add(action);
             } else {
-                Map<Resources, Integer> cost = rules.getCost(action.getType());
-                if (player.hasEnoughResources(cost)) {
+                if (player.hasEnoughResources(rules.getCostVector(action.getType()))) {
                     affordableActions.add(action);
                 }
             }
@@ -352,28 +737,202 @@ public class Game {
     /**
      * Executes or logs the chosen action.
      *
-     * R3.2: The chosen action is the one selected by the rule-based
-     * decision engine after evaluating valid actions.
+     * R3.2: The chosen action is the one selected by the seat's decision
+     * strategy (the rule-based engine by default) after evaluating valid actions.
      *
      * @param player the player taking the action
      * @param chosen the selected action
      */
     private void processChosenAction(Player player, Action chosen) {
         if (chosen != null && chosen.getType() != ActionType.PASS) {
-            Map<Resources, Integer> cost = rules.getCost(chosen.getType());
+            int[] cost = rules.getCostVector(chosen.getType());
             if (player.hasEnoughResources(cost)) {
                 player.payCost(cost);
                 executeAction(player, chosen);
-                GameLogger.printTurnAction(roundNumber, player.getPlayerId(),
-                    chosen.describeForLogger());
-            } else {
-                GameLogger.printTurnAction(roundNumber, player.getPlayerId(), "Passed");
+                publishActionExecuted(player, chosen);
+                return;
             }
-        } else {
-            GameLogger.printTurnAction(roundNumber, player.getPlayerId(), "Passed");
+        }
+        publishActionExecuted(player, Action.pass());
+    }
+
+    /**
+     * Publishes an ActionExecuted event if anyone listens. HumanPlayer
+     * calls this after each command that builds or ends the turn.
+     *
+     * @param player the player who acted
+     * @param action the executed action, or a PASS action
+     */
+    void publishActionExecuted(Player player, Action action) {
+        if (eventBus.hasSubscribers(GameEvent.Kind.ACTION_EXECUTED)) {
+            eventBus.publish(new GameEvent.ActionExecuted(roundNumber, player.getPlayerId(), action));
+        }
+    }
+
+    /**
+     * Subscribes the turn log while the event sink keeps INFO messages, so
+     * a quiet game leaves these kinds without subscribers.
+     */
+    private void subscribeTurnLog() {
+        if (turnLog != null) {
+            eventBus.unsubscribe(turnLog);
+            turnLog = null;
+        }
+        if (logging()) {
+            turnLog = this::logTurnEvent;
+            eventBus.subscribe(GameEvent.Kind.ACTION_EXECUTED, turnLog);
+            eventBus.subscribe(GameEvent.Kind.CARDS_DISCARDED, turnLog);
+            eventBus.subscribe(GameEvent.Kind.ROBBER_MOVED, turnLog);
+            eventBus.subscribe(GameEvent.Kind.CARD_STOLEN, turnLog);
         }
     }
 
+    /**
+     * Logs what happened in a turn at INFO.
+     * Actions use the format [RoundNumber] / [PlayerID]: [Action].
+     *
+     * @param event an event the turn log subscribed to
+     */
+    private void logTurnEvent(GameEvent event) {
+        switch (event.getKind()) {
+            case ACTION_EXECUTED: {
+                GameEvent.ActionExecuted e = (GameEvent.ActionExecuted) event;
+                GameLogger.printTurnAction(events, e.getRound(), e.getPlayerId(), e.getAction().describeForLogger());
+                break;
+            }
+            case CARDS_DISCARDED: {
+                GameEvent.CardsDiscarded e = (GameEvent.CardsDiscarded) event;
+                println(PLAYER_PREFIX + e.getPlayerId() + " discarded " + e.getCount() + " cards.");
+                break;
+            }
+            case ROBBER_MOVED: {
+                GameEvent.RobberMoved e = (GameEvent.RobberMoved) event;
+                println(PLAYER_PREFIX + e.getPlayerId() + " moved robber to tile " + e.getToTileId());
+                break;
+            }
+            case CARD_STOLEN: {
+                GameEvent.CardStolen e = (GameEvent.CardStolen) event;
+                println(PLAYER_PREFIX + e.getThiefId()
+                    + " stole 1 " + e.getResource() + " from " + PLAYER_PREFIX + e.getVictimId());
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Subscribes the state writers to the end of every turn and round, or
+     * takes them off the bus; a headless game writes no state files.
+     *
+     * @param enabled true to write state files
+     */
+    private void subscribeStateOutput(boolean enabled) {
+        if (stateOutput != null) {
+            eventBus.unsubscribe(stateOutput);
+            stateOutput = null;
+        }
+        if (enabled) {
+            stateOutput = event -> {
+                if (event.getKind() == GameEvent.Kind.ROUND_ENDED) {
+                    writeRoundStateSafely();
+                } else {
+                    writeVisualizerStateSafely();
+                }
+            };
+            eventBus.subscribe(GameEvent.Kind.TURN_ENDED, stateOutput);
+            eventBus.subscribe(GameEvent.Kind.ROUND_ENDED, stateOutput);
+        }
+    }
+
+    /**
+     * Records an event into the replay file.
+     *
+     * @param event an event the replay recorder subscribed to
+     */
+    private void recordForReplay(GameEvent event) {
+        switch (event.getKind()) {
+            case GAME_STARTED: {
+                GameEvent.GameStarted e = (GameEvent.GameStarted) event;
+                if (boardTopology != BoardTopology.standard()) {
+                    throw new IllegalArgumentException("Only games on the standard layout can be recorded.");
+                }
+                replayWriter.beginGame(e.getSeed(), e.getMaxRounds(), e.getVictoryPointsToWin(), players);
+                break;
+            }
+            case INITIAL_SETTLEMENT_PLACED: {
+                GameEvent.InitialSettlementPlaced e = (GameEvent.InitialSettlementPlaced) event;
+                replayWriter.recordInitialSettlement(e.getPlayerId(), e.getIntersectionId(), e.givesResources());
+                break;
+            }
+            case INITIAL_ROAD_PLACED: {
+                GameEvent.InitialRoadPlaced e = (GameEvent.InitialRoadPlaced) event;
+                replayWriter.recordInitialRoad(e.getPlayerId(), e.getIntersectionA(), e.getIntersectionB());
+                break;
+            }
+            case ROUND_STARTED:
+                replayWriter.recordRound(event.getRound());
+                break;
+            case DICE_ROLLED: {
+                GameEvent.DiceRolled e = (GameEvent.DiceRolled) event;
+                replayWriter.recordRoll(e.getPlayerId(), e.getRoll());
+                break;
+            }
+            case CARDS_DISCARDED: {
+                GameEvent.CardsDiscarded e = (GameEvent.CardsDiscarded) event;
+                for (Resources r : Resources.values()) {
+                    if (e.getDiscarded(r) > 0) {
+                        replayWriter.recordDiscard(e.getPlayerId(), r, e.getDiscarded(r));
+                    }
+                }
+                break;
+            }
+            case ACTION_EXECUTED: {
+                GameEvent.ActionExecuted e = (GameEvent.ActionExecuted) event;
+                if (e.getAction().getType() != ActionType.PASS) {
+                    replayWriter.recordAction(e.getPlayerId(), e.getAction());
+                }
+                break;
+            }
+            case ROBBER_MOVED: {
+                GameEvent.RobberMoved e = (GameEvent.RobberMoved) event;
+                replayWriter.recordRobber(e.getPlayerId(), e.getToTileId());
+                break;
+            }
+            case CARD_STOLEN: {
+                GameEvent.CardStolen e = (GameEvent.CardStolen) event;
+                replayWriter.recordSteal(e.getThiefId(), e.getVictimId(), e.getResource());
+                break;
+            }
+            case GAME_OVER: {
+                GameEvent.GameOver e = (GameEvent.GameOver) event;
+                replayWriter.endGame(e.getRound(), e.getWinnerId());
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Logs a line at INFO.
+     *
+     * @param line the text to log
+     */
+    private void println(String line) {
+        events.log(Level.INFO, line);
+    }
+
+    /**
+     * Returns whether INFO messages are kept; checked before building a
+     * message so a headless game does no string formatting.
+     *
+     * @return true if println() would log
+     */
+    private boolean logging() {
+        return events.isEnabled(Level.INFO);
+    }
+
     /**
      * R2.4: Pauses after each computer player turn so the
      * human can read what happened before the next turn begins.
@@ -390,13 +949,33 @@ public class Game {
     }
 
     /**
-     * Writes the visualizer state while keeping the original error handling.
+     * Queues a snapshot for the round writers; it is written in the
+     * background.
+     */
+    private void writeRoundStateSafely() {
+        if (stateWriters.getRoundWriters().isEmpty()) {
+            return;
+        }
+        try {
+            stateWriter().submitRoundSnapshot(snapshot(), stateOutputDir);
+        } catch (Exception e) {
+            events.log(Level.WARN, "Failed to write game state: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Queues a snapshot for the turn writers while keeping the original
+     * error handling. The snapshot is taken here because the board keeps
+     * changing; formatting and file writes happen in the background.
      */
     private void writeVisualizerStateSafely() {
+        if (stateWriters.getTurnWriters().isEmpty() && stateWriters.getTurnLogWriters().isEmpty()) {
+            return;
+        }
         try {
-            VisualizerStateWriter.write(this, stateOutputDir);
+            stateWriter().submitTurnSnapshot(snapshot(), stateOutputDir);
         } catch (Exception e) {
-            System.out.println("Failed to write visualizer state: " + e.getMessage());
+            events.log(Level.WARN, "Failed to write visualizer state: " + e.getMessage());
         }
     }
 
@@ -407,7 +986,11 @@ public class Game {
      * @return dice roll result (2–12)
      */
     public int rollDice() {
-        return dice.rollTwoSixSidedDice();
+        int roll = dice.rollTwoSixSidedDice();
+        if (eventBus.hasSubscribers(GameEvent.Kind.DICE_ROLLED)) {
+            eventBus.publish(new GameEvent.DiceRolled(roundNumber, turnPlayerId, roll));
+        }
+        return roll;
     }
 
     /**
@@ -419,10 +1002,41 @@ public class Game {
      * @param roll the dice roll value
      */
     public void distributeResourcesForRoll(int roll) {
-        List<Tile> producingTiles = board.getTilesProducingOnRoll(roll);
+        if (!eventBus.hasSubscribers(GameEvent.Kind.RESOURCES_DISTRIBUTED)) {
+            distributeResources(board, players, roll);
+            return;
+        }
+        // hands before the roll, turned into gains after it
+        int maxId = 0;
+        for (Player p : players) maxId = Math.max(maxId, p.getPlayerId());
+        int[][] gains = new int[maxId + 1][];
+        for (Player p : players) gains[p.getPlayerId()] = handCounts(p);
+        distributeResources(board, players, roll);
+        Resources[] types = Resources.values();
+        for (Player p : players) {
+            int[] counts = gains[p.getPlayerId()];
+            for (int i = 0; i < types.length; i++) {
+                counts[i] = p.getResourceCount(types[i]) - counts[i];
+            }
+        }
+        eventBus.publish(new GameEvent.ResourcesDistributed(roundNumber, roll, gains));
+    }
 
-        for (Tile tile : producingTiles) {
-            distributeResourcesForTile(tile);
+    /**
+     * Distributes the resources for a roll on any board; shared with
+     * ReplayReader so a replay produces exactly what the game did, and with
+     * Rollout so play-outs pay out the same way.
+     *
+     * @param board the board whose tiles produce
+     * @param players the players receiving resources
+     * @param roll the dice roll value, not 7
+     */
+    static void distributeResources(Board board, List<Player> players, int roll) {
+        // Only tiles carrying this number can produce; the robber and desert still block
+        for (Tile tile : board.getTilesWithDiceNumber(roll)) {
+            if (tile.producesOnRoll(roll)) {
+                distributeResourcesForTile(board, players, tile);
+            }
         }
     }
 
@@ -431,15 +1045,15 @@ public class Game {
      *
      * Settlements receive 1 resource; cities receive 2.
      *
+     * @param board the board
+     * @param players the players receiving resources
      * @param tile the tile producing resources
      */
-    private void distributeResourcesForTile(Tile tile) {
+    private static void distributeResourcesForTile(Board board, List<Player> players, Tile tile) {
         Resources resource = tile.getResource();
-        List<Integer> adjacentIntersections =
-            board.getIntersectionsAdjacentToTile(tile.getTileId());
 
-        for (int intersectionId : adjacentIntersections) {
-            distributeResourcesForIntersection(intersectionId, resource);
+        for (int intersectionId : board.getTileCornerIds(tile.getTileId())) {
+            distributeResourcesForIntersection(board, players, intersectionId, resource);
         }
     }
 
@@ -447,22 +1061,26 @@ public class Game {
      * Gives the appropriate amount of a resource to the owner of a building
      * at the given intersection, if one exists.
      *
+     * @param board the board
+     * @param players the players receiving resources
      * @param intersectionId the intersection to inspect
      * @param resource the resource to award
      */
-    private void distributeResourcesForIntersection(int intersectionId, Resources resource) {
+    private static void distributeResourcesForIntersection(Board board, List<Player> players,
+                                                           int intersectionId, Resources resource) {
         Intersection intersection = board.getIntersection(intersectionId);
 
         if (intersection == null || !intersection.hasBuilding()) {
             return;
         }
 
-        Integer ownerId = intersection.getBuildingOwnerId();
-        if (ownerId == null) {
+        // Primitive owner ID keeps the produce phase free of boxing
+        int ownerId = intersection.getOwnerPlayerId();
+        if (ownerId == -1) {
             return;
         }
 
-        Player owner = getPlayerById(ownerId);
+        Player owner = findPlayer(players, ownerId);
         if (owner == null) {
             return;
         }
@@ -478,6 +1096,10 @@ public class Game {
      * Returns the player with the given ID, or null if not found.
      */
     private Player getPlayerById(int playerId) {
+        return findPlayer(players, playerId);
+    }
+
+    private static Player findPlayer(List<Player> players, int playerId) {
         for (Player p : players) {
             if (p.getPlayerId() == playerId) return p;
         }
@@ -546,12 +1168,66 @@ public class Game {
      * Prints the victory point scoreboard at the end of each round.
      */
     public void printRoundScoreboard() {
-        System.out.println("-----Round " + roundNumber + " ----");
+        if (!logging()) {
+            return;
+        }
+        println("-----Round " + roundNumber + " ----");
         for (Player p : players) {
-            System.out.println(PLAYER_PREFIX + p.getPlayerId() + " VP: " + p.getVictoryPoints());
+            println(PLAYER_PREFIX + p.getPlayerId() + " VP: " + p.getVictoryPoints());
         }
     }
 
+    /**
+     * Returns the source all of this game's randomness is drawn from.
+     *
+     * @return the game's RandomSource
+     */
+    public RandomSource getRandomSource() {
+        return randomSource;
+    }
+
+    /**
+     * Returns the current round number.
+     * After runSimulationUntilTermination() this is one past the last round played.
+     *
+     * @return the current round number
+     */
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    /**
+     * Returns the players in turn order.
+     *
+     * @return an unmodifiable view of the player list
+     */
+    public List<Player> getPlayers() {
+        return Collections.unmodifiableList(players);
+    }
+
+    /**
+     * Captures the current position (pieces, hands, victory points, robber
+     * and round) as a compact GameState.
+     *
+     * @return a new state holding the position
+     */
+    public GameState captureState() {
+        return GameState.capture(board, players, roundNumber);
+    }
+
+    /**
+     * Puts the game back into a position captured by captureState().
+     * The board and players are updated in place, so the move generator
+     * and any human seat keep working.
+     *
+     * @param state the position to restore
+     * @throws IllegalArgumentException if the state has a different board or seats
+     */
+    public void restoreState(GameState state) {
+        state.applyTo(board, players);
+        roundNumber = state.getRound();
+    }
+
     /**
      * Handles the full sequence of events when a 7 is rolled (R2.5):
      *
@@ -564,26 +1240,49 @@ public class Game {
      * @param currentPlayer the player who rolled the 7
      */
     private void handleSevenRoll(Player currentPlayer) {
-        System.out.println("****** A 7 was rolled... Robber activates....");
+        println("****** A 7 was rolled... Robber activates....");
 
         // All players with more than 7 cards discard half
         for (Player p : players) {
             if (p.getTotalCardsInHand() > 7) {
-                int discarded = p.discardHalfCards();
-                System.out.println(PLAYER_PREFIX + p.getPlayerId()
-                    + " discarded " + discarded + " cards.");
+                if (eventBus.hasSubscribers(GameEvent.Kind.CARDS_DISCARDED)) {
+                    discardAndPublish(p);
+                } else {
+                    p.discardHalfCards();
+                }
             }
         }
 
         // Move robber to a random valid tile
+        int oldRobberTile = board.getRobberTileId();
         int newRobberTile = moveRobberRandomly();
-        System.out.println(PLAYER_PREFIX + currentPlayer.getPlayerId()
-            + " moved robber to tile " + newRobberTile);
+        if (eventBus.hasSubscribers(GameEvent.Kind.ROBBER_MOVED)) {
+            eventBus.publish(new GameEvent.RobberMoved(roundNumber, currentPlayer.getPlayerId(),
+                oldRobberTile, newRobberTile));
+        }
 
         //Steal from a random adjacent player
         stealFromAdjacentPlayer(currentPlayer, newRobberTile);
     }
 
+    private static int[] handCounts(Player p) {
+        Resources[] types = Resources.values();
+        int[] counts = new int[types.length];
+        for (int i = 0; i < types.length; i++) counts[i] = p.getResourceCount(types[i]);
+        return counts;
+    }
+
+    // discards half of a player's hand and publishes what each resource lost
+    private void discardAndPublish(Player p) {
+        int[] lost = handCounts(p);
+        p.discardHalfCards();
+        Resources[] types = Resources.values();
+        for (int i = 0; i < types.length; i++) {
+            lost[i] -= p.getResourceCount(types[i]);
+        }
+        eventBus.publish(new GameEvent.CardsDiscarded(roundNumber, p.getPlayerId(), lost));
+    }
+
     /**
      * Moves the robber to a randomly chosen valid tile.
      * A valid tile is any tile other than the one the robber is currently on.
@@ -593,7 +1292,7 @@ public class Game {
     private int moveRobberRandomly() {
         List<Integer> validTiles = board.getValidRobberTiles();
 
-        // should never happen since there are always 18 other tiles
+        // should never happen since every board has more than one tile
         if (validTiles.isEmpty()) return board.getRobberTileId();
 
         int newTileId = validTiles.get(rng.nextInt(validTiles.size()));
@@ -615,7 +1314,7 @@ public class Game {
         adjacentPlayerIds.removeIf(id -> id == thief.getPlayerId());
 
         if (adjacentPlayerIds.isEmpty()) {
-            System.out.println("No players to steal from.");
+            println("No players to steal from.");
             return;
         }
      
@@ -626,15 +1325,17 @@ public class Game {
 
         Resources stolenCard = victim.getRandomResource();
         if (stolenCard == null) {
-            System.out.println(PLAYER_PREFIX + victimId + " has no cards to steal.");
+            if (logging()) {
+                println(PLAYER_PREFIX + victimId + " has no cards to steal.");
+            }
             return;
         }
 
         victim.removeResources(stolenCard, 1);
         thief.addResource(stolenCard, 1);
-
-        System.out.println(PLAYER_PREFIX + thief.getPlayerId()
-            + " stole 1 " + stolenCard + " from " + PLAYER_PREFIX + victimId);
+        if (eventBus.hasSubscribers(GameEvent.Kind.CARD_STOLEN)) {
+            eventBus.publish(new GameEvent.CardStolen(roundNumber, thief.getPlayerId(), victimId, stolenCard));
+        }
     }
     
     /**
@@ -0,0 +1,433 @@
+package catan;
+
+/**
+ * Something that happened in a game, published on the game's GameEventBus.
+ *
+ * Events are immutable and hold plain values (IDs, counts, resources), no
+ * references into the board or players, so an asynchronous listener can
+ * read them on another thread. Each concrete type has a Kind, which the
+ * bus uses to index its listeners.
+ */
+public abstract class GameEvent {
+
+    /**
+     * The event types, one per concrete event class.
+     */
+    public enum Kind {
+        GAME_STARTED(GameStarted.class),
+        INITIAL_SETTLEMENT_PLACED(InitialSettlementPlaced.class),
+        INITIAL_ROAD_PLACED(InitialRoadPlaced.class),
+        ROUND_STARTED(RoundStarted.class),
+        DICE_ROLLED(DiceRolled.class),
+        RESOURCES_DISTRIBUTED(ResourcesDistributed.class),
+        ACTION_EXECUTED(ActionExecuted.class),
+        ROBBER_MOVED(RobberMoved.class),
+        CARD_STOLEN(CardStolen.class),
+        CARDS_DISCARDED(CardsDiscarded.class),
+        TURN_ENDED(TurnEnded.class),
+        ROUND_ENDED(RoundEnded.class),
+        GAME_OVER(GameOver.class);
+
+        private final Class<? extends GameEvent> type;
+
+        Kind(Class<? extends GameEvent> type) {
+            this.type = type;
+        }
+
+        /**
+         * Returns the event class of this kind.
+         *
+         * @return the class
+         */
+        public Class<? extends GameEvent> type() {
+            return type;
+        }
+
+        /**
+         * Returns the kind of an event class.
+         *
+         * @param type a concrete event class
+         * @return its kind
+         * @throws IllegalArgumentException if the class is not a concrete event type
+         */
+        public static Kind of(Class<? extends GameEvent> type) {
+            for (Kind kind : values()) {
+                if (kind.type == type) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Not a concrete game event type: " + type.getName());
+        }
+    }
+
+    private final int round;
+
+    private GameEvent(int round) {
+        this.round = round;
+    }
+
+    /**
+     * Returns the round the event happened in.
+     *
+     * @return the round number
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Returns this event's type.
+     *
+     * @return the kind
+     */
+    public abstract Kind getKind();
+
+    /**
+     * The players are seated and initial placement is about to begin.
+     */
+    public static final class GameStarted extends GameEvent {
+        private final long seed;
+        private final int maxRounds;
+        private final int victoryPointsToWin;
+
+        public GameStarted(int round, long seed, int maxRounds, int victoryPointsToWin) {
+            super(round);
+            this.seed = seed;
+            this.maxRounds = maxRounds;
+            this.victoryPointsToWin = victoryPointsToWin;
+        }
+
+        /** @return the seed the game's random source started from */
+        public long getSeed() { return seed; }
+
+        /** @return the round limit */
+        public int getMaxRounds() { return maxRounds; }
+
+        /** @return the victory points needed to win */
+        public int getVictoryPointsToWin() { return victoryPointsToWin; }
+
+        @Override
+        public Kind getKind() { return Kind.GAME_STARTED; }
+    }
+
+    /**
+     * A player placed a settlement during initial placement.
+     */
+    public static final class InitialSettlementPlaced extends GameEvent {
+        private final int playerId;
+        private final int intersectionId;
+        private final boolean givesResources;
+
+        public InitialSettlementPlaced(int round, int playerId, int intersectionId, boolean givesResources) {
+            super(round);
+            this.playerId = playerId;
+            this.intersectionId = intersectionId;
+            this.givesResources = givesResources;
+        }
+
+        /** @return the owner */
+        public int getPlayerId() { return playerId; }
+
+        /** @return where it was placed */
+        public int getIntersectionId() { return intersectionId; }
+
+        /** @return true for the second settlement, which pays out */
+        public boolean givesResources() { return givesResources; }
+
+        @Override
+        public Kind getKind() { return Kind.INITIAL_SETTLEMENT_PLACED; }
+    }
+
+    /**
+     * A player placed a road during initial placement.
+     */
+    public static final class InitialRoadPlaced extends GameEvent {
+        private final int playerId;
+        private final int intersectionA;
+        private final int intersectionB;
+
+        public InitialRoadPlaced(int round, int playerId, int intersectionA, int intersectionB) {
+            super(round);
+            this.playerId = playerId;
+            this.intersectionA = intersectionA;
+            this.intersectionB = intersectionB;
+        }
+
+        /** @return the owner */
+        public int getPlayerId() { return playerId; }
+
+        /** @return one end */
+        public int getIntersectionA() { return intersectionA; }
+
+        /** @return the other end */
+        public int getIntersectionB() { return intersectionB; }
+
+        @Override
+        public Kind getKind() { return Kind.INITIAL_ROAD_PLACED; }
+    }
+
+    /**
+     * A round is about to begin.
+     */
+    public static final class RoundStarted extends GameEvent {
+
+        public RoundStarted(int round) {
+            super(round);
+        }
+
+        @Override
+        public Kind getKind() { return Kind.ROUND_STARTED; }
+    }
+
+    /**
+     * A player rolled the dice.
+     */
+    public static final class DiceRolled extends GameEvent {
+        private final int playerId;
+        private final int roll;
+
+        public DiceRolled(int round, int playerId, int roll) {
+            super(round);
+            this.playerId = playerId;
+            this.roll = roll;
+        }
+
+        /** @return the player who rolled, or 0 outside a turn */
+        public int getPlayerId() { return playerId; }
+
+        /** @return the dice total, 2-12 */
+        public int getRoll() { return roll; }
+
+        @Override
+        public Kind getKind() { return Kind.DICE_ROLLED; }
+    }
+
+    /**
+     * Tiles produced for a roll other than 7.
+     */
+    public static final class ResourcesDistributed extends GameEvent {
+        private final int roll;
+        // gains[playerId][resource ordinal]
+        private final int[][] gains;
+
+        /**
+         * @param round the round
+         * @param roll the dice total
+         * @param gains cards received, indexed by player ID then resource
+         *        ordinal; the event keeps the array, so do not change it
+         */
+        public ResourcesDistributed(int round, int roll, int[][] gains) {
+            super(round);
+            this.roll = roll;
+            this.gains = gains;
+        }
+
+        /** @return the dice total */
+        public int getRoll() { return roll; }
+
+        /**
+         * Returns how many cards of a resource a player received.
+         *
+         * @param playerId the player
+         * @param resource the resource
+         * @return the number of cards, 0 for an unknown player
+         */
+        public int getGained(int playerId, Resources resource) {
+            if (playerId < 0 || playerId >= gains.length || gains[playerId] == null) {
+                return 0;
+            }
+            return gains[playerId][resource.ordinal()];
+        }
+
+        /**
+         * Returns how many cards a player received in total.
+         *
+         * @param playerId the player
+         * @return the number of cards
+         */
+        public int getTotalGained(int playerId) {
+            int total = 0;
+            for (Resources r : Resources.values()) {
+                total += getGained(playerId, r);
+            }
+            return total;
+        }
+
+        @Override
+        public Kind getKind() { return Kind.RESOURCES_DISTRIBUTED; }
+    }
+
+    /**
+     * A player built something or passed.
+     */
+    public static final class ActionExecuted extends GameEvent {
+        private final int playerId;
+        private final Action action;
+
+        public ActionExecuted(int round, int playerId, Action action) {
+            super(round);
+            this.playerId = playerId;
+            this.action = action;
+        }
+
+        /** @return the acting player */
+        public int getPlayerId() { return playerId; }
+
+        /** @return the executed action; a PASS action if the player passed */
+        public Action getAction() { return action; }
+
+        @Override
+        public Kind getKind() { return Kind.ACTION_EXECUTED; }
+    }
+
+    /**
+     * The robber moved after a 7.
+     */
+    public static final class RobberMoved extends GameEvent {
+        private final int playerId;
+        private final int fromTileId;
+        private final int toTileId;
+
+        public RobberMoved(int round, int playerId, int fromTileId, int toTileId) {
+            super(round);
+            this.playerId = playerId;
+            this.fromTileId = fromTileId;
+            this.toTileId = toTileId;
+        }
+
+        /** @return the player who moved it */
+        public int getPlayerId() { return playerId; }
+
+        /** @return the tile it left */
+        public int getFromTileId() { return fromTileId; }
+
+        /** @return the tile it moved to */
+        public int getToTileId() { return toTileId; }
+
+        @Override
+        public Kind getKind() { return Kind.ROBBER_MOVED; }
+    }
+
+    /**
+     * A player stole a card from another after moving the robber.
+     */
+    public static final class CardStolen extends GameEvent {
+        private final int thiefId;
+        private final int victimId;
+        private final Resources resource;
+
+        public CardStolen(int round, int thiefId, int victimId, Resources resource) {
+            super(round);
+            this.thiefId = thiefId;
+            this.victimId = victimId;
+            this.resource = resource;
+        }
+
+        /** @return the player who stole */
+        public int getThiefId() { return thiefId; }
+
+        /** @return the player stolen from */
+        public int getVictimId() { return victimId; }
+
+        /** @return the card taken */
+        public Resources getResource() { return resource; }
+
+        @Override
+        public Kind getKind() { return Kind.CARD_STOLEN; }
+    }
+
+    /**
+     * A player with more than 7 cards discarded half after a 7.
+     */
+    public static final class CardsDiscarded extends GameEvent {
+        private final int playerId;
+        // lost[resource ordinal]
+        private final int[] lost;
+
+        /**
+         * @param round the round
+         * @param playerId the player discarding
+         * @param lost cards discarded, indexed by resource ordinal; the
+         *        event keeps the array, so do not change it
+         */
+        public CardsDiscarded(int round, int playerId, int[] lost) {
+            super(round);
+            this.playerId = playerId;
+            this.lost = lost;
+        }
+
+        /** @return the player discarding */
+        public int getPlayerId() { return playerId; }
+
+        /**
+         * Returns how many cards of a resource the player discarded.
+         *
+         * @param resource the resource
+         * @return the number of cards
+         */
+        public int getDiscarded(Resources resource) {
+            return lost[resource.ordinal()];
+        }
+
+        /** @return the number of cards discarded */
+        public int getCount() {
+            int total = 0;
+            for (int n : lost) {
+                total += n;
+            }
+            return total;
+        }
+
+        @Override
+        public Kind getKind() { return Kind.CARDS_DISCARDED; }
+    }
+
+    /**
+     * A player finished their turn, human or computer.
+     */
+    public static final class TurnEnded extends GameEvent {
+        private final int playerId;
+
+        public TurnEnded(int round, int playerId) {
+            super(round);
+            this.playerId = playerId;
+        }
+
+        /** @return the player whose turn ended */
+        public int getPlayerId() { return playerId; }
+
+        @Override
+        public Kind getKind() { return Kind.TURN_ENDED; }
+    }
+
+    /**
+     * Every player has taken their turn, or the game ended mid-round.
+     */
+    public static final class RoundEnded extends GameEvent {
+
+        public RoundEnded(int round) {
+            super(round);
+        }
+
+        @Override
+        public Kind getKind() { return Kind.ROUND_ENDED; }
+    }
+
+    /**
+     * The game ended on points or on the round limit.
+     */
+    public static final class GameOver extends GameEvent {
+        private final int winnerId;
+
+        public GameOver(int round, int winnerId) {
+            super(round);
+            this.winnerId = winnerId;
+        }
+
+        /** @return the winner's ID, or 0 if nobody reached the points to win */
+        public int getWinnerId() { return winnerId; }
+
+        @Override
+        public Kind getKind() { return Kind.GAME_OVER; }
+    }
+}
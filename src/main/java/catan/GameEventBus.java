@@ -0,0 +1,122 @@
+package catan;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Delivers a game's events to the listeners subscribed to them.
+ *
+ * Listeners are kept in one array per event Kind and replaced on every
+ * subscribe or unsubscribe (copy-on-write), so publishing takes no lock
+ * and allocates nothing. The game checks hasSubscribers() before creating
+ * an event, so a kind nobody listens to costs one array read.
+ *
+ * Listeners run synchronously on the game thread, in subscription order.
+ * A listener that does I/O or other slow work should be wrapped in an
+ * AsyncEventDispatcher.
+ */
+public final class GameEventBus {
+
+    private static final GameEvent.Kind[] KINDS = GameEvent.Kind.values();
+    private static final GameEventListener[] NONE = new GameEventListener[0];
+
+    private volatile GameEventListener[][] listeners;
+
+    /**
+     * Constructs a bus with no subscribers.
+     */
+    public GameEventBus() {
+        GameEventListener[][] empty = new GameEventListener[KINDS.length][];
+        Arrays.fill(empty, NONE);
+        listeners = empty;
+    }
+
+    /**
+     * Returns whether any listener wants events of a kind.
+     *
+     * @param kind the event kind
+     * @return true if publish() would call a listener
+     */
+    public boolean hasSubscribers(GameEvent.Kind kind) {
+        return listeners[kind.ordinal()].length != 0;
+    }
+
+    /**
+     * Delivers an event to every listener of its kind.
+     *
+     * @param event the event
+     */
+    public void publish(GameEvent event) {
+        for (GameEventListener listener : listeners[event.getKind().ordinal()]) {
+            listener.onEvent(event);
+        }
+    }
+
+    /**
+     * Subscribes a typed listener to one event class.
+     *
+     * @param type the concrete event class, e.g. GameEvent.DiceRolled.class
+     * @param listener receives the events
+     * @param <E> the event type
+     * @return the registered listener, to pass to unsubscribe()
+     */
+    public <E extends GameEvent> GameEventListener subscribe(Class<E> type, Consumer<? super E> listener) {
+        GameEventListener adapter = event -> listener.accept(type.cast(event));
+        return subscribe(GameEvent.Kind.of(type), adapter);
+    }
+
+    /**
+     * Subscribes a listener to one kind of event.
+     *
+     * @param kind the event kind
+     * @param listener receives the events
+     * @return the listener, to pass to unsubscribe()
+     */
+    public synchronized GameEventListener subscribe(GameEvent.Kind kind, GameEventListener listener) {
+        GameEventListener[][] next = listeners.clone();
+        GameEventListener[] current = next[kind.ordinal()];
+        GameEventListener[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = listener;
+        next[kind.ordinal()] = grown;
+        listeners = next;
+        return listener;
+    }
+
+    /**
+     * Subscribes a listener to every kind of event.
+     *
+     * @param listener receives all events
+     * @return the listener, to pass to unsubscribe()
+     */
+    public synchronized GameEventListener subscribeAll(GameEventListener listener) {
+        for (GameEvent.Kind kind : KINDS) {
+            subscribe(kind, listener);
+        }
+        return listener;
+    }
+
+    /**
+     * Removes a listener from every kind it was subscribed to.
+     *
+     * @param listener a listener returned by a subscribe method
+     */
+    public synchronized void unsubscribe(GameEventListener listener) {
+        GameEventListener[][] next = listeners.clone();
+        for (int k = 0; k < next.length; k++) {
+            GameEventListener[] kept = Arrays.stream(next[k])
+                .filter(l -> l != listener)
+                .toArray(GameEventListener[]::new);
+            next[k] = (kept.length == 0) ? NONE : kept;
+        }
+        listeners = next;
+    }
+
+    /**
+     * Removes every listener.
+     */
+    public synchronized void clear() {
+        GameEventListener[][] empty = new GameEventListener[KINDS.length][];
+        Arrays.fill(empty, NONE);
+        listeners = empty;
+    }
+}
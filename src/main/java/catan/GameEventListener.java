@@ -0,0 +1,16 @@
+package catan;
+
+/**
+ * Receives events published on a GameEventBus.
+ */
+@FunctionalInterface
+public interface GameEventListener {
+
+    /**
+     * Called on the publishing thread for every event the listener
+     * subscribed to. Wrap a slow listener in an AsyncEventDispatcher.
+     *
+     * @param event the event
+     */
+    void onEvent(GameEvent event);
+}
@@ -0,0 +1,110 @@
+package catan;
+
+import java.util.function.Supplier;
+
+/**
+ * Destination for the game's log messages: turn actions, placements,
+ * robber events, scoreboards, decision-engine explanations and errors.
+ *
+ * Every message has a Level, and a sink decides which levels it keeps.
+ * Callers check isEnabled() (or pass a Supplier) before building a
+ * message, so a disabled level costs one call and no string formatting.
+ * Implementations: ConsoleEventSink, NoOpEventSink, AsyncFileEventSink
+ * and RingBufferEventSink.
+ */
+public interface GameEventSink {
+
+    /**
+     * Message levels, from most to least detailed.
+     */
+    enum Level {
+        /** Explanations of decisions, e.g. which R3.3 constraint won. */
+        DEBUG,
+        /** The normal game log: actions, placements, rolls, scores. */
+        INFO,
+        /** Something failed but the game goes on, e.g. a state file write. */
+        WARN,
+        /** Something failed and the game cannot go on. */
+        ERROR;
+
+        /**
+         * Returns whether this level is at least as severe as another.
+         *
+         * @param threshold the lowest level kept
+         * @return true if a sink with that threshold keeps this level
+         */
+        public boolean isAtLeast(Level threshold) {
+            return compareTo(threshold) >= 0;
+        }
+    }
+
+    /**
+     * Returns whether messages of a level are kept.
+     * Check this before building an expensive message.
+     *
+     * @param level the message level
+     * @return true if log() would keep the message
+     */
+    boolean isEnabled(Level level);
+
+    /**
+     * Writes a message. Callers have already checked isEnabled(level);
+     * use log() otherwise.
+     *
+     * @param level the message level
+     * @param message the message text, without a line terminator
+     */
+    void emit(Level level, String message);
+
+    /**
+     * Writes a message if its level is enabled.
+     *
+     * @param level the message level
+     * @param message the message text
+     */
+    default void log(Level level, String message) {
+        if (isEnabled(level)) {
+            emit(level, message);
+        }
+    }
+
+    /**
+     * Builds and writes a message only if its level is enabled.
+     *
+     * @param level the message level
+     * @param message builds the message text
+     */
+    default void log(Level level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            emit(level, message.get());
+        }
+    }
+
+    /**
+     * Formats and writes a message only if its level is enabled.
+     *
+     * @param level the message level
+     * @param format a String.format pattern
+     * @param args the pattern's arguments
+     */
+    default void logf(Level level, String format, Object... args) {
+        if (isEnabled(level)) {
+            emit(level, String.format(format, args));
+        }
+    }
+
+    /**
+     * Pushes buffered messages to their destination.
+     * The default does nothing.
+     */
+    default void flush() {
+    }
+
+    /**
+     * Flushes and releases the sink's resources.
+     * The default flushes.
+     */
+    default void close() {
+        flush();
+    }
+}
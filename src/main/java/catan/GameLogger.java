@@ -1,15 +1,21 @@
 package catan;
 
+import catan.GameEventSink.Level;
+
 /**
- * Handles all console output for the game simulator.
+ * Formats the game's standard console messages and sends them to a
+ * GameEventSink.
  *
  * All methods are static because logging is a stateless utility
- * that needs no instance data.
+ * that needs no instance data. The overloads without a sink print to
+ * the console.
  *
  * @author Alisha Faridi
  */
 public class GameLogger {
 
+    private static final GameEventSink CONSOLE = new ConsoleEventSink();
+
     /**
      * Prints a single turn action
      * Format: [TurnID] / [PlayerID]: [Action]
@@ -19,7 +25,22 @@ public class GameLogger {
      * @param actionText  human-readable description of the action
      */
     public static void printTurnAction(int roundNumber, int playerId, String actionText) {
-        System.out.println(String.format("%d / %d: %s", roundNumber, playerId, actionText));
+        printTurnAction(CONSOLE, roundNumber, playerId, actionText);
+    }
+
+    /**
+     * Logs a single turn action at INFO.
+     * Format: [TurnID] / [PlayerID]: [Action]
+     *
+     * @param sink where to log
+     * @param roundNumber the current round number
+     * @param playerId the ID of the player acting
+     * @param actionText  human-readable description of the action
+     */
+    public static void printTurnAction(GameEventSink sink, int roundNumber, int playerId, String actionText) {
+        if (sink.isEnabled(Level.INFO)) {
+            sink.emit(Level.INFO, roundNumber + " / " + playerId + ": " + actionText);
+        }
     }
 
     /**
@@ -28,9 +49,21 @@ public class GameLogger {
      * @param maxRounds the maximum number of rounds configured
      */
     public static void printGameStart(int maxRounds) {
-        System.out.println("=== START GAME ===");
-        System.out.println("Max Rounds: " + maxRounds);
-        System.out.println("\n");
+        printGameStart(CONSOLE, maxRounds);
+    }
+
+    /**
+     * Logs the game start banner at INFO.
+     *
+     * @param sink where to log
+     * @param maxRounds the maximum number of rounds configured
+     */
+    public static void printGameStart(GameEventSink sink, int maxRounds) {
+        if (sink.isEnabled(Level.INFO)) {
+            sink.emit(Level.INFO, "=== START GAME ===");
+            sink.emit(Level.INFO, "Max Rounds: " + maxRounds);
+            sink.emit(Level.INFO, "\n");
+        }
     }
 
     /**
@@ -40,13 +73,27 @@ public class GameLogger {
      * @param roundNumber  the round at which the game ended
      */
     public static void printGameOver(Player winnerOrNull, int roundNumber) {
-        System.out.println("=== GAME OVER (Round " + roundNumber + ") ===");
+        printGameOver(CONSOLE, winnerOrNull, roundNumber);
+    }
+
+    /**
+     * Logs the game over message with winner info at INFO.
+     *
+     * @param sink where to log
+     * @param winnerOrNull the winning Player, or null if no one reached the VP threshold
+     * @param roundNumber  the round at which the game ended
+     */
+    public static void printGameOver(GameEventSink sink, Player winnerOrNull, int roundNumber) {
+        if (!sink.isEnabled(Level.INFO)) {
+            return;
+        }
+        sink.emit(Level.INFO, "=== GAME OVER (Round " + roundNumber + ") ===");
         if (winnerOrNull == null) {
-            System.out.println("No player reached the points needed to win.");
+            sink.emit(Level.INFO, "No player reached the points needed to win.");
         } else {
-            System.out.println("Winner: Player " + winnerOrNull.getPlayerId()
+            sink.emit(Level.INFO, "Winner: Player " + winnerOrNull.getPlayerId()
                     + " with " + winnerOrNull.getVictoryPoints() + " VP");
         }
-        System.out.println("\n");
+        sink.emit(Level.INFO, "\n");
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package catan;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -10,23 +11,86 @@ import java.util.List;
  * and the visualization layer. The visualizer reads this data but can never
  * modify the actual game state because it only ever sees this snapshot copy.
  *
+ * Besides the players it holds the roads and buildings on the board, so
+ * every state file (round JSON, visualizer state.json) can be written from
+ * a snapshot alone, on any thread. Game.snapshot() is the way to get one.
+ *
  * @author Alisha Faridi
  */
 public class GameSnapshot {
 
     private final int roundNumber;
     private final List<PlayerSnapshot> players;
+    private final List<RoadSnapshot> roads;
+    private final List<BuildingSnapshot> buildings;
 
     /**
-     * Constructs a GameSnapshot with the given round number and player snapshots.
+     * Constructs a GameSnapshot with the given round number and player snapshots
+     * and no roads or buildings.
      *
      * @param roundNumber the current round number
      * @param players a list of player snapshots
      */
     public GameSnapshot(int roundNumber, List<PlayerSnapshot> players) {
+        this(roundNumber, players, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Constructs a GameSnapshot.
+     *
+     * @param roundNumber the current round number
+     * @param players a list of player snapshots
+     * @param roads the roads on the board
+     * @param buildings the buildings on the board
+     */
+    public GameSnapshot(int roundNumber, List<PlayerSnapshot> players,
+                        List<RoadSnapshot> roads, List<BuildingSnapshot> buildings) {
         this.roundNumber = roundNumber;
         // snapshot is immutable once created
-        this.players = new ArrayList<>(players);
+        this.players = Collections.unmodifiableList(new ArrayList<>(players));
+        this.roads = Collections.unmodifiableList(new ArrayList<>(roads));
+        this.buildings = Collections.unmodifiableList(new ArrayList<>(buildings));
+    }
+
+    /**
+     * Copies the state of a board and its players into a new snapshot.
+     *
+     * @param roundNumber the current round number
+     * @param board the board to copy roads and buildings from
+     * @param players all players in turn order
+     * @return the snapshot
+     */
+    public static GameSnapshot capture(int roundNumber, Board board, List<Player> players) {
+        List<PlayerSnapshot> playerSnapshots = new ArrayList<>(players.size());
+        for (Player p : players) {
+            playerSnapshots.add(new PlayerSnapshot(
+                p.getPlayerId(),
+                p.getVictoryPoints(),
+                p.getTotalCardsInHand(),
+                p.getColour().toString()
+            ));
+        }
+
+        List<RoadSnapshot> roads = new ArrayList<>();
+        for (Edge e : board.getAllEdges()) {
+            if (e.isOccupied()) {
+                roads.add(new RoadSnapshot(e.getIntersectionA(), e.getIntersectionB(), e.getRoadOwnerId()));
+            }
+        }
+
+        List<BuildingSnapshot> buildings = new ArrayList<>();
+        for (int id = 0; id < board.getIntersectionCount(); id++) {
+            Intersection inter = board.getIntersection(id);
+            if (inter == null || !inter.hasBuilding()) {
+                continue;
+            }
+            Integer ownerId = inter.getBuildingOwnerId();
+            Building type = inter.getBuildingType();
+            if (ownerId != null && type != null) {
+                buildings.add(new BuildingSnapshot(id, ownerId, type));
+            }
+        }
+        return new GameSnapshot(roundNumber, playerSnapshots, roads, buildings);
     }
 
     /**
@@ -47,6 +111,24 @@ public class GameSnapshot {
         return players;
     }
 
+    /**
+     * Returns the roads on the board, in edge order.
+     *
+     * @return list of RoadSnapshot objects
+     */
+    public List<RoadSnapshot> getRoads() {
+        return roads;
+    }
+
+    /**
+     * Returns the buildings on the board, in intersection order.
+     *
+     * @return list of BuildingSnapshot objects
+     */
+    public List<BuildingSnapshot> getBuildings() {
+        return buildings;
+    }
+
     /**
      * A plain data snapshot of a single player's state.
      * Nested here since it only exists to support GameSnapshot.
@@ -101,4 +183,92 @@ public class GameSnapshot {
          */
         public String getColour(){return colour;}
     }
-}
\ No newline at end of file
+
+    /**
+     * A plain data snapshot of one road.
+     */
+    public static class RoadSnapshot {
+
+        private final int intersectionA;
+        private final int intersectionB;
+        private final int ownerId;
+
+        /**
+         * Constructs a RoadSnapshot.
+         *
+         * @param intersectionA one end of the road
+         * @param intersectionB the other end of the road
+         * @param ownerId the ID of the player who owns the road
+         */
+        public RoadSnapshot(int intersectionA, int intersectionB, int ownerId) {
+            this.intersectionA = intersectionA;
+            this.intersectionB = intersectionB;
+            this.ownerId = ownerId;
+        }
+
+        /**
+         * Returns one end of the road.
+         *
+         * @return intersection ID
+         */
+        public int getIntersectionA() {return intersectionA;}
+
+        /**
+         * Returns the other end of the road.
+         *
+         * @return intersection ID
+         */
+        public int getIntersectionB() {return intersectionB;}
+
+        /**
+         * Returns the ID of the road's owner.
+         *
+         * @return the owner's player ID
+         */
+        public int getOwnerId() {return ownerId;}
+    }
+
+    /**
+     * A plain data snapshot of one settlement or city.
+     */
+    public static class BuildingSnapshot {
+
+        private final int intersectionId;
+        private final int ownerId;
+        private final Building type;
+
+        /**
+         * Constructs a BuildingSnapshot.
+         *
+         * @param intersectionId where the building stands
+         * @param ownerId the ID of the player who owns the building
+         * @param type settlement or city
+         */
+        public BuildingSnapshot(int intersectionId, int ownerId, Building type) {
+            this.intersectionId = intersectionId;
+            this.ownerId = ownerId;
+            this.type = type;
+        }
+
+        /**
+         * Returns the intersection the building stands on.
+         *
+         * @return intersection ID
+         */
+        public int getIntersectionId() {return intersectionId;}
+
+        /**
+         * Returns the ID of the building's owner.
+         *
+         * @return the owner's player ID
+         */
+        public int getOwnerId() {return ownerId;}
+
+        /**
+         * Returns the kind of building.
+         *
+         * @return settlement or city
+         */
+        public Building getType() {return type;}
+    }
+}
@@ -0,0 +1,525 @@
+package catan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Flat, copyable encoding of a game position.
+ *
+ * Everything that changes during play is held in a few primitive arrays:
+ * intersection owner and building, edge owner (indexed like
+ * Board.getAllEdges()), each seat's hand and victory points, the robber tile
+ * and the round number. A position can be copied into another state of the
+ * same size in O(size) without allocating, captured from a Board and its
+ * players, and applied back onto them.
+ *
+ * The state keeps a Zobrist hash up to date on every change (see Zobrist),
+ * so a change costs two XORs. Pieces, robber and hands use the same keys as
+ * Board.getZobristHash() and Player.getZobristHash(), so the hash of a
+ * captured state equals the board's hash XOR every player's hand hash XOR
+ * the victory point and round keys.
+ */
+public final class GameState {
+
+    /** Building code of an empty intersection. */
+    public static final byte NO_BUILDING = 0;
+    /** Building code of a settlement. */
+    public static final byte SETTLEMENT = 1;
+    /** Building code of a city. */
+    public static final byte CITY = 2;
+
+    /** Owner value of an empty intersection or edge. */
+    public static final byte NO_OWNER = -1;
+
+    private static final int RESOURCE_COUNT = Resources.values().length;
+
+    private final byte[] buildingOwners;
+    private final byte[] buildings;
+    private final byte[] roadOwners;
+
+    /** The layout whose edge indexes roadOwners uses; shared by copies. */
+    private final BoardTopology layout;
+    private final int[] playerIds;
+    private final byte[] colours;
+
+    /** Indexed [seat * RESOURCE_COUNT + Resources.ordinal()]. */
+    private final int[] hands;
+    private final int[] victoryPoints;
+    private int robberTileId;
+    private int round;
+
+    private long hash;
+
+    /**
+     * Creates an empty position on a board's layout: no pieces, empty hands,
+     * no victory points, robber on tile 0, round 0. Only the board's size and
+     * edges are read.
+     *
+     * @param layout a board with the layout the state describes
+     * @param playerIds the player ID of each seat, in turn order
+     * @param colours the colour of each seat, in turn order
+     * @throws IllegalArgumentException if the seat arrays differ in length
+     */
+    public GameState(Board layout, int[] playerIds, Colour[] colours) {
+        this(layout.getTopology(), playerIds, colours);
+    }
+
+    private GameState(BoardTopology layout, int[] playerIds, Colour[] colours) {
+        if (playerIds.length != colours.length) {
+            throw new IllegalArgumentException("One colour is needed per seat.");
+        }
+        buildingOwners = new byte[layout.getIntersectionCount()];
+        buildings = new byte[layout.getIntersectionCount()];
+        roadOwners = new byte[layout.getEdgeCount()];
+        this.layout = layout;
+        Arrays.fill(buildingOwners, NO_OWNER);
+        Arrays.fill(roadOwners, NO_OWNER);
+
+        this.playerIds = playerIds.clone();
+        this.colours = new byte[colours.length];
+        for (int s = 0; s < colours.length; s++) {
+            this.colours[s] = (byte) colours[s].ordinal();
+        }
+        hands = new int[playerIds.length * RESOURCE_COUNT];
+        victoryPoints = new int[playerIds.length];
+
+        hash = computeHash();
+    }
+
+    /**
+     * Captures the position of a board and its players.
+     *
+     * @param board the board to read
+     * @param players every player in turn order
+     * @param round the current round number
+     * @return a new state holding the position
+     */
+    public static GameState capture(Board board, List<Player> players, int round) {
+        int[] ids = new int[players.size()];
+        Colour[] colours = new Colour[players.size()];
+        for (int s = 0; s < ids.length; s++) {
+            ids[s] = players.get(s).getPlayerId();
+            colours[s] = players.get(s).getColour();
+        }
+
+        Edge[] edges = board.getAllEdges();
+        GameState state = new GameState(board, ids, colours);
+
+        for (int i = 0; i < state.buildings.length; i++) {
+            Intersection inter = board.getIntersection(i);
+            if (inter.hasBuilding()) {
+                state.buildingOwners[i] = (byte) inter.getOwnerPlayerId();
+                state.buildings[i] = (inter.getBuilding() == Building.CITY) ? CITY : SETTLEMENT;
+            }
+        }
+        for (int e = 0; e < edges.length; e++) {
+            state.roadOwners[e] = (byte) edges[e].getRoadOwnerId();
+        }
+        for (int s = 0; s < ids.length; s++) {
+            Player p = players.get(s);
+            for (Resources r : Resources.values()) {
+                state.hands[s * RESOURCE_COUNT + r.ordinal()] = p.getResourceCount(r);
+            }
+            state.victoryPoints[s] = p.getVictoryPoints();
+        }
+        state.robberTileId = board.getRobberTileId();
+        state.round = round;
+
+        state.hash = state.computeHash();
+        return state;
+    }
+
+    /**
+     * Returns a new state equal to this one.
+     *
+     * @return the copy
+     */
+    public GameState copy() {
+        GameState copy = new GameState(layout, playerIds, seatColours());
+        copyInto(copy);
+        return copy;
+    }
+
+    /**
+     * Overwrites another state of the same size with this position.
+     * Runs in O(size) and allocates nothing.
+     *
+     * @param target the state to overwrite
+     * @throws IllegalArgumentException if the target has a different board size or seats
+     */
+    public void copyInto(GameState target) {
+        requireSameShape(target);
+        System.arraycopy(buildingOwners, 0, target.buildingOwners, 0, buildingOwners.length);
+        System.arraycopy(buildings, 0, target.buildings, 0, buildings.length);
+        System.arraycopy(roadOwners, 0, target.roadOwners, 0, roadOwners.length);
+        System.arraycopy(hands, 0, target.hands, 0, hands.length);
+        System.arraycopy(victoryPoints, 0, target.victoryPoints, 0, victoryPoints.length);
+        System.arraycopy(colours, 0, target.colours, 0, colours.length);
+        target.robberTileId = robberTileId;
+        target.round = round;
+        target.hash = hash;
+    }
+
+    /**
+     * Makes a board and its players hold this position.
+     *
+     * Pieces are changed through the board's place and remove methods, so
+     * board listeners (such as the move generator) stay in step. Only
+     * intersections and edges that differ are touched.
+     *
+     * @param board the board to update; must have this state's size
+     * @param players the players to update, in this state's seat order
+     * @throws IllegalArgumentException if the board size or player IDs do not match
+     */
+    public void applyTo(Board board, List<Player> players) {
+        applyToBoard(board);
+        applyToPlayers(players);
+    }
+
+    /**
+     * Builds a new board with the standard layout holding this position.
+     *
+     * @return the board
+     * @throws IllegalArgumentException if this state was not captured on the standard layout
+     */
+    public Board toBoard() {
+        return toBoard(BoardTopology.standard());
+    }
+
+    /**
+     * Builds a new board on the given layout holding this position.
+     *
+     * @param topology the layout the state was captured on
+     * @return the board
+     * @throws IllegalArgumentException if this state was not captured on a board of that shape
+     */
+    public Board toBoard(BoardTopology topology) {
+        Board board = new Board(topology);
+        applyToBoard(board);
+        return board;
+    }
+
+    /**
+     * Builds new computer players holding this position.
+     *
+     * @param rng the random number generator shared by the new players
+     * @return the players in seat order
+     */
+    public List<Player> toPlayers(Random rng) {
+        List<Player> players = new ArrayList<>(playerIds.length);
+        Colour[] seatColours = seatColours();
+        for (int s = 0; s < playerIds.length; s++) {
+            players.add(new Player(playerIds[s], seatColours[s], rng, layout));
+        }
+        applyToPlayers(players);
+        return players;
+    }
+
+    private void applyToBoard(Board board) {
+        Edge[] edges = board.getAllEdges();
+        if (!hasLayoutOf(board)) {
+            throw new IllegalArgumentException("Board size does not match the game state.");
+        }
+
+        for (int i = 0; i < buildings.length; i++) {
+            Intersection inter = board.getIntersection(i);
+            int owner = inter.getOwnerPlayerId();
+            byte current = !inter.hasBuilding() ? NO_BUILDING
+                : (inter.getBuilding() == Building.CITY) ? CITY : SETTLEMENT;
+            if (owner == buildingOwners[i] && current == buildings[i]) continue;
+
+            if (owner == buildingOwners[i] && current == SETTLEMENT && buildings[i] == CITY) {
+                board.upgradeSettlementToCity(owner, i);
+            } else if (owner == buildingOwners[i] && current == CITY && buildings[i] == SETTLEMENT) {
+                board.downgradeCityToSettlement(i);
+            } else {
+                board.removeSettlement(i);
+                if (buildings[i] != NO_BUILDING) {
+                    board.placeSettlement(buildingOwners[i], i);
+                    if (buildings[i] == CITY) board.upgradeSettlementToCity(buildingOwners[i], i);
+                }
+            }
+        }
+
+        for (int e = 0; e < edges.length; e++) {
+            if (edges[e].getRoadOwnerId() == roadOwners[e]) continue;
+            int a = edges[e].getIntersectionA();
+            int b = edges[e].getIntersectionB();
+            board.removeRoad(a, b);
+            if (roadOwners[e] != NO_OWNER) board.placeRoad(roadOwners[e], a, b);
+        }
+
+        if (board.getRobberTileId() != robberTileId) {
+            board.moveRobber(robberTileId);
+        }
+    }
+
+    private void applyToPlayers(List<Player> players) {
+        if (players.size() != playerIds.length) {
+            throw new IllegalArgumentException("Expected " + playerIds.length + " players.");
+        }
+        for (int s = 0; s < playerIds.length; s++) {
+            Player p = players.get(s);
+            if (p.getPlayerId() != playerIds[s]) {
+                throw new IllegalArgumentException("Seat " + s + " should be player " + playerIds[s]);
+            }
+            p.restore(this, s);
+        }
+    }
+
+    private boolean hasLayoutOf(Board board) {
+        BoardTopology other = board.getTopology();
+        return other.getIntersectionCount() == buildings.length && other.hasSameEdgesAs(layout);
+    }
+
+    /**
+     * Applies a build action for a seat: pays its cost from the seat's hand,
+     * places the piece and adds its victory points. PASS changes nothing.
+     * Legality and affordability are not checked.
+     *
+     * @param seat the acting seat
+     * @param action the action to apply
+     * @param edgeIndex the action's index in Board.getAllEdges() for a road, otherwise ignored
+     * @param costs the cost table to pay from
+     */
+    public void applyAction(int seat, Action action, int edgeIndex, CostTable costs) {
+        if (action.getType() == ActionType.PASS) return;
+
+        int[] cost = costs.getCostVector(action.getType());
+        Resources[] types = Resources.values();
+        for (int r = 0; r < cost.length; r++) {
+            if (cost[r] != 0) setResourceCount(seat, types[r], getResourceCount(seat, types[r]) - cost[r]);
+        }
+
+        int playerId = playerIds[seat];
+        switch (action.getType()) {
+            case BUILD_ROAD:
+                setRoadOwner(edgeIndex, playerId);
+                break;
+            case BUILD_SETTLEMENT:
+                setBuilding(action.getIntersectionId(), playerId, SETTLEMENT);
+                setVictoryPoints(seat, victoryPoints[seat] + 1);
+                break;
+            case BUILD_CITY:
+                setBuilding(action.getIntersectionId(), playerId, CITY);
+                setVictoryPoints(seat, victoryPoints[seat] + 1);
+                break;
+            default:
+                break;
+        }
+    }
+
+    // ----- accessors -----
+
+    /**
+     * Returns the number of seats.
+     *
+     * @return seat count
+     */
+    public int getSeatCount() {return playerIds.length;}
+
+    /**
+     * Returns the player ID of a seat.
+     *
+     * @param seat the seat index
+     * @return the player ID
+     */
+    public int getPlayerId(int seat) {return playerIds[seat];}
+
+    /**
+     * Returns the owner of the building at an intersection.
+     *
+     * @param intersectionId the intersection
+     * @return the owner's player ID, or NO_OWNER
+     */
+    public int getBuildingOwner(int intersectionId) {return buildingOwners[intersectionId];}
+
+    /**
+     * Returns the building code at an intersection.
+     *
+     * @param intersectionId the intersection
+     * @return NO_BUILDING, SETTLEMENT or CITY
+     */
+    public byte getBuilding(int intersectionId) {return buildings[intersectionId];}
+
+    /**
+     * Sets the building at an intersection.
+     *
+     * @param intersectionId the intersection
+     * @param ownerId the owner's player ID, or NO_OWNER when clearing
+     * @param building NO_BUILDING, SETTLEMENT or CITY
+     */
+    public void setBuilding(int intersectionId, int ownerId, byte building) {
+        hash ^= buildingKey(intersectionId);
+        buildingOwners[intersectionId] = (building == NO_BUILDING) ? NO_OWNER : (byte) ownerId;
+        buildings[intersectionId] = building;
+        hash ^= buildingKey(intersectionId);
+    }
+
+    /**
+     * Returns the owner of the road on an edge.
+     *
+     * @param edgeIndex the edge's index in Board.getAllEdges()
+     * @return the owner's player ID, or NO_OWNER
+     */
+    public int getRoadOwner(int edgeIndex) {return roadOwners[edgeIndex];}
+
+    /**
+     * Sets the owner of the road on an edge.
+     *
+     * @param edgeIndex the edge's index in Board.getAllEdges()
+     * @param ownerId the owner's player ID, or NO_OWNER to clear it
+     */
+    public void setRoadOwner(int edgeIndex, int ownerId) {
+        hash ^= Zobrist.key(Zobrist.ROAD, edgeIndex, roadOwners[edgeIndex]);
+        roadOwners[edgeIndex] = (byte) ownerId;
+        hash ^= Zobrist.key(Zobrist.ROAD, edgeIndex, roadOwners[edgeIndex]);
+    }
+
+    /**
+     * Returns how many cards of a type a seat holds.
+     *
+     * @param seat the seat index
+     * @param type the resource type
+     * @return the card count
+     */
+    public int getResourceCount(int seat, Resources type) {
+        return hands[seat * RESOURCE_COUNT + type.ordinal()];
+    }
+
+    /**
+     * Sets how many cards of a type a seat holds.
+     *
+     * @param seat the seat index
+     * @param type the resource type
+     * @param count the new card count
+     */
+    public void setResourceCount(int seat, Resources type, int count) {
+        int slot = seat * RESOURCE_COUNT + type.ordinal();
+        hash ^= Zobrist.handKey(playerIds[seat], type.ordinal(), hands[slot]);
+        hands[slot] = count;
+        hash ^= Zobrist.handKey(playerIds[seat], type.ordinal(), count);
+    }
+
+    /**
+     * Returns a seat's victory points.
+     *
+     * @param seat the seat index
+     * @return victory points
+     */
+    public int getVictoryPoints(int seat) {return victoryPoints[seat];}
+
+    /**
+     * Sets a seat's victory points.
+     *
+     * @param seat the seat index
+     * @param points the new total
+     */
+    public void setVictoryPoints(int seat, int points) {
+        hash ^= Zobrist.key(Zobrist.VICTORY_POINTS, playerIds[seat], victoryPoints[seat]);
+        victoryPoints[seat] = points;
+        hash ^= Zobrist.key(Zobrist.VICTORY_POINTS, playerIds[seat], points);
+    }
+
+    /**
+     * Returns the tile the robber is on.
+     *
+     * @return robber tile ID
+     */
+    public int getRobberTileId() {return robberTileId;}
+
+    /**
+     * Moves the robber.
+     *
+     * @param tileId the new robber tile ID
+     */
+    public void setRobberTileId(int tileId) {
+        hash ^= Zobrist.key(Zobrist.ROBBER, 0, robberTileId) ^ Zobrist.key(Zobrist.ROBBER, 0, tileId);
+        robberTileId = tileId;
+    }
+
+    /**
+     * Returns the round number.
+     *
+     * @return round
+     */
+    public int getRound() {return round;}
+
+    /**
+     * Sets the round number.
+     *
+     * @param round the new round number
+     */
+    public void setRound(int round) {
+        hash ^= Zobrist.key(Zobrist.ROUND, 0, this.round) ^ Zobrist.key(Zobrist.ROUND, 0, round);
+        this.round = round;
+    }
+
+    /**
+     * Returns the 64-bit Zobrist hash of the position.
+     *
+     * @return the hash
+     */
+    public long getZobristHash() {return hash;}
+
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameState)) return false;
+        GameState other = (GameState) o;
+        // the hash check rejects almost every unequal pair before the array compares
+        return hash == other.hash
+            && robberTileId == other.robberTileId
+            && round == other.round
+            && Arrays.equals(playerIds, other.playerIds)
+            && Arrays.equals(buildings, other.buildings)
+            && Arrays.equals(buildingOwners, other.buildingOwners)
+            && Arrays.equals(roadOwners, other.roadOwners)
+            && Arrays.equals(hands, other.hands)
+            && Arrays.equals(victoryPoints, other.victoryPoints)
+            && Arrays.equals(colours, other.colours);
+    }
+
+    // ----- hashing -----
+
+    private long computeHash() {
+        long h = 0;
+        for (int i = 0; i < buildings.length; i++) h ^= buildingKey(i);
+        for (int e = 0; e < roadOwners.length; e++) h ^= Zobrist.key(Zobrist.ROAD, e, roadOwners[e]);
+        for (int s = 0; s < playerIds.length; s++) {
+            for (int r = 0; r < RESOURCE_COUNT; r++) {
+                h ^= Zobrist.handKey(playerIds[s], r, hands[s * RESOURCE_COUNT + r]);
+            }
+            h ^= Zobrist.key(Zobrist.VICTORY_POINTS, playerIds[s], victoryPoints[s]);
+        }
+        h ^= Zobrist.key(Zobrist.ROBBER, 0, robberTileId);
+        h ^= Zobrist.key(Zobrist.ROUND, 0, round);
+        return h;
+    }
+
+    private long buildingKey(int intersectionId) {
+        return Zobrist.buildingKey(intersectionId, buildingOwners[intersectionId], buildings[intersectionId]);
+    }
+
+    private Colour[] seatColours() {
+        Colour[] all = Colour.values();
+        Colour[] result = new Colour[colours.length];
+        for (int s = 0; s < colours.length; s++) result[s] = all[colours[s]];
+        return result;
+    }
+
+    private void requireSameShape(GameState other) {
+        if (other.buildings.length != buildings.length
+                || !other.layout.hasSameEdgesAs(layout)
+                || !Arrays.equals(other.playerIds, playerIds)) {
+            throw new IllegalArgumentException("Game states have different boards or seats.");
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package catan;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 /**
  * Coordinates the export of game state to a JSON file.
  *
- * It connects GameStateExporter and JSONWriter together. It exists 
- * so that Game.java does not need to change its existing call to writeBasicRoundState().
- * While GameStateExporter is reposnsible for extracting Game data and JSONWriter
- * is responsible for formatting and writing the file, this class connects them. 
+ * It connects GameStateExporter and JSONWriter together to write one round
+ * file on the calling thread, for callers outside a running game. Game
+ * itself writes its round files through its StateWriterRegistry in the
+ * background. While GameStateExporter is reposnsible for extracting Game
+ * data and JSONWriter is responsible for formatting and writing the file,
+ * this class connects them.
  * 
  * @author Alisha Faridi 
  * 
@@ -24,16 +27,15 @@ public class GameStateWriter {
      *
      * @param game the current Game object
      * @param outputDir the directory to write the JSON file into
-     * @throws Exception if export or file writing fails
+     * @throws IOException if file writing fails
      */
-    public static void writeBasicRoundState(Game game, Path outputDir) throws Exception {
+    public static void writeBasicRoundState(Game game, Path outputDir) throws IOException {
     	// Default to current directory if no output path is provided
         if (outputDir == null) {
             outputDir = Paths.get(".");
         }
 
         // Extract game state into a plain snapshot object
-        // GameStateExporter uses reflection to read private Game fields
         GameStateExporter exporter = new GameStateExporter();
         GameSnapshot snapshot = exporter.exportSnapshot(game);
 
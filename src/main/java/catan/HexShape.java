@@ -0,0 +1,237 @@
+package catan;
+
+import java.util.Arrays;
+
+/**
+ * The outline of a hex board: rows of pointy-top hexes, each row one hex
+ * longer than the one above until the middle row, then one shorter.
+ * The standard board is rows 3-4-5-4-3; the 5-6 player extension is
+ * 3-4-5-6-5-4-3.
+ *
+ * Tiles use cube coordinates (q, r, s) with q + r + s = 0, where r is the
+ * row (-h at the top to h at the bottom, h = rowCount / 2) and q runs left
+ * to right. Tile IDs are numbered row by row from the top left, and the
+ * conversion between IDs and coordinates is plain arithmetic, so finding a
+ * neighbour costs a few additions.
+ *
+ * Immutable; equal shapes share one cached topology (see BoardGenerator).
+ */
+public final class HexShape {
+
+    /** Cube coordinate steps to the six neighbours: E, NE, NW, W, SW, SE. */
+    private static final int[] DIRECTION_Q = {1, 1, 0, -1, -1, 0};
+    private static final int[] DIRECTION_R = {0, -1, -1, 0, 1, 1};
+
+    /** Number of neighbour directions. */
+    public static final int DIRECTIONS = 6;
+
+    /** The standard 19-tile board. */
+    public static final HexShape STANDARD = new HexShape(3, 5);
+
+    /** The 30-tile board of the 5-6 player extension. */
+    public static final HexShape FIVE_SIX_PLAYER = new HexShape(3, 7);
+
+    private final int topRowLength;
+    private final int rowCount;
+    private final int halfHeight;
+
+    /** Tile ID of the first tile of each row, plus the tile count at the end. */
+    private final int[] rowStarts;
+
+    /** Cube q and r coordinates of each tile, indexed by tile ID. */
+    private final int[] tileQ;
+    private final int[] tileR;
+
+    /**
+     * Creates a shape.
+     *
+     * @param topRowLength the number of tiles in the top (and bottom) row
+     * @param rowCount the number of rows; odd
+     * @throws IllegalArgumentException if topRowLength is below 1 or rowCount is not a positive odd number
+     */
+    public HexShape(int topRowLength, int rowCount) {
+        if (topRowLength < 1 || rowCount < 1 || rowCount % 2 == 0) {
+            throw new IllegalArgumentException(
+                "A hex board needs at least one tile per row and an odd number of rows.");
+        }
+        this.topRowLength = topRowLength;
+        this.rowCount = rowCount;
+        this.halfHeight = rowCount / 2;
+
+        rowStarts = new int[rowCount + 1];
+        for (int row = 0; row < rowCount; row++) {
+            rowStarts[row + 1] = rowStarts[row] + rowLength(row);
+        }
+        tileQ = new int[rowStarts[rowCount]];
+        tileR = new int[rowStarts[rowCount]];
+        for (int row = 0; row < rowCount; row++) {
+            int r = row - halfHeight;
+            for (int column = 0; column < rowLength(row); column++) {
+                tileQ[rowStarts[row] + column] = firstQ(r) + column;
+                tileR[rowStarts[row] + column] = r;
+            }
+        }
+    }
+
+    /**
+     * Returns the regular hexagon of the given radius: radius 2 is the
+     * standard board, radius 3 has 37 tiles, radius n has 3n(n+1)+1.
+     *
+     * @param radius the number of rings around the center tile, 0 or more
+     * @return the shape
+     * @throws IllegalArgumentException if radius is negative
+     */
+    public static HexShape regular(int radius) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius must not be negative: " + radius);
+        }
+        return new HexShape(radius + 1, 2 * radius + 1);
+    }
+
+    /**
+     * Returns the number of tiles in the top row.
+     *
+     * @return top row length
+     */
+    public int getTopRowLength() {
+        return topRowLength;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return row count
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of tiles.
+     *
+     * @return tile count
+     */
+    public int getTileCount() {
+        return rowStarts[rowCount];
+    }
+
+    /**
+     * Returns the number of tiles in a row.
+     *
+     * @param row the row, 0 at the top
+     * @return the row's length
+     */
+    public int rowLength(int row) {
+        return topRowLength + Math.min(row, rowCount - 1 - row);
+    }
+
+    /**
+     * Returns the tile at cube coordinates (q, r, -q-r).
+     *
+     * @param q the q coordinate
+     * @param r the r coordinate (row minus the middle row)
+     * @return the tile ID, or -1 if the position is off the board
+     */
+    public int tileIdAt(int q, int r) {
+        if (r < -halfHeight || r > halfHeight) return -1;
+        int row = r + halfHeight;
+        int column = q - firstQ(r);
+        if (column < 0 || column >= rowLength(row)) return -1;
+        return rowStarts[row] + column;
+    }
+
+    /**
+     * Returns the r coordinate of a tile.
+     *
+     * @param tileId the tile ID
+     * @return r
+     */
+    public int rOf(int tileId) {
+        return tileR[tileId];
+    }
+
+    /**
+     * Returns the q coordinate of a tile.
+     *
+     * @param tileId the tile ID
+     * @return q
+     */
+    public int qOf(int tileId) {
+        return tileQ[tileId];
+    }
+
+    /**
+     * Returns the neighbour of a tile in one of the six directions.
+     *
+     * @param tileId the tile ID
+     * @param direction 0-5: E, NE, NW, W, SW, SE
+     * @return the neighbour's tile ID, or -1 if it is off the board
+     */
+    public int neighbour(int tileId, int direction) {
+        return tileIdAt(tileQ[tileId] + DIRECTION_Q[direction], tileR[tileId] + DIRECTION_R[direction]);
+    }
+
+    /**
+     * Returns the corners of every tile, clockwise from the top, indexed by
+     * tile ID. Intersection IDs are handed out in the order the corners are
+     * first met, tile by tile.
+     *
+     * @return the corner intersection IDs of each tile
+     */
+    int[][] tileCorners() {
+        // A corner is the top (N) or bottom (S) corner of some hex, possibly
+        // one just off the board, so it is keyed by that hex's position.
+        int firstQ = -halfHeight - 1;
+        int width = topRowLength + halfHeight + 3;
+        int height = rowCount + 2;
+        int[] idByCorner = new int[2 * width * height];
+        Arrays.fill(idByCorner, -1);
+
+        int[][] corners = new int[getTileCount()][];
+        int next = 0;
+        for (int tileId = 0; tileId < corners.length; tileId++) {
+            int q = qOf(tileId);
+            int r = rOf(tileId);
+            int[] keys = {
+                cornerKey(q, r, 0, firstQ, width),          // top
+                cornerKey(q + 1, r - 1, 1, firstQ, width),  // upper right: NE neighbour's bottom
+                cornerKey(q, r + 1, 0, firstQ, width),      // lower right: SE neighbour's top
+                cornerKey(q, r, 1, firstQ, width),          // bottom
+                cornerKey(q - 1, r + 1, 0, firstQ, width),  // lower left: SW neighbour's top
+                cornerKey(q, r - 1, 1, firstQ, width)       // upper left: NW neighbour's bottom
+            };
+            corners[tileId] = new int[keys.length];
+            for (int k = 0; k < keys.length; k++) {
+                if (idByCorner[keys[k]] < 0) idByCorner[keys[k]] = next++;
+                corners[tileId][k] = idByCorner[keys[k]];
+            }
+        }
+        return corners;
+    }
+
+    private int cornerKey(int q, int r, int bottom, int firstQ, int width) {
+        return (((r + halfHeight + 1) * width) + (q - firstQ)) * 2 + bottom;
+    }
+
+    private int firstQ(int r) {
+        return -halfHeight - Math.min(r, 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HexShape)) return false;
+        HexShape other = (HexShape) o;
+        return topRowLength == other.topRowLength && rowCount == other.rowCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * topRowLength + rowCount;
+    }
+
+    @Override
+    public String toString() {
+        return "HexShape[" + topRowLength + " x " + rowCount + " rows, " + getTileCount() + " tiles]";
+    }
+}
@@ -1,5 +1,6 @@
 package catan;
 
+import java.security.SecureRandom;
 import java.util.Map;
 
 /**
@@ -33,7 +34,21 @@ public class HumanPlayer extends Player {
      * @throws IllegalArgumentException if inputHandler is null
      */
     public HumanPlayer(int playerId, Colour colour, InputHandler inputHandler) {
-        super(playerId, colour);
+        this(playerId, colour, inputHandler, BoardTopology.standard());
+    }
+
+    /**
+     * Constructs a HumanPlayer with console I/O whose roads are on the given
+     * layout.
+     *
+     * @param playerId unique player identifier
+     * @param colour colour assigned to this player
+     * @param inputHandler abstraction over the input/output source
+     * @param topology the layout of the board the player plays on
+     * @throws IllegalArgumentException if inputHandler is null
+     */
+    public HumanPlayer(int playerId, Colour colour, InputHandler inputHandler, BoardTopology topology) {
+        super(playerId, colour, new SecureRandom(), topology);
         if (inputHandler == null) {
             throw new IllegalArgumentException("InputHandler must not be null.");
         }
@@ -133,7 +148,7 @@ public class HumanPlayer extends Player {
                 return handleRedoCommand(state, game);
 
             case GO:
-                return handleGoCommand(state, roundNumber);
+                return handleGoCommand(state, roundNumber, game);
 
             case UNKNOWN:
             default:
@@ -164,7 +179,7 @@ public class HumanPlayer extends Player {
         }
 
         int roll = game.rollDice();
-        GameLogger.printTurnAction(roundNumber, getPlayerId(), "Rolled " + roll);
+        GameLogger.printTurnAction(game.getEventSink(), roundNumber, getPlayerId(), "Rolled " + roll);
 
         if (roll == 7) {
             inputHandler.displayMessage("Rolled 7 — robber activated, no resources distributed.");
@@ -341,9 +356,10 @@ public class HumanPlayer extends Player {
      *
      * @param state the current turn state
      * @param roundNumber the current round number
+     * @param game the Game instance
      * @return the updated turn state (DONE if successful, unchanged otherwise)
      */
-    private TurnState handleGoCommand(TurnState state, int roundNumber) {
+    private TurnState handleGoCommand(TurnState state, int roundNumber, Game game) {
         // GO: only legal in ROLLED
         if (!state.canGo()) {
             inputHandler.displayMessage(
@@ -351,7 +367,7 @@ public class HumanPlayer extends Player {
             return state;
         }
 
-        GameLogger.printTurnAction(roundNumber, getPlayerId(), "Passed");
+        game.publishActionExecuted(this, Action.pass());
         return TurnState.DONE;
     }
 
@@ -402,7 +418,7 @@ public class HumanPlayer extends Player {
         Command buildCmd = new BuildSettlementCommand(board, this, nodeId);
         game.getGameHistory().executeCommand(buildCmd);
         recordPlacedSettlement(nodeId);
-        GameLogger.printTurnAction(roundNumber, getPlayerId(), "Built settlement at intersection " + nodeId);
+        game.publishActionExecuted(this, Action.buildSettlement(nodeId));
     }
 
     /**
@@ -429,7 +445,7 @@ public class HumanPlayer extends Player {
         Command buildCmd = new BuildCityCommand(board, this, nodeId);
         game.getGameHistory().executeCommand(buildCmd);
         recordUpgradedCity(nodeId);
-        GameLogger.printTurnAction(roundNumber, getPlayerId(), "Upgraded to city at intersection " + nodeId);
+        game.publishActionExecuted(this, Action.buildCity(nodeId));
     
     }
 
@@ -463,7 +479,7 @@ public class HumanPlayer extends Player {
         Command buildCmd = new BuildRoadCommand(board, this, fromNode, toNode);
         game.getGameHistory().executeCommand(buildCmd);
         recordPlacedRoad(fromNode, toNode);
-        GameLogger.printTurnAction(roundNumber, getPlayerId(), "Built road between " + fromNode + " and " + toNode);
+        game.publishActionExecuted(this, Action.buildRoad(fromNode, toNode));
     }
 
     //Private utility helpers
@@ -477,12 +493,7 @@ public class HumanPlayer extends Player {
      * @return the matching Edge, or null
      */
     private Edge findEdge(Board board, int fromNode, int toNode) {
-        for (Edge e : board.getAllEdges()) {
-            if ((e.getIntersectionA() == fromNode && e.getIntersectionB() == toNode) || (e.getIntersectionA() == toNode   && e.getIntersectionB() == fromNode)) {
-                return e;
-            }
-        }
-        return null;
+        return board.getEdge(fromNode, toNode);
     }
 
     /**
@@ -515,22 +526,6 @@ public class HumanPlayer extends Player {
         return sb.toString();
     }
 
-    /**
-     * Returns the count of a specific resource in hand.
-     * Probes using hasEnoughResources to avoid exposing the private map.
-     *
-     * @param resource the resource type to count
-     * @return number of cards of that resource
-     */
-    private int getResourceCount(Resources resource) {
-        java.util.Map<Resources, Integer> probe = new java.util.EnumMap<>(Resources.class);
-        for (int n = 1; n <= 50; n++) {
-            probe.put(resource, n);
-            if (!hasEnoughResources(probe)) return n - 1;
-        }
-        return 50;
-    }
-
     /**
      * Returns a readable description of a cost map.
      *
@@ -0,0 +1,340 @@
+package catan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Keeps each player's legal build actions up to date as the board changes,
+ * so listing them costs a walk over a few bit sets instead of a full scan.
+ *
+ * For every player the generator tracks three frontiers:
+ * - settlement spots: empty intersections that satisfy the distance rule and
+ *   touch the player's road network (any such spot while the player has no roads)
+ * - city spots: the player's own settlements
+ * - road spots: empty edges touching the player's roads or buildings
+ *
+ * It registers itself as a BoardListener and, on every placement or undo,
+ * re-checks only the intersections and edges around the changed piece.
+ * The one exception is a player's first road being placed or last road being
+ * removed, which switches the settlement rule and re-checks that player's
+ * settlement spots once.
+ *
+ * getValidActions() returns the same actions in the same order as
+ * Rules.getValidActionsByLinearScan(). Road connectivity is read from the
+ * board rather than from the Player's own road record; the two agree whenever
+ * roads are both placed on the board and recorded on the player, as Game and
+ * BuildRoadCommand do.
+ */
+public class IncrementalMoveGenerator implements BoardListener {
+
+    private final Board board;
+    private final Edge[] edges;
+    private final int intersectionCount;
+
+    /** Per-player frontiers indexed by player ID; null until first needed. */
+    private Frontier[] frontiersByPlayerId = new Frontier[0];
+
+    /**
+     * Creates a generator for the board and starts listening to it.
+     * Pieces already on the board are taken into account.
+     *
+     * @param board the board to track
+     */
+    public IncrementalMoveGenerator(Board board) {
+        this.board = board;
+        this.edges = board.getAllEdges();
+        this.intersectionCount = board.getAllIntersectionIds().length;
+
+        for (Edge e : edges) {
+            if (e.isOccupied()) {
+                Frontier f = frontierOrCreate(e.getRoadOwnerId());
+                f.addRoadAt(e.getIntersectionA(), e.getIntersectionB());
+            }
+        }
+        for (int id = 0; id < intersectionCount; id++) {
+            int ownerId = board.getIntersection(id).getOwnerPlayerId();
+            if (ownerId != -1) {
+                frontierOrCreate(ownerId);
+            }
+        }
+        for (int playerId = 0; playerId < frontiersByPlayerId.length; playerId++) {
+            if (frontiersByPlayerId[playerId] != null) {
+                rebuild(playerId, frontiersByPlayerId[playerId]);
+            }
+        }
+
+        board.addListener(this);
+    }
+
+    /**
+     * Returns all legal actions for the player, in the same order as
+     * Rules.getValidActionsByLinearScan(): intersections in ascending order
+     * (settlement before city), then roads in edge order.
+     *
+     * @param player the player whose actions to list
+     * @return list of all legal actions; contains at least PASS
+     */
+    public List<Action> getValidActions(Player player) {
+        Frontier f = frontierOrCreate(player.getPlayerId());
+        List<Action> actions = new ArrayList<>(
+            f.settlementSpots.cardinality() + f.citySpots.cardinality() + f.roadSpots.cardinality());
+
+        int s = f.settlementSpots.nextSetBit(0);
+        int c = f.citySpots.nextSetBit(0);
+        while (s >= 0 || c >= 0) {
+            // a spot is never both empty and a settlement, so s != c
+            if (c < 0 || (s >= 0 && s < c)) {
+                actions.add(Action.buildSettlement(s));
+                s = f.settlementSpots.nextSetBit(s + 1);
+            } else {
+                actions.add(Action.buildCity(c));
+                c = f.citySpots.nextSetBit(c + 1);
+            }
+        }
+
+        for (int e = f.roadSpots.nextSetBit(0); e >= 0; e = f.roadSpots.nextSetBit(e + 1)) {
+            actions.add(Action.buildRoad(edges[e].getIntersectionA(), edges[e].getIntersectionB()));
+        }
+
+        if (actions.isEmpty()) {
+            actions.add(Action.pass());
+        }
+        return actions;
+    }
+
+    /**
+     * Returns a random intersection where the player may build a settlement.
+     *
+     * @param playerId the player
+     * @param rng the random numbers to pick with
+     * @return the intersection ID, or -1 if there is none
+     */
+    int randomSettlementSpot(int playerId, Random rng) {
+        return randomSetBit(frontierOrCreate(playerId).settlementSpots, rng);
+    }
+
+    /**
+     * Returns a random settlement of the player's that may become a city.
+     *
+     * @param playerId the player
+     * @param rng the random numbers to pick with
+     * @return the intersection ID, or -1 if there is none
+     */
+    int randomCitySpot(int playerId, Random rng) {
+        return randomSetBit(frontierOrCreate(playerId).citySpots, rng);
+    }
+
+    /**
+     * Returns a random edge where the player may build a road.
+     *
+     * @param playerId the player
+     * @param rng the random numbers to pick with
+     * @return the edge index in board.getAllEdges(), or -1 if there is none
+     */
+    int randomRoadSpot(int playerId, Random rng) {
+        return randomSetBit(frontierOrCreate(playerId).roadSpots, rng);
+    }
+
+    @Override
+    public void settlementPlaced(int playerId, int intersectionId) {
+        frontierOrCreate(playerId);
+        refreshAround(intersectionId);
+        refreshIncidentRoads(playerId, intersectionId);
+    }
+
+    @Override
+    public void buildingRemoved(int playerId, int intersectionId, Building removed) {
+        refreshAround(intersectionId);
+        refreshIncidentRoads(playerId, intersectionId);
+    }
+
+    @Override
+    public void cityUpgraded(int playerId, int intersectionId) {
+        frontierOrCreate(playerId).citySpots.clear(intersectionId);
+    }
+
+    @Override
+    public void cityDowngraded(int playerId, int intersectionId) {
+        frontierOrCreate(playerId).citySpots.set(intersectionId);
+    }
+
+    @Override
+    public void roadPlaced(int playerId, int edgeIndex) {
+        int a = edges[edgeIndex].getIntersectionA();
+        int b = edges[edgeIndex].getIntersectionB();
+
+        Frontier owner = frontierOrCreate(playerId);
+        owner.addRoadAt(a, b);
+
+        for (Frontier f : frontiersByPlayerId) {
+            if (f != null) f.roadSpots.clear(edgeIndex);
+        }
+        afterRoadCountChanged(playerId, owner, a, b, owner.roadCount == 1);
+    }
+
+    @Override
+    public void roadRemoved(int playerId, int edgeIndex) {
+        int a = edges[edgeIndex].getIntersectionA();
+        int b = edges[edgeIndex].getIntersectionB();
+
+        Frontier owner = frontierOrCreate(playerId);
+        owner.removeRoadAt(a, b);
+
+        for (int id = 0; id < frontiersByPlayerId.length; id++) {
+            if (frontiersByPlayerId[id] != null) refreshRoad(id, frontiersByPlayerId[id], edgeIndex);
+        }
+        afterRoadCountChanged(playerId, owner, a, b, owner.roadCount == 0);
+    }
+
+    /**
+     * Re-checks the owner's settlement spots and nearby roads after one of
+     * their roads between a and b was added or removed. firstOrLast is true
+     * when the player went from no roads to one or back, which switches the
+     * settlement rule for every intersection.
+     */
+    private void afterRoadCountChanged(int playerId, Frontier owner, int a, int b, boolean firstOrLast) {
+        if (firstOrLast) {
+            for (int id = 0; id < intersectionCount; id++) {
+                refreshSettlement(owner, id);
+            }
+        } else {
+            refreshSettlement(owner, a);
+            refreshSettlement(owner, b);
+        }
+        refreshIncidentRoads(playerId, a);
+        refreshIncidentRoads(playerId, b);
+    }
+
+    /**
+     * Re-checks the intersection and its neighbours for every player, after a
+     * building appeared or disappeared there.
+     */
+    private void refreshAround(int intersectionId) {
+        Edge[] incident = board.getIncidentEdges(intersectionId);
+        for (int playerId = 0; playerId < frontiersByPlayerId.length; playerId++) {
+            Frontier f = frontiersByPlayerId[playerId];
+            if (f == null) continue;
+
+            refreshSettlement(f, intersectionId);
+            refreshCity(playerId, f, intersectionId);
+            for (Edge e : incident) {
+                int neighbour = (e.getIntersectionA() == intersectionId)
+                    ? e.getIntersectionB() : e.getIntersectionA();
+                refreshSettlement(f, neighbour);
+            }
+        }
+    }
+
+    /**
+     * Re-checks every edge touching the intersection for one player.
+     */
+    private void refreshIncidentRoads(int playerId, int intersectionId) {
+        Frontier f = frontierOrCreate(playerId);
+        for (Edge e : board.getIncidentEdges(intersectionId)) {
+            refreshRoad(playerId, f, board.getEdgeIndex(e.getIntersectionA(), e.getIntersectionB()));
+        }
+    }
+
+    private void refreshSettlement(Frontier f, int intersectionId) {
+        f.settlementSpots.set(intersectionId,
+            !board.isIntersectionOccupied(intersectionId)
+                && !board.hasOccupiedAdjacentIntersection(intersectionId)
+                && (f.roadCount == 0 || f.roadsAt[intersectionId] > 0));
+    }
+
+    private void refreshCity(int playerId, Frontier f, int intersectionId) {
+        Intersection inter = board.getIntersection(intersectionId);
+        f.citySpots.set(intersectionId,
+            inter.getOwnerPlayerId() == playerId && inter.getBuilding() == Building.SETTLEMENT);
+    }
+
+    private void refreshRoad(int playerId, Frontier f, int edgeIndex) {
+        Edge e = edges[edgeIndex];
+        int a = e.getIntersectionA();
+        int b = e.getIntersectionB();
+        f.roadSpots.set(edgeIndex,
+            !e.isOccupied()
+                && (f.roadsAt[a] > 0 || f.roadsAt[b] > 0
+                    || board.getIntersection(a).getOwnerPlayerId() == playerId
+                    || board.getIntersection(b).getOwnerPlayerId() == playerId));
+    }
+
+    /**
+     * Recomputes every frontier of one player from the board.
+     */
+    private void rebuild(int playerId, Frontier f) {
+        for (int id = 0; id < intersectionCount; id++) {
+            refreshSettlement(f, id);
+            refreshCity(playerId, f, id);
+        }
+        for (int e = 0; e < edges.length; e++) {
+            refreshRoad(playerId, f, e);
+        }
+    }
+
+    private static int randomSetBit(BitSet bits, Random rng) {
+        int count = bits.cardinality();
+        if (count == 0) return -1;
+        int bit = bits.nextSetBit(0);
+        for (int skip = rng.nextInt(count); skip > 0; skip--) {
+            bit = bits.nextSetBit(bit + 1);
+        }
+        return bit;
+    }
+
+    /**
+     * Returns the player's frontier, creating and filling it from the board
+     * the first time the player is seen.
+     */
+    private Frontier frontierOrCreate(int playerId) {
+        if (playerId < 0) {
+            throw new IllegalArgumentException("Player ID must not be negative: " + playerId);
+        }
+        if (playerId >= frontiersByPlayerId.length) {
+            frontiersByPlayerId = Arrays.copyOf(frontiersByPlayerId, playerId + 1);
+        }
+        Frontier f = frontiersByPlayerId[playerId];
+        if (f == null) {
+            f = new Frontier(intersectionCount, edges.length);
+            frontiersByPlayerId[playerId] = f;
+            rebuild(playerId, f);
+        }
+        return f;
+    }
+
+    /**
+     * Legal build spots and road counts of one player.
+     */
+    private static final class Frontier {
+
+        final BitSet settlementSpots;
+        final BitSet citySpots;
+        final BitSet roadSpots;
+
+        /** Number of the player's roads touching each intersection. */
+        final int[] roadsAt;
+        int roadCount;
+
+        Frontier(int intersectionCount, int edgeCount) {
+            settlementSpots = new BitSet(intersectionCount);
+            citySpots = new BitSet(intersectionCount);
+            roadSpots = new BitSet(edgeCount);
+            roadsAt = new int[intersectionCount];
+        }
+
+        void addRoadAt(int a, int b) {
+            roadsAt[a]++;
+            roadsAt[b]++;
+            roadCount++;
+        }
+
+        void removeRoadAt(int a, int b) {
+            roadsAt[a]--;
+            roadsAt[b]--;
+            roadCount--;
+        }
+    }
+}
@@ -16,7 +16,7 @@ import java.util.List;
  * @author Alisha Faridi
  * 
  */
-public class JSONWriter {
+public class JSONWriter implements StateWriter {
 
     /**
      * Writes the given GameSnapshot to a JSON file in the specified output directory.
@@ -33,6 +33,7 @@ public class JSONWriter {
      * @param outputDir the directory to write the file into
      * @throws IOException if the file cannot be written
      */
+    @Override
     public void write(GameSnapshot snapshot, Path outputDir) throws IOException {
     	
     	// Default to current directory if no output path provided
@@ -52,6 +53,27 @@ public class JSONWriter {
         Files.write(outputPath, json.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Writes several round snapshots into one output directory, creating the
+     * directory once for the whole batch. Used by AsyncStateWriter.
+     *
+     * @param snapshots the snapshots to write, one file each
+     * @param outputDir the directory to write the files into
+     * @throws IOException if a file cannot be written; later files are not attempted
+     */
+    @Override
+    public void writeAll(List<GameSnapshot> snapshots, Path outputDir) throws IOException {
+        if (outputDir == null) {
+            outputDir = Paths.get(".");
+        }
+        Files.createDirectories(outputDir);
+
+        for (GameSnapshot snapshot : snapshots) {
+            String filename = String.format("gamestate_round_%04d.json", snapshot.getRoundNumber());
+            Files.write(outputDir.resolve(filename), buildJson(snapshot).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
     /**
      * Builds a JSON string from the given GameSnapshot.
      *
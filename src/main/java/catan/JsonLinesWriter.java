@@ -0,0 +1,250 @@
+package catan;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams game snapshots into one append-only JSON Lines log instead of one
+ * file per round: every snapshot becomes a single line holding one JSON
+ * object, written through one reused, buffered writer.
+ *
+ * Registered as a round writer it logs one line per round; turns() returns
+ * a writer for the same log that adds one line per turn. Lines carry a
+ * "type" of "round" or "turn".
+ *
+ * The log is split into numbered segments, gamelog_0001.jsonl,
+ * gamelog_0002.jsonl and so on: a new segment starts once the current one
+ * holds maxBytes of JSON (0 means never). With gzip on, segments are
+ * written as .jsonl.gz. A new writer starts over at segment 1; after
+ * close() the same writer appends to its current segment again (for gzip
+ * as a further gzip member, which gzip readers handle).
+ *
+ * Not thread-safe; AsyncStateWriter calls it from its one thread.
+ */
+public class JsonLinesWriter implements StateWriter {
+
+    /** File name prefix used by the no-argument constructor. */
+    public static final String DEFAULT_BASE_NAME = "gamelog";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final String baseName;
+    private final long maxBytes;
+    private final boolean gzip;
+
+    private final StringBuilder line = new StringBuilder(1024);
+    private Writer out;
+    private Path openDir;
+    private int segment = 1;
+    private boolean truncateOnOpen = true;
+    private long segmentBytes;
+
+    /**
+     * Constructs an uncompressed writer that never rotates.
+     */
+    public JsonLinesWriter() {
+        this(DEFAULT_BASE_NAME, 0, false);
+    }
+
+    /**
+     * Constructs a writer.
+     *
+     * @param baseName the segment file name prefix
+     * @param maxBytes JSON bytes per segment before rotating, or 0 to never rotate
+     * @param gzip true to gzip each segment
+     * @throws IllegalArgumentException if baseName is empty or maxBytes is negative
+     */
+    public JsonLinesWriter(String baseName, long maxBytes, boolean gzip) {
+        if (baseName == null || baseName.isEmpty() || maxBytes < 0) {
+            throw new IllegalArgumentException("baseName must not be empty and maxBytes not negative.");
+        }
+        this.baseName = baseName;
+        this.maxBytes = maxBytes;
+        this.gzip = gzip;
+    }
+
+    /**
+     * Appends one "round" line.
+     *
+     * @param snapshot the end-of-round snapshot
+     * @param outputDir the directory holding the log, or null for the current folder
+     * @throws IOException if the log cannot be written
+     */
+    @Override
+    public void write(GameSnapshot snapshot, Path outputDir) throws IOException {
+        append("round", snapshot, outputDir);
+    }
+
+    /**
+     * Appends one "round" line per snapshot. Lines are only buffered here;
+     * flush() or close() pushes them to the file.
+     *
+     * @param snapshots the snapshots to log
+     * @param outputDir the directory holding the log, or null for the current folder
+     * @throws IOException if the log cannot be written
+     */
+    @Override
+    public void writeAll(List<GameSnapshot> snapshots, Path outputDir) throws IOException {
+        for (GameSnapshot snapshot : snapshots) {
+            append("round", snapshot, outputDir);
+        }
+    }
+
+    /**
+     * Returns a writer that appends "turn" lines to this log. Register it
+     * with StateWriterRegistry.addTurnLogWriter so no turn is skipped.
+     *
+     * @return the turn writer
+     */
+    public StateWriter turns() {
+        JsonLinesWriter log = this;
+        return new StateWriter() {
+            @Override
+            public void write(GameSnapshot snapshot, Path outputDir) throws IOException {
+                log.append("turn", snapshot, outputDir);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                log.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                log.close();
+            }
+        };
+    }
+
+    /**
+     * Pushes buffered lines to the current segment.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Finishes the current segment and releases the file. A later write
+     * appends to the same segment.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            Writer closing = out;
+            out = null;
+            closing.close();
+        }
+    }
+
+    /**
+     * Returns the path of a segment.
+     *
+     * @param outputDir the log directory
+     * @param segment the segment number, from 1
+     * @return the segment's file
+     */
+    public Path segmentPath(Path outputDir, int segment) {
+        String name = String.format("%s_%04d.jsonl", baseName, segment);
+        return outputDir.resolve(gzip ? name + ".gz" : name);
+    }
+
+    private void append(String type, GameSnapshot snapshot, Path outputDir) throws IOException {
+        if (outputDir == null) {
+            outputDir = Paths.get(".");
+        }
+        if (openDir != null && !outputDir.equals(openDir)) {
+            // a new directory is a new log
+            close();
+            segment = 1;
+            segmentBytes = 0;
+            truncateOnOpen = true;
+        }
+
+        line.setLength(0);
+        appendJson(line, type, snapshot);
+        line.append('\n');
+
+        if (maxBytes > 0 && segmentBytes > 0 && segmentBytes + line.length() > maxBytes) {
+            close();
+            segment++;
+            segmentBytes = 0;
+            truncateOnOpen = true;
+        }
+        if (out == null) {
+            open(outputDir);
+        }
+        out.append(line);
+        // the JSON is ASCII, so characters are bytes
+        segmentBytes += line.length();
+    }
+
+    private void open(Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        Path file = segmentPath(outputDir, segment);
+        OutputStream stream = truncateOnOpen
+            ? Files.newOutputStream(file)
+            : Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (gzip) {
+            // sync flush, so flush() makes every line so far readable
+            stream = new GZIPOutputStream(stream, BUFFER_SIZE, true);
+        }
+        out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        truncateOnOpen = false;
+        openDir = outputDir;
+    }
+
+    /**
+     * Formats a snapshot as one line of JSON, without the newline.
+     */
+    static void appendJson(StringBuilder sb, String type, GameSnapshot snapshot) {
+        sb.append("{\"type\":\"").append(type).append('"')
+          .append(",\"round\":").append(snapshot.getRoundNumber())
+          .append(",\"players\":[");
+        List<GameSnapshot.PlayerSnapshot> players = snapshot.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            GameSnapshot.PlayerSnapshot p = players.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("{\"id\":").append(p.getPlayerId())
+              .append(",\"colour\":\"").append(p.getColour()).append('"')
+              .append(",\"victoryPoints\":").append(p.getVictoryPoints())
+              .append(",\"totalCards\":").append(p.getTotalCards())
+              .append('}');
+        }
+        sb.append("],\"roads\":[");
+        List<GameSnapshot.RoadSnapshot> roads = snapshot.getRoads();
+        for (int i = 0; i < roads.size(); i++) {
+            GameSnapshot.RoadSnapshot r = roads.get(i);
+            if (i > 0) sb.append(',');
+            sb.append('[').append(r.getIntersectionA())
+              .append(',').append(r.getIntersectionB())
+              .append(',').append(r.getOwnerId()).append(']');
+        }
+        sb.append("],\"buildings\":[");
+        List<GameSnapshot.BuildingSnapshot> buildings = snapshot.getBuildings();
+        for (int i = 0; i < buildings.size(); i++) {
+            GameSnapshot.BuildingSnapshot b = buildings.get(i);
+            if (i > 0) sb.append(',');
+            sb.append('[').append(b.getIntersectionId())
+              .append(',').append(b.getOwnerId())
+              .append(",\"").append(b.getType().name()).append("\"]");
+        }
+        sb.append("]}");
+    }
+}
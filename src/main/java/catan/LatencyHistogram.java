@@ -0,0 +1,163 @@
+package catan;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size histogram of durations in nanoseconds, in the style of
+ * HdrHistogram: values below 64 are counted exactly, and every power of two
+ * above that is split into 64 equal buckets, so any recorded value is known
+ * to within 1/64 (about 1.6%) over the whole range of a long.
+ *
+ * Recording is a few shifts and one array increment, with no allocation.
+ * A histogram is not thread-safe: record into it from one thread at a time,
+ * and read it after that thread's work is known to be done.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    // exact buckets 0..63, then 64 buckets for each exponent 6..62
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos the duration; negative values count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        counts[indexOf(value)]++;
+        totalCount++;
+        sum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Adds every value recorded in another histogram to this one.
+     *
+     * @param other the histogram to add; not changed
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Forgets every recorded value.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        totalCount = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the sum of all recorded values.
+     *
+     * @return total nanoseconds
+     */
+    public long getTotal() {
+        return sum;
+    }
+
+    /**
+     * Returns the smallest recorded value, exactly.
+     *
+     * @return the minimum, or 0 if empty
+     */
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    /**
+     * Returns the largest recorded value, exactly.
+     *
+     * @return the maximum, or 0 if empty
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean, or 0 if empty
+     */
+    public double getMean() {
+        return totalCount == 0 ? 0.0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Returns the value below which the given share of recorded values fall,
+     * e.g. 99.0 for p99. The result is the middle of the matching bucket,
+     * clamped to the recorded minimum and maximum; p100 is the maximum.
+     *
+     * @param percentile 0 to 100
+     * @return the value at the percentile, or 0 if empty
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double share = Math.min(Math.max(percentile, 0.0), 100.0) / 100.0;
+        long rank = Math.max(1L, (long) Math.ceil(share * totalCount));
+        if (rank >= totalCount) {
+            return max;
+        }
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long middle = lowestValueOf(i) + (widthOf(i) - 1) / 2;
+                return Math.min(Math.max(middle, getMin()), max);
+            }
+        }
+        return max;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    static long lowestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << shift;
+    }
+
+    private static long widthOf(int index) {
+        return index < SUB_BUCKETS ? 1L : 1L << ((index - SUB_BUCKETS) / SUB_BUCKETS);
+    }
+}
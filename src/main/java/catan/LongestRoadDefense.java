@@ -51,6 +51,25 @@ public class LongestRoadDefense {
         return -1.0;
     }
 
+    /**
+     * Same check as evaluate(Player, List, Board, Action), using longest road
+     * lengths computed once by the per-decision context.
+     *
+     * @param context facts about the deciding player and their opponents
+     * @param action the candidate action
+     * @return 120.0 if the road defends a close longest road lead, otherwise -1.0
+     */
+    public double evaluate(EvaluationContext context, Action action) {
+        if (action.getType() != ActionType.BUILD_ROAD) {
+        	return -1.0;
+        }
+        if (context.getLongestRoad() < 5 || !context.isOpponentCloseOnLongestRoad()) {
+        	return -1.0;
+        }
+        return context.extendsRoadNetwork(action.getEdgeIntersectionA(), action.getEdgeIntersectionB())
+            ? 120.0 : -1.0;
+    }
+
     // Fallback for callers that don't pass a player list
     public double evaluate(Player player, Board board, Action action) {
         return evaluate(player, java.util.Collections.emptyList(), board, action);
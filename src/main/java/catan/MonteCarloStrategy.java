@@ -0,0 +1,333 @@
+package catan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Flat Monte Carlo decision strategy.
+ *
+ * For every decision each candidate action is tried in many random
+ * play-outs (see Rollout), and the action with the best average final
+ * victory point margin is chosen. Rollouts are spread over a fixed pool of
+ * worker threads and stop at a rollout budget, a time budget, or whichever
+ * comes first. Every action gets at least one rollout.
+ *
+ * The position is captured once per decision as a GameState, and every
+ * worker plays its rollouts on its own scratch board and players reset from
+ * that state, so threads never share mutable game objects.
+ *
+ * Rollout i always evaluates action i modulo the number of actions with
+ * random numbers derived from the decision's seed and i, so with a rollout
+ * budget only the result does not depend on the number of threads.
+ * A time budget trades that reproducibility for a bounded decision time.
+ *
+ * An optional TranspositionTable caches each action's result under the
+ * Zobrist hash of the position it leads to (with the next seat to move).
+ * An action whose position is already cached with at least the per-action
+ * rollout budget reuses that result instead of rolling out again, across
+ * decisions and across strategies sharing the table. Values are average
+ * margins times 1000, so strategies sharing a table should use the same
+ * rollout length.
+ *
+ * The worker pool uses daemon threads; call close() to release it early.
+ */
+public class MonteCarloStrategy implements DecisionStrategy, AutoCloseable {
+
+    /** Rollouts per decision used by the single-argument constructor. */
+    public static final int DEFAULT_ROLLOUTS = 1000;
+
+    /** Turns played per rollout, about 30 rounds of four players. */
+    public static final int DEFAULT_ROLLOUT_TURNS = 120;
+
+    /** Winning score until the game says otherwise; Game's default. */
+    public static final int DEFAULT_VICTORY_POINTS_TO_WIN = 10;
+
+    private final Random random;
+    private final int threads;
+    private final int maxRollouts;
+    private final long timeBudgetNanos;
+    private final int rolloutTurns;
+    private final Rollout rollout = new Rollout(new Rules());
+    private volatile int victoryPointsToWin = DEFAULT_VICTORY_POINTS_TO_WIN;
+
+    private final CostTable costs = CostTable.standard();
+
+    private ExecutorService pool;
+    private int lastRolloutCount;
+    private TranspositionTable table;
+
+    /**
+     * Constructs a strategy with the default rollout budget and one worker
+     * thread per available core.
+     *
+     * @param random the source of every decision's seed
+     */
+    public MonteCarloStrategy(Random random) {
+        this(random, Runtime.getRuntime().availableProcessors(), DEFAULT_ROLLOUTS, 0);
+    }
+
+    /**
+     * Constructs a strategy.
+     *
+     * @param random the source of every decision's seed
+     * @param threads number of worker threads
+     * @param maxRollouts most rollouts per decision
+     * @param timeBudgetMillis most milliseconds per decision, or 0 for no time limit
+     * @throws IllegalArgumentException if threads or maxRollouts is not positive
+     *         or timeBudgetMillis is negative
+     */
+    public MonteCarloStrategy(Random random, int threads, int maxRollouts, long timeBudgetMillis) {
+        this(random, threads, maxRollouts, timeBudgetMillis, DEFAULT_ROLLOUT_TURNS);
+    }
+
+    /**
+     * Constructs a strategy with a custom rollout length.
+     *
+     * @param random the source of every decision's seed
+     * @param threads number of worker threads
+     * @param maxRollouts most rollouts per decision
+     * @param timeBudgetMillis most milliseconds per decision, or 0 for no time limit
+     * @param rolloutTurns most turns played in one rollout
+     * @throws IllegalArgumentException if threads, maxRollouts or rolloutTurns is
+     *         not positive or timeBudgetMillis is negative
+     */
+    public MonteCarloStrategy(Random random, int threads, int maxRollouts,
+                              long timeBudgetMillis, int rolloutTurns) {
+        if (threads < 1 || maxRollouts < 1 || rolloutTurns < 1 || timeBudgetMillis < 0) {
+            throw new IllegalArgumentException(
+                "threads, maxRollouts and rolloutTurns must be positive and the time budget not negative.");
+        }
+        this.random = random;
+        this.threads = threads;
+        this.maxRollouts = maxRollouts;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.rolloutTurns = rolloutTurns;
+    }
+
+    /**
+     * Chooses the action with the best average rollout result.
+     * Ties go to the earlier action in the list.
+     *
+     * @param player the player taking the turn
+     * @param board the current board state; not modified
+     * @param actions the legal actions available to the player
+     * @param allPlayers every player in turn order, including the chooser
+     * @return the chosen action
+     */
+    @Override
+    public Action chooseAction(Player player, Board board, List<Action> actions,
+                               List<Player> allPlayers) {
+        if (actions == null || actions.isEmpty()) {
+            return Action.pass();
+        }
+        if (actions.size() == 1) {
+            lastRolloutCount = 0;
+            return actions.get(0);
+        }
+
+        List<Player> seats = allPlayers.contains(player) ? allPlayers : Collections.singletonList(player);
+        int seat = seats.indexOf(player);
+        long seed = random.nextLong();
+        GameState start = GameState.capture(board, seats, 0);
+
+        int n = actions.size();
+        double[] means = new double[n];
+        Arrays.fill(means, Double.NEGATIVE_INFINITY);
+
+        // with a table, actions whose resulting position is cached skip their rollouts
+        long[] keys = null;
+        List<Action> toRoll = actions;
+        int[] rolledIndex = null;
+        int budget = maxRollouts;
+        if (table != null) {
+            // entries from earlier decisions may be replaced, however heavy
+            table.newGeneration();
+            int perAction = Math.max(1, maxRollouts / n);
+            keys = new long[n];
+            toRoll = new ArrayList<>(n);
+            rolledIndex = new int[n];
+            for (int a = 0; a < n; a++) {
+                keys[a] = positionKey(start, board, seat, actions.get(a));
+                long entry = table.probe(keys[a]);
+                if (TranspositionTable.weightOf(entry) >= perAction) {
+                    means[a] = TranspositionTable.valueOf(entry) / 1000.0;
+                } else {
+                    rolledIndex[toRoll.size()] = a;
+                    toRoll.add(actions.get(a));
+                }
+            }
+            budget = perAction * toRoll.size();
+        }
+
+        lastRolloutCount = 0;
+        if (!toRoll.isEmpty()) {
+            long[] totals = rollOut(start, board, seat, toRoll, seed, budget);
+            int m = toRoll.size();
+            for (int j = 0; j < m; j++) {
+                long count = totals[m + j];
+                lastRolloutCount += (int) count;
+                if (count == 0) continue;
+                int a = (rolledIndex == null) ? j : rolledIndex[j];
+                means[a] = (double) totals[j] / count;
+                if (table != null) {
+                    table.store(keys[a], (int) Math.round(means[a] * 1000), (int) count);
+                }
+            }
+        }
+
+        int best = 0;
+        for (int a = 1; a < n; a++) {
+            if (means[a] > means[best]) best = a;
+        }
+        return actions.get(best);
+    }
+
+    /**
+     * Runs up to budget rollouts over the given actions on the worker threads.
+     *
+     * @return reward sums in [0, n) and rollout counts in [n, 2n), indexed like actions
+     */
+    private long[] rollOut(GameState start, Board board, int seat, List<Action> actions,
+                           long seed, int budget) {
+        long deadline = (timeBudgetNanos > 0) ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+        AtomicInteger nextRollout = new AtomicInteger();
+
+        List<Callable<long[]>> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            // scratch objects are built here so workers never read the live game
+            Random rng = new Random();
+            Board scratchBoard = new Board(board);
+            IncrementalMoveGenerator scratchMoves = new IncrementalMoveGenerator(scratchBoard);
+            List<Player> scratchPlayers = start.toPlayers(rng);
+            workers.add(() -> runRollouts(start, scratchBoard, scratchMoves, scratchPlayers, rng, seat,
+                actions, seed, deadline, budget, nextRollout));
+        }
+        return (threads == 1) ? callInline(workers.get(0)) : runOnPool(workers, actions.size());
+    }
+
+    /**
+     * Returns the Zobrist hash of the position an action leads to, with the
+     * next seat to move.
+     */
+    private long positionKey(GameState start, Board board, int seat, Action action) {
+        GameState after = start.copy();
+        int edgeIndex = (action.getType() == ActionType.BUILD_ROAD)
+            ? board.getEdgeIndex(action.getEdgeIntersectionA(), action.getEdgeIntersectionB()) : -1;
+        after.applyAction(seat, action, edgeIndex, costs);
+        int next = (seat + 1) % start.getSeatCount();
+        return after.getZobristHash() ^ Zobrist.key(Zobrist.TO_MOVE, 0, next);
+    }
+
+    /**
+     * Sets the score at which rollouts stop, as a win in the real game would.
+     *
+     * @param victoryPointsToWin the winning score
+     */
+    @Override
+    public void setVictoryPointsToWin(int victoryPointsToWin) {
+        this.victoryPointsToWin = victoryPointsToWin;
+    }
+
+    /**
+     * Shares evaluations through a transposition table, or stops if null.
+     *
+     * @param table the table to read and fill, possibly shared with other strategies
+     */
+    public void setTranspositionTable(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Returns how many rollouts the last decision ran.
+     *
+     * @return rollouts in the last decision; 0 if it had only one action
+     */
+    public int getLastRolloutCount() {
+        return lastRolloutCount;
+    }
+
+    /**
+     * Shuts down the worker threads. The strategy starts new ones if used again.
+     */
+    @Override
+    public synchronized void close() {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+    }
+
+    /**
+     * Claims rollout indexes until a budget runs out.
+     *
+     * @return reward sums in [0, n) and rollout counts in [n, 2n), indexed by action
+     */
+    private long[] runRollouts(GameState start, Board board, IncrementalMoveGenerator moves,
+                               List<Player> players, Random rng, int seat, List<Action> actions,
+                               long seed, long deadline, int budget, AtomicInteger nextRollout) {
+        int n = actions.size();
+        long[] totals = new long[2 * n];
+        while (true) {
+            int i = nextRollout.getAndIncrement();
+            if (i >= budget && i >= n) break;
+            if (i >= n && System.nanoTime() > deadline) break;
+
+            int a = i % n;
+            rng.setSeed(seed + i * 0x9E3779B97F4A7C15L);
+            totals[a] += rollout.play(start, board, moves, players, seat, actions.get(a), rng, rolloutTurns,
+                victoryPointsToWin);
+            totals[n + a]++;
+        }
+        return totals;
+    }
+
+    private long[] runOnPool(List<Callable<long[]>> workers, int n) {
+        List<Future<long[]>> futures = new ArrayList<>(workers.size());
+        ExecutorService executor = pool();
+        for (Callable<long[]> worker : workers) {
+            futures.add(executor.submit(worker));
+        }
+
+        long[] totals = new long[2 * n];
+        try {
+            for (Future<long[]> future : futures) {
+                long[] part = future.get();
+                for (int k = 0; k < totals.length; k++) totals[k] += part[k];
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running rollouts", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rollout failed", e.getCause());
+        }
+        return totals;
+    }
+
+    private static long[] callInline(Callable<long[]> worker) {
+        try {
+            return worker.call();
+        } catch (Exception e) {
+            throw new IllegalStateException("Rollout failed", e);
+        }
+    }
+
+    private synchronized ExecutorService pool() {
+        if (pool == null) {
+            pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "monte-carlo-rollout");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return pool;
+    }
+}
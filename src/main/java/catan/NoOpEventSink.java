@@ -0,0 +1,29 @@
+package catan;
+
+/**
+ * A sink that keeps nothing. Headless games use it, so logging costs them
+ * one isEnabled() call per message.
+ */
+public final class NoOpEventSink implements GameEventSink {
+
+    /** The only instance. */
+    public static final NoOpEventSink INSTANCE = new NoOpEventSink();
+
+    private NoOpEventSink() {
+    }
+
+    @Override
+    public boolean isEnabled(Level level) {
+        return false;
+    }
+
+    @Override
+    public void emit(Level level, String message) {
+        // discarded
+    }
+
+    @Override
+    public void log(Level level, String message) {
+        // discarded
+    }
+}
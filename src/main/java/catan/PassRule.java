@@ -9,6 +9,22 @@ package catan;
  */
 public class PassRule extends Rule {
 
+    /**
+     * Creates the rule with the standard cost table.
+     */
+    public PassRule() {
+        super();
+    }
+
+    /**
+     * Creates the rule with the given shared cost table.
+     *
+     * @param costTable the cost table used by the spending bonus
+     */
+    public PassRule(CostTable costTable) {
+        super(costTable);
+    }
+
     /**
      * Returns whether this rule applies to the given action.
      *
@@ -17,7 +33,18 @@ public class PassRule extends Rule {
      */
     @Override
     protected boolean isApplicable(Action action) {
-        return action.getType() == ActionType.PASS;
+        return appliesTo(action.getType());
+    }
+
+    /**
+     * Returns whether this rule can apply to actions of the given type.
+     *
+     * @param type the action type
+     * @return true only for PASS
+     */
+    @Override
+    public boolean appliesTo(ActionType type) {
+        return type == ActionType.PASS;
     }
 
     /**
@@ -4,11 +4,12 @@
 
 package catan;
 
+import java.util.AbstractMap;
 import java.util.HashMap;
-import java.util.List;
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.security.SecureRandom;
-import java.util.HashSet;
+import java.util.Random;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,13 +31,36 @@ public class Player {
     
     private int victoryPoints;
 
-    private Map<Resources, Integer> resourceCards;
+    private static final Resources[] RESOURCE_TYPES = Resources.values();
+
+    /** Cards in hand, indexed by Resources.ordinal(). */
+    private final int[] resourceCounts = new int[RESOURCE_TYPES.length];
+
+    /** Sum of resourceCounts, kept up to date by every hand change. */
+    private int totalCards;
+
+    /** Zobrist hash of the hand, kept up to date by every hand change. */
+    private long handHash;
 
     private Map<Integer, Building> ownedBuildings;
 
-    private Set<String> ownedRoadEdgeKeys;
+    /** The layout the player's roads are on. */
+    private final BoardTopology topology;
+
+    /** Owned roads as bits indexed by edge index (see Board.getEdgeIndex). */
+    private final BitSet ownedRoads;
+
+    /**
+     * Recorded roads between intersections the layout has no edge for, as
+     * pairKey(a, b). Kept so such roads still count, as they did when roads
+     * were stored as "a-b" keys; normally empty.
+     */
+    private final Set<Long> offLayoutRoads;
+
+    /** Which intersections the owned roads touch and connect. */
+    private RoadConnectivity roadNetwork;
 
-    private final SecureRandom rng;
+    private final Random rng;
 
     /**
      * Constructs a new Player with the given ID and colour
@@ -45,15 +69,109 @@ public class Player {
      * @param colour the colour assigned to the player
      */
     public Player(int playerId, Colour colour) {
+        this(playerId, colour, new SecureRandom());
+    }
+
+    /**
+     * Constructs a new Player on the standard layout whose discards and card
+     * picks use the given RNG.
+     *
+     * @param playerId the unique identifier for the player
+     * @param colour the colour assigned to the player
+     * @param rng the random number generator for this player's choices
+     */
+    public Player(int playerId, Colour colour, Random rng) {
+        this(playerId, colour, rng, BoardTopology.standard());
+    }
+
+    /**
+     * Constructs a new Player whose roads are on the given layout.
+     *
+     * @param playerId the unique identifier for the player
+     * @param colour the colour assigned to the player
+     * @param rng the random number generator for this player's choices
+     * @param topology the layout of the board the player plays on
+     */
+    public Player(int playerId, Colour colour, Random rng, BoardTopology topology) {
         this.playerId = playerId;
         this.colour = colour;
         this.victoryPoints = 0;
-        this.rng = new SecureRandom();
+        this.rng = rng;
 
         // Initialize all collections as empty
-        this.resourceCards = new HashMap<>();
         this.ownedBuildings = new HashMap<>();
-        this.ownedRoadEdgeKeys = new HashSet<>();
+        this.topology = topology;
+        this.ownedRoads = new BitSet(topology.getEdgeCount());
+        this.offLayoutRoads = new LinkedHashSet<>();
+        this.roadNetwork = new RoadConnectivity(topology);
+
+        for (int i = 0; i < resourceCounts.length; i++) {
+            handHash ^= Zobrist.handKey(playerId, i, 0);
+        }
+    }
+
+    /**
+     * Creates an independent copy of another player's state: ID, colour,
+     * victory points, hand, buildings and roads. The copy draws its random
+     * choices from the given RNG. Used to play out positions without
+     * touching the real game.
+     *
+     * @param other the player to copy
+     * @param rng the random number generator for the copy's choices
+     */
+    public Player(Player other, Random rng) {
+        this.playerId = other.playerId;
+        this.colour = other.colour;
+        this.victoryPoints = other.victoryPoints;
+        this.rng = rng;
+        System.arraycopy(other.resourceCounts, 0, resourceCounts, 0, resourceCounts.length);
+        this.totalCards = other.totalCards;
+        this.handHash = other.handHash;
+
+        this.ownedBuildings = new HashMap<>(other.ownedBuildings);
+        this.topology = other.topology;
+        this.ownedRoads = (BitSet) other.ownedRoads.clone();
+        this.offLayoutRoads = new LinkedHashSet<>(other.offLayoutRoads);
+        this.roadNetwork = new RoadConnectivity(other.roadNetwork);
+    }
+
+    /**
+     * Replaces this player's victory points, hand, buildings and roads with
+     * a seat of a saved position. Used by GameState to restore a position
+     * into existing players; like GameState.applyTo on a board, only the
+     * pieces that differ are changed, and the road network is rebuilt only
+     * if a road did.
+     *
+     * @param state the saved position, on this player's layout
+     * @param seat the seat this player holds in it
+     */
+    void restore(GameState state, int seat) {
+        this.victoryPoints = state.getVictoryPoints(seat);
+        for (int i = 0; i < resourceCounts.length; i++) {
+            setCount(i, state.getResourceCount(seat, RESOURCE_TYPES[i]));
+        }
+
+        for (int i = 0; i < topology.getIntersectionCount(); i++) {
+            if (state.getBuildingOwner(i) != playerId) {
+                ownedBuildings.remove(i);
+            } else {
+                Building b = (state.getBuilding(i) == GameState.CITY) ? Building.CITY : Building.SETTLEMENT;
+                if (ownedBuildings.get(i) != b) ownedBuildings.put(i, b);
+            }
+        }
+
+        boolean roadsChanged = !offLayoutRoads.isEmpty();
+        offLayoutRoads.clear();
+        for (int e = 0; e < topology.getEdgeCount(); e++) {
+            boolean owned = state.getRoadOwner(e) == playerId;
+            if (ownedRoads.get(e) != owned) {
+                ownedRoads.set(e, owned);
+                roadsChanged = true;
+            }
+        }
+        if (roadsChanged) {
+            roadNetwork.rebuild(ownedRoads);
+        }
     }
 
     /**
@@ -94,16 +212,22 @@ public class Player {
 
     /**
      * Returns the total number of resource cards in the player's hand.
-     * Sums all quantities across all resource types.
+     * The total is cached, so this is constant time.
      *
      * @return the total number of resource cards in hand
      */
     public int getTotalCardsInHand() {
-        int total = 0;
-        for (int count : resourceCards.values()) {
-            total += count;
-        }
-        return total;
+        return totalCards;
+    }
+
+    /**
+     * Returns how many cards of one resource the player holds.
+     *
+     * @param type the resource type to count
+     * @return number of cards of that resource
+     */
+    public int getResourceCount(Resources type) {
+        return resourceCounts[type.ordinal()];
     }
 
     /**
@@ -114,8 +238,28 @@ public class Player {
      * @param amount the number of cards to add
      */
     public void addResource(Resources type, int amount) {
-    	// getOrDefault handles the case where player has none of this resource yet
-        resourceCards.put(type, resourceCards.getOrDefault(type, 0) + amount);
+        int i = type.ordinal();
+        setCount(i, resourceCounts[i] + amount);
+    }
+
+    /**
+     * Sets one card count, keeping the total and the hand hash in step.
+     * Every change to the hand goes through here.
+     */
+    private void setCount(int i, int count) {
+        handHash ^= Zobrist.handKey(playerId, i, resourceCounts[i]) ^ Zobrist.handKey(playerId, i, count);
+        totalCards += count - resourceCounts[i];
+        resourceCounts[i] = count;
+    }
+
+    /**
+     * Returns the Zobrist hash of the player's hand, updated in constant
+     * time by every hand change. Uses the same keys as GameState.
+     *
+     * @return the 64-bit hand hash
+     */
+    public long getZobristHash() {
+        return handHash;
     }
 
     /**
@@ -125,9 +269,23 @@ public class Player {
      * @return true if the player can afford the cost otherwise false 
      */
     public boolean hasEnoughResources(Map<Resources, Integer> cost) {
-        for (Resources type : cost.keySet()) {
-            int owned = resourceCards.getOrDefault(type, 0);
-            if (owned < cost.get(type)) {
+        for (Map.Entry<Resources, Integer> entry : cost.entrySet()) {
+            if (resourceCounts[entry.getKey().ordinal()] < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the player has enough resources to pay a cost vector.
+     *
+     * @param cost required cards indexed by Resources.ordinal(), e.g. from Rules.getCostVector
+     * @return true if the player can afford the cost otherwise false
+     */
+    public boolean hasEnoughResources(int[] cost) {
+        for (int i = 0; i < cost.length; i++) {
+            if (resourceCounts[i] < cost[i]) {
                 return false;
             }
         }
@@ -151,9 +309,25 @@ public class Player {
           }
 
     	// Deduct each resource in the cost map
-        for (Resources type : cost.keySet()) {
-            int remaining = resourceCards.getOrDefault(type, 0) - cost.get(type);
-            resourceCards.put(type, remaining);
+        for (Map.Entry<Resources, Integer> entry : cost.entrySet()) {
+            int i = entry.getKey().ordinal();
+            setCount(i, resourceCounts[i] - entry.getValue());
+        }
+    }
+
+    /**
+     * Deducts a cost vector from the player's hand.
+     *
+     * @param cost cards to deduct indexed by Resources.ordinal(), e.g. from Rules.getCostVector
+     * @throws IllegalArgumentException if the player cannot afford the cost
+     */
+    public void payCost(int[] cost) {
+        if (!hasEnoughResources(cost)) {
+            throw new IllegalArgumentException(
+                "Player " + playerId + " does not have enough resources to pay the cost.");
+        }
+        for (int i = 0; i < cost.length; i++) {
+            if (cost[i] != 0) setCount(i, resourceCounts[i] - cost[i]);
         }
     }
 
@@ -169,8 +343,7 @@ public class Player {
 
     /**
      * Checks whether the player owns at least one road connected to a given intersection.
-     * Uses the normalized edge key format to match roads at either endpoint.
-     *
+     * Constant time: reads the per-intersection road count kept by recordPlacedRoad.
      *
      * @param intersectionId the intersection ID to check
      * @param board the board instance 
@@ -181,13 +354,7 @@ public class Player {
             return false;
         }
 
-        // Check both endpoints of each owned road edge key
-        for (String key : ownedRoadEdgeKeys) {
-            if (key.startsWith(intersectionId + "-") || key.endsWith("-" + intersectionId)) {
-                return true;
-            }
-        }
-        return false;
+        return roadNetwork.hasRoadAt(intersectionId);
     }
 
     /**
@@ -212,13 +379,60 @@ public class Player {
 
     /**
      * Records that the player placed a road between two intersections.
-     * Stores a normalized edge key so road lookups are order independent.
+     * Stores the road's edge index, so endpoint order does not matter.
+     * A pair the layout has no edge for is still recorded, by its endpoints.
+     * Recording the same road twice has no effect.
      *
      * @param intersectionA the first endpoint intersection ID
      * @param intersectionB the second endpoint intersection ID
      */
     public void recordPlacedRoad(int intersectionA, int intersectionB) {
-        ownedRoadEdgeKeys.add(edgeKey(intersectionA, intersectionB));
+        int e = edgeIndex(intersectionA, intersectionB);
+        if (e >= 0) {
+            if (ownedRoads.get(e)) {
+                return;
+            }
+            ownedRoads.set(e);
+        } else if (!offLayoutRoads.add(pairKey(intersectionA, intersectionB))) {
+            return;
+        }
+        roadNetwork.addRoad(intersectionA, intersectionB);
+    }
+
+    /**
+     * Forgets a road recorded by recordPlacedRoad, e.g. when it is undone.
+     * The road network is rebuilt from the remaining roads.
+     * Does nothing if the road was not recorded.
+     *
+     * @param intersectionA the first endpoint intersection ID
+     * @param intersectionB the second endpoint intersection ID
+     */
+    public void unrecordPlacedRoad(int intersectionA, int intersectionB) {
+        int e = edgeIndex(intersectionA, intersectionB);
+        if (e >= 0) {
+            if (!ownedRoads.get(e)) {
+                return;
+            }
+            ownedRoads.clear(e);
+        } else if (!offLayoutRoads.remove(pairKey(intersectionA, intersectionB))) {
+            return;
+        }
+        roadNetwork.rebuild(ownedRoads);
+        for (int[] road : getOffLayoutRoads()) {
+            roadNetwork.addRoad(road[0], road[1]);
+        }
+    }
+
+    /**
+     * Returns whether a road between two intersections would join two of
+     * this player's separate road networks. Two union-find lookups.
+     *
+     * @param intersectionA the first endpoint intersection ID
+     * @param intersectionB the second endpoint intersection ID
+     * @return true if both ends touch owned roads that are not connected
+     */
+    public boolean wouldJoinRoadNetworks(int intersectionA, int intersectionB) {
+        return roadNetwork.wouldJoinNetworks(intersectionA, intersectionB);
     }
 
     /**
@@ -231,12 +445,9 @@ public class Player {
      * @return a String key representing the edge
      */
     public String edgeKey(int intersectionA, int intersectionB) {
-        int min = Math.min(intersectionA, intersectionB);
-        int max = Math.max(intersectionA, intersectionB);
-        return min + "-" + max;
+        return Edge.edgeKey(intersectionA, intersectionB);
     }
-    
-    
+
     /**
      * Removes a specific amount of a resource from the player's hand.
      * Used for card stealing and discarding. Will not go below zero.
@@ -245,11 +456,8 @@ public class Player {
      * @param amount the number of cards to remove
      */
     public void removeResources(Resources type, int amount) {
-    	int current = resourceCards.getOrDefault(type, 0);
-    	int newAmount = Math.max(0,  current - amount);
-    	resourceCards.put(type,  newAmount);
-    	
-    	
+    	int i = type.ordinal();
+    	setCount(i, Math.max(0, resourceCounts[i] - amount));
     }
     
     /**
@@ -261,8 +469,6 @@ public class Player {
      */
     
     public int discardHalfCards() {
-    	int totalCards = getTotalCardsInHand();
-    	
     	if(totalCards <= 7) {
     		return 0;
     	}
@@ -272,20 +478,10 @@ public class Player {
     	int discarded = 0;
     	
     
-    	List<Resources> allCards = new ArrayList<>();
-    	for(Map.Entry<Resources, Integer> entry: resourceCards.entrySet()) {
-    		Resources type = entry.getKey();
-    		int count = entry.getValue();
-    		for(int x = 0; x <count; x++) {
-    			allCards.add(type);
-    		}
-    	}
-    	
-    	// Randomly pick and remove cards one at a time
-    	for (int x = 0; x < haveToDiscard && !allCards.isEmpty(); x++) {
-    		int randomNum = rng.nextInt(allCards.size());
-    		Resources typeToRemove = allCards.remove(randomNum);
-    		removeResources(typeToRemove, 1);
+    	// Pick a random card by index into the hand laid out in enum order, so
+    	// seeded games replay exactly without building a list of every card
+    	for (int x = 0; x < haveToDiscard && totalCards > 0; x++) {
+    		removeResources(cardAt(rng.nextInt(totalCards)), 1);
     		discarded++;
     	}
     	
@@ -304,37 +500,41 @@ public class Player {
      */
     public Resources getRandomResource() {
 
-    	List<Resources> allCards = new ArrayList<>();
-    	
-    	for(Map.Entry<Resources, Integer> entry: resourceCards.entrySet()) {
-    		Resources type = entry.getKey();
-    		int count = entry.getValue();
-    		for (int x = 0; x < count; x++) {
-    			allCards.add(type);
-    		}
-    	}
-    	
     	// Return null if player has nothing to steal
-    	if(allCards.isEmpty()) {
+    	if(totalCards == 0) {
     		return null;
     	}
     	
-    	 // Pick a random card from the list
-    	return allCards.get(rng.nextInt(allCards.size()));
-    	
-    	
+    	 // Pick a random card, weighted by how many of each type are held
+    	return cardAt(rng.nextInt(totalCards));
+    }
+
+    /**
+     * Returns the resource type of the card at the given position when the
+     * hand is laid out in enum order (e.g. all BRICK first, then WHEAT, ...).
+     *
+     * @param index position in the hand, from 0 to getTotalCardsInHand() - 1
+     * @return the resource type at that position
+     */
+    private Resources cardAt(int index) {
+    	for (int i = 0; i < resourceCounts.length; i++) {
+    		if (index < resourceCounts[i]) {
+    			return RESOURCE_TYPES[i];
+    		}
+    		index -= resourceCounts[i];
+    	}
+    	throw new IllegalStateException("Card index outside hand of " + totalCards);
     }
     
     /**
-     * Returns a defensive copy of the player's resource cards.
-     * The copy prevents external classes from modifying the player's
-     * hand directly.
+     * Returns a read-only view of the player's resource cards.
+     * The view reflects later changes to the hand and cannot be used to
+     * modify it; only resource types the player holds appear as keys.
      *
-     * @return a copy of the resource cards map
+     * @return an unmodifiable live view of the hand
      */
     public Map<Resources, Integer>  getResourceCards(){
-    	// Return a copy bc we never expose the internal map directly
-    	return new HashMap<>(resourceCards);
+    	return new HandView();
     }
     
     
@@ -348,13 +548,100 @@ public class Player {
     	return new HashMap<>(ownedBuildings);
     }
 
+    /**
+     * Returns the roads owned by this player as a bit set indexed by edge
+     * index, the same index as Board.getEdgeIndex() and Board.getAllEdges().
+     * Roads recorded between intersections with no edge between them are
+     * not included; see getOwnedRoadEdgeKeys().
+     *
+     * @return a copy of the owned roads
+     */
+    public BitSet getOwnedRoads() {
+        return (BitSet) ownedRoads.clone();
+    }
+
     /**
      * Returns the set of road edge keys owned by this player.
+     * Built from the edge indexes on each call; prefer getOwnedRoads() in hot code.
      *
-     * @return set of edge keys e.g. "1-2", "3-4"
+     * @return unmodifiable set of edge keys e.g. "1-2", "3-4"
+     * @deprecated roads are identified by edge index; use getOwnedRoads()
      */
+    @Deprecated
     public Set<String> getOwnedRoadEdgeKeys() {
-        return java.util.Collections.unmodifiableSet(ownedRoadEdgeKeys);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int e = ownedRoads.nextSetBit(0); e >= 0; e = ownedRoads.nextSetBit(e + 1)) {
+            keys.add(Edge.edgeKey(topology.edgeIntersectionA(e), topology.edgeIntersectionB(e)));
+        }
+        for (int[] road : getOffLayoutRoads()) {
+            keys.add(Edge.edgeKey(road[0], road[1]));
+        }
+        return java.util.Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * Returns the recorded roads the layout has no edge for, as {low, high}
+     * endpoint pairs in the order they were recorded.
+     *
+     * @return the off-layout roads; usually empty
+     */
+    int[][] getOffLayoutRoads() {
+        int[][] roads = new int[offLayoutRoads.size()][];
+        int k = 0;
+        for (long key : offLayoutRoads) {
+            roads[k++] = new int[] {(int) (key >> 32), (int) key};
+        }
+        return roads;
+    }
+
+    /**
+     * Returns the number of roads this player has recorded.
+     *
+     * @return the road count
+     */
+    public int getRoadCount() {
+        return ownedRoads.cardinality() + offLayoutRoads.size();
     }
 
-}
\ No newline at end of file
+    /**
+     * Read-only Map view over resourceCounts, listing only non-zero counts.
+     */
+    private final class HandView extends AbstractMap<Resources, Integer> {
+
+        @Override
+        public Integer get(Object key) {
+            if (!(key instanceof Resources)) return null;
+            int count = resourceCounts[((Resources) key).ordinal()];
+            return count == 0 ? null : count;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Map.Entry<Resources, Integer>> entrySet() {
+            Set<Map.Entry<Resources, Integer>> entries = new java.util.LinkedHashSet<>();
+            for (int i = 0; i < resourceCounts.length; i++) {
+                if (resourceCounts[i] != 0) {
+                    entries.add(new SimpleImmutableEntry<>(RESOURCE_TYPES[i], resourceCounts[i]));
+                }
+            }
+            return java.util.Collections.unmodifiableSet(entries);
+        }
+    }
+
+    /**
+     * Returns the layout's edge index for the pair, or -1 if it has none.
+     */
+    private int edgeIndex(int intersectionA, int intersectionB) {
+        return (intersectionA < 0 || intersectionA >= topology.getIntersectionCount())
+            ? -1 : topology.edgeIndex(intersectionA, intersectionB);
+    }
+
+    private static long pairKey(int intersectionA, int intersectionB) {
+        return ((long) Math.min(intersectionA, intersectionB) << 32)
+            | (Math.max(intersectionA, intersectionB) & 0xFFFFFFFFL);
+    }
+}
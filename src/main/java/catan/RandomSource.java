@@ -0,0 +1,142 @@
+package catan;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Single source of randomness for a game.
+ *
+ * Every component that needs random numbers (Dice, Game, Player,
+ * RuleBasedDecisionEngine) asks the source for its own child stream via
+ * split(), so components never share or contend on one generator.
+ *
+ * Three modes are supported:
+ * - secure(): every child is a new SecureRandom (the original behaviour)
+ * - seeded(seed): children are split from one SplittableRandom, so the same
+ *   seed and the same split order replay a game bit-for-bit
+ * - fast(): like seeded, but with an arbitrary seed, for bulk simulation
+ *   where speed matters and reproducibility does not
+ */
+public final class RandomSource {
+
+    // null in secure mode
+    private final SplittableRandom root;
+    private final long seed;
+
+    private RandomSource(SplittableRandom root, long seed) {
+        this.root = root;
+        this.seed = seed;
+    }
+
+    /**
+     * Returns a source whose children are independent SecureRandom instances.
+     *
+     * @return a non-deterministic, cryptographically strong source
+     */
+    public static RandomSource secure() {
+        return new RandomSource(null, 0L);
+    }
+
+    /**
+     * Returns a deterministic source. Two sources with the same seed hand out
+     * identical child streams in the same order.
+     *
+     * @param seed the root seed
+     * @return a reproducible source
+     */
+    public static RandomSource seeded(long seed) {
+        return new RandomSource(new SplittableRandom(seed), seed);
+    }
+
+    /**
+     * Returns a fast splittable source with an arbitrary seed.
+     * The seed is still recorded, so a run can be replayed with seeded(getSeed()).
+     *
+     * @return a fast source
+     */
+    public static RandomSource fast() {
+        return seeded(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Returns whether the children of this source are reproducible.
+     *
+     * @return true for seeded and fast sources
+     */
+    public boolean isDeterministic() {
+        return root != null;
+    }
+
+    /**
+     * Returns the root seed of a deterministic source.
+     *
+     * @return the seed, or 0 for a secure source
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Hands out a new child stream.
+     * Synchronized because SplittableRandom.split() is not thread-safe; the
+     * child itself is meant to be used by a single component.
+     *
+     * @return a Random owned by the caller
+     */
+    public synchronized Random split() {
+        if (root == null) {
+            return new SecureRandom();
+        }
+        return new SplitRandom(root.split());
+    }
+
+    /**
+     * A java.util.Random backed by a SplittableRandom.
+     *
+     * Avoids the AtomicLong compare-and-set in Random and the entropy pool
+     * lock in SecureRandom, so it is much cheaper in tight simulation loops.
+     * Not thread-safe.
+     */
+    private static final class SplitRandom extends Random {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient SplittableRandom delegate;
+
+        SplitRandom(SplittableRandom delegate) {
+            super(0L);
+            this.delegate = delegate;
+        }
+
+        @Override
+        protected int next(int bits) {
+            return delegate.nextInt() >>> (32 - bits);
+        }
+
+        @Override
+        public int nextInt() {
+            return delegate.nextInt();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return delegate.nextInt(bound);
+        }
+
+        @Override
+        public long nextLong() {
+            return delegate.nextLong();
+        }
+
+        @Override
+        public double nextDouble() {
+            return delegate.nextDouble();
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            return delegate.nextBoolean();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package catan;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a binary replay file written by ReplayWriter.
+ *
+ * The file is memory-mapped, and on open one pass over the records indexes
+ * where every game and every round starts. A game can then be replayed onto
+ * a fresh board and players, completely or up to the start of any round,
+ * by re-applying its records. Files up to 2 GB are supported.
+ */
+public class ReplayReader implements AutoCloseable {
+
+    private static final Colour[] COLOURS = Colour.values();
+    private static final Resources[] RESOURCES = Resources.values();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer map;
+    private final int recordCount;
+
+    /** First record index of each game. */
+    private final int[] gameStarts;
+    /** One past the last record index of each game. */
+    private final int[] gameEnds;
+    /** Per game, the record index of every ROUND record, in order. */
+    private final int[][] roundStarts;
+    private final CostTable costs = CostTable.standard();
+
+    /**
+     * Opens and indexes a replay file.
+     *
+     * @param file the file to read
+     * @throws IOException if the file cannot be read or is not a replay file
+     */
+    public ReplayReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        long size = channel.size();
+        if (size < ReplayRecord.HEADER_BYTES || size > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IOException("Not a replay file or too large: " + file);
+        }
+        map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        map.order(ByteOrder.LITTLE_ENDIAN);
+        if (map.getLong(0) != ReplayRecord.MAGIC || map.getInt(8) != ReplayRecord.VERSION
+                || map.getInt(12) != ReplayRecord.RECORD_BYTES) {
+            channel.close();
+            throw new IOException("Not a version " + ReplayRecord.VERSION + " replay file: " + file);
+        }
+        recordCount = (int) ((size - ReplayRecord.HEADER_BYTES) / ReplayRecord.RECORD_BYTES);
+
+        List<int[]> games = new ArrayList<>();
+        int[] rounds = new int[64];
+        int roundCount = 0;
+        List<int[]> roundLists = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < recordCount; i++) {
+            int type = ReplayRecord.typeOf(record(i));
+            if (type == ReplayRecord.GAME_START) {
+                if (start >= 0) {
+                    games.add(new int[] {start, i});
+                    roundLists.add(Arrays.copyOf(rounds, roundCount));
+                }
+                start = i;
+                roundCount = 0;
+            } else if (type == ReplayRecord.ROUND && start >= 0) {
+                if (roundCount == rounds.length) rounds = Arrays.copyOf(rounds, 2 * roundCount);
+                rounds[roundCount++] = i;
+            }
+        }
+        if (start >= 0) {
+            games.add(new int[] {start, recordCount});
+            roundLists.add(Arrays.copyOf(rounds, roundCount));
+        }
+
+        gameStarts = new int[games.size()];
+        gameEnds = new int[games.size()];
+        roundStarts = roundLists.toArray(new int[0][]);
+        for (int g = 0; g < games.size(); g++) {
+            gameStarts[g] = games.get(g)[0];
+            gameEnds[g] = games.get(g)[1];
+        }
+    }
+
+    /**
+     * Returns the number of records in the file.
+     *
+     * @return record count
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns a record by index.
+     *
+     * @param index the record index, from 0
+     * @return the record; decode it with ReplayRecord
+     */
+    public long record(int index) {
+        return map.getLong(ReplayRecord.HEADER_BYTES + index * ReplayRecord.RECORD_BYTES);
+    }
+
+    /**
+     * Returns the number of games in the file.
+     *
+     * @return game count
+     */
+    public int getGameCount() {
+        return gameStarts.length;
+    }
+
+    /**
+     * Returns the seed a game was played with.
+     *
+     * @param game the game index, from 0
+     * @return the seed
+     */
+    public long getSeed(int game) {
+        long high = record(gameStarts[game] + 1);
+        long low = record(gameStarts[game] + 2);
+        return ((long) ReplayRecord.aOf(high) << 48) | ((long) ReplayRecord.bOf(high) << 32)
+            | ((long) ReplayRecord.aOf(low) << 16) | ReplayRecord.bOf(low);
+    }
+
+    /**
+     * Returns how many rounds of a game were recorded.
+     *
+     * @param game the game index, from 0
+     * @return the number of ROUND records
+     */
+    public int getRoundCount(int game) {
+        return roundStarts[game].length;
+    }
+
+    /**
+     * Returns the number of the last round a game reached when it ended.
+     *
+     * @param game the game index, from 0
+     * @return the final round, or -1 if the game has no GAME_END record
+     */
+    public int getFinalRound(int game) {
+        long last = record(gameEnds[game] - 1);
+        return ReplayRecord.typeOf(last) == ReplayRecord.GAME_END ? ReplayRecord.aOf(last) : -1;
+    }
+
+    /**
+     * Creates the players of a game in turn order, with empty hands.
+     *
+     * @param game the game index, from 0
+     * @return the players
+     */
+    public List<Player> newPlayers(int game) {
+        long start = record(gameStarts[game]);
+        int count = ReplayRecord.playerOf(start);
+        int colours = ReplayRecord.cOf(start);
+        List<Player> players = new ArrayList<>(count);
+        for (int seat = 0; seat < count; seat++) {
+            players.add(new Player(seat + 1, COLOURS[(colours >>> (2 * seat)) & 3]));
+        }
+        return players;
+    }
+
+    /**
+     * Replays a whole game.
+     *
+     * @param game the game index, from 0
+     * @param board a new standard board
+     * @param players the players from newPlayers(game)
+     * @return the number of records applied
+     */
+    public int replay(int game, Board board, List<Player> players) {
+        return apply(gameStarts[game], gameEnds[game], board, players);
+    }
+
+    /**
+     * Replays a game up to the start of a round: the board and players end
+     * up as they were just before the round's first roll.
+     *
+     * @param game the game index, from 0
+     * @param round the round number; past the last recorded round, the whole game is replayed
+     * @param board a new standard board
+     * @param players the players from newPlayers(game)
+     * @return the number of records applied
+     */
+    public int seekToRound(int game, int round, Board board, List<Player> players) {
+        int end = gameEnds[game];
+        for (int index : roundStarts[game]) {
+            if (ReplayRecord.aOf(record(index)) >= round) {
+                end = index;
+                break;
+            }
+        }
+        return apply(gameStarts[game], end, board, players);
+    }
+
+    /**
+     * Closes the file. The mapping stays valid until it is garbage collected.
+     *
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int apply(int from, int to, Board board, List<Player> players) {
+        Player[] byId = new Player[players.size() + 1];
+        for (Player p : players) byId[p.getPlayerId()] = p;
+
+        for (int i = from; i < to; i++) {
+            long r = record(i);
+            int a = ReplayRecord.aOf(r);
+            int b = ReplayRecord.bOf(r);
+            int playerId = ReplayRecord.playerOf(r);
+            switch (ReplayRecord.typeOf(r)) {
+                case ReplayRecord.INITIAL_SETTLEMENT:
+                    placeSettlement(board, byId[playerId], a);
+                    if (b != 0) Game.giveInitialResources(board, byId[playerId], a);
+                    break;
+                case ReplayRecord.INITIAL_ROAD:
+                    placeRoad(board, byId[playerId], a, b);
+                    break;
+                case ReplayRecord.ROLL:
+                    if (a != 7) Game.distributeResources(board, players, a);
+                    break;
+                case ReplayRecord.DISCARD:
+                    byId[playerId].removeResources(RESOURCES[a], b);
+                    break;
+                case ReplayRecord.ROBBER:
+                    board.moveRobber(a);
+                    break;
+                case ReplayRecord.STEAL:
+                    byId[a].removeResources(RESOURCES[b], 1);
+                    byId[playerId].addResource(RESOURCES[b], 1);
+                    break;
+                case ReplayRecord.BUILD_ROAD:
+                    byId[playerId].payCost(costs.getCostVector(ActionType.BUILD_ROAD));
+                    placeRoad(board, byId[playerId], a, b);
+                    break;
+                case ReplayRecord.BUILD_SETTLEMENT:
+                    byId[playerId].payCost(costs.getCostVector(ActionType.BUILD_SETTLEMENT));
+                    placeSettlement(board, byId[playerId], a);
+                    break;
+                case ReplayRecord.BUILD_CITY:
+                    byId[playerId].payCost(costs.getCostVector(ActionType.BUILD_CITY));
+                    board.upgradeSettlementToCity(playerId, a);
+                    byId[playerId].recordUpgradedCity(a);
+                    byId[playerId].addVictoryPoints(1);
+                    break;
+                default:
+                    // GAME_START, SEED, ROUND, PASS and GAME_END change nothing
+                    break;
+            }
+        }
+        return to - from;
+    }
+
+    private static void placeSettlement(Board board, Player player, int intersectionId) {
+        board.placeSettlement(player.getPlayerId(), intersectionId);
+        player.recordPlacedSettlement(intersectionId);
+        player.addVictoryPoints(Building.SETTLEMENT.getVictoryPoints());
+    }
+
+    private static void placeRoad(Board board, Player player, int intersectionA, int intersectionB) {
+        board.placeRoad(player.getPlayerId(), intersectionA, intersectionB);
+        player.recordPlacedRoad(intersectionA, intersectionB);
+    }
+}
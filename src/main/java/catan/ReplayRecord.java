@@ -0,0 +1,142 @@
+package catan;
+
+/**
+ * Layout of the fixed-width records in a binary replay file.
+ *
+ * A replay file is a 16-byte header (MAGIC, VERSION, RECORD_BYTES) followed
+ * by 8-byte little-endian records. Each record is one long:
+ *
+ * <pre>
+ *   bits  0-7   type
+ *   bits  8-15  player ID (or a count, see the types)
+ *   bits 16-31  a
+ *   bits 32-47  b
+ *   bits 48-63  c
+ * </pre>
+ *
+ * Fields a, b and c hold 0 to MAX_FIELD, so a recorded game has at most
+ * 65535 rounds and needs at most 65535 victory points to win; ReplayWriter
+ * rejects larger values rather than truncate them.
+ *
+ * A file holds one or more games, each starting with GAME_START and two
+ * SEED records and ending with GAME_END. Rolls, robber moves, discards and
+ * steals are recorded as well as actions, so a replay needs no random
+ * numbers: resource production is recomputed from the board and the roll.
+ */
+public final class ReplayRecord {
+
+    /** First 8 bytes of a replay file: "CTNRPLY1". */
+    public static final long MAGIC = 0x31594C50524E5443L;
+
+    /** Format version written after the magic. */
+    public static final int VERSION = 1;
+
+    /** Size of one record in bytes. */
+    public static final int RECORD_BYTES = 8;
+
+    /** Size of the file header in bytes. */
+    public static final int HEADER_BYTES = 16;
+
+    /** Largest value of fields a, b and c. */
+    public static final int MAX_FIELD = 0xFFFF;
+
+    /** Player field: number of players; a: max rounds; b: VP to win; c: colour ordinals, 2 bits each. */
+    public static final int GAME_START = 1;
+    /** Player field: 0 for the high half, 1 for the low half; a, b: the half's upper and lower 16 bits. */
+    public static final int SEED = 2;
+    /** a: the round that starts here. */
+    public static final int ROUND = 3;
+    /** a: intersection; b: 1 if the player receives the initial resources. */
+    public static final int INITIAL_SETTLEMENT = 4;
+    /** a, b: the road's intersections. */
+    public static final int INITIAL_ROAD = 5;
+    /** a: the dice total. Starts a turn. */
+    public static final int ROLL = 6;
+    /** a: resource ordinal; b: cards discarded. */
+    public static final int DISCARD = 7;
+    /** a: the tile the robber moved to. */
+    public static final int ROBBER = 8;
+    /** Player field: the thief; a: the victim's ID; b: resource ordinal. */
+    public static final int STEAL = 9;
+    /** a, b: the road's intersections. The cost is paid. */
+    public static final int BUILD_ROAD = 10;
+    /** a: intersection. The cost is paid. */
+    public static final int BUILD_SETTLEMENT = 11;
+    /** a: intersection. The cost is paid. */
+    public static final int BUILD_CITY = 12;
+    /** The player passed. */
+    public static final int PASS = 13;
+    /** a: the round the game ended in; b: the winner's ID, or 0. */
+    public static final int GAME_END = 14;
+
+    private ReplayRecord() {
+    }
+
+    /**
+     * Packs a record.
+     *
+     * @param type the record type
+     * @param player the player field, 0-255
+     * @param a field a, 0-65535
+     * @param b field b, 0-65535
+     * @param c field c, 0-65535
+     * @return the record
+     */
+    public static long encode(int type, int player, int a, int b, int c) {
+        return (type & 0xFFL)
+            | (player & 0xFFL) << 8
+            | (a & 0xFFFFL) << 16
+            | (b & 0xFFFFL) << 32
+            | (c & 0xFFFFL) << 48;
+    }
+
+    /**
+     * Returns a record's type.
+     *
+     * @param record the record
+     * @return the type
+     */
+    public static int typeOf(long record) {
+        return (int) record & 0xFF;
+    }
+
+    /**
+     * Returns a record's player field.
+     *
+     * @param record the record
+     * @return the player field
+     */
+    public static int playerOf(long record) {
+        return (int) (record >>> 8) & 0xFF;
+    }
+
+    /**
+     * Returns a record's field a.
+     *
+     * @param record the record
+     * @return field a
+     */
+    public static int aOf(long record) {
+        return (int) (record >>> 16) & 0xFFFF;
+    }
+
+    /**
+     * Returns a record's field b.
+     *
+     * @param record the record
+     * @return field b
+     */
+    public static int bOf(long record) {
+        return (int) (record >>> 32) & 0xFFFF;
+    }
+
+    /**
+     * Returns a record's field c.
+     *
+     * @param record the record
+     * @return field c
+     */
+    public static int cOf(long record) {
+        return (int) (record >>> 48) & 0xFFFF;
+    }
+}
@@ -0,0 +1,261 @@
+package catan;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes games to a binary replay file (see ReplayRecord for the format).
+ *
+ * Attach it with Game.setReplayWriter() before initializing an AI-only
+ * game; the game then records every placement, roll, discard, robber move,
+ * steal and action. Several games can be written to one file in turn.
+ *
+ * Records go into a direct buffer that is written to the file channel when
+ * full, so recording costs a few stores per event. Apart from checking
+ * their arguments, the record methods never throw: the first I/O error
+ * stops recording and is thrown by flush() or close(). Not thread-safe;
+ * one game writes at a time.
+ */
+public class ReplayWriter implements AutoCloseable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private IOException failure;
+    private long records;
+
+    /**
+     * Creates or replaces a replay file and writes its header.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be opened
+     */
+    public ReplayWriter(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putLong(ReplayRecord.MAGIC);
+        buffer.putInt(ReplayRecord.VERSION);
+        buffer.putInt(ReplayRecord.RECORD_BYTES);
+    }
+
+    /**
+     * Starts a game: its settings, seed and players in turn order.
+     * Player IDs must run 1, 2, 3, ... in turn order.
+     *
+     * @param seed the game's root seed, for reference only
+     * @param maxRounds the game's round limit
+     * @param victoryPointsToWin the game's winning score
+     * @param players the players in turn order, at most 8
+     * @throws IllegalArgumentException if a player is human, there are more
+     *         than 8 players, the IDs do not run from 1 in turn order, or
+     *         the round limit or winning score is outside 0-65535
+     */
+    public void beginGame(long seed, int maxRounds, int victoryPointsToWin, List<Player> players) {
+        if (players.size() > 8) {
+            throw new IllegalArgumentException("A replay holds at most 8 players.");
+        }
+        checkField("Round limit", maxRounds);
+        checkField("Victory points to win", victoryPointsToWin);
+        int colours = 0;
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player p = players.get(seat);
+            if (p instanceof HumanPlayer) {
+                throw new IllegalArgumentException("Only AI-only games can be recorded.");
+            }
+            if (p.getPlayerId() != seat + 1) {
+                throw new IllegalArgumentException("Player IDs must run from 1 in turn order.");
+            }
+            colours |= p.getColour().ordinal() << (2 * seat);
+        }
+        put(ReplayRecord.GAME_START, players.size(), maxRounds, victoryPointsToWin, colours);
+        put(ReplayRecord.SEED, 0, (int) (seed >>> 48), (int) (seed >>> 32), 0);
+        put(ReplayRecord.SEED, 1, (int) (seed >>> 16), (int) seed, 0);
+    }
+
+    /**
+     * Records the start of a round.
+     *
+     * @param round the round number
+     * @throws IllegalArgumentException if the round is outside 0-65535
+     */
+    public void recordRound(int round) {
+        checkField("Round", round);
+        put(ReplayRecord.ROUND, 0, round, 0, 0);
+    }
+
+    /**
+     * Records an initial settlement.
+     *
+     * @param playerId the owner
+     * @param intersectionId where it was placed
+     * @param givesResources true for the second settlement, which pays out
+     */
+    public void recordInitialSettlement(int playerId, int intersectionId, boolean givesResources) {
+        put(ReplayRecord.INITIAL_SETTLEMENT, playerId, intersectionId, givesResources ? 1 : 0, 0);
+    }
+
+    /**
+     * Records an initial road.
+     *
+     * @param playerId the owner
+     * @param intersectionA one end
+     * @param intersectionB the other end
+     */
+    public void recordInitialRoad(int playerId, int intersectionA, int intersectionB) {
+        put(ReplayRecord.INITIAL_ROAD, playerId, intersectionA, intersectionB, 0);
+    }
+
+    /**
+     * Records a dice roll, which starts the player's turn.
+     *
+     * @param playerId the player who rolled
+     * @param roll the dice total
+     */
+    public void recordRoll(int playerId, int roll) {
+        put(ReplayRecord.ROLL, playerId, roll, 0, 0);
+    }
+
+    /**
+     * Records discarded cards of one resource.
+     *
+     * @param playerId the player discarding
+     * @param resource the resource
+     * @param count how many cards
+     */
+    public void recordDiscard(int playerId, Resources resource, int count) {
+        put(ReplayRecord.DISCARD, playerId, resource.ordinal(), count, 0);
+    }
+
+    /**
+     * Records a robber move.
+     *
+     * @param playerId the player who moved it
+     * @param tileId the tile it moved to
+     */
+    public void recordRobber(int playerId, int tileId) {
+        put(ReplayRecord.ROBBER, playerId, tileId, 0, 0);
+    }
+
+    /**
+     * Records a stolen card.
+     *
+     * @param thiefId the player who stole
+     * @param victimId the player stolen from
+     * @param resource the card taken
+     */
+    public void recordSteal(int thiefId, int victimId, Resources resource) {
+        put(ReplayRecord.STEAL, thiefId, victimId, resource.ordinal(), 0);
+    }
+
+    /**
+     * Records an executed action; its cost was paid.
+     *
+     * @param playerId the player acting
+     * @param action the action, or null for a pass
+     */
+    public void recordAction(int playerId, Action action) {
+        ActionType type = (action == null) ? ActionType.PASS : action.getType();
+        switch (type) {
+            case BUILD_ROAD:
+                put(ReplayRecord.BUILD_ROAD, playerId,
+                    action.getEdgeIntersectionA(), action.getEdgeIntersectionB(), 0);
+                break;
+            case BUILD_SETTLEMENT:
+                put(ReplayRecord.BUILD_SETTLEMENT, playerId, action.getIntersectionId(), 0, 0);
+                break;
+            case BUILD_CITY:
+                put(ReplayRecord.BUILD_CITY, playerId, action.getIntersectionId(), 0, 0);
+                break;
+            default:
+                put(ReplayRecord.PASS, playerId, 0, 0, 0);
+                break;
+        }
+    }
+
+    /**
+     * Ends the current game.
+     *
+     * @param round the round the game ended in
+     * @param winnerId the winner's ID, or 0 if nobody won
+     * @throws IllegalArgumentException if the round is outside 0-65535
+     */
+    public void endGame(int round, int winnerId) {
+        checkField("Round", round);
+        put(ReplayRecord.GAME_END, 0, round, winnerId, 0);
+    }
+
+    /**
+     * Returns how many records were written so far.
+     *
+     * @return record count
+     */
+    public long getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Writes buffered records to the file.
+     *
+     * @throws IOException the first I/O error since recording started
+     */
+    public void flush() throws IOException {
+        drain();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Flushes and closes the file.
+     *
+     * @throws IOException the first I/O error since recording started
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // a 16-bit record field would silently drop the high bits
+    private static void checkField(String name, int value) {
+        if (value < 0 || value > ReplayRecord.MAX_FIELD) {
+            throw new IllegalArgumentException(
+                name + " must be 0-" + ReplayRecord.MAX_FIELD + " to be recorded, was " + value);
+        }
+    }
+
+    private void put(int type, int player, int a, int b, int c) {
+        if (failure != null) {
+            return;
+        }
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.putLong(ReplayRecord.encode(type, player, a, b, c));
+        records++;
+    }
+
+    private void drain() {
+        if (failure != null) {
+            return;
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,109 @@
+package catan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the most recent messages in memory, overwriting the oldest once
+ * full. Useful for headless batch runs (look at the end of a game that went
+ * wrong without logging every game) and for tests.
+ *
+ * Thread-safe.
+ */
+public class RingBufferEventSink implements GameEventSink {
+
+    private final Level threshold;
+    private final String[] messages;
+    private final Level[] levels;
+    // total messages ever kept; the next one goes to total % capacity
+    private long total;
+
+    /**
+     * Constructs a buffer that keeps every level.
+     *
+     * @param capacity how many messages to keep
+     */
+    public RingBufferEventSink(int capacity) {
+        this(capacity, Level.DEBUG);
+    }
+
+    /**
+     * Constructs a buffer.
+     *
+     * @param capacity how many messages to keep
+     * @param threshold the lowest level kept
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public RingBufferEventSink(int capacity, Level threshold) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.threshold = threshold;
+        this.messages = new String[capacity];
+        this.levels = new Level[capacity];
+    }
+
+    @Override
+    public boolean isEnabled(Level level) {
+        return level.isAtLeast(threshold);
+    }
+
+    @Override
+    public synchronized void emit(Level level, String message) {
+        int slot = (int) (total % messages.length);
+        messages[slot] = message;
+        levels[slot] = level;
+        total++;
+    }
+
+    /**
+     * Returns the kept messages, oldest first.
+     *
+     * @return a copy of the buffer's messages
+     */
+    public synchronized List<String> getMessages() {
+        return collect(null);
+    }
+
+    /**
+     * Returns the kept messages of one level, oldest first.
+     *
+     * @param level the level to select
+     * @return a copy of the matching messages
+     */
+    public synchronized List<String> getMessages(Level level) {
+        return collect(level);
+    }
+
+    /**
+     * Returns how many messages were kept since construction or the last
+     * clear(), including those since overwritten.
+     *
+     * @return total messages received
+     */
+    public synchronized long getTotalCount() {
+        return total;
+    }
+
+    /**
+     * Empties the buffer.
+     */
+    public synchronized void clear() {
+        Arrays.fill(messages, null);
+        Arrays.fill(levels, null);
+        total = 0;
+    }
+
+    private List<String> collect(Level only) {
+        int size = (int) Math.min(total, messages.length);
+        List<String> result = new ArrayList<>(size);
+        for (long i = total - size; i < total; i++) {
+            int slot = (int) (i % messages.length);
+            if (only == null || levels[slot] == only) {
+                result.add(messages[slot]);
+            }
+        }
+        return result;
+    }
+}
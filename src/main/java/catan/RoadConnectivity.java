@@ -0,0 +1,143 @@
+package catan;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Disjoint-set (union-find) view of one player's road network.
+ *
+ * Intersections are the elements; every road unions its two endpoints, so
+ * two intersections are in the same set exactly when the player's roads
+ * connect them. Adding a road is near constant time. Removing one cannot be
+ * done incrementally, so undo rebuilds the sets from the remaining roads.
+ *
+ * Also counts the player's roads at each intersection, so "does the player
+ * have a road here" is a single array read. Roads are given by their edge
+ * index in the layout (see Board.getEdgeIndex) or by their two endpoints.
+ */
+public class RoadConnectivity {
+
+    private final BoardTopology topology;
+    private final int[] parent;
+    private final int[] size;
+    private final int[] roadsAt;
+
+    /**
+     * Creates an empty road network on a layout.
+     *
+     * @param topology the layout the roads are on
+     */
+    public RoadConnectivity(BoardTopology topology) {
+        this.topology = topology;
+        int n = topology.getIntersectionCount();
+        parent = new int[n];
+        size = new int[n];
+        roadsAt = new int[n];
+        reset();
+    }
+
+    /**
+     * Creates an independent copy of another road network.
+     *
+     * @param other the network to copy
+     */
+    public RoadConnectivity(RoadConnectivity other) {
+        topology = other.topology;
+        parent = other.parent.clone();
+        size = other.size.clone();
+        roadsAt = other.roadsAt.clone();
+    }
+
+    /**
+     * Adds a road between two intersections and merges their networks.
+     * A road with an end outside the layout is not tracked.
+     *
+     * @param a first endpoint
+     * @param b second endpoint
+     */
+    public void addRoad(int a, int b) {
+        if (a < 0 || a >= parent.length || b < 0 || b >= parent.length) {
+            return;
+        }
+        roadsAt[a]++;
+        roadsAt[b]++;
+
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) return;
+
+        // union by size keeps the trees shallow
+        if (size[rootA] < size[rootB]) {
+            int t = rootA;
+            rootA = rootB;
+            rootB = t;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+    }
+
+    /**
+     * Discards every road and re-adds the given ones.
+     *
+     * @param roads the roads to keep, as bits indexed by edge index
+     */
+    public void rebuild(BitSet roads) {
+        reset();
+        for (int e = roads.nextSetBit(0); e >= 0; e = roads.nextSetBit(e + 1)) {
+            addRoad(topology.edgeIntersectionA(e), topology.edgeIntersectionB(e));
+        }
+    }
+
+    /**
+     * Returns whether at least one road touches the intersection.
+     *
+     * @param intersectionId the intersection to check
+     * @return true if a road ends at this intersection
+     */
+    public boolean hasRoadAt(int intersectionId) {
+        return intersectionId >= 0 && intersectionId < roadsAt.length && roadsAt[intersectionId] > 0;
+    }
+
+    /**
+     * Returns whether the roads connect two intersections.
+     *
+     * @param a first intersection
+     * @param b second intersection
+     * @return true if both have roads and one network contains both
+     */
+    public boolean isConnected(int a, int b) {
+        return hasRoadAt(a) && hasRoadAt(b) && find(a) == find(b);
+    }
+
+    /**
+     * Returns whether a road between a and b would join two separate networks,
+     * i.e. both ends already have roads but the roads are not connected.
+     *
+     * @param a first endpoint of the new road
+     * @param b second endpoint of the new road
+     * @return true if the road bridges two networks
+     */
+    public boolean wouldJoinNetworks(int a, int b) {
+        return hasRoadAt(a) && hasRoadAt(b) && find(a) != find(b);
+    }
+
+    /**
+     * Returns the representative of the intersection's set, halving the
+     * path on the way up.
+     */
+    private int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private void reset() {
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        Arrays.fill(roadsAt, 0);
+    }
+}
@@ -43,5 +43,22 @@ public class RoadGapConstraint {
         return -1.0;
     }
 
+    /**
+     * Same check as evaluate(Player, Board, Action), using the road network
+     * built once by the per-decision context.
+     *
+     * @param context facts about the deciding player
+     * @param action the candidate action
+     * @return 150.0 if the road connects two segments, otherwise -1.0
+     */
+    public double evaluate(EvaluationContext context, Action action){
+        if (action.getType() != ActionType.BUILD_ROAD){
+            return -1.0;
+        }
+        boolean connectsSegments = context.wouldJoinRoadNetworks(
+            action.getEdgeIntersectionA(), action.getEdgeIntersectionB());
+        return connectsSegments ? 150.0 : -1.0;
+    }
+
 
 }
@@ -1,6 +1,9 @@
 package catan;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A helper class used in RoadGapConstraint class to help figure out the neary connecting road segments if available
@@ -10,9 +13,14 @@ import java.util.*;
  */
 public class RoadNetworkAnalyzer {
 
+    /** Last longest road result per player ID, reused while its inputs are unchanged. */
+    private final Map<Integer, LongestRoadResult> longestRoadCache = new HashMap<>();
+
     /**
      * Checks if a road would connect two currently-disconnected road groups.
-     * A road connects segments if it touches roads and both endpoints that aren't already connected to each other.
+     * A road connects segments if both endpoints touch the player's roads and
+     * those roads are not already connected to each other by any path.
+     * Uses the player's union-find road network, so this is two find calls.
      *
      * @param player the player whose roads to analyze
      * @param board the current board state
@@ -23,55 +31,56 @@ public class RoadNetworkAnalyzer {
         if (action.getType() != ActionType.BUILD_ROAD){
             return false;
         }
-        Set<String> playerRoads = getPlayerRoads(player, board);
-
-        //Need to have atleast 2
-        if (playerRoads.size() < 2){
-            return false;
-        }
 
         int a = action.getEdgeIntersectionA();
         int b = action.getEdgeIntersectionB();
 
-        Set<String> roadsAtA = getRoadsTouchingIntersection(a, playerRoads);
-        Set<String> roadsAtB = getRoadsTouchingIntersection(b, playerRoads);
+        if (player.getRoadCount() > 0) {
+            return player.wouldJoinRoadNetworks(a, b);
+        }
 
-        // If both endpoints have roads and those roads aren't connected, this road bridges a gap
-        if (!roadsAtA.isEmpty() && !roadsAtB.isEmpty()) {
-            for (String roadA : roadsAtA) {
-                for (String roadB : roadsAtB) {
-                    if (areRoadsConnected(roadA, roadB, playerRoads)) {
-                        return false;
-                    }
-                }
-            }
-            return true;
+        // Player has recorded no roads: fall back to the roads on the board
+        BitSet boardRoads = getPlayerRoadEdges(player, board);
+        if (boardRoads.cardinality() < 2) {
+            return false;
         }
-        return false;
+        RoadConnectivity network = new RoadConnectivity(board.getTopology());
+        network.rebuild(boardRoads);
+        return network.wouldJoinNetworks(a, b);
     }
 
     /**
-     * Calculates the longest road
-     * Instead of finding the exact longest path, this counts the maximum
-     * number of connected roads from any starting point.
+     * Calculates the player's longest road: the most roads in one continuous
+     * trail, where each road is used at most once and the trail may not pass
+     * through an intersection holding an opponent's building (it may end there).
+     *
+     * Uses a depth-first search over the player's roads with a bitmask of used
+     * roads. The result is cached per player and reused until the player's
+     * roads or the opponent buildings on them change.
      *
      * @param player the player to analyze
      * @param board the current board state
-     * @return approximate longest connected road count
+     * @return length of the longest road, in roads
      */
     public int calculateLongestRoad(Player player, Board board) {
-        Set<String> playerRoads = getPlayerRoads(player, board);
-        if (playerRoads.isEmpty()){
+        BitSet roadIds = getPlayerRoadEdges(player, board);
+        int[][] offLayout = player.getOffLayoutRoads();
+        if (roadIds.isEmpty() && offLayout.length == 0){
             return 0;
         }
-        int maxConnected = 0;
 
-        // Starting from each road and count how many roads are connected
-        for (String startRoad : playerRoads) {
-            int connected = countConnectedRoads(startRoad, playerRoads);
-            maxConnected = Math.max(maxConnected, connected);
+        Roads playerRoads = new Roads(roadIds, offLayout, board.getTopology());
+        BitSet blocked = playerRoads.blockedIntersections(player, board);
+
+        LongestRoadResult cached = longestRoadCache.get(player.getPlayerId());
+        if (cached != null && cached.roadIds.equals(roadIds) && cached.blocked.equals(blocked)
+                && Arrays.deepEquals(cached.offLayout, offLayout)) {
+            return cached.length;
         }
-        return maxConnected;
+
+        int length = playerRoads.longestTrail(blocked);
+        longestRoadCache.put(player.getPlayerId(), new LongestRoadResult(roadIds, offLayout, blocked, length));
+        return length;
     }
 
     /**
@@ -87,140 +96,305 @@ public class RoadNetworkAnalyzer {
             return false;
         }
 
-        Set<String> playerRoads = getPlayerRoads(player, board);
-        if (playerRoads.isEmpty()){
+        Roads playerRoads = getPlayerRoads(player, board);
+        if (playerRoads.size() == 0){
             return true;
         }
 
         int a = action.getEdgeIntersectionA();
         int b = action.getEdgeIntersectionB();
 
-        // Check if new road connects to existing network at either endpoint
-        Set<String> roadsAtA = getRoadsTouchingIntersection(a, playerRoads);
-        Set<String> roadsAtB = getRoadsTouchingIntersection(b, playerRoads);
-
         // Extends if it touches existing roads at either end
-        return !roadsAtA.isEmpty() || !roadsAtB.isEmpty();
+        return playerRoads.touches(a) || playerRoads.touches(b);
     }
 
 
     /**
-     * Gets all road edge keys owned by a player.
-     * Uses the player's own record (ownedRoadEdgeKeys) as the correct source.
+     * Gets all roads owned by a player.
      *
      * @param player
      * @param board 
-     * @return the set of road edge keys for this player
+     * @return the player's roads
      */
-    private Set<String> getPlayerRoads(Player player, Board board) {
-        Set<String> fromPlayer = player.getOwnedRoadEdgeKeys();
-        if (!fromPlayer.isEmpty()) {
-            return new HashSet<>(fromPlayer);
-        }
-        Set<String> roads = new HashSet<>();
-        for (Edge edge : board.getAllEdges()) {
-            if (edge.isOccupied() && edge.getRoadOwnerId() == player.getPlayerId()) {
-                roads.add(edgeKey(edge.getIntersectionA(), edge.getIntersectionB()));
-            }
-        }
-        return roads;
+    private Roads getPlayerRoads(Player player, Board board) {
+        return new Roads(getPlayerRoadEdges(player, board), player.getOffLayoutRoads(), board.getTopology());
     }
 
     /**
-     * Finds all roads that touch a given intersection.
+     * Gets the edge indexes of all roads owned by a player.
+     * Uses the player's own record (owned roads) as the correct source,
+     * falling back to the board when the player has recorded none.
+     * Recorded roads the layout has no edge for are in
+     * Player.getOffLayoutRoads() instead.
      */
-    private Set<String> getRoadsTouchingIntersection(int intersection, Set<String> allRoads) {
-        Set<String> touching = new HashSet<>();
-        for (String road : allRoads) {
-            int[] endpoints = parseEdgeKey(road);
-            if (endpoints[0] == intersection || endpoints[1] == intersection) {
-                touching.add(road);
+    static BitSet getPlayerRoadEdges(Player player, Board board) {
+        BitSet roads = player.getOwnedRoads();
+        if (player.getRoadCount() == 0) {
+            Edge[] edges = board.getAllEdges();
+            for (int e = 0; e < edges.length; e++) {
+                if (edges[e].isOccupied() && edges[e].getRoadOwnerId() == player.getPlayerId()) {
+                    roads.set(e);
+                }
             }
         }
-        return touching;
+        return roads;
     }
 
     /**
-     * Checks if two roads are connected (share an intersection or can reach each other).
+     * A player's roads decoded once from edge indexes, plus any roads
+     * recorded off the layout, into parallel endpoint arrays, so the loops
+     * above compare ints.
      */
-    private boolean areRoadsConnected(String road1, String road2, Set<String> allRoads) {
-        if (road1.equals(road2)){
-            return true;
-        }
+    private static final class Roads {
 
-        int[] endpoints1 = parseEdgeKey(road1);
-        int[] endpoints2 = parseEdgeKey(road2);
+        private final int[] low;
+        private final int[] high;
 
-        // If there is a direct connection that means roads share an intersection
-        if (endpoints1[0] == endpoints2[0] || endpoints1[0] == endpoints2[1] ||
-                endpoints1[1] == endpoints2[0] || endpoints1[1] == endpoints2[1]) {
-            return true;
+        Roads(BitSet edges, int[][] offLayout, BoardTopology topology) {
+            int n = edges.cardinality();
+            int extra = 0;
+            for (int[] road : offLayout) {
+                if (road[0] >= 0) extra++;
+            }
+            low = new int[n + extra];
+            high = new int[n + extra];
+            int k = 0;
+            for (int e = edges.nextSetBit(0); e >= 0; e = edges.nextSetBit(e + 1)) {
+                int a = topology.edgeIntersectionA(e);
+                int b = topology.edgeIntersectionB(e);
+                low[k] = Math.min(a, b);
+                high[k] = Math.max(a, b);
+                k++;
+            }
+            // pairs are {low, high}; one with a negative end names no intersection
+            for (int[] road : offLayout) {
+                if (road[0] < 0) continue;
+                low[k] = road[0];
+                high[k] = road[1];
+                k++;
+            }
         }
 
-        // If thers is only one way connection that means there exists a road connecting them
-        for (String bridgeRoad : allRoads) {
-            if (bridgeRoad.equals(road1) || bridgeRoad.equals(road2)) continue;
+        int size() {
+            return low.length;
+        }
 
-            int[] bridgeEndpoints = parseEdgeKey(bridgeRoad);
-            boolean touchesRoad1 = (bridgeEndpoints[0] == endpoints1[0] || bridgeEndpoints[0] == endpoints1[1] || bridgeEndpoints[1] == endpoints1[0] || bridgeEndpoints[1] == endpoints1[1]);
-            boolean touchesRoad2 = (bridgeEndpoints[0] == endpoints2[0] || bridgeEndpoints[0] == endpoints2[1] || bridgeEndpoints[1] == endpoints2[0] || bridgeEndpoints[1] == endpoints2[1]);
+        boolean touches(int intersection) {
+            for (int i = 0; i < low.length; i++) {
+                if (low[i] == intersection || high[i] == intersection) return true;
+            }
+            return false;
+        }
 
-            if (touchesRoad1 && touchesRoad2) {
-                return true;
+        /**
+         * Returns the intersections on these roads that hold another player's building.
+         */
+        BitSet blockedIntersections(Player player, Board board) {
+            BitSet blocked = new BitSet();
+            for (int i = 0; i < low.length; i++) {
+                if (isOpponentBuilding(player, board, low[i])) blocked.set(low[i]);
+                if (isOpponentBuilding(player, board, high[i])) blocked.set(high[i]);
             }
+            return blocked;
         }
-        return false;
-    }
 
-    /**
-     * Counts how many roads are connected to a starting road.
-     *
-     */
-    private int countConnectedRoads(String startRoad, Set<String> allRoads) {
-        Set<String> connected = new HashSet<>();
-        Queue<String> toExplore = new LinkedList<>();
-
-        toExplore.add(startRoad);
-        connected.add(startRoad);
-
-        // Iteratively find all connected roads
-        while (!toExplore.isEmpty()) {
-            String currentRoad = toExplore.poll();
-            int[] currentEndpoints = parseEdgeKey(currentRoad);
-
-            // Find all roads that share an intersection with current road
-            for (String otherRoad : allRoads) {
-                if (connected.contains(otherRoad)){
-                    continue;
+        private static boolean isOpponentBuilding(Player player, Board board, int intersectionId) {
+            Intersection inter = board.getIntersection(intersectionId);
+            if (inter == null) return false;
+            int ownerId = inter.getOwnerPlayerId();
+            return ownerId != -1 && ownerId != player.getPlayerId();
+        }
+
+        /**
+         * Returns the length of the longest trail through these roads.
+         */
+        int longestTrail(BitSet blocked) {
+            return new TrailSearch(blocked).run();
+        }
+
+        /**
+         * Branch and bound over the trails through these roads. Before
+         * extending a trail, the unused roads it could still reach are
+         * counted; if even all of them, less those that parity rules out,
+         * cannot beat the best trail so far, the branch is dropped. Exact,
+         * and on a large road network it only looks at a small part of the
+         * trails a plain depth-first search would.
+         */
+        private final class TrailSearch {
+
+            /** Unused roads above which a trail is bounded before it is extended. */
+            private static final int BOUND_MIN_ROADS = 48;
+
+            private final BitSet blocked;
+            /** Intersection -> indexes of roads touching it, in CSR form. */
+            private final int[] offsets;
+            private final int[] roadsAt;
+            private final long[] used;
+            private int best;
+
+            // scratch for reachable(): visit stamps, a stack and unused-road degrees
+            private final int[] vertexStamp;
+            private final int[] roadStamp;
+            private final int[] stack;
+            private final int[] degree;
+            private int stamp;
+
+            TrailSearch(BitSet blocked) {
+                this.blocked = blocked;
+                int vertices = 0;
+                for (int h : high) vertices = Math.max(vertices, h + 1);
+                offsets = new int[vertices + 1];
+                for (int i = 0; i < low.length; i++) {
+                    offsets[low[i] + 1]++;
+                    offsets[high[i] + 1]++;
+                }
+                for (int v = 1; v <= vertices; v++) offsets[v] += offsets[v - 1];
+                roadsAt = new int[offsets[vertices]];
+                int[] fill = Arrays.copyOf(offsets, vertices);
+                for (int i = 0; i < low.length; i++) {
+                    roadsAt[fill[low[i]]++] = i;
+                    roadsAt[fill[high[i]]++] = i;
                 }
 
-                int[] otherEndpoints = parseEdgeKey(otherRoad);
+                used = new long[(low.length + 63) >>> 6];
+                vertexStamp = new int[vertices];
+                roadStamp = new int[low.length];
+                stack = new int[vertices];
+                degree = new int[vertices];
+            }
 
-                // Check if they share an intersection
-                if (currentEndpoints[0] == otherEndpoints[0] || currentEndpoints[0] == otherEndpoints[1] || currentEndpoints[1] == otherEndpoints[0] || currentEndpoints[1] == otherEndpoints[1]) {
-                    connected.add(otherRoad);
-                    toExplore.add(otherRoad);
+            int run() {
+                int vertices = offsets.length - 1;
+                for (int v = 0; v < vertices && best < low.length; v++) {
+                    if (isTrailEnd(v)) extend(v, 0);
+                }
+                // a network without such an end is walked as one closed trail
+                int[] network = new int[vertices];
+                for (int v = 0; v < vertices && best < low.length; v++) {
+                    if (offsets[v] != offsets[v + 1] && network[v] == 0 && !markNetwork(v, network)) {
+                        extend(v, 0);
+                    }
                 }
+                return best;
             }
-        }
 
-        return connected.size();
-    }
+            /**
+             * Returns whether some longest trail may start at v. A trail
+             * ending at an intersection with an unused road that it could
+             * pass through can be made longer, so a longest trail ends on an
+             * odd-degree intersection or an opponent building, unless it is
+             * a closed trail over a whole network with neither.
+             */
+            private boolean isTrailEnd(int v) {
+                int degree = offsets[v + 1] - offsets[v];
+                return (degree & 1) == 1 || (degree != 0 && blocked.get(v));
+            }
 
-    /**
-     * Creates normalized edge key (smaller ID first).
-     */
-    private String edgeKey(int a, int b) {
-        int min = Math.min(a, b);
-        int max = Math.max(a, b);
-        return min + "-" + max;
+            /**
+             * Marks the network around v in network[] and returns whether it
+             * holds a trail end.
+             */
+            private boolean markNetwork(int v, int[] network) {
+                boolean hasEnd = false;
+                int top = 0;
+                network[v] = 1;
+                stack[top++] = v;
+                while (top > 0) {
+                    int u = stack[--top];
+                    hasEnd |= isTrailEnd(u);
+                    for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                        int road = roadsAt[k];
+                        int next = (low[road] == u) ? high[road] : low[road];
+                        if (network[next] == 0) {
+                            network[next] = 1;
+                            stack[top++] = next;
+                        }
+                    }
+                }
+                return hasEnd;
+            }
+
+            /**
+             * Extends a trail of length roads that has reached intersection v,
+             * never reusing a road marked in used.
+             */
+            private void extend(int v, int length) {
+                best = Math.max(best, length);
+                if (length > 0 && blocked.get(v)) {
+                    return; // an opponent building breaks the road here
+                }
+                // bounding costs a pass over the roads, so it only pays
+                // near the root of a large search
+                if (low.length - length > BOUND_MIN_ROADS && length + reachable(v) <= best) {
+                    return;
+                }
+                for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                    int road = roadsAt[k];
+                    long bit = 1L << road;
+                    if ((used[road >>> 6] & bit) != 0) continue;
+
+                    used[road >>> 6] |= bit;
+                    extend((low[road] == v) ? high[road] : low[road], length + 1);
+                    used[road >>> 6] &= ~bit;
+                }
+            }
+
+            /**
+             * Returns an upper bound on how many more roads a trail from v can
+             * take: the unused roads reachable from v without passing an
+             * opponent building, less one for every pair of odd-degree
+             * intersections that cannot be an end of the trail.
+             */
+            private int reachable(int v) {
+                stamp++;
+                int roads = 0;
+                int odd = 0;
+                int top = 0;
+                vertexStamp[v] = stamp;
+                degree[v] = 0;
+                stack[top++] = v;
+                while (top > 0) {
+                    int u = stack[--top];
+                    if (u != v && blocked.get(u)) continue;
+                    for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                        int road = roadsAt[k];
+                        if ((used[road >>> 6] & (1L << road)) != 0 || roadStamp[road] == stamp) continue;
+                        roadStamp[road] = stamp;
+                        roads++;
+                        int next = (low[road] == u) ? high[road] : low[road];
+                        if (vertexStamp[next] != stamp) {
+                            vertexStamp[next] = stamp;
+                            degree[next] = 0;
+                            stack[top++] = next;
+                        }
+                        odd += ((++degree[u] & 1) == 1) ? 1 : -1;
+                        odd += ((++degree[next] & 1) == 1) ? 1 : -1;
+                    }
+                }
+                // the trail starts at v, so if v has even degree only one
+                // odd intersection can be its far end; the rest need a
+                // road left out each, shared in pairs
+                int ends = ((degree[v] & 1) == 1) ? 2 : 0;
+                return roads - Math.max(0, (odd - ends) / 2);
+            }
+        }
     }
 
     /**
-     * Parses edge key string into two intersection IDs.
+     * A cached longest road length and the inputs it was computed from.
      */
-    private int[] parseEdgeKey(String key) {
-        String[] parts = key.split("-");
-        return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+    private static final class LongestRoadResult {
+
+        final BitSet roadIds;
+        final int[][] offLayout;
+        final BitSet blocked;
+        final int length;
+
+        LongestRoadResult(BitSet roadIds, int[][] offLayout, BitSet blocked, int length) {
+            this.roadIds = roadIds;
+            this.offLayout = offLayout;
+            this.blocked = blocked;
+            this.length = length;
+        }
     }
-}
\ No newline at end of file
+}
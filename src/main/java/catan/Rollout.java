@@ -0,0 +1,162 @@
+package catan;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Plays one position out to the end with fast random play, for
+ * MonteCarloStrategy.
+ *
+ * Each play-out first resets a scratch board and scratch players to the
+ * starting GameState, so the real game is never touched and nothing is
+ * allocated per play-out beyond the players' piece maps. Every seat then
+ * follows the same cheap policy: roll, collect resources, and build one
+ * piece if it can afford one, preferring a city, then a settlement, then a
+ * road, with the location picked at random from the frontiers of an
+ * IncrementalMoveGenerator listening to the scratch board.
+ * A 7 makes players over seven cards discard half and moves the robber to a
+ * random tile; stealing is left out to keep play-outs cheap.
+ *
+ * Instances hold no state between calls, so one can be shared by threads
+ * as long as each thread has its own scratch board, move generator and
+ * players.
+ */
+final class Rollout {
+
+    private final Rules rules;
+
+    /**
+     * Creates a rollout using the given legality checks and costs.
+     *
+     * @param rules the rules shared with the game
+     */
+    Rollout(Rules rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Resets the scratch board and players to the start position, applies
+     * the first action for the chooser, then plays random turns until
+     * someone reaches the victory point target or the turn limit is reached.
+     *
+     * @param start the position to play out
+     * @param board a scratch board with the start position's layout
+     * @param moves a move generator listening to the scratch board
+     * @param players scratch players in the start position's seat order
+     * @param seat the chooser's seat index
+     * @param first the action being evaluated
+     * @param rng the random numbers for this play-out
+     * @param maxTurns the most turns to play after the first action
+     * @param victoryPointsToWin the game's winning score
+     * @return the chooser's victory points minus the best opponent's at the end
+     */
+    int play(GameState start, Board board, IncrementalMoveGenerator moves, List<Player> players,
+             int seat, Action first, Random rng, int maxTurns, int victoryPointsToWin) {
+        start.applyTo(board, players);
+        Player[] seats = players.toArray(new Player[0]);
+
+        build(seats[seat], board, first);
+
+        int current = seat;
+        for (int turn = 0; turn < maxTurns && !hasWinner(seats, victoryPointsToWin); turn++) {
+            current = (current + 1) % seats.length;
+            playTurn(board, moves, players, seats[current], rng);
+        }
+        return score(seats, seat);
+    }
+
+    /**
+     * Plays one seat's turn: dice, resources or robber, then at most one build.
+     */
+    private void playTurn(Board board, IncrementalMoveGenerator moves, List<Player> players, Player player,
+                          Random rng) {
+        int roll = rng.nextInt(6) + rng.nextInt(6) + 2;
+        if (roll == 7) {
+            for (Player p : players) {
+                if (p.getTotalCardsInHand() > 7) p.discardHalfCards();
+            }
+            int tile = rng.nextInt(board.getTileCount() - 1);
+            if (tile >= board.getRobberTileId()) tile++;
+            board.moveRobber(tile);
+        } else {
+            Game.distributeResources(board, players, roll);
+        }
+
+        Action action = chooseBuild(player, board, moves, rng);
+        if (action != null) {
+            build(player, board, action);
+        }
+    }
+
+    /**
+     * Picks a random legal build of the most valuable affordable kind, or null.
+     */
+    private Action chooseBuild(Player player, Board board, IncrementalMoveGenerator moves, Random rng) {
+        int playerId = player.getPlayerId();
+        if (player.hasEnoughResources(rules.getCostVector(ActionType.BUILD_CITY))) {
+            int chosen = moves.randomCitySpot(playerId, rng);
+            if (chosen >= 0) return Action.buildCity(chosen);
+        }
+
+        if (player.hasEnoughResources(rules.getCostVector(ActionType.BUILD_SETTLEMENT))) {
+            int chosen = moves.randomSettlementSpot(playerId, rng);
+            if (chosen >= 0) return Action.buildSettlement(chosen);
+        }
+
+        if (player.hasEnoughResources(rules.getCostVector(ActionType.BUILD_ROAD))) {
+            int chosen = moves.randomRoadSpot(playerId, rng);
+            if (chosen >= 0) {
+                Edge edge = board.getAllEdges()[chosen];
+                return Action.buildRoad(edge.getIntersectionA(), edge.getIntersectionB());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pays for and places the action's piece, as Game.executeAction does.
+     * Does nothing if the player cannot afford it.
+     */
+    private void build(Player player, Board board, Action action) {
+        if (action.getType() == ActionType.PASS) return;
+
+        int[] cost = rules.getCostVector(action.getType());
+        if (!player.hasEnoughResources(cost)) return;
+        player.payCost(cost);
+
+        switch (action.getType()) {
+            case BUILD_ROAD:
+                board.placeRoad(player.getPlayerId(),
+                    action.getEdgeIntersectionA(), action.getEdgeIntersectionB());
+                player.recordPlacedRoad(action.getEdgeIntersectionA(), action.getEdgeIntersectionB());
+                break;
+            case BUILD_SETTLEMENT:
+                board.placeSettlement(player.getPlayerId(), action.getIntersectionId());
+                player.recordPlacedSettlement(action.getIntersectionId());
+                player.addVictoryPoints(Building.SETTLEMENT.getVictoryPoints());
+                break;
+            case BUILD_CITY:
+                board.upgradeSettlementToCity(player.getPlayerId(), action.getIntersectionId());
+                player.recordUpgradedCity(action.getIntersectionId());
+                player.addVictoryPoints(1);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static boolean hasWinner(Player[] seats, int victoryPointsToWin) {
+        for (Player p : seats) {
+            if (p.getVictoryPoints() >= victoryPointsToWin) return true;
+        }
+        return false;
+    }
+
+    private static int score(Player[] seats, int seat) {
+        int bestOpponent = 0;
+        for (int i = 0; i < seats.length; i++) {
+            if (i != seat) bestOpponent = Math.max(bestOpponent, seats[i].getVictoryPoints());
+        }
+        return seats[seat].getVictoryPoints() - bestOpponent;
+    }
+}
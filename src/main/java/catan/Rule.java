@@ -1,7 +1,5 @@
 package catan;
 
-import java.util.Map;
-
 /**
  * Abstract rule used by the Template Method pattern for AI action evaluation.
  *
@@ -16,6 +14,24 @@ import java.util.Map;
  */
 public abstract class Rule {
 
+    private final CostTable costTable;
+
+    /**
+     * Creates a rule that uses the standard cost table.
+     */
+    protected Rule() {
+        this(CostTable.standard());
+    }
+
+    /**
+     * Creates a rule that reads action costs from the given table.
+     *
+     * @param costTable the shared cost table
+     */
+    protected Rule(CostTable costTable) {
+        this.costTable = costTable;
+    }
+
     /**
      * Template method for evaluating an action.
      *
@@ -36,6 +52,18 @@ public abstract class Rule {
         return value;
     }
 
+    /**
+     * Returns whether this rule can apply to actions of the given type.
+     * The decision engine uses this to run only the rules for each action's
+     * type. Defaults to true, leaving the decision to isApplicable().
+     *
+     * @param type the action type
+     * @return false if the rule never applies to this type
+     */
+    public boolean appliesTo(ActionType type) {
+        return true;
+    }
+
     /**
      * Returns whether this rule applies to the given action.
      *
@@ -83,19 +111,12 @@ public abstract class Rule {
      */
     private boolean spendsResourcesLeavingUnderFive(Player player, Action action) {
 
-        Rules rules = new Rules();
-        Map<Resources, Integer> cost = rules.getCost(action.getType());
+        int totalCost = costTable.getTotalCost(action.getType());
 
-        if (cost == null || cost.isEmpty()) {
+        if (totalCost == 0) {
             return false;
         }
 
-        int totalCost = 0;
-
-        for (Integer amount : cost.values()) {
-            totalCost += amount;
-        }
-
         int remainingCards = player.getTotalCardsInHand() - totalCost;
 
         return remainingCards < 5;
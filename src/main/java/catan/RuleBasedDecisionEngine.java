@@ -2,8 +2,9 @@ package catan;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.awt.datatransfer.SystemFlavorMap;
 import java.security.SecureRandom;
+import java.util.Random;
+import catan.GameEventSink.Level;
 /**
  * Evaluates all legal actions using a list of Rule objects and chooses
  * the highest value action.
@@ -16,11 +17,13 @@ import java.security.SecureRandom;
  * @author Maria Shashati
  */
 
-@SuppressWarnings("java:S106")
-public class RuleBasedDecisionEngine {
+public class RuleBasedDecisionEngine implements DecisionStrategy {
 
     private final List<Rule> rules;
-    private final SecureRandom random;
+
+    // rules that can apply to each action type, indexed by ActionType.ordinal()
+    private final Rule[][] rulesByActionType;
+    private final Random random;
 
 
     //R3.3 Constraint checkers
@@ -28,12 +31,38 @@ public class RuleBasedDecisionEngine {
     private final RoadGapConstraint gapConstraint;
     private final LongestRoadDefense longestRoad;
 
+    // shared by every decision so longest road results stay cached between turns
+    private final RoadNetworkAnalyzer analyzer = new RoadNetworkAnalyzer();
+
+    // Receives the constraint messages at DEBUG
+    private GameEventSink events = new ConsoleEventSink();
+
     /**
      * Constructs a decision engine with all supported evaluation rules.
      */
     public RuleBasedDecisionEngine() {
+        this(new SecureRandom());
+    }
+
+    /**
+     * Constructs a decision engine that breaks ties with the given RNG.
+     *
+     * @param random the random number generator used for tie-breaking
+     */
+    public RuleBasedDecisionEngine(Random random) {
+        this(random, new Rules());
+    }
+
+    /**
+     * Constructs a decision engine whose rules share the given rules' cost table.
+     *
+     * @param random the random number generator used for tie-breaking
+     * @param gameRules the rules of the game being played
+     */
+    public RuleBasedDecisionEngine(Random random, Rules gameRules) {
         this.rules = new ArrayList<>();
-        this.random = new SecureRandom();
+        this.random = random;
+        CostTable costTable = gameRules.getCostTable();
 
 
         //initializign constraint checkers
@@ -42,10 +71,26 @@ public class RuleBasedDecisionEngine {
         this.longestRoad = new LongestRoadDefense();
 
 
-        rules.add(new BuildCityRule());
-        rules.add(new BuildSettlementRule());
-        rules.add(new BuildRoadRule());
-        rules.add(new PassRule());
+        rules.add(new BuildCityRule(costTable));
+        rules.add(new BuildSettlementRule(costTable));
+        rules.add(new BuildRoadRule(costTable));
+        rules.add(new PassRule(costTable));
+
+        rulesByActionType = new Rule[ActionType.values().length][];
+        for (ActionType type : ActionType.values()) {
+            rulesByActionType[type.ordinal()] = rules.stream()
+                .filter(rule -> rule.appliesTo(type))
+                .toArray(Rule[]::new);
+        }
+    }
+
+    /**
+     * Sets where constraint messages are logged (at DEBUG).
+     *
+     * @param sink the sink, or null for NoOpEventSink
+     */
+    public void setEventSink(GameEventSink sink) {
+        this.events = (sink == null) ? NoOpEventSink.INSTANCE : sink;
     }
 
     /**
@@ -57,15 +102,41 @@ public class RuleBasedDecisionEngine {
      * @return the highest-value action, with random tie-breaking
      */
     public Action chooseBestAction(Player player, Board board, List<Action> actions) {
+        return chooseBestAction(player, board, actions, java.util.Collections.emptyList());
+    }
+
+    @Override
+    public Action chooseAction(Player player, Board board, List<Action> actions,
+                               List<Player> allPlayers) {
+        return chooseBestAction(player, board, actions, allPlayers);
+    }
+
+    /**
+     * Chooses the best action from the list of legal actions, taking the
+     * other players into account for the longest road defense.
+     *
+     * Player-level facts are gathered once in an EvaluationContext and shared
+     * by every candidate action, and each action only runs the rules for its type.
+     *
+     * @param player the player taking the turn
+     * @param board the current board state
+     * @param actions the legal actions available to the player
+     * @param allPlayers every player in the game, including the chooser
+     * @return the highest-value action, with random tie-breaking
+     */
+    public Action chooseBestAction(Player player, Board board, List<Action> actions,
+                                   List<Player> allPlayers) {
         if (actions == null || actions.isEmpty()) {
             return Action.pass();
         }
 
+        EvaluationContext context = new EvaluationContext(player, board, allPlayers, analyzer);
+
         double bestValue = -1.0;
         List<Action> bestActions = new ArrayList<>();
 
         for (Action action : actions) {
-            double value = evaluateAction(player, board, action);
+            double value = evaluateAction(context, action);
 
             // temporary line im just seeing if ai is acctually doing anyhting 
             //System.out.println("AI evaluating: " + action.getType() + " value=" + value);
@@ -83,7 +154,7 @@ public class RuleBasedDecisionEngine {
         Action chosen = bestActions.get(random.nextInt(bestActions.size()));
 
 
-        if (bestValue >= 100.0){
+        if (bestValue >= 100.0 && events.isEnabled(Level.DEBUG)){
            displayConstraintMessage(player, board, chosen, bestValue);
         }
         return chosen;
@@ -91,7 +162,7 @@ public class RuleBasedDecisionEngine {
     }
     
     /**
-     * Displays a detailed message explaining which constraint was triggered
+     * Logs a detailed message explaining which constraint was triggered
      * @param player
      * @param board
      * @param action
@@ -99,34 +170,34 @@ public class RuleBasedDecisionEngine {
      */
     private void displayConstraintMessage(Player player, Board board, Action action, double value) {
     	if(Math.abs(value - 150.0) < 0.01) {
-    		System.out.println("--> ROAD GAP CONSTRAINT ACTIVE: Connecting the disconneted road segements");
+    		events.emit(Level.DEBUG, "--> ROAD GAP CONSTRAINT ACTIVE: Connecting the disconneted road segements");
     	}
     	else if(Math.abs(value - 120.0) < 0.01){
-    		System.out.println("--> LONGEST ROAD DEFENSE ACTIVE: Defending against close opponent");
+    		events.emit(Level.DEBUG, "--> LONGEST ROAD DEFENSE ACTIVE: Defending against close opponent");
     	}
     	else if(Math.abs(value - 100.0) < 0.01) {
     		int cardCount = player.getTotalCardsInHand();
-    		System.out.println("--> SEVEN CARD CONSTRAINT ACTIVE: Player has " + cardCount + " cards, must build");
+    		events.emit(Level.DEBUG, "--> SEVEN CARD CONSTRAINT ACTIVE: Player has " + cardCount + " cards, must build");
     	}
     	else {
-    		System.out.println("--> CONSTRAINT ACTIVE: Resolving with priority " + value);
+    		events.emit(Level.DEBUG, "--> CONSTRAINT ACTIVE: Resolving with priority " + value);
     	}
     }
 
-    private double evaluateAction(Player player, Board board, Action action){
+    private double evaluateAction(EvaluationContext context, Action action){
         double value = -1.0;
 
-        value = Math.max(value, cardConstraint.evaluate(player, board, action));
-        value = Math.max(value, gapConstraint.evaluate(player, board, action));
-        value = Math.max(value, longestRoad.evaluate(player, java.util.Collections.emptyList(), board, action));
+        value = Math.max(value, cardConstraint.evaluate(context, action));
+        value = Math.max(value, gapConstraint.evaluate(context, action));
+        value = Math.max(value, longestRoad.evaluate(context, action));
 
         if (value >= 100.0){
             return value;
         }
 
 
-        for (Rule rule: rules){
-            double ruleValue = rule.evaluate(player, board, action);
+        for (Rule rule: rulesByActionType[action.getType().ordinal()]){
+            double ruleValue = rule.evaluate(context.getPlayer(), context.getBoard(), action);
             value = Math.max(value, ruleValue);
         }
 
@@ -5,8 +5,6 @@
 package catan;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.EnumMap;
 import java.util.Map;
 import java.util.List;
 import java.util.Random;
@@ -14,41 +12,39 @@ import java.util.Random;
 /**
  * Encodes all building and placement rules for the Catan simulator.
  *
+ * Rules holds no game state: costs come from a shared immutable CostTable
+ * and every check reads the Player and Board it is given. One instance can
+ * therefore be shared by the game, the decision engine and its rules.
+ *
  * @author Alisha Faridi
  */
 public class Rules {
 
-    private final Map<ActionType, Map<Resources, Integer>> actionCosts;
+    private final CostTable costTable;
 
+    /**
+     * Creates rules using the standard cost table.
+     */
     public Rules() {
-        this.actionCosts = new EnumMap<>(ActionType.class);
-
-        actionCosts.put(ActionType.BUILD_ROAD, costOf(
-                Resources.WOOD, 1,
-                Resources.BRICK, 1
-        ));
-
-        actionCosts.put(ActionType.BUILD_SETTLEMENT, costOf(
-                Resources.WOOD, 1,
-                Resources.BRICK, 1,
-                Resources.WHEAT, 1,
-                Resources.SHEEP, 1
-        ));
-
-        actionCosts.put(ActionType.BUILD_CITY, costOf(
-                Resources.WHEAT, 2,
-                Resources.ORE, 3
-        ));
+        this(CostTable.standard());
+    }
 
-        actionCosts.put(ActionType.PASS, Collections.emptyMap());
+    /**
+     * Creates rules using the given cost table.
+     *
+     * @param costTable the building costs to apply
+     */
+    public Rules(CostTable costTable) {
+        this.costTable = costTable;
     }
 
-    private Map<Resources, Integer> costOf(Object... pairs) {
-        Map<Resources, Integer> map = new EnumMap<>(Resources.class);
-        for (int i = 0; i < pairs.length; i += 2) {
-            map.put((Resources) pairs[i], (Integer) pairs[i + 1]);
-        }
-        return map;
+    /**
+     * Returns the cost table these rules use.
+     *
+     * @return the shared cost table
+     */
+    public CostTable getCostTable() {
+        return costTable;
     }
 
     /**
@@ -172,8 +168,30 @@ public class Rules {
      * @return a map of resource types to quantities required
      */
     public Map<Resources, Integer> getCost(ActionType actionType) {
-        Map<Resources, Integer> cost = actionCosts.get(actionType);
-        return (cost == null) ? Collections.emptyMap() : cost;
+        return costTable.getCost(actionType);
+    }
+
+    /**
+     * Returns the resource cost for the given action type as a vector of
+     * card counts indexed by Resources.ordinal(). Cheaper than getCost() for
+     * Player.hasEnoughResources(int[]) and Player.payCost(int[]).
+     * The returned array is shared by the cost table and must not be modified.
+     *
+     * @param actionType the type of action to look up
+     * @return the cost vector; all zeros for PASS
+     */
+    public int[] getCostVector(ActionType actionType) {
+        return costTable.getCostVector(actionType);
+    }
+
+    /**
+     * Returns the total number of cards the action costs.
+     *
+     * @param actionType the type of action to look up
+     * @return the number of cards spent; 0 for PASS
+     */
+    public int getTotalCost(ActionType actionType) {
+        return costTable.getTotalCost(actionType);
     }
 
     /**
@@ -195,12 +213,7 @@ public class Rules {
      * Returns true if the distance rule is satisfied at the given intersection.
      */
     private boolean isDistanceRuleSatisfied(Board board, int intersectionId) {
-        for (int neighbourId : board.getAdjacentIntersectionIds(intersectionId)) {
-            if (board.isIntersectionOccupied(neighbourId)) {
-                return false;
-            }
-        }
-        return true;
+        return !board.hasOccupiedAdjacentIntersection(intersectionId);
     }
 
     /**
@@ -36,5 +36,21 @@ public class SevenCardConstraint {
         return -1.0;
 
     }
+
+    /**
+     * Same check as evaluate(Player, Board, Action), using the card count
+     * already taken by the per-decision context.
+     *
+     * @param context facts about the deciding player
+     * @param action the candidate action
+     * @return 100.0 if constraint is active otherwise -1.0
+     */
+    public double evaluate(EvaluationContext context, Action action){
+        ActionType type = action.getType();
+        if (type!= ActionType.BUILD_ROAD && type!=ActionType.BUILD_SETTLEMENT && type!= ActionType.BUILD_CITY){
+            return -1.0;
+        }
+        return context.getCardCount() > 7 ? 100.0 : -1.0;
+    }
 }
 
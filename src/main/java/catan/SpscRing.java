@@ -0,0 +1,119 @@
+package catan;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, lock-free queue for exactly one producer thread and one
+ * consumer thread.
+ *
+ * The slots form a power-of-two ring. The producer only writes the tail
+ * and the consumer only writes the head, each with an ordered store
+ * (lazySet), so neither side ever takes a lock or runs a CAS loop. Each
+ * side caches the other's index and rereads it only when the ring looks
+ * full or empty.
+ *
+ * Using offer() from more than one thread, or poll() from more than one
+ * thread, corrupts the queue.
+ *
+ * @param <E> the element type
+ */
+public final class SpscRing<E> {
+
+    private final Object[] slots;
+    private final int mask;
+
+    // next slot to read; written by the consumer only
+    private final AtomicLong head = new AtomicLong();
+    // next slot to write; written by the producer only
+    private final AtomicLong tail = new AtomicLong();
+
+    // producer's last view of head, consumer's last view of tail
+    private long headCache;
+    private long tailCache;
+
+    /**
+     * Constructs a ring holding at least the given number of elements.
+     *
+     * @param capacity minimum capacity; rounded up to a power of two
+     * @throws IllegalArgumentException if capacity is not positive or above 2^30
+     */
+    public SpscRing(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be 1 to 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        slots = new Object[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Adds an element unless the ring is full. Producer thread only.
+     *
+     * @param element the element, not null
+     * @return false if the ring is full
+     */
+    public boolean offer(E element) {
+        long t = tail.get();
+        if (t - headCache >= slots.length) {
+            headCache = head.get();
+            if (t - headCache >= slots.length) {
+                return false;
+            }
+        }
+        slots[(int) t & mask] = element;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest element. Consumer thread only.
+     *
+     * @return the element, or null if the ring is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head.get();
+        if (h >= tailCache) {
+            tailCache = tail.get();
+            if (h >= tailCache) {
+                return null;
+            }
+        }
+        int slot = (int) h & mask;
+        E element = (E) slots[slot];
+        slots[slot] = null;
+        head.lazySet(h + 1);
+        return element;
+    }
+
+    /**
+     * Returns the number of elements waiting; exact only when neither
+     * thread is in offer() or poll().
+     *
+     * @return the element count
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * Returns whether no element is waiting.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns how many elements the ring holds when full.
+     *
+     * @return the capacity, a power of two
+     */
+    public int capacity() {
+        return slots.length;
+    }
+}
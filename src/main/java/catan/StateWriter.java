@@ -0,0 +1,57 @@
+package catan;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes a GameSnapshot to a file, e.g. the round JSON or the visualizer's
+ * state.json. Writers are registered in a StateWriterRegistry and are
+ * called on the state writer's background thread, so they must only read
+ * the snapshot, never the live game.
+ *
+ * Writers that keep a file open or buffer output override flush() and
+ * close(); AsyncStateWriter calls them on flush and when the game ends.
+ */
+public interface StateWriter {
+
+    /**
+     * Writes one snapshot.
+     *
+     * @param snapshot the snapshot to write
+     * @param outputDir the directory to write into, or null for the current folder
+     * @throws IOException if the file cannot be written
+     */
+    void write(GameSnapshot snapshot, Path outputDir) throws IOException;
+
+    /**
+     * Writes several snapshots in order. Writers that can share work across
+     * a batch (such as creating the directory once) override this.
+     *
+     * @param snapshots the snapshots to write
+     * @param outputDir the directory to write into, or null for the current folder
+     * @throws IOException if a file cannot be written; later snapshots are not attempted
+     */
+    default void writeAll(List<GameSnapshot> snapshots, Path outputDir) throws IOException {
+        for (GameSnapshot snapshot : snapshots) {
+            write(snapshot, outputDir);
+        }
+    }
+
+    /**
+     * Pushes anything buffered to disk. Does nothing by default.
+     *
+     * @throws IOException if the buffered output cannot be written
+     */
+    default void flush() throws IOException {
+    }
+
+    /**
+     * Flushes and releases any open file. A later write may open it again.
+     * Does nothing by default.
+     *
+     * @throws IOException if the buffered output cannot be written
+     */
+    default void close() throws IOException {
+    }
+}
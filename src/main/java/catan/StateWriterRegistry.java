@@ -0,0 +1,156 @@
+package catan;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The state writers a game hands its snapshots to: round writers get one
+ * snapshot at the end of every round, turn writers the latest snapshot
+ * after turns (a writer that falls behind skips to the newest state), and
+ * turn log writers every turn's snapshot in order.
+ *
+ * Writers can be added or removed while the game runs; the lists are safe
+ * to read from the background writer thread.
+ */
+public final class StateWriterRegistry {
+
+    private final List<StateWriter> roundWriters = new CopyOnWriteArrayList<>();
+    private final List<StateWriter> turnWriters = new CopyOnWriteArrayList<>();
+    private final List<StateWriter> turnLogWriters = new CopyOnWriteArrayList<>();
+
+    /**
+     * Returns a registry with the standard writers: JSONWriter for the round
+     * files and VisualizerStateWriter for state.json.
+     *
+     * @return a new registry
+     */
+    public static StateWriterRegistry standard() {
+        StateWriterRegistry registry = new StateWriterRegistry();
+        registry.addRoundWriter(new JSONWriter());
+        registry.addTurnWriter(new VisualizerStateWriter());
+        return registry;
+    }
+
+    /**
+     * Returns a registry that streams to one JSON Lines log instead of a
+     * file per round, and still writes state.json for the visualizer.
+     *
+     * @param log the log writer
+     * @param logTurns true to log every turn as well as every round
+     * @return a new registry
+     */
+    public static StateWriterRegistry streaming(JsonLinesWriter log, boolean logTurns) {
+        StateWriterRegistry registry = new StateWriterRegistry();
+        registry.addRoundWriter(log);
+        if (logTurns) {
+            registry.addTurnLogWriter(log.turns());
+        }
+        registry.addTurnWriter(new VisualizerStateWriter());
+        return registry;
+    }
+
+    /**
+     * Replaces this registry's writers with another registry's.
+     *
+     * @param other the registry to copy the writers from
+     */
+    public void setAll(StateWriterRegistry other) {
+        clear();
+        roundWriters.addAll(other.roundWriters);
+        turnWriters.addAll(other.turnWriters);
+        turnLogWriters.addAll(other.turnLogWriters);
+    }
+
+    /**
+     * Adds a writer called at the end of every round.
+     *
+     * @param writer the writer
+     */
+    public void addRoundWriter(StateWriter writer) {
+        roundWriters.add(writer);
+    }
+
+    /**
+     * Adds a writer that only needs the latest state, called after turns.
+     * Snapshots still waiting when a newer one arrives are skipped.
+     *
+     * @param writer the writer
+     */
+    public void addTurnWriter(StateWriter writer) {
+        turnWriters.add(writer);
+    }
+
+    /**
+     * Adds a writer called after every turn, with every turn's snapshot.
+     *
+     * @param writer the writer
+     */
+    public void addTurnLogWriter(StateWriter writer) {
+        turnLogWriters.add(writer);
+    }
+
+    /**
+     * Removes a writer from every list.
+     *
+     * @param writer the writer to remove
+     * @return true if it was registered
+     */
+    public boolean remove(StateWriter writer) {
+        boolean removedRound = roundWriters.remove(writer);
+        boolean removedTurn = turnWriters.remove(writer);
+        boolean removedLog = turnLogWriters.remove(writer);
+        return removedRound || removedTurn || removedLog;
+    }
+
+    /**
+     * Removes every writer, so the game writes no state files.
+     */
+    public void clear() {
+        roundWriters.clear();
+        turnWriters.clear();
+        turnLogWriters.clear();
+    }
+
+    /**
+     * Returns the round writers, in the order they were added.
+     *
+     * @return read-only list of writers
+     */
+    public List<StateWriter> getRoundWriters() {
+        return Collections.unmodifiableList(roundWriters);
+    }
+
+    /**
+     * Returns the turn writers, in the order they were added.
+     *
+     * @return read-only list of writers
+     */
+    public List<StateWriter> getTurnWriters() {
+        return Collections.unmodifiableList(turnWriters);
+    }
+
+    /**
+     * Returns the turn log writers, in the order they were added.
+     *
+     * @return read-only list of writers
+     */
+    public List<StateWriter> getTurnLogWriters() {
+        return Collections.unmodifiableList(turnLogWriters);
+    }
+
+    /**
+     * Returns every registered writer once, in registration list order.
+     *
+     * @return the distinct writers
+     */
+    List<StateWriter> allWriters() {
+        List<StateWriter> all = new java.util.ArrayList<>();
+        for (List<StateWriter> list : java.util.Arrays.asList(roundWriters, turnWriters, turnLogWriters)) {
+            for (StateWriter writer : list) {
+                if (!all.contains(writer)) all.add(writer);
+            }
+        }
+        return all;
+    }
+}
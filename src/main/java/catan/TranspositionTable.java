@@ -0,0 +1,166 @@
+package catan;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free cache of position evaluations keyed by Zobrist hash.
+ *
+ * Each entry packs an int value, a weight (how much work the value is
+ * worth, e.g. a rollout count or search depth) and the generation it was
+ * stored in into one long. Entries live in two-slot buckets; a new entry
+ * goes into the slot holding the same position, else an empty slot, else
+ * the slot left from an older generation, else the one with the lower
+ * weight, and is dropped if both slots hold heavier current entries.
+ *
+ * Threads read and write without locks. A slot stores the hash XOR the data
+ * next to the data itself, so a slot torn by two concurrent writers no
+ * longer matches any hash and reads as a miss instead of a wrong value.
+ */
+public final class TranspositionTable {
+
+    /** Returned by probe() when the position is not in the table. */
+    public static final long MISS = 0L;
+
+    private static final int MAX_WEIGHT = 0xFFFF;
+
+    /** Two longs per slot: [2i] = hash ^ data, [2i + 1] = data. */
+    private final AtomicLongArray slots;
+    private final int bucketMask;
+    private final AtomicInteger generation = new AtomicInteger(1);
+
+    /**
+     * Creates a table holding at least the given number of entries,
+     * rounded up to a power of two.
+     *
+     * @param entries the minimum number of entries
+     * @throws IllegalArgumentException if entries is less than 2 or more than 2^29
+     */
+    public TranspositionTable(int entries) {
+        if (entries < 2 || entries > (1 << 29)) {
+            throw new IllegalArgumentException("entries must be between 2 and 2^29: " + entries);
+        }
+        int capacity = Integer.highestOneBit(entries - 1) << 1;
+        slots = new AtomicLongArray(2 * capacity);
+        bucketMask = (capacity >>> 1) - 1;
+    }
+
+    /**
+     * Returns the number of entries the table can hold.
+     *
+     * @return capacity in entries
+     */
+    public int capacity() {
+        return slots.length() / 2;
+    }
+
+    /**
+     * Stores an evaluation, subject to the replacement policy.
+     *
+     * @param hash the position's Zobrist hash
+     * @param value the evaluation
+     * @param weight how much work the value is worth; clamped to 1..65535
+     */
+    public void store(long hash, int value, int weight) {
+        int w = Math.max(1, Math.min(MAX_WEIGHT, weight));
+        long data = pack(value, w, generation.get());
+
+        int first = bucketOf(hash);
+        int victim = -1;
+        long victimRank = Long.MAX_VALUE;
+        for (int slot = first; slot < first + 2; slot++) {
+            long existing = slots.get(2 * slot + 1);
+            long existingHash = slots.get(2 * slot) ^ existing;
+            if (existing == MISS || existingHash == hash) {
+                victim = slot;
+                break;
+            }
+            // older generations go first, then lighter entries
+            long rank = ((long) generationOf(existing) << 16) | weightOf(existing);
+            if (rank < victimRank) {
+                victimRank = rank;
+                victim = slot;
+            }
+        }
+
+        long existing = slots.get(2 * victim + 1);
+        long existingHash = slots.get(2 * victim) ^ existing;
+        boolean replace = existing == MISS
+            || existingHash == hash
+            || generationOf(existing) != generationOf(data)
+            || weightOf(existing) <= w;
+        if (replace) {
+            slots.set(2 * victim, hash ^ data);
+            slots.set(2 * victim + 1, data);
+        }
+    }
+
+    /**
+     * Looks a position up.
+     *
+     * @param hash the position's Zobrist hash
+     * @return the packed entry (read it with valueOf and weightOf), or MISS
+     */
+    public long probe(long hash) {
+        int first = bucketOf(hash);
+        for (int slot = first; slot < first + 2; slot++) {
+            long data = slots.get(2 * slot + 1);
+            if (data != MISS && (slots.get(2 * slot) ^ data) == hash) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Starts a new generation: entries stored before now can be replaced
+     * by any new entry, whatever their weight. MonteCarloStrategy calls
+     * this once per decision.
+     */
+    public void newGeneration() {
+        generation.updateAndGet(g -> (g == MAX_WEIGHT) ? 1 : g + 1);
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, 0L);
+        }
+    }
+
+    /**
+     * Returns the value of an entry returned by probe().
+     *
+     * @param entry a packed entry other than MISS
+     * @return the stored value
+     */
+    public static int valueOf(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Returns the weight of an entry returned by probe().
+     *
+     * @param entry a packed entry
+     * @return the stored weight, or 0 for MISS
+     */
+    public static int weightOf(long entry) {
+        return (int) (entry >>> 32) & MAX_WEIGHT;
+    }
+
+    private static int generationOf(long entry) {
+        return (int) (entry >>> 48) & MAX_WEIGHT;
+    }
+
+    // weight is at least 1, so a stored entry is never equal to MISS
+    private static long pack(int value, int weight, int generation) {
+        return ((long) generation << 48) | ((long) weight << 32) | (value & 0xFFFFFFFFL);
+    }
+
+    private int bucketOf(long hash) {
+        // first slot of the bucket; the full hash is still compared on probe
+        return ((int) (hash ^ (hash >>> 32)) & bucketMask) << 1;
+    }
+}
@@ -0,0 +1,206 @@
+package catan;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Times the phases of a turn into one LatencyHistogram per phase.
+ *
+ * Code around a phase calls start() and stop(). When the profiler is
+ * disabled (see disabled(), the default of every Game) start() returns 0
+ * and stop() returns at once, without reading the clock, so the calls cost
+ * a predictable branch. When enabled each phase costs two System.nanoTime()
+ * reads and one histogram update.
+ *
+ * The state-writer phases are recorded on the background writer thread,
+ * the others on the game thread; read the histograms once the game has
+ * ended. toReport() prints a table with p50, p99 and p99.9 per phase;
+ * toJson() and writeJson() give the same numbers in machine-readable form.
+ */
+public final class TurnProfiler {
+
+    /**
+     * The timed phases.
+     */
+    public enum Phase {
+        /** A whole computer turn, from the roll to the chosen action. */
+        TURN,
+        /** Rolling the dice. */
+        ROLL,
+        /** Game.distributeResourcesForRoll. */
+        DISTRIBUTE_RESOURCES,
+        /** Discards, robber move and steal after a 7. */
+        SEVEN_ROLL,
+        /** Legal move generation with the affordability and must-build filters. */
+        VALID_ACTIONS,
+        /** The seat's strategy choosing an action (chooseBestAction by default). */
+        CHOOSE_ACTION,
+        /** Paying for and executing the chosen action. */
+        PROCESS_ACTION,
+        /** The turn writers, VisualizerStateWriter by default, on the writer thread. */
+        TURN_STATE_WRITE,
+        /**
+         * The round writers, the JSON round files by default, on the writer
+         * thread (one sample per batch of queued rounds).
+         */
+        ROUND_STATE_WRITE
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final TurnProfiler DISABLED = new TurnProfiler(false);
+
+    private final boolean enabled;
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+
+    /**
+     * Constructs an enabled profiler with empty histograms.
+     */
+    public TurnProfiler() {
+        this(true);
+    }
+
+    private TurnProfiler(boolean enabled) {
+        this.enabled = enabled;
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Returns the shared profiler that records nothing.
+     *
+     * @return the disabled profiler
+     */
+    public static TurnProfiler disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Returns whether this profiler records.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @return the start time to pass to stop(), or 0 when disabled
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the time since start() for a phase.
+     *
+     * @param phase the phase that ended
+     * @param startNanos the value start() returned
+     */
+    public void stop(Phase phase, long startNanos) {
+        if (enabled) {
+            histograms[phase.ordinal()].record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Returns the histogram of a phase.
+     *
+     * @param phase the phase
+     * @return its histogram, in nanoseconds
+     */
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * Adds another profiler's recordings to this one, e.g. to combine the
+     * games of a batch. Synchronized so several games can add at once.
+     *
+     * @param other the profiler to add; not changed
+     */
+    public synchronized void add(TurnProfiler other) {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i].add(other.histograms[i]);
+        }
+    }
+
+    /**
+     * Clears every histogram.
+     */
+    public synchronized void reset() {
+        for (LatencyHistogram h : histograms) {
+            h.reset();
+        }
+    }
+
+    /**
+     * Builds a table of every phase that recorded something, in microseconds.
+     *
+     * @return the report text
+     */
+    public synchronized String toReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== TURN PHASE TIMINGS (us) ===\n");
+        sb.append(String.format(Locale.ROOT, "%-20s %10s %10s %10s %10s %10s %10s%n",
+            "Phase", "Count", "Mean", "p50", "p99", "p99.9", "Max"));
+        for (Phase phase : PHASES) {
+            LatencyHistogram h = histograms[phase.ordinal()];
+            if (h.getCount() == 0) {
+                continue;
+            }
+            sb.append(String.format(Locale.ROOT, "%-20s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                phase, h.getCount(), h.getMean() / 1000.0,
+                micros(h.getValueAtPercentile(50.0)), micros(h.getValueAtPercentile(99.0)),
+                micros(h.getValueAtPercentile(99.9)), micros(h.getMax())));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns every phase's statistics as a JSON object keyed by phase
+     * name, in nanoseconds: count, total, min, mean, p50, p90, p99, p999, max.
+     *
+     * @return the JSON text
+     */
+    public synchronized String toJson() {
+        StringBuilder sb = new StringBuilder("{\n  \"unit\": \"ns\",\n  \"phases\": {");
+        String separator = "\n";
+        for (Phase phase : PHASES) {
+            LatencyHistogram h = histograms[phase.ordinal()];
+            sb.append(separator).append("    \"").append(phase).append("\": {")
+              .append("\"count\": ").append(h.getCount())
+              .append(", \"total\": ").append(h.getTotal())
+              .append(", \"min\": ").append(h.getMin())
+              .append(", \"mean\": ").append(String.format(Locale.ROOT, "%.1f", h.getMean()))
+              .append(", \"p50\": ").append(h.getValueAtPercentile(50.0))
+              .append(", \"p90\": ").append(h.getValueAtPercentile(90.0))
+              .append(", \"p99\": ").append(h.getValueAtPercentile(99.0))
+              .append(", \"p999\": ").append(h.getValueAtPercentile(99.9))
+              .append(", \"max\": ").append(h.getMax())
+              .append('}');
+            separator = ",\n";
+        }
+        sb.append("\n  }\n}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Writes toJson() to a file.
+     *
+     * @param file the file to create or replace
+     * @throws IOException if the file cannot be written
+     */
+    public void writeJson(Path file) throws IOException {
+        Files.write(file, toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
@@ -1,6 +1,6 @@
 package catan;
 
-import java.lang.reflect.Field;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -15,75 +15,64 @@ import java.util.Map;
  *
  * @author Alisha Faridi
  */
-public class VisualizerStateWriter {
+public class VisualizerStateWriter implements StateWriter {
 
     /**
-     * Maps each of our Colour enum values to the colour string token that
+     * Maps each of our Colour names to the colour string token that
      * light_visualizer.py's _parse_color() method will accept.
      *
      * Loaded once into a static map for O(1) look-up on every turn write.
      */
-    private static final Map<Colour, String> COLOUR_TO_VISUALIZER = new HashMap<>();
+    private static final Map<String, String> COLOUR_TO_VISUALIZER = new HashMap<>();
 
     static {
-        COLOUR_TO_VISUALIZER.put(Colour.RED,    "RED");
-        COLOUR_TO_VISUALIZER.put(Colour.BLUE,   "BLUE");
-        COLOUR_TO_VISUALIZER.put(Colour.GREEN,  "ORANGE"); // Catanatron has no GREEN
-        COLOUR_TO_VISUALIZER.put(Colour.YELLOW, "WHITE");  // Catanatron has no YELLOW
+        COLOUR_TO_VISUALIZER.put(Colour.RED.name(),    "RED");
+        COLOUR_TO_VISUALIZER.put(Colour.BLUE.name(),   "BLUE");
+        COLOUR_TO_VISUALIZER.put(Colour.GREEN.name(),  "ORANGE"); // Catanatron has no GREEN
+        COLOUR_TO_VISUALIZER.put(Colour.YELLOW.name(), "WHITE");  // Catanatron has no YELLOW
     }
 
     /**
      * Writes the current board state from the given Game to state.json
      * in the specified output directory.
      *
-     * Called from Game.playOneRound() after every single player turn so the
-     * visualizer always reflects the latest board, not just end-of-round state.
-     *
      * @param game the live Game object to read board state from
      * @param outputDir the directory to write state.json into
-     * @throws Exception if reflection fails or the file cannot be written
+     * @throws IOException if the file cannot be written
      */
-    public static void write(Game game, Path outputDir) throws Exception {
-        if (outputDir == null) {
-            outputDir = Paths.get(".");
-        }
-        Files.createDirectories(outputDir);
-
-        Board board = extractBoard(game);
-        List<Player> players = extractPlayers(game);
-
-        Map<Integer, String> playerColours = buildColourMap(players);
-
-        String json = buildJson(board, playerColours);
-        Path outputPath = outputDir.resolve("state.json");
-        Files.write(outputPath, json.getBytes(StandardCharsets.UTF_8));
+    public static void write(Game game, Path outputDir) throws IOException {
+        new VisualizerStateWriter().write(game.snapshot(), outputDir);
     }
 
     /**
-     * Extracts the private board field from the Game object via reflection.
+     * Writes the board state held in a snapshot to state.json.
+     *
+     * Registered as a turn writer in StateWriterRegistry.standard(), so it is
+     * called after every single player turn and the visualizer always
+     * reflects the latest board, not just end-of-round state.
      *
-     * @param game the Game instance
-     * @return the Board currently in use
-     * @throws Exception if the field cannot be accessed
+     * @param snapshot the snapshot to write
+     * @param outputDir the directory to write state.json into
+     * @throws IOException if the file cannot be written
      */
-    private static Board extractBoard(Game game) throws Exception {
-        Field f = Game.class.getDeclaredField("board");
-        f.setAccessible(true);
-        return (Board) f.get(game);
+    @Override
+    public void write(GameSnapshot snapshot, Path outputDir) throws IOException {
+        if (outputDir == null) {
+            outputDir = Paths.get(".");
+        }
+        Files.createDirectories(outputDir);
+        String json = toJson(snapshot);
+        Files.write(outputDir.resolve("state.json"), json.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
-     * Extracts the private players list from the Game object via reflection.
+     * Builds the state.json text for a snapshot.
      *
-     * @param game the Game instance
-     * @return the list of all players in the game
-     * @throws Exception if the field cannot be accessed
+     * @param snapshot the snapshot to format
+     * @return the JSON text
      */
-    @SuppressWarnings("unchecked")
-    private static List<Player> extractPlayers(Game game) throws Exception {
-        Field f = Game.class.getDeclaredField("players");
-        f.setAccessible(true);
-        return (List<Player>) f.get(game);
+    public static String toJson(GameSnapshot snapshot) {
+        return buildJson(snapshot, buildColourMap(snapshot.getPlayers()));
     }
 
     /**
@@ -95,9 +84,9 @@ public class VisualizerStateWriter {
      * @param players all players in the game
      * @return map from player ID to visualizer-compatible colour string
      */
-    private static Map<Integer, String> buildColourMap(List<Player> players) {
+    private static Map<Integer, String> buildColourMap(List<GameSnapshot.PlayerSnapshot> players) {
         Map<Integer, String> map = new HashMap<>();
-        for (Player p : players) {
+        for (GameSnapshot.PlayerSnapshot p : players) {
             String vis = COLOUR_TO_VISUALIZER.getOrDefault(p.getColour(), "RED");
             map.put(p.getPlayerId(), vis);
         }
@@ -105,21 +94,20 @@ public class VisualizerStateWriter {
     }
 
     /**
-     * Builds the complete state.json string from the current board state.
+     * Builds the complete state.json string from a snapshot.
      *
-     * Iterates once over all edges (roads) and once over all intersections
-     * (buildings).
-     * 
-     * @param board the current board
+     * Iterates once over the roads and once over the buildings.
+     *
+     * @param snapshot the snapshot to format
      * @param playerColours map from player ID to visualizer colour string
      * @return a JSON string
      */
-    private static String buildJson(Board board, Map<Integer, String> playerColours) {
+    private static String buildJson(GameSnapshot snapshot, Map<Integer, String> playerColours) {
         StringBuilder sb = new StringBuilder();
         sb.append("{\n");
-        appendRoadsJson(sb, board, playerColours);
+        appendRoadsJson(sb, snapshot.getRoads(), playerColours);
         sb.append(",\n");
-        appendBuildingsJson(sb, board, playerColours);
+        appendBuildingsJson(sb, snapshot.getBuildings(), playerColours);
         sb.append("}\n");
 
         return sb.toString();
@@ -129,25 +117,22 @@ public class VisualizerStateWriter {
      * Appends the roads section of the visualizer JSON.
      *
      * @param sb the StringBuilder being written to
-     * @param board the current board
+     * @param roads the roads on the board
      * @param playerColours map from player ID to visualizer colour string
      */
-    private static void appendRoadsJson(StringBuilder sb, Board board, Map<Integer, String> playerColours) {
+    private static void appendRoadsJson(StringBuilder sb, List<GameSnapshot.RoadSnapshot> roads,
+                                        Map<Integer, String> playerColours) {
         sb.append("  \"roads\": [\n");
         boolean firstRoad = true;
 
-        for (Edge e : board.getAllEdges()) {
-            if (!e.isOccupied()) {
-                continue;
-            }
-
-            String colour = playerColours.getOrDefault(e.getRoadOwnerId(), "RED");
+        for (GameSnapshot.RoadSnapshot road : roads) {
+            String colour = playerColours.getOrDefault(road.getOwnerId(), "RED");
             if (!firstRoad) {
                 sb.append(",\n");
             }
 
-            sb.append("    { \"a\": ").append(e.getIntersectionA())
-            .append(", \"b\": ").append(e.getIntersectionB())
+            sb.append("    { \"a\": ").append(road.getIntersectionA())
+            .append(", \"b\": ").append(road.getIntersectionB())
             .append(", \"owner\": \"").append(colour).append("\" }");
             firstRoad = false;
         }
@@ -162,33 +147,23 @@ public class VisualizerStateWriter {
      * Appends the buildings section of the visualizer JSON.
      *
      * @param sb the StringBuilder being written to
-     * @param board the current board
+     * @param buildings the buildings on the board
      * @param playerColours map from player ID to visualizer colour string
      */
-    private static void appendBuildingsJson(StringBuilder sb, Board board, Map<Integer, String> playerColours) {
+    private static void appendBuildingsJson(StringBuilder sb, List<GameSnapshot.BuildingSnapshot> buildings,
+                                            Map<Integer, String> playerColours) {
         sb.append("  \"buildings\": [\n");
         boolean firstBuilding = true;
 
-        for (int id : board.getAllIntersectionIds()) {
-            Intersection inter = board.getIntersection(id);
-            if (inter == null || !inter.hasBuilding()) {
-                continue;
-            }
-
-            Integer ownerId = inter.getBuildingOwnerId();
-            Building buildingType = inter.getBuildingType();
-            if (ownerId == null || buildingType == null) {
-                continue;
-            }
-
-            String colour = playerColours.getOrDefault(ownerId, "RED");
+        for (GameSnapshot.BuildingSnapshot building : buildings) {
+            String colour = playerColours.getOrDefault(building.getOwnerId(), "RED");
             if (!firstBuilding) {
                 sb.append(",\n");
             }
 
-            sb.append("    { \"node\": ").append(id)
+            sb.append("    { \"node\": ").append(building.getIntersectionId())
             .append(", \"owner\": \"").append(colour).append("\"")
-            .append(", \"type\": \"").append(buildingType.name()).append("\" }");
+            .append(", \"type\": \"").append(building.getType().name()).append("\" }");
             firstBuilding = false;
         }
 
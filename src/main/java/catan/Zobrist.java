@@ -0,0 +1,75 @@
+package catan;
+
+/**
+ * Zobrist keys shared by Board, Player and GameState.
+ *
+ * A position's hash is the XOR of one pseudo-random 64-bit key per
+ * (feature, value) pair, so changing one feature costs two XORs: remove
+ * the old value's key, add the new one. Keys are computed by a SplitMix64
+ * mix of the feature and value rather than looked up in a table, so there
+ * is nothing to size to the board and every class derives the same key for
+ * the same feature.
+ */
+public final class Zobrist {
+
+    /** Intersection i; value ownerId * 3 + building code (see GameState). */
+    public static final int BUILDING = 1;
+    /** Edge index e; value owner player ID or -1. */
+    public static final int ROAD = 2;
+    /** Slot playerId * resource types + Resources.ordinal(); value card count. */
+    public static final int HAND = 3;
+    /** Player ID; value victory points. */
+    public static final int VICTORY_POINTS = 4;
+    /** Index 0; value robber tile ID. */
+    public static final int ROBBER = 5;
+    /** Index 0; value round number. */
+    public static final int ROUND = 6;
+    /** Index 0; value seat index of the player to move. */
+    public static final int TO_MOVE = 7;
+
+    private static final int RESOURCE_COUNT = Resources.values().length;
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of one feature holding one value.
+     *
+     * @param kind the feature kind, one of the constants above
+     * @param index which feature of that kind
+     * @param value the feature's value; only the low 24 bits are used
+     * @return the 64-bit key
+     */
+    public static long key(int kind, int index, int value) {
+        long z = ((long) kind << 56) ^ ((long) index << 24) ^ (value & 0xFFFFFFL);
+        // SplitMix64 finalizer
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the key of an intersection's building.
+     *
+     * @param intersectionId the intersection
+     * @param ownerId the owner's player ID, or -1 if empty
+     * @param building GameState.NO_BUILDING, SETTLEMENT or CITY
+     * @return the 64-bit key
+     */
+    public static long buildingKey(int intersectionId, int ownerId, int building) {
+        return key(BUILDING, intersectionId, ownerId * 3 + building);
+    }
+
+    /**
+     * Returns the key of one card count in a player's hand.
+     *
+     * @param playerId the player
+     * @param resourceOrdinal Resources.ordinal() of the card type
+     * @param count the number of cards
+     * @return the 64-bit key
+     */
+    public static long handKey(int playerId, int resourceOrdinal, int count) {
+        return key(HAND, playerId * RESOURCE_COUNT + resourceOrdinal, count);
+    }
+}
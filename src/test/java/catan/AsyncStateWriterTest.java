@@ -0,0 +1,105 @@
+package catan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests for AsyncStateWriter: files are on disk after flush(), turn
+ * snapshots keep only the latest state, and round snapshots are all kept.
+ */
+public class AsyncStateWriterTest {
+
+    @Test
+    void test_flush_writesEveryRoundSnapshot(@TempDir Path tempDir) throws IOException {
+        try (AsyncStateWriter writer = new AsyncStateWriter(StateWriterRegistry.standard(), 4)) {
+            for (int round = 1; round <= 10; round++) {
+                writer.submitRoundSnapshot(new GameSnapshot(round, new ArrayList<>()), tempDir);
+            }
+            writer.flush();
+
+            for (int round = 1; round <= 10; round++) {
+                Path file = tempDir.resolve(String.format("gamestate_round_%04d.json", round));
+                assertTrue(Files.exists(file), file + " should be written");
+                assertTrue(read(file).contains("\"round\": " + round));
+            }
+        }
+    }
+
+    @Test
+    void test_turnSnapshots_latestSubmissionWins(@TempDir Path tempDir) throws IOException {
+        List<Integer> written = new ArrayList<>();
+        StateWriterRegistry registry = new StateWriterRegistry();
+        // records the round field of every turn snapshot it is given
+        registry.addTurnWriter((snapshot, dir) -> written.add(snapshot.getRoundNumber()));
+
+        try (AsyncStateWriter writer = new AsyncStateWriter(registry)) {
+            for (int i = 0; i < 100; i++) {
+                writer.submitTurnSnapshot(new GameSnapshot(i, Collections.emptyList()), tempDir);
+            }
+            writer.flush();
+        }
+
+        assertFalse(written.isEmpty());
+        assertEquals(99, written.get(written.size() - 1).intValue());
+        for (int k = 1; k < written.size(); k++) {
+            assertTrue(written.get(k) > written.get(k - 1), "turn snapshots must stay in order");
+        }
+    }
+
+    @Test
+    void test_flush_createsMissingDirectoryAndMatchesSyncWriter(@TempDir Path tempDir) throws Exception {
+        Board board = new Board();
+        List<Player> players = Arrays.asList(new Player(1, Colour.RED), new Player(2, Colour.GREEN));
+        board.placeSettlement(2, 0);
+
+        Path dir = tempDir.resolve("nested").resolve("out");
+        try (AsyncStateWriter writer = new AsyncStateWriter(StateWriterRegistry.standard())) {
+            writer.submitTurnSnapshot(GameSnapshot.capture(1, board, players), dir);
+            writer.flush();
+        }
+
+        String json = read(dir.resolve("state.json"));
+        assertTrue(json.contains("\"node\": 0"), json);
+        assertTrue(json.contains("\"ORANGE\""), json);
+        assertFalse(json.contains("\"GREEN\""));
+    }
+
+    @Test
+    void test_flush_reportsWriteFailure(@TempDir Path tempDir) throws IOException {
+        // a regular file where the output directory should be
+        Path notADirectory = tempDir.resolve("blocked");
+        Files.write(notADirectory, new byte[0]);
+
+        try (AsyncStateWriter writer = new AsyncStateWriter(StateWriterRegistry.standard())) {
+            writer.submitRoundSnapshot(new GameSnapshot(1, Collections.emptyList()), notADirectory);
+            writer.submitTurnSnapshot(new GameSnapshot(1, Collections.emptyList()), tempDir);
+            assertThrows(IOException.class, writer::flush);
+
+            // the write after the failure still happened, and the failure is reported once
+            assertTrue(Files.exists(tempDir.resolve("state.json")));
+            writer.flush();
+        }
+    }
+
+    @Test
+    void test_submitAfterClose_throws(@TempDir Path tempDir) throws IOException {
+        AsyncStateWriter writer = new AsyncStateWriter(new StateWriterRegistry());
+        writer.close();
+
+        assertThrows(IllegalStateException.class,
+            () -> writer.submitTurnSnapshot(new GameSnapshot(1, Collections.emptyList()), tempDir));
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,64 @@
+package catan;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for headless batch simulation of AI-only games.
+ */
+public class BatchSimulatorTest {
+
+    /**
+     * Tests that every game in the batch is counted and that wins,
+     * no-winner games and the VP distribution add up.
+     *
+     * @throws Exception if a simulated game fails
+     */
+    @Test
+    void test_run_aggregatesEveryGame() throws Exception {
+        BatchSimulator simulator = new BatchSimulator(8, 30, 2, 42L);
+        BatchSimulator.BatchResult result = simulator.run();
+
+        assertEquals(8, result.getGamesPlayed());
+
+        int wins = 0;
+        for (int w : result.getWinsBySeat()) {
+            wins += w;
+        }
+        assertEquals(8, wins + result.getGamesWithoutWinner(),
+            "Each game either has one winner or none");
+
+        long scores = 0;
+        for (long count : result.getVictoryPointHistogram()) {
+            scores += count;
+        }
+        assertEquals(8L * 4, scores, "One VP entry per player per game");
+
+        assertTrue(result.getAverageRounds() > 0 && result.getAverageRounds() <= 30);
+        assertTrue(result.getGamesPerSecond() > 0);
+    }
+
+    /**
+     * Tests that a single headless game stops at the round limit and every
+     * player keeps at least the 2 VP from initial placement.
+     */
+    @Test
+    void test_playOneGame_respectsRoundLimit() {
+        BatchSimulator.GameResult game = BatchSimulator.playOneGame(7L, 5);
+
+        assertTrue(game.getRoundsPlayed() >= 1 && game.getRoundsPlayed() <= 5);
+        for (int vp : game.getVictoryPoints()) {
+            assertTrue(vp >= 2, "Initial placement gives every player 2 VP");
+        }
+    }
+
+    /**
+     * Tests that invalid batch parameters are rejected.
+     */
+    @Test
+    void test_constructor_rejectsNonPositiveArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchSimulator(0, 10, 1, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new BatchSimulator(1, 0, 1, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new BatchSimulator(1, 10, 0, 0L));
+    }
+}
@@ -157,4 +157,111 @@ public class BoardBuildingTest{
 		assertEquals(player1, targetEdge.getRoadOwnerId(), "road should still belong to player 1");
 	}
 	
-}
\ No newline at end of file
+	/**
+	 * TESTING FOR: constant time edge lookup
+	 * - verifies getEdge finds every edge in either endpoint order and rejects non-edges
+	 */
+	@Test
+	void edgeLookupIndex() {
+		Edge[] edges = board.getAllEdges();
+		for (int i = 0; i < edges.length; i++) {
+			Edge e = edges[i];
+			assertSame(e, board.getEdge(e.getIntersectionA(), e.getIntersectionB()));
+			assertSame(e, board.getEdge(e.getIntersectionB(), e.getIntersectionA()));
+			assertEquals(i, board.getEdgeIndex(e.getIntersectionA(), e.getIntersectionB()));
+		}
+
+		assertNull(board.getEdge(0, 53), "0 and 53 are not adjacent");
+		assertNull(board.getEdge(3, 3), "an intersection has no edge to itself");
+		assertNull(board.getEdge(-1, 0), "invalid ids have no edge");
+		assertEquals(-1, board.getEdgeIndex(0, 54));
+	}
+
+	/**
+	 * TESTING FOR: incident edge table
+	 * - every intersection has 2 or 3 edges and every edge is listed at both endpoints
+	 */
+	@Test
+	void incidentEdgesTable() {
+		int total = 0;
+		for (int id : board.getAllIntersectionIds()) {
+			Edge[] incident = board.getIncidentEdges(id);
+			assertTrue(incident.length == 2 || incident.length == 3, "intersection " + id);
+			for (Edge e : incident) {
+				assertTrue(e.touchesIntersection(id));
+			}
+			total += incident.length;
+		}
+		assertEquals(2 * board.getAllEdges().length, total);
+		assertEquals(0, board.getIncidentEdges(99).length);
+	}
+
+	/**
+	 * TESTING FOR: tile to corner table
+	 * - every tile has 6 corners and each corner lists that tile as adjacent
+	 */
+	@Test
+	void tileCornerTable() {
+		for (int tileId = 0; tileId < 19; tileId++) {
+			int[] corners = board.getTileCornerIds(tileId);
+			assertEquals(6, corners.length);
+			assertEquals(6, board.getIntersectionsAdjacentToTile(tileId).size());
+			for (int corner : corners) {
+				boolean listed = false;
+				for (int t : board.getAdjacentTileIds(corner)) {
+					listed |= (t == tileId);
+				}
+				assertTrue(listed, "corner " + corner + " of tile " + tileId);
+			}
+		}
+		assertEquals(0, board.getTileCornerIds(19).length);
+	}
+
+	/**
+	 * TESTING FOR: dice number index
+	 * - the indexed tiles for each roll match a scan of every tile
+	 */
+	@Test
+	void diceNumberIndex() {
+		for (int roll = 2; roll <= 12; roll++) {
+			int expected = 0;
+			for (int tileId = 0; tileId < 19; tileId++) {
+				if (board.getTile(tileId).producesOnRoll(roll)) expected++;
+			}
+			assertEquals(expected, board.getTilesProducingOnRoll(roll).size(), "roll " + roll);
+			for (Tile t : board.getTilesWithDiceNumber(roll)) {
+				assertEquals(roll, t.getDiceNumberToken());
+			}
+		}
+	}
+
+	/**
+	 * TESTING FOR: primitive adjacency arrays
+	 * - adjacency is symmetric, forEach visits the same neighbours as the array
+	 *   getter, and the distance check agrees with a manual scan
+	 */
+	@Test
+	void primitiveAdjacency() {
+		board.placeSettlement(1, 0);
+		for (int id : board.getAllIntersectionIds()) {
+			int[] neighbours = board.getAdjacentIntersectionIds(id);
+			java.util.List<Integer> visited = new java.util.ArrayList<>();
+			board.forEachAdjacentIntersection(id, visited::add);
+			assertEquals(neighbours.length, visited.size());
+
+			boolean occupied = false;
+			for (int k = 0; k < neighbours.length; k++) {
+				assertEquals(neighbours[k], visited.get(k).intValue());
+				assertNotNull(board.getEdge(id, neighbours[k]), "neighbours share an edge");
+				occupied |= board.isIntersectionOccupied(neighbours[k]);
+			}
+			assertEquals(occupied, board.hasOccupiedAdjacentIntersection(id));
+
+			java.util.List<Integer> tiles = new java.util.ArrayList<>();
+			board.forEachAdjacentTile(id, tiles::add);
+			assertEquals(board.getAdjacentTileIds(id).length, tiles.size());
+		}
+		assertEquals(0, board.getAdjacentIntersectionIds(54).length);
+	}
+
+}
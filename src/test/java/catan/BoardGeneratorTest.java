@@ -0,0 +1,160 @@
+package catan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tests for HexShape and BoardGenerator: shape sizes and neighbour
+ * arithmetic, cached geometry shared by every board of a shape, seeded
+ * generation, the 6/8 rule, and games played on generated boards.
+ */
+public class BoardGeneratorTest {
+
+    @Test
+    void test_shapes_haveExpectedSizes() {
+        assertEquals(19, HexShape.STANDARD.getTileCount());
+        assertEquals(HexShape.STANDARD, HexShape.regular(2));
+        assertEquals(30, HexShape.FIVE_SIX_PLAYER.getTileCount());
+        assertEquals(37, HexShape.regular(3).getTileCount());
+        assertEquals(1, HexShape.regular(0).getTileCount());
+        assertThrows(IllegalArgumentException.class, () -> new HexShape(3, 4));
+        assertThrows(IllegalArgumentException.class, () -> HexShape.regular(-1));
+    }
+
+    @Test
+    void test_geometry_hasExpectedCornersAndEdges() {
+        BoardTopology standard = BoardGenerator.geometry(HexShape.STANDARD);
+        assertEquals(54, standard.getIntersectionCount());
+        assertEquals(72, standard.getEdgeCount());
+
+        BoardTopology fiveSix = BoardGenerator.geometry(HexShape.FIVE_SIX_PLAYER);
+        assertEquals(80, fiveSix.getIntersectionCount());
+        assertEquals(109, fiveSix.getEdgeCount());
+
+        BoardTopology radiusThree = BoardGenerator.geometry(HexShape.regular(3));
+        assertEquals(96, radiusThree.getIntersectionCount());
+        assertEquals(132, radiusThree.getEdgeCount());
+    }
+
+    @Test
+    void test_neighbour_isArithmetic() {
+        HexShape shape = HexShape.STANDARD;
+        int center = shape.tileIdAt(0, 0);
+        assertEquals(9, center);
+
+        for (int direction = 0; direction < HexShape.DIRECTIONS; direction++) {
+            int neighbour = shape.neighbour(center, direction);
+            assertTrue(neighbour >= 0);
+            // stepping back the opposite way returns to the center
+            assertEquals(center, shape.neighbour(neighbour, (direction + 3) % HexShape.DIRECTIONS));
+        }
+        // the top left corner tile has neighbours only to the E, SW and SE
+        assertEquals(1, shape.neighbour(0, 0));
+        assertEquals(-1, shape.neighbour(0, 1));
+        assertEquals(-1, shape.neighbour(0, 2));
+        assertEquals(-1, shape.neighbour(0, 3));
+        assertEquals(3, shape.neighbour(0, 4));
+        assertEquals(4, shape.neighbour(0, 5));
+    }
+
+    @Test
+    void test_geometry_isCachedAndShared() {
+        HexShape shape = HexShape.regular(3);
+        assertSame(BoardGenerator.geometry(shape), BoardGenerator.geometry(HexShape.regular(3)));
+
+        Board a = new Board(BoardGenerator.generate(shape, 1L));
+        Board b = new Board(BoardGenerator.generate(shape, 2L));
+        assertEquals(96, a.getIntersectionCount());
+        assertEquals(a.getAllEdges().length, b.getAllEdges().length);
+        assertEquals(BoardGenerator.geometry(shape).getEdgeCount(), a.getTopology().getEdgeCount());
+    }
+
+    @Test
+    void test_generate_sameSeedGivesSameBoard() {
+        BoardTopology a = BoardGenerator.generate(HexShape.FIVE_SIX_PLAYER, 42L);
+        BoardTopology b = BoardGenerator.generate(HexShape.FIVE_SIX_PLAYER, 42L);
+        BoardTopology c = BoardGenerator.generate(HexShape.FIVE_SIX_PLAYER, 43L);
+
+        boolean differs = false;
+        for (int tileId = 0; tileId < a.getTileCount(); tileId++) {
+            assertEquals(a.getResource(tileId), b.getResource(tileId));
+            assertEquals(a.getDiceNumber(tileId), b.getDiceNumber(tileId));
+            differs |= a.getResource(tileId) != c.getResource(tileId)
+                || a.getDiceNumber(tileId) != c.getDiceNumber(tileId);
+        }
+        assertTrue(differs);
+    }
+
+    @Test
+    void test_generate_keepsStandardCounts() {
+        Map<Resources, Integer> resources = new EnumMap<>(Resources.class);
+        int[] tokens = new int[13];
+        BoardTopology board = BoardGenerator.generate(HexShape.STANDARD, 7L);
+        for (int tileId = 0; tileId < board.getTileCount(); tileId++) {
+            resources.merge(board.getResource(tileId), 1, Integer::sum);
+            tokens[board.getDiceNumber(tileId)]++;
+            assertEquals(board.getResource(tileId) == Resources.DESERT, board.getDiceNumber(tileId) == 0);
+        }
+
+        assertEquals(1, resources.get(Resources.DESERT));
+        assertEquals(4, resources.get(Resources.WOOD));
+        assertEquals(4, resources.get(Resources.SHEEP));
+        assertEquals(4, resources.get(Resources.WHEAT));
+        assertEquals(3, resources.get(Resources.BRICK));
+        assertEquals(3, resources.get(Resources.ORE));
+        assertArrayEquals(new int[] {1, 0, 1, 2, 2, 2, 2, 0, 2, 2, 2, 2, 1}, tokens);
+        assertEquals(board.getRobberStartTileId(), indexOfDesert(board));
+    }
+
+    @Test
+    void test_generate_keepsSixesAndEightsApart() {
+        for (HexShape shape : new HexShape[] {HexShape.STANDARD, HexShape.FIVE_SIX_PLAYER, HexShape.regular(4)}) {
+            for (long seed = 0; seed < 50; seed++) {
+                BoardTopology board = BoardGenerator.generate(shape, seed);
+                for (int tileId = 0; tileId < shape.getTileCount(); tileId++) {
+                    if (!isRed(board.getDiceNumber(tileId))) continue;
+                    for (int direction = 0; direction < HexShape.DIRECTIONS; direction++) {
+                        int neighbour = shape.neighbour(tileId, direction);
+                        assertFalse(neighbour >= 0 && isRed(board.getDiceNumber(neighbour)),
+                            shape + " seed " + seed + " tile " + tileId);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void test_game_playsOnGeneratedBoard() {
+        BatchSimulator.GameResult result =
+            BatchSimulator.playOneGame(11L, 40, TurnProfiler.disabled(), HexShape.FIVE_SIX_PLAYER);
+
+        assertTrue(result.getRoundsPlayed() > 0);
+    }
+
+    @Test
+    void test_replay_rejectsGeneratedBoard(@TempDir Path tempDir) throws IOException {
+        try (ReplayWriter writer = new ReplayWriter(tempDir.resolve("generated.rpl"))) {
+            Game game = TestGames.newAiGame(10, 1L);
+            game.setReplayWriter(writer);
+            game.setBoardTopology(BoardGenerator.generate(HexShape.FIVE_SIX_PLAYER, 1L));
+
+            assertThrows(IllegalArgumentException.class, game::initializeAiOnlyGame);
+        }
+    }
+
+    private static int indexOfDesert(BoardTopology board) {
+        for (int tileId = 0; tileId < board.getTileCount(); tileId++) {
+            if (board.getResource(tileId) == Resources.DESERT) return tileId;
+        }
+        return -1;
+    }
+
+    private static boolean isRed(int number) {
+        return number == 6 || number == 8;
+    }
+}
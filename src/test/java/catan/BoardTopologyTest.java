@@ -0,0 +1,102 @@
+package catan;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests for BoardTopology and the boards built on it: the standard layout
+ * is built once and shared, boards and their copies keep only their own
+ * pieces, and reset() returns a board to its starting position.
+ */
+public class BoardTopologyTest {
+
+    @Test
+    void test_standard_isSharedByEveryBoard() {
+        BoardTopology standard = BoardTopology.standard();
+        Board a = new Board();
+        Board b = new Board();
+
+        assertSame(standard, a.getTopology());
+        assertSame(standard, b.getTopology());
+        assertSame(standard, new Board(a).getTopology());
+        assertNotSame(a.getTile(0), b.getTile(0));
+        assertNotSame(a.getAllEdges()[0], b.getAllEdges()[0]);
+    }
+
+    @Test
+    void test_standard_hasTheFixedLayout() {
+        BoardTopology standard = BoardTopology.standard();
+
+        assertEquals(19, standard.getTileCount());
+        assertEquals(54, standard.getIntersectionCount());
+        assertEquals(72, standard.getEdgeCount());
+        assertEquals(16, standard.getRobberStartTileId());
+        assertEquals(Resources.DESERT, standard.getResource(16));
+        assertEquals(0, standard.getDiceNumber(16));
+        assertEquals(10, standard.getDiceNumber(0));
+    }
+
+    @Test
+    void test_newBoard_matchesTwoStepInitialization() {
+        Board oneStep = new Board();
+        Board twoStep = new Board();
+        twoStep.initializeFixedMapLayout();
+        twoStep.initializeRobber();
+
+        assertEquals(twoStep.getZobristHash(), oneStep.getZobristHash());
+        assertEquals(oneStep.computeZobristHash(), oneStep.getZobristHash());
+        assertEquals(16, oneStep.getRobberTileId());
+    }
+
+    @Test
+    void test_reset_returnsToStartingPosition() {
+        Board board = new Board();
+        long emptyHash = board.getZobristHash();
+        List<Integer> removed = new ArrayList<>();
+        board.addListener(new BoardListener() {
+            @Override
+            public void buildingRemoved(int playerId, int intersectionId, Building building) {
+                removed.add(intersectionId);
+            }
+
+            @Override
+            public void roadRemoved(int playerId, int edgeIndex) {
+                removed.add(-1 - edgeIndex);
+            }
+        });
+
+        board.placeSettlement(1, 0);
+        board.placeSettlement(2, 10);
+        board.upgradeSettlementToCity(2, 10);
+        board.placeRoad(1, 0, 1);
+        board.moveRobber(3);
+
+        board.reset();
+
+        assertEquals(emptyHash, board.getZobristHash());
+        assertEquals(board.computeZobristHash(), board.getZobristHash());
+        assertEquals(GameState.capture(new Board(), Collections.emptyList(), 1),
+            GameState.capture(board, Collections.emptyList(), 1));
+        assertEquals(16, board.getRobberTileId());
+        assertTrue(board.getTile(3).producesOnRoll(3), "the robber left tile 3");
+        assertEquals(3, removed.size(), "one event per removed piece");
+    }
+
+    @Test
+    void test_copy_isIndependentOfOriginal() {
+        Board original = new Board();
+        original.placeSettlement(1, 5);
+        original.placeRoad(1, 5, 4);
+
+        Board copy = new Board(original);
+        copy.reset();
+
+        assertTrue(original.isIntersectionOccupied(5));
+        assertTrue(original.isEdgeOccupied(5, 4));
+        assertFalse(copy.isIntersectionOccupied(5));
+        assertEquals(original.getAdjacentIntersectionIds(5).length, copy.getAdjacentIntersectionIds(5).length);
+    }
+}
@@ -0,0 +1,171 @@
+package catan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for the typed event bus: what a game publishes, the game's own
+ * subscribers, that subscribing does not change the game, unsubscribing,
+ * the SPSC ring and asynchronous delivery.
+ */
+public class GameEventBusTest {
+
+    private static final long SEED = 31L;
+
+    @Test
+    void test_game_publishesEveryKind() {
+        Game game = TestGames.seededAiGame(60, SEED);
+        Map<GameEvent.Kind, Integer> counts = new EnumMap<>(GameEvent.Kind.class);
+        List<GameEvent> all = new ArrayList<>();
+        game.getEventBus().subscribeAll(e -> {
+            counts.merge(e.getKind(), 1, Integer::sum);
+            all.add(e);
+        });
+
+        game.runSimulationUntilTermination();
+
+        int rolls = counts.getOrDefault(GameEvent.Kind.DICE_ROLLED, 0);
+        assertTrue(rolls > 0);
+        assertEquals(rolls, counts.get(GameEvent.Kind.ACTION_EXECUTED), "one action per computer turn");
+        assertEquals(rolls, counts.get(GameEvent.Kind.TURN_ENDED));
+        assertEquals(game.getRoundNumber() - 1, counts.get(GameEvent.Kind.ROUND_ENDED));
+        assertEquals(counts.get(GameEvent.Kind.ROUND_ENDED), counts.get(GameEvent.Kind.ROUND_STARTED));
+        assertEquals(counts.get(GameEvent.Kind.ROBBER_MOVED) + counts.get(GameEvent.Kind.RESOURCES_DISTRIBUTED),
+            rolls, "every roll either moves the robber or produces");
+        assertTrue(counts.getOrDefault(GameEvent.Kind.CARD_STOLEN, 0) > 0);
+        assertEquals(1, counts.get(GameEvent.Kind.GAME_OVER));
+        assertEquals(GameEvent.Kind.GAME_OVER, all.get(all.size() - 1).getKind());
+    }
+
+    @Test
+    void test_resourcesDistributed_matchesHandGrowth() {
+        Game game = TestGames.seededAiGame(10, SEED);
+        List<GameEvent.ResourcesDistributed> events = new ArrayList<>();
+        game.getEventBus().subscribe(GameEvent.ResourcesDistributed.class, events::add);
+        Player p1 = game.getPlayers().get(0);
+
+        for (int roll : new int[] {2, 3, 4, 5, 6, 8, 9, 10, 11, 12}) {
+            int before = p1.getTotalCardsInHand();
+            game.distributeResourcesForRoll(roll);
+            GameEvent.ResourcesDistributed event = events.get(events.size() - 1);
+            assertEquals(roll, event.getRoll());
+            assertEquals(p1.getTotalCardsInHand() - before, event.getTotalGained(p1.getPlayerId()));
+        }
+    }
+
+    @Test
+    void test_subscribing_doesNotChangeTheGame() {
+        Game plain = TestGames.seededAiGame(60, SEED);
+        plain.runSimulationUntilTermination();
+
+        Game observed = TestGames.seededAiGame(60, SEED);
+        observed.getEventBus().subscribeAll(e -> { });
+        observed.runSimulationUntilTermination();
+
+        assertEquals(plain.captureState(), observed.captureState());
+    }
+
+    @Test
+    void test_gameSubscribers_followSinkHeadlessAndReplay(@TempDir Path tempDir) throws IOException {
+        Game game = new Game(10, SEED);
+        GameEventBus bus = game.getEventBus();
+        assertTrue(bus.hasSubscribers(GameEvent.Kind.ACTION_EXECUTED), "turn log");
+        assertTrue(bus.hasSubscribers(GameEvent.Kind.TURN_ENDED), "state writers");
+
+        game.setHeadless(true);
+        for (GameEvent.Kind kind : GameEvent.Kind.values()) {
+            assertFalse(bus.hasSubscribers(kind), "a headless game listens to nothing: " + kind);
+        }
+
+        try (ReplayWriter writer = new ReplayWriter(tempDir.resolve("game.rpl"))) {
+            game.setReplayWriter(writer);
+            assertTrue(bus.hasSubscribers(GameEvent.Kind.DICE_ROLLED));
+            game.setReplayWriter(null);
+            assertFalse(bus.hasSubscribers(GameEvent.Kind.DICE_ROLLED));
+        }
+
+        game.setEventSink(new RingBufferEventSink(16, GameEventSink.Level.INFO));
+        assertTrue(bus.hasSubscribers(GameEvent.Kind.CARD_STOLEN));
+        assertFalse(bus.hasSubscribers(GameEvent.Kind.ROUND_ENDED));
+    }
+
+    @Test
+    void test_unsubscribe_stopsDelivery() {
+        GameEventBus bus = new GameEventBus();
+        assertFalse(bus.hasSubscribers(GameEvent.Kind.ROUND_ENDED));
+        List<GameEvent> seen = new ArrayList<>();
+        GameEventListener listener = bus.subscribe(GameEvent.RoundEnded.class, seen::add);
+        assertTrue(bus.hasSubscribers(GameEvent.Kind.ROUND_ENDED));
+        assertFalse(bus.hasSubscribers(GameEvent.Kind.GAME_OVER));
+
+        bus.publish(new GameEvent.RoundEnded(1));
+        bus.unsubscribe(listener);
+        bus.publish(new GameEvent.RoundEnded(2));
+
+        assertEquals(1, seen.size());
+        assertFalse(bus.hasSubscribers(GameEvent.Kind.ROUND_ENDED));
+    }
+
+    @Test
+    void test_spscRing_isFifoAndBounded() {
+        SpscRing<Integer> ring = new SpscRing<>(3);
+        assertEquals(4, ring.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+        assertEquals(0, ring.poll());
+        assertTrue(ring.offer(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, ring.poll());
+        }
+        assertNull(ring.poll());
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    void test_asyncDispatcher_deliversInOrderOffThread() {
+        List<Integer> rounds = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        GameEventBus bus = new GameEventBus();
+        // a small ring makes the publisher wait for room
+        try (AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(e -> {
+                rounds.add(e.getRound());
+                threads.add(Thread.currentThread());
+            }, 8)) {
+            bus.subscribeAll(dispatcher);
+            for (int i = 0; i < 1000; i++) {
+                bus.publish(new GameEvent.RoundEnded(i));
+            }
+            dispatcher.flush();
+            assertEquals(1000, rounds.size());
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, rounds.get(i));
+        }
+        assertFalse(threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    void test_asyncDispatcher_closeStopsThreadWhenListenerFailed() throws InterruptedException {
+        Thread[] worker = new Thread[1];
+        AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(e -> {
+            worker[0] = Thread.currentThread();
+            throw new IllegalStateException("listener failed");
+        });
+        dispatcher.onEvent(new GameEvent.RoundEnded(1));
+
+        assertThrows(IllegalStateException.class, dispatcher::close);
+        worker[0].join(5000);
+        assertFalse(worker[0].isAlive(), "close() must stop the thread even after a failure");
+        assertThrows(IllegalStateException.class, () -> dispatcher.onEvent(new GameEvent.RoundEnded(2)));
+    }
+}
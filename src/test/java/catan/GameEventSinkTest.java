@@ -0,0 +1,98 @@
+package catan;
+
+import catan.GameEventSink.Level;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests for the event sinks: level gating without formatting, the console
+ * format, the ring buffer, the async file sink, and a headless game that
+ * still keeps a log.
+ */
+public class GameEventSinkTest {
+
+    @Test
+    void test_disabledLevel_neverBuildsMessage() {
+        RingBufferEventSink sink = new RingBufferEventSink(4, Level.WARN);
+
+        sink.log(Level.INFO, () -> fail("INFO message must not be built"));
+        sink.log(Level.WARN, () -> "kept");
+
+        assertEquals(List.of("kept"), sink.getMessages());
+        assertFalse(NoOpEventSink.INSTANCE.isEnabled(Level.ERROR));
+    }
+
+    @Test
+    void test_console_printsTurnActionFormat() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true);
+        GameEventSink sink = new ConsoleEventSink(Level.INFO, out);
+
+        GameLogger.printTurnAction(sink, 3, 2, "Passed");
+        sink.log(Level.DEBUG, "hidden");
+
+        assertEquals("3 / 2: Passed" + System.lineSeparator(), bytes.toString());
+    }
+
+    @Test
+    void test_ringBuffer_keepsNewestOldestFirst() {
+        RingBufferEventSink sink = new RingBufferEventSink(3);
+        for (int i = 1; i <= 5; i++) {
+            sink.log(i % 2 == 0 ? Level.DEBUG : Level.INFO, "m" + i);
+        }
+
+        assertEquals(List.of("m3", "m4", "m5"), sink.getMessages());
+        assertEquals(List.of("m4"), sink.getMessages(Level.DEBUG));
+        assertEquals(5, sink.getTotalCount());
+        sink.clear();
+        assertTrue(sink.getMessages().isEmpty());
+    }
+
+    @Test
+    void test_asyncFile_writesLevelAndMessage(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("game.log");
+        AsyncFileEventSink sink = new AsyncFileEventSink(file, Level.INFO, 2);
+        for (int i = 0; i < 10; i++) {
+            sink.log(Level.INFO, "line " + i);
+        }
+        sink.log(Level.DEBUG, "dropped");
+        sink.flush();
+        assertEquals(10, Files.readAllLines(file, StandardCharsets.UTF_8).size());
+
+        sink.log(Level.WARN, "last");
+        sink.close();
+        sink.log(Level.WARN, "after close");
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals("INFO line 0", lines.get(0));
+        assertEquals("WARN last", lines.get(lines.size() - 1));
+        assertEquals(11, lines.size());
+        assertNull(sink.getFailure());
+    }
+
+    @Test
+    void test_headlessGame_logsToReplacedSink() {
+        Game game = TestGames.newAiGame(5, 77L);
+        assertSame(NoOpEventSink.INSTANCE, game.getEventSink());
+        RingBufferEventSink sink = new RingBufferEventSink(10_000, Level.INFO);
+        game.setEventSink(sink);
+
+        game.initializeAiOnlyGame();
+        game.runSimulationUntilTermination();
+
+        List<String> messages = sink.getMessages();
+        assertEquals("=== START GAME ===", messages.get(0));
+        assertTrue(messages.contains("-----Round 1 ----"));
+        assertTrue(messages.stream().anyMatch(m -> m.startsWith("1 / 1: ")));
+        assertTrue(messages.stream().anyMatch(m -> m.startsWith("=== GAME OVER")));
+        assertTrue(sink.getMessages(Level.DEBUG).isEmpty());
+    }
+}
@@ -106,12 +106,13 @@ public class GameSimulationTest {
      */
     @Test
     void test_sevenRoll_triggersRobberLogic(@TempDir Path tempDir) throws Exception {
-        SevenRollGame g = new SevenRollGame();
-        g.initializeNewGame();
-        replaceWithAllAiPlayers(g);
-        setPrivateInt(g, "victoryPointsToWin", 999);
-        g.setStateOutputDir(tempDir);
-        assertDoesNotThrow(() -> g.playOneRound());
+        try (SevenRollGame g = new SevenRollGame()) {
+            g.initializeNewGame();
+            replaceWithAllAiPlayers(g);
+            setPrivateInt(g, "victoryPointsToWin", 999);
+            g.setStateOutputDir(tempDir);
+            assertDoesNotThrow(() -> g.playOneRound());
+        }
     }
 
     /**
@@ -123,21 +124,22 @@ public class GameSimulationTest {
      */
     @Test
     void test_sevenRoll_discardsCardsWhenOver7(@TempDir Path tempDir) throws Exception {
-        SevenRollGame g = new SevenRollGame();
-        g.initializeNewGame();
-        replaceWithAllAiPlayers(g);
-        setPrivateInt(g, "victoryPointsToWin", 999);
-        g.setStateOutputDir(tempDir);
+        try (SevenRollGame g = new SevenRollGame()) {
+            g.initializeNewGame();
+            replaceWithAllAiPlayers(g);
+            setPrivateInt(g, "victoryPointsToWin", 999);
+            g.setStateOutputDir(tempDir);
+
+            for (Player p : getPlayers(g)) {
+                p.addResource(Resources.WOOD, 10);
+            }
 
-        for (Player p : getPlayers(g)) {
-            p.addResource(Resources.WOOD, 10);
+            int totalBefore = totalCards(g);
+            g.playOneRound();
+            int totalAfter = totalCards(g);
+            assertTrue(totalAfter < totalBefore,
+                "Seven roll should cause players with >7 cards to discard");
         }
-
-        int totalBefore = totalCards(g);
-        g.playOneRound();
-        int totalAfter = totalCards(g);
-        assertTrue(totalAfter < totalBefore,
-            "Seven roll should cause players with >7 cards to discard");
     }
 
     /**
@@ -445,6 +447,7 @@ public class GameSimulationTest {
 
         Player aiPlayer = players.get(1);
         assertDoesNotThrow(() -> g.playOneTurn(aiPlayer));
+        g.close();
 
         assertTrue(goHandler.messages.size() > 0,
             "waitForGo should have sent at least one message to the HumanPlayer stub");
@@ -459,22 +462,23 @@ public class GameSimulationTest {
      */
     @Test
     void test_playOneTurn_mustBuild_filtersPassActions(@TempDir Path tempDir) throws Exception {
-        SixRollGame g = new SixRollGame();
-        g.initializeNewGame();
-        replaceWithAllAiPlayers(g);
-        setPrivateInt(g, "victoryPointsToWin", 999);
-        g.setStateOutputDir(tempDir);
+        try (SixRollGame g = new SixRollGame()) {
+            g.initializeNewGame();
+            replaceWithAllAiPlayers(g);
+            setPrivateInt(g, "victoryPointsToWin", 999);
+            g.setStateOutputDir(tempDir);
+
+            for (Player p : getPlayers(g)) {
+                p.addResource(Resources.WOOD,  5);
+                p.addResource(Resources.BRICK, 5);
+                p.addResource(Resources.WHEAT, 5);
+                p.addResource(Resources.SHEEP, 5);
+                p.addResource(Resources.ORE,   5);
+            }
 
-        for (Player p : getPlayers(g)) {
-            p.addResource(Resources.WOOD,  5);
-            p.addResource(Resources.BRICK, 5);
-            p.addResource(Resources.WHEAT, 5);
-            p.addResource(Resources.SHEEP, 5);
-            p.addResource(Resources.ORE,   5);
+            assertDoesNotThrow(() -> g.playOneRound(),
+                "playOneRound should handle mustBuild path without crashing");
         }
-
-        assertDoesNotThrow(() -> g.playOneRound(),
-            "playOneRound should handle mustBuild path without crashing");
     }
 
     /**
@@ -0,0 +1,192 @@
+package catan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests for the compact GameState encoding: capture, copy, restore and
+ * Zobrist hashing.
+ */
+public class GameStateTest {
+
+    private Board board;
+    private List<Player> players;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board();
+        players = Arrays.asList(
+            new Player(1, Colour.RED, new Random(1)),
+            new Player(2, Colour.BLUE, new Random(2)));
+
+        Player red = players.get(0);
+        board.placeSettlement(1, 0);
+        red.recordPlacedSettlement(0);
+        board.upgradeSettlementToCity(1, 0);
+        red.recordUpgradedCity(0);
+        red.addVictoryPoints(2);
+        board.placeRoad(1, 0, 1);
+        red.recordPlacedRoad(0, 1);
+        red.addResource(Resources.ORE, 3);
+
+        Player blue = players.get(1);
+        board.placeSettlement(2, 20);
+        blue.recordPlacedSettlement(20);
+        blue.addVictoryPoints(1);
+        blue.addResource(Resources.WOOD, 2);
+        board.moveRobber(4);
+    }
+
+    /**
+     * Tests that a captured position reads back the board and players.
+     */
+    @Test
+    void test_capture_readsBoardAndPlayers() {
+        GameState state = GameState.capture(board, players, 7);
+
+        assertEquals(GameState.CITY, state.getBuilding(0));
+        assertEquals(1, state.getBuildingOwner(0));
+        assertEquals(GameState.SETTLEMENT, state.getBuilding(20));
+        assertEquals(GameState.NO_OWNER, state.getBuildingOwner(5));
+        assertEquals(1, state.getRoadOwner(board.getEdgeIndex(0, 1)));
+        assertEquals(3, state.getResourceCount(0, Resources.ORE));
+        assertEquals(2, state.getResourceCount(1, Resources.WOOD));
+        assertEquals(2, state.getVictoryPoints(0));
+        assertEquals(4, state.getRobberTileId());
+        assertEquals(7, state.getRound());
+    }
+
+    /**
+     * Tests that copyInto produces an equal state with an equal hash, and
+     * that changing the copy leaves the original alone.
+     */
+    @Test
+    void test_copyInto_equalAndIndependent() {
+        GameState state = GameState.capture(board, players, 1);
+        GameState target = new GameState(board, new int[] {1, 2}, new Colour[] {Colour.RED, Colour.BLUE});
+        assertNotEquals(state, target);
+
+        state.copyInto(target);
+        assertEquals(state, target);
+        assertEquals(state.hashCode(), target.hashCode());
+
+        target.setResourceCount(1, Resources.BRICK, 1);
+        assertNotEquals(state, target);
+        assertEquals(0, state.getResourceCount(1, Resources.BRICK));
+    }
+
+    /**
+     * Tests that the incrementally updated hash matches the hash of the
+     * same position captured from scratch, and undoing a change restores it.
+     */
+    @Test
+    void test_zobristHash_incrementalMatchesCapture() {
+        GameState state = GameState.capture(board, players, 1);
+        long before = state.getZobristHash();
+
+        state.setBuilding(30, 2, GameState.SETTLEMENT);
+        state.setRoadOwner(board.getEdgeIndex(20, 21), 2);
+        state.setVictoryPoints(1, 2);
+        state.setRobberTileId(9);
+
+        board.placeSettlement(2, 30);
+        players.get(1).recordPlacedSettlement(30);
+        board.placeRoad(2, 20, 21);
+        players.get(1).recordPlacedRoad(20, 21);
+        players.get(1).addVictoryPoints(1);
+        board.moveRobber(9);
+
+        GameState fresh = GameState.capture(board, players, 1);
+        assertEquals(fresh.getZobristHash(), state.getZobristHash());
+        assertEquals(fresh, state);
+
+        state.setBuilding(30, GameState.NO_OWNER, GameState.NO_BUILDING);
+        state.setRoadOwner(board.getEdgeIndex(20, 21), GameState.NO_OWNER);
+        state.setVictoryPoints(1, 1);
+        state.setRobberTileId(4);
+        assertEquals(before, state.getZobristHash());
+    }
+
+    /**
+     * Tests that applying a saved state undoes later moves on the board,
+     * in the players and in the move generator listening to the board.
+     */
+    @Test
+    void test_applyTo_restoresBoardPlayersAndListeners() {
+        IncrementalMoveGenerator generator = new IncrementalMoveGenerator(board);
+        GameState saved = GameState.capture(board, players, 1);
+        int actionsBefore = generator.getValidActions(players.get(0)).size();
+
+        Player red = players.get(0);
+        board.placeRoad(1, 1, 2);
+        red.recordPlacedRoad(1, 2);
+        board.placeSettlement(1, 2);
+        red.recordPlacedSettlement(2);
+        board.downgradeCityToSettlement(0);
+        red.removeResources(Resources.ORE, 3);
+        board.moveRobber(0);
+
+        saved.applyTo(board, players);
+
+        assertEquals(saved, GameState.capture(board, players, 1));
+        assertEquals(Building.CITY, board.getIntersection(0).getBuilding());
+        assertFalse(board.isIntersectionOccupied(2));
+        assertFalse(board.isEdgeOccupied(1, 2));
+        assertEquals(1, red.getRoadCount());
+        assertFalse(red.ownsRoadConnectedTo(2, board), "road network follows the restored roads");
+        assertEquals(3, red.getTotalCardsInHand());
+        assertEquals(Building.CITY, red.getOwnedBuildings().get(0));
+        assertEquals(1, red.getOwnedBuildings().size());
+        assertEquals(actionsBefore, generator.getValidActions(red).size());
+        assertEquals(
+            new Rules().getValidActionsByLinearScan(red, board).size(),
+            generator.getValidActions(red).size());
+    }
+
+    /**
+     * Tests conversion to new board and player objects.
+     */
+    @Test
+    void test_toBoardAndPlayers_roundTrip() {
+        GameState state = GameState.capture(board, players, 3);
+
+        Board rebuilt = state.toBoard();
+        List<Player> rebuiltPlayers = state.toPlayers(new Random(0));
+
+        assertEquals(state, GameState.capture(rebuilt, rebuiltPlayers, 3));
+        assertEquals(Colour.BLUE, rebuiltPlayers.get(1).getColour());
+        assertTrue(rebuiltPlayers.get(0).ownsRoadConnectedTo(1, rebuilt));
+    }
+
+    /**
+     * Tests that a game can be captured, played on and restored.
+     */
+    @Test
+    void test_game_captureAndRestore() {
+        Game game = TestGames.seededAiGame(50, 3L);
+        GameState start = game.captureState();
+
+        game.playOneRound();
+        game.playOneRound();
+        assertNotEquals(start, game.captureState());
+
+        game.restoreState(start);
+        assertEquals(start, game.captureState());
+        assertEquals(1, game.getRoundNumber());
+    }
+
+    /**
+     * Tests that states with different seats cannot be copied into each other.
+     */
+    @Test
+    void test_copyInto_rejectsDifferentSeats() {
+        GameState state = GameState.capture(board, players, 1);
+        GameState other = new GameState(board, new int[] {2, 1}, new Colour[] {Colour.RED, Colour.BLUE});
+        assertThrows(IllegalArgumentException.class, () -> state.copyInto(other));
+    }
+}
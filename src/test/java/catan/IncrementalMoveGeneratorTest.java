@@ -0,0 +1,206 @@
+package catan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential tests for IncrementalMoveGenerator: after every placement and
+ * undo in random games, its actions must equal Rules.getValidActionsByLinearScan.
+ */
+public class IncrementalMoveGeneratorTest {
+
+    private static final int PLAYERS = 4;
+
+    private Board board;
+    private Rules rules;
+    private IncrementalMoveGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board();
+        rules = new Rules();
+        generator = new IncrementalMoveGenerator(board);
+    }
+
+    /**
+     * Tests that random build sequences, played the same way as Game plays
+     * them, keep the generator identical to the linear scan for every player.
+     */
+    @Test
+    void test_randomGames_matchLinearScan() {
+        for (long seed = 0; seed < 20; seed++) {
+            setUp();
+            Random random = new Random(seed);
+
+            for (int step = 0; step < 60; step++) {
+                int playerId = 1 + random.nextInt(PLAYERS);
+                List<Action> actions = rules.getValidActionsByLinearScan(mirror(playerId), board);
+                apply(playerId, actions.get(random.nextInt(actions.size())));
+                assertAllPlayersMatch("seed " + seed + " step " + step);
+            }
+        }
+    }
+
+    /**
+     * Tests that undoing random commands, including a player's last road,
+     * keeps the generator identical to the linear scan.
+     */
+    @Test
+    void test_randomUndo_matchesLinearScan() {
+        for (long seed = 0; seed < 20; seed++) {
+            setUp();
+            Random random = new Random(seed);
+            GameHistory history = new GameHistory();
+
+            for (int step = 0; step < 80; step++) {
+                if (history.canUndo() && random.nextInt(3) == 0) {
+                    history.undo();
+                } else {
+                    int playerId = 1 + random.nextInt(PLAYERS);
+                    Player player = new Player(playerId, Colour.values()[playerId - 1]);
+                    List<Action> actions = rules.getValidActionsByLinearScan(mirror(playerId), board);
+                    Command command = toCommand(player, actions.get(random.nextInt(actions.size())));
+                    if (command != null) {
+                        history.executeCommand(command);
+                    }
+                }
+                assertAllPlayersMatch("seed " + seed + " step " + step);
+            }
+        }
+    }
+
+    /**
+     * Tests that a generator created on a board that already has pieces
+     * picks them up.
+     */
+    @Test
+    void test_attachToPopulatedBoard() {
+        board.placeSettlement(1, 0);
+        board.placeRoad(1, 0, 1);
+        board.placeSettlement(2, 20);
+        board.upgradeSettlementToCity(2, 20);
+
+        generator = new IncrementalMoveGenerator(board);
+        assertAllPlayersMatch("populated board");
+    }
+
+    /**
+     * Tests that a player with nothing to build gets PASS only.
+     */
+    @Test
+    void test_noLegalBuild_returnsPass() {
+        for (int id : board.getAllIntersectionIds()) {
+            board.placeSettlement(1, id);
+        }
+        for (Edge e : board.getAllEdges()) {
+            board.placeRoad(1, e.getIntersectionA(), e.getIntersectionB());
+        }
+
+        List<Action> actions = generator.getValidActions(new Player(2, Colour.BLUE));
+        assertEquals(1, actions.size());
+        assertEquals(ActionType.PASS, actions.get(0).getType());
+        assertEquals(-1, generator.randomSettlementSpot(2, new Random(0)));
+        assertEquals(-1, generator.randomRoadSpot(2, new Random(0)));
+    }
+
+    /**
+     * Tests that the random picks used by Rollout reach every legal spot
+     * and nothing else.
+     */
+    @Test
+    void test_randomSpots_coverValidActions() {
+        board.placeSettlement(1, 0);
+        board.placeRoad(1, 0, 1);
+        board.placeRoad(1, 1, 2);
+        board.placeSettlement(1, 20);
+        board.upgradeSettlementToCity(1, 20);
+
+        List<Action> picks = new ArrayList<>();
+        Random random = new Random(1);
+        Edge[] edges = board.getAllEdges();
+        for (int i = 0; i < 500; i++) {
+            int settlement = generator.randomSettlementSpot(1, random);
+            if (settlement >= 0) picks.add(Action.buildSettlement(settlement));
+            picks.add(Action.buildCity(generator.randomCitySpot(1, random)));
+            Edge e = edges[generator.randomRoadSpot(1, random)];
+            picks.add(Action.buildRoad(e.getIntersectionA(), e.getIntersectionB()));
+        }
+        Set<String> expected = new TreeSet<>(describe(generator.getValidActions(mirror(1))));
+        Set<String> picked = new TreeSet<>(describe(picks));
+        assertTrue(expected.stream().anyMatch(a -> a.startsWith("BUILD_SETTLEMENT")));
+        assertEquals(expected, picked);
+    }
+
+    /**
+     * Applies an action the way Game.executeAction does.
+     */
+    private void apply(int playerId, Action action) {
+        switch (action.getType()) {
+            case BUILD_ROAD:
+                board.placeRoad(playerId, action.getEdgeIntersectionA(), action.getEdgeIntersectionB());
+                break;
+            case BUILD_SETTLEMENT:
+                board.placeSettlement(playerId, action.getIntersectionId());
+                break;
+            case BUILD_CITY:
+                board.upgradeSettlementToCity(playerId, action.getIntersectionId());
+                break;
+            case PASS:
+                break;
+        }
+    }
+
+    private Command toCommand(Player player, Action action) {
+        switch (action.getType()) {
+            case BUILD_ROAD:
+                return new BuildRoadCommand(board, player,
+                    action.getEdgeIntersectionA(), action.getEdgeIntersectionB());
+            case BUILD_SETTLEMENT:
+                return new BuildSettlementCommand(board, player, action.getIntersectionId());
+            case BUILD_CITY:
+                return new BuildCityCommand(board, player, action.getIntersectionId());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns a player whose road record matches the roads on the board, so
+     * the linear scan sees the same network as the generator.
+     */
+    private Player mirror(int playerId) {
+        Player player = new Player(playerId, Colour.values()[playerId - 1]);
+        for (Edge e : board.getAllEdges()) {
+            if (e.getRoadOwnerId() == playerId) {
+                player.recordPlacedRoad(e.getIntersectionA(), e.getIntersectionB());
+            }
+        }
+        return player;
+    }
+
+    private void assertAllPlayersMatch(String context) {
+        for (int playerId = 1; playerId <= PLAYERS; playerId++) {
+            Player player = mirror(playerId);
+            assertEquals(describe(rules.getValidActionsByLinearScan(player, board)),
+                describe(generator.getValidActions(player)),
+                context + ", player " + playerId);
+        }
+    }
+
+    private static List<String> describe(List<Action> actions) {
+        List<String> out = new ArrayList<>();
+        for (Action a : actions) {
+            out.add(a.getType() + " " + a.getIntersectionId()
+                + " " + a.getEdgeIntersectionA() + " " + a.getEdgeIntersectionB());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,124 @@
+package catan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Tests for JsonLinesWriter: one line per snapshot in one file, rotation
+ * into numbered segments, gzip output, and a streamed game producing one
+ * log instead of a file per round.
+ */
+public class JsonLinesWriterTest {
+
+    @Test
+    void test_write_appendsOneLinePerRound(@TempDir Path tempDir) throws IOException {
+        JsonLinesWriter log = new JsonLinesWriter();
+        for (int round = 1; round <= 50; round++) {
+            log.write(new GameSnapshot(round, Collections.emptyList()), tempDir);
+        }
+        log.close();
+
+        List<String> lines = readLines(tempDir.resolve("gamelog_0001.jsonl"), false);
+        assertEquals(50, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"type\":\"round\",\"round\":1,"));
+        assertTrue(lines.get(49).startsWith("{\"type\":\"round\",\"round\":50,"));
+        assertEquals(1, countFiles(tempDir));
+    }
+
+    @Test
+    void test_rotation_startsNewSegmentAtSizeLimit(@TempDir Path tempDir) throws IOException {
+        GameSnapshot snapshot = new GameSnapshot(1, Collections.emptyList());
+        StringBuilder sb = new StringBuilder();
+        JsonLinesWriter.appendJson(sb, "round", snapshot);
+        int lineBytes = sb.length() + 1;
+
+        // room for three lines per segment
+        JsonLinesWriter log = new JsonLinesWriter("log", 3L * lineBytes, false);
+        for (int i = 0; i < 7; i++) {
+            log.write(snapshot, tempDir);
+        }
+        log.close();
+
+        assertEquals(3, readLines(log.segmentPath(tempDir, 1), false).size());
+        assertEquals(3, readLines(log.segmentPath(tempDir, 2), false).size());
+        assertEquals(1, readLines(log.segmentPath(tempDir, 3), false).size());
+        assertFalse(Files.exists(log.segmentPath(tempDir, 4)));
+    }
+
+    @Test
+    void test_gzip_isReadableAfterFlushAndAfterReopen(@TempDir Path tempDir) throws IOException {
+        JsonLinesWriter log = new JsonLinesWriter("log", 0, true);
+        log.write(new GameSnapshot(1, Collections.emptyList()), tempDir);
+        log.flush();
+        // the gzip trailer is not written yet, but the flushed line can be read
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(tempDir.resolve("log_0001.jsonl.gz")))) {
+            StringBuilder first = new StringBuilder();
+            for (int c = in.read(); c != '\n'; c = in.read()) {
+                first.append((char) c);
+            }
+            assertTrue(first.toString().contains("\"round\":1"));
+        }
+
+        // closing and writing again appends a second gzip member
+        log.close();
+        log.write(new GameSnapshot(2, Collections.emptyList()), tempDir);
+        log.close();
+
+        List<String> lines = readLines(tempDir.resolve("log_0001.jsonl.gz"), true);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).contains("\"round\":2"));
+    }
+
+    @Test
+    void test_streamingGame_writesOneLogWithRoundsAndTurns(@TempDir Path tempDir) throws IOException {
+        Game g = new Game(3);
+        g.setVictoryPointsToWin(999);
+        g.initializeAiOnlyGame();
+        g.setStateOutputDir(tempDir);
+        g.getStateWriters().setAll(StateWriterRegistry.streaming(new JsonLinesWriter(), true));
+
+        g.runSimulationUntilTermination();
+
+        List<String> lines = readLines(tempDir.resolve("gamelog_0001.jsonl"), false);
+        long rounds = lines.stream().filter(l -> l.startsWith("{\"type\":\"round\"")).count();
+        long turns = lines.stream().filter(l -> l.startsWith("{\"type\":\"turn\"")).count();
+        assertEquals(3, rounds);
+        assertEquals(12, turns, "four turns per round");
+        assertTrue(lines.get(lines.size() - 1).contains("\"round\":3"));
+
+        assertFalse(Files.exists(tempDir.resolve("gamestate_round_0001.json")));
+        assertTrue(Files.exists(tempDir.resolve("state.json")));
+    }
+
+    private static List<String> readLines(Path file, boolean gzip) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (InputStream raw = Files.newInputStream(file);
+             InputStream in = gzip ? new GZIPInputStream(raw) : raw;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private static long countFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 
 /**
@@ -151,31 +152,34 @@ public class JsonStatePerRoundTest {
      */
     @Test
     void test_stateJson_isUpdatedAfterEachTurn(@TempDir Path tempDir) throws Exception {
-        Game g = new Game(10);
-        g.initializeNewGame();
-        replaceWithAllAiPlayers(g);
-        setPrivateInt(g, "victoryPointsToWin", 999);
-        g.setStateOutputDir(tempDir);
+        try (Game g = new Game(10)) {
+            g.initializeNewGame();
+            replaceWithAllAiPlayers(g);
+            setPrivateInt(g, "victoryPointsToWin", 999);
+            g.setStateOutputDir(tempDir);
 
-        // Run first round
-        g.playOneRound();
+            // Run first round; files are written in the background
+            g.playOneRound();
+            g.flushStateOutput();
 
-        Path stateFile = tempDir.resolve("state.json");
-        assertTrue(Files.exists(stateFile),
-            "state.json must exist after playOneRound() completes");
+            Path stateFile = tempDir.resolve("state.json");
+            assertTrue(Files.exists(stateFile),
+                "state.json must exist after playOneRound() completes");
 
-        long mtimeAfterRound1 = Files.getLastModifiedTime(stateFile).toMillis();
+            long mtimeAfterRound1 = Files.getLastModifiedTime(stateFile).toMillis();
 
-        // Allow clock to advance before the next round
-        Thread.sleep(50);
+            // Allow clock to advance before the next round
+            Thread.sleep(50);
 
-        // Run second round (file must be updated again)
-        g.playOneRound();
+            // Run second round (file must be updated again)
+            g.playOneRound();
+            g.flushStateOutput();
 
-        long mtimeAfterRound2 = Files.getLastModifiedTime(stateFile).toMillis();
+            long mtimeAfterRound2 = Files.getLastModifiedTime(stateFile).toMillis();
 
-        assertTrue(mtimeAfterRound2 >= mtimeAfterRound1,
-            "state.json must be re-written during the second round of turns");
+            assertTrue(mtimeAfterRound2 >= mtimeAfterRound1,
+                "state.json must be re-written during the second round of turns");
+        }
     }
 
     // ── Test 4: state.json contains the initial settlements placed at setup ────
@@ -190,20 +194,23 @@ public class JsonStatePerRoundTest {
      */
     @Test
     void test_stateJson_containsInitialSettlements(@TempDir Path tempDir) throws Exception {
-        Game g = new Game(1);
-        g.initializeNewGame();
-        replaceWithAllAiPlayers(g);
-        setPrivateInt(g, "victoryPointsToWin", 999);
-        g.setStateOutputDir(tempDir);
-
-        // Play one round so state.json is written at least once
-        g.playOneRound();
-
-        Path stateFile = tempDir.resolve("state.json");
-        assertTrue(Files.exists(stateFile),
-            "state.json must exist after playOneRound()");
-
-        String json = new String(Files.readAllBytes(stateFile));
+        String json;
+        try (Game g = new Game(1)) {
+            g.initializeNewGame();
+            replaceWithAllAiPlayers(g);
+            setPrivateInt(g, "victoryPointsToWin", 999);
+            g.setStateOutputDir(tempDir);
+
+            // Play one round so state.json is written at least once
+            g.playOneRound();
+            g.flushStateOutput();
+
+            Path stateFile = tempDir.resolve("state.json");
+            assertTrue(Files.exists(stateFile),
+                "state.json must exist after playOneRound()");
+
+            json = new String(Files.readAllBytes(stateFile));
+        }
 
         // 4 players × 2 settlements = at least 8 node entries.
         int nodeCount = countOccurrences(json, "\"node\":");
@@ -217,6 +224,77 @@ public class JsonStatePerRoundTest {
             "Every building entry must have a 'type' field");
     }
     
+    /**
+     * Tests that Game.snapshot() copies the board: later moves do not change
+     * a snapshot already taken.
+     */
+    @Test
+    void test_snapshot_isUnaffectedByLaterTurns() {
+        Game g = TestGames.seededAiGame(10, 5L);
+
+        GameSnapshot before = g.snapshot();
+        int buildings = before.getBuildings().size();
+        int roads = before.getRoads().size();
+        assertEquals(4, before.getPlayers().size());
+        assertTrue(buildings >= 8, "initial placement puts two settlements per player");
+
+        for (int i = 0; i < 5; i++) {
+            g.playOneRound();
+        }
+
+        assertEquals(buildings, before.getBuildings().size());
+        assertEquals(roads, before.getRoads().size());
+        assertThrows(UnsupportedOperationException.class, () -> before.getRoads().clear());
+    }
+
+    /**
+     * Tests that writers added to the game's registry receive the round and
+     * turn snapshots, and that a cleared registry writes no files.
+     */
+    @Test
+    void test_registeredWriters_receiveSnapshots(@TempDir Path tempDir) {
+        Game g = TestGames.quietAiGame(2, 5L);
+        g.setVictoryPointsToWin(999);
+        g.initializeAiOnlyGame();
+        g.setStateOutputDir(tempDir);
+
+        List<Integer> rounds = new ArrayList<>();
+        int[] turns = new int[1];
+        g.getStateWriters().clear();
+        g.getStateWriters().addRoundWriter((snapshot, dir) -> rounds.add(snapshot.getRoundNumber()));
+        g.getStateWriters().addTurnWriter((snapshot, dir) -> turns[0]++);
+
+        g.runSimulationUntilTermination();
+
+        assertEquals(Arrays.asList(1, 2), rounds);
+        assertTrue(turns[0] >= 1, "turn writer should be called at least once");
+        assertFalse(Files.exists(tempDir.resolve("state.json")));
+        assertFalse(Files.exists(tempDir.resolve("gamestate_round_0001.json")));
+    }
+
+    /**
+     * Tests that closing a game driven round by round writes the pending
+     * state files and stops the background writer thread.
+     */
+    @Test
+    void test_close_flushesAndStopsStateWriter(@TempDir Path tempDir) throws Exception {
+        Game g = TestGames.quietAiGame(10, 5L);
+        g.setVictoryPointsToWin(999);
+        g.initializeAiOnlyGame();
+        g.setStateOutputDir(tempDir);
+
+        g.playOneRound();
+        g.close();
+
+        assertTrue(Files.exists(tempDir.resolve("gamestate_round_0001.json")));
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.getName().equals("state-writer")) {
+                t.join(5000);
+                assertFalse(t.isAlive(), "close() must stop the state writer thread");
+            }
+        }
+    }
+
     /**
      * Uses reflection to set a private int field on a Game instance.
      * Used to override victoryPointsToWin without modifying Game's public API.
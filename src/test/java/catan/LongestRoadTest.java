@@ -258,6 +258,39 @@ public class LongestRoadTest {
     }
     
     
+    @Test
+    void test_contextEvaluation_matchesPerActionEvaluation() {
+        setupRoadChain(player, 1, 8);
+        setupRoadChain(opponent, 20, 26);
+
+        List<Player> all = java.util.Arrays.asList(player, opponent);
+        EvaluationContext context = new EvaluationContext(player, board, all, new RoadNetworkAnalyzer());
+
+        List<Action> actions = java.util.Arrays.asList(
+            Action.buildRoad(8, 9), Action.buildRoad(40, 41),
+            Action.buildSettlement(9), Action.pass());
+        for (Action action : actions) {
+            assertEquals(constraint.evaluate(player, all, board, action),
+                constraint.evaluate(context, action), "Mismatch for " + action);
+        }
+    }
+
+    @Test
+    void test_decisionEngine_defendsLongestRoad_whenGivenPlayers() {
+        setupRoadChain(player, 1, 8);
+        setupRoadChain(opponent, 20, 26);
+
+        RuleBasedDecisionEngine engine = new RuleBasedDecisionEngine(new java.util.Random(7));
+        List<Action> actions = java.util.Arrays.asList(Action.buildRoad(40, 41), Action.buildRoad(8, 9));
+        List<Player> all = java.util.Arrays.asList(player, opponent);
+
+        for (int i = 0; i < 20; i++) {
+            Action chosen = engine.chooseBestAction(player, board, actions, all);
+            assertEquals(9, chosen.getEdgeIntersectionB(), "Should always pick the defending road");
+        }
+    }
+
+
     /**
      * Creates a connected chain of roads from start to end
      * 
@@ -0,0 +1,178 @@
+package catan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests for the Monte Carlo decision strategy and the board and player
+ * copies its rollouts play on.
+ */
+public class MonteCarloStrategyTest {
+
+    private Board board;
+    private List<Player> players;
+    private Player me;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board();
+        players = Arrays.asList(
+            new Player(1, Colour.RED, new Random(1)),
+            new Player(2, Colour.BLUE, new Random(2)),
+            new Player(3, Colour.GREEN, new Random(3)),
+            new Player(4, Colour.YELLOW, new Random(4)));
+
+        int[][] starts = {{0, 1}, {10, 11}, {20, 21}, {30, 31}};
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            board.placeSettlement(p.getPlayerId(), starts[i][0]);
+            p.recordPlacedSettlement(starts[i][0]);
+            p.addVictoryPoints(1);
+            board.placeRoad(p.getPlayerId(), starts[i][0], starts[i][1]);
+            p.recordPlacedRoad(starts[i][0], starts[i][1]);
+        }
+
+        me = players.get(0);
+        me.addResource(Resources.WOOD, 2);
+        me.addResource(Resources.BRICK, 2);
+        me.addResource(Resources.WHEAT, 2);
+        me.addResource(Resources.ORE, 3);
+    }
+
+    private List<Action> candidates() {
+        return Arrays.asList(Action.pass(), Action.buildCity(0), Action.buildRoad(1, 2));
+    }
+
+    /**
+     * Tests that with only a rollout budget the choice depends on the seed,
+     * not on the number of worker threads.
+     */
+    @Test
+    void test_chooseAction_sameSeedSameChoiceForAnyThreadCount() {
+        try (MonteCarloStrategy single = new MonteCarloStrategy(new Random(9), 1, 60, 0, 40);
+             MonteCarloStrategy pooled = new MonteCarloStrategy(new Random(9), 3, 60, 0, 40)) {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(single.chooseAction(me, board, candidates(), players).describeForLogger(),
+                    pooled.chooseAction(me, board, candidates(), players).describeForLogger());
+            }
+        }
+    }
+
+    /**
+     * Tests that a decision runs exactly the rollout budget, and at least
+     * one rollout per action when the budget is smaller.
+     */
+    @Test
+    void test_chooseAction_respectsRolloutBudget() {
+        try (MonteCarloStrategy strategy = new MonteCarloStrategy(new Random(5), 2, 30, 0, 20)) {
+            strategy.chooseAction(me, board, candidates(), players);
+            assertEquals(30, strategy.getLastRolloutCount());
+        }
+        try (MonteCarloStrategy strategy = new MonteCarloStrategy(new Random(5), 1, 1, 0, 20)) {
+            strategy.chooseAction(me, board, candidates(), players);
+            assertEquals(3, strategy.getLastRolloutCount());
+        }
+    }
+
+    /**
+     * Tests that rollouts never change the real board or players.
+     */
+    @Test
+    void test_chooseAction_leavesPositionUntouched() {
+        try (MonteCarloStrategy strategy = new MonteCarloStrategy(new Random(3), 2, 50, 0, 60)) {
+            strategy.chooseAction(me, board, candidates(), players);
+        }
+
+        assertEquals(9, me.getTotalCardsInHand());
+        assertEquals(1, me.getVictoryPoints());
+        assertEquals(Building.SETTLEMENT, board.getIntersection(0).getBuilding());
+        assertFalse(board.isEdgeOccupied(1, 2));
+        assertEquals(16, board.getRobberTileId());
+    }
+
+    /**
+     * Tests that board and player copies are independent of their originals.
+     */
+    @Test
+    void test_copies_areIndependent() {
+        board.moveRobber(3);
+        Board boardCopy = new Board(board);
+        Player playerCopy = new Player(me, new Random(0));
+
+        boardCopy.placeRoad(1, 1, 2);
+        boardCopy.upgradeSettlementToCity(1, 0);
+        boardCopy.moveRobber(5);
+        playerCopy.recordPlacedRoad(1, 2);
+        playerCopy.removeResources(Resources.ORE, 3);
+
+        assertFalse(board.isEdgeOccupied(1, 2));
+        assertEquals(Building.SETTLEMENT, board.getIntersection(0).getBuilding());
+        assertEquals(3, board.getRobberTileId());
+        assertEquals(1, me.getRoadCount());
+        assertFalse(me.ownsRoadConnectedTo(2, board));
+        assertEquals(3, me.getResourceCount(Resources.ORE));
+
+        assertEquals(2, playerCopy.getRoadCount());
+        assertTrue(playerCopy.ownsRoadConnectedTo(2, boardCopy));
+        assertEquals(Building.CITY, boardCopy.getIntersection(0).getBuilding());
+    }
+
+    /**
+     * Tests that a game with a Monte Carlo seat plays to termination.
+     */
+    @Test
+    void test_game_runsWithMonteCarloSeat() {
+        Game game = TestGames.newAiGame(5, 11L);
+        try (MonteCarloStrategy strategy = new MonteCarloStrategy(new Random(1), 1, 20, 0, 20)) {
+            game.setDecisionStrategy(2, strategy);
+            assertSame(strategy, game.getDecisionStrategy(2));
+            game.initializeAiOnlyGame();
+            game.runSimulationUntilTermination();
+        }
+        assertTrue(game.isTerminationReached());
+        assertTrue(game.getDecisionStrategy(1) instanceof RuleBasedDecisionEngine);
+    }
+
+    /**
+     * Tests that a seat strategy is told the game's winning score when it
+     * is seated and when the score changes.
+     */
+    @Test
+    void test_game_passesVictoryTargetToSeatStrategies() {
+        int[] target = new int[1];
+        DecisionStrategy recording = new DecisionStrategy() {
+            @Override
+            public Action chooseAction(Player player, Board board, List<Action> actions, List<Player> allPlayers) {
+                return actions.get(0);
+            }
+
+            @Override
+            public void setVictoryPointsToWin(int victoryPointsToWin) {
+                target[0] = victoryPointsToWin;
+            }
+        };
+
+        Game game = new Game(5, 11L);
+        game.setVictoryPointsToWin(7);
+        game.setDecisionStrategy(2, recording);
+        assertEquals(7, target[0]);
+        game.setVictoryPointsToWin(12);
+        assertEquals(12, target[0]);
+    }
+
+    /**
+     * Tests that invalid budgets are rejected.
+     */
+    @Test
+    void test_constructor_rejectsInvalidBudgets() {
+        Random r = new Random();
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloStrategy(r, 0, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloStrategy(r, 1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloStrategy(r, 1, 10, -1));
+    }
+}
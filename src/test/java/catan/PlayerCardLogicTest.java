@@ -92,4 +92,71 @@ public class PlayerCardLogicTest {
         if (total <= 7) return 0;
         return total / 2;
     }
-}
\ No newline at end of file
+
+    // Tests that the cached hand total follows every kind of hand change
+    @Test
+    void test5_cachedTotal_followsEveryChange() {
+        player.addResource(Resources.WHEAT, 3);
+        player.addResource(Resources.ORE, 4);
+        player.addResource(Resources.WOOD, 2);
+        assertEquals(9, player.getTotalCardsInHand());
+
+        player.payCost(new Rules().getCostVector(ActionType.BUILD_CITY));
+        assertEquals(4, player.getTotalCardsInHand());
+        assertEquals(1, player.getResourceCount(Resources.WHEAT));
+        assertEquals(1, player.getResourceCount(Resources.ORE));
+
+        // removal never goes below zero, and the total only drops by what was removed
+        player.removeResources(Resources.WOOD, 5);
+        assertEquals(2, player.getTotalCardsInHand());
+        assertEquals(0, player.getResourceCount(Resources.WOOD));
+    }
+
+    // Tests that discarding and stealing only draw cards the player actually holds
+    @Test
+    void test6_discardAndSteal_drawFromHeldCards() {
+        Player p = new Player(2, Colour.RED, new java.util.Random(11));
+        p.addResource(Resources.SHEEP, 6);
+        p.addResource(Resources.BRICK, 3);
+
+        assertEquals(4, p.discardHalfCards());
+        assertEquals(5, p.getTotalCardsInHand());
+        assertEquals(5, p.getResourceCount(Resources.SHEEP) + p.getResourceCount(Resources.BRICK));
+
+        for (int i = 0; i < 20; i++) {
+            Resources stolen = p.getRandomResource();
+            assertTrue(stolen == Resources.SHEEP || stolen == Resources.BRICK);
+        }
+        assertNull(player.getRandomResource(), "empty hand has nothing to steal");
+    }
+
+    // Tests that getResourceCards is a live, read-only view of the hand
+    @Test
+    void test7_resourceCardsView() {
+        Map<Resources, Integer> view = player.getResourceCards();
+        assertTrue(view.isEmpty());
+
+        player.addResource(Resources.ORE, 2);
+        assertEquals(Map.of(Resources.ORE, 2), view);
+        assertThrows(UnsupportedOperationException.class, () -> view.put(Resources.WOOD, 1));
+    }
+
+    // Tests that the shared cost table agrees across its map, vector and total forms
+    @Test
+    void test8_costTable_formsAgree() {
+        CostTable table = CostTable.standard();
+        assertSame(table, new Rules().getCostTable());
+
+        for (ActionType type : ActionType.values()) {
+            int total = 0;
+            for (Map.Entry<Resources, Integer> entry : table.getCost(type).entrySet()) {
+                assertEquals(entry.getValue().intValue(), table.getCostVector(type)[entry.getKey().ordinal()]);
+                total += entry.getValue();
+            }
+            assertEquals(total, table.getTotalCost(type));
+        }
+        assertEquals(5, table.getTotalCost(ActionType.BUILD_CITY));
+        assertThrows(UnsupportedOperationException.class,
+            () -> table.getCost(ActionType.BUILD_ROAD).put(Resources.ORE, 9));
+    }
+}
@@ -0,0 +1,76 @@
+package catan;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * Tests for the seedable RandomSource and the reproducibility of seeded games.
+ */
+public class RandomSourceTest {
+
+    /**
+     * Tests that two sources with the same seed hand out identical child streams.
+     */
+    @Test
+    void test_seeded_sameSeedSameStreams() {
+        RandomSource a = RandomSource.seeded(123L);
+        RandomSource b = RandomSource.seeded(123L);
+
+        for (int child = 0; child < 3; child++) {
+            Random ra = a.split();
+            Random rb = b.split();
+            for (int i = 0; i < 100; i++) {
+                assertEquals(ra.nextInt(1000), rb.nextInt(1000));
+            }
+        }
+    }
+
+    /**
+     * Tests that sibling child streams of one source are not identical.
+     */
+    @Test
+    void test_seeded_childrenDiffer() {
+        RandomSource source = RandomSource.seeded(5L);
+        Random first = source.split();
+        Random second = source.split();
+
+        boolean differs = false;
+        for (int i = 0; i < 20 && !differs; i++) {
+            differs = first.nextLong() != second.nextLong();
+        }
+        assertTrue(differs, "Child streams must be independent");
+    }
+
+    /**
+     * Tests the deterministic flag and recorded seed of each mode.
+     */
+    @Test
+    void test_modes() {
+        assertFalse(RandomSource.secure().isDeterministic());
+        assertTrue(RandomSource.seeded(9L).isDeterministic());
+        assertEquals(9L, RandomSource.seeded(9L).getSeed());
+        assertTrue(RandomSource.fast().isDeterministic());
+    }
+
+    /**
+     * Tests that the same seed replays a full AI-only game exactly,
+     * including every player's hand and every building on the board.
+     */
+    @Test
+    void test_seededGame_replaysExactly() {
+        Game first = TestGames.playedAiGame(60, 2024L);
+        Game second = TestGames.playedAiGame(60, 2024L);
+
+        assertEquals(first.getRoundNumber(), second.getRoundNumber());
+        for (int i = 0; i < first.getPlayers().size(); i++) {
+            Player p = first.getPlayers().get(i);
+            Player q = second.getPlayers().get(i);
+            assertEquals(p.getVictoryPoints(), q.getVictoryPoints());
+            assertEquals(p.getResourceCards(), q.getResourceCards());
+            assertEquals(p.getOwnedBuildings(), q.getOwnedBuildings());
+            assertEquals(p.getOwnedRoads(), q.getOwnedRoads());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package catan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests for the binary replay format: a recorded game replays to the same
+ * final state, seeking to a round matches a game stopped after the round
+ * before, and several games share one file.
+ */
+public class ReplayTest {
+
+    private static final long SEED = 2024L;
+
+    @Test
+    void test_replay_reproducesFinalState(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("game.rpl");
+        Game game;
+        try (ReplayWriter writer = new ReplayWriter(file)) {
+            game = playRecorded(writer, 200, SEED);
+        }
+
+        try (ReplayReader reader = new ReplayReader(file)) {
+            assertEquals(1, reader.getGameCount());
+            assertEquals(SEED, reader.getSeed(0));
+            assertEquals(game.getRoundNumber(), reader.getFinalRound(0));
+
+            Board board = new Board();
+            List<Player> players = reader.newPlayers(0);
+            reader.replay(0, board, players);
+
+            assertEquals(game.captureState(), GameState.capture(board, players, game.getRoundNumber()));
+            for (int seat = 0; seat < players.size(); seat++) {
+                assertEquals(game.getPlayers().get(seat).getColour(), players.get(seat).getColour());
+            }
+        }
+    }
+
+    @Test
+    void test_seekToRound_matchesShorterGame(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("game.rpl");
+        try (ReplayWriter writer = new ReplayWriter(file)) {
+            playRecorded(writer, 200, SEED);
+        }
+
+        // the same seed with a lower round limit plays the same opening rounds
+        Game shorter = TestGames.playedAiGame(12, SEED);
+        assertEquals(13, shorter.getRoundNumber(), "the short game must stop on its round limit");
+
+        try (ReplayReader reader = new ReplayReader(file)) {
+            assertTrue(reader.getRoundCount(0) > 13);
+            Board board = new Board();
+            List<Player> players = reader.newPlayers(0);
+            reader.seekToRound(0, 13, board, players);
+
+            assertEquals(shorter.captureState(), GameState.capture(board, players, 13));
+        }
+    }
+
+    @Test
+    void test_severalGamesInOneFile(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("games.rpl");
+        Game[] games = new Game[3];
+        try (ReplayWriter writer = new ReplayWriter(file)) {
+            for (int g = 0; g < games.length; g++) {
+                games[g] = playRecorded(writer, 50, SEED + g);
+            }
+        }
+
+        try (ReplayReader reader = new ReplayReader(file)) {
+            assertEquals(3, reader.getGameCount());
+            for (int g = 0; g < games.length; g++) {
+                assertEquals(SEED + g, reader.getSeed(g));
+                Board board = new Board();
+                List<Player> players = reader.newPlayers(g);
+                reader.replay(g, board, players);
+                assertEquals(games[g].captureState(),
+                    GameState.capture(board, players, games[g].getRoundNumber()));
+            }
+        }
+    }
+
+    @Test
+    void test_reader_rejectsOtherFiles(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("not-a-replay.json");
+        Files.write(file, "{\"round\": 1, \"players\": []}".getBytes());
+
+        assertThrows(IOException.class, () -> new ReplayReader(file));
+    }
+
+    @Test
+    void test_writer_rejectsHumanSeat(@TempDir Path tempDir) throws IOException {
+        try (ReplayWriter writer = new ReplayWriter(tempDir.resolve("human.rpl"))) {
+            Game game = TestGames.newAiGame(10, SEED);
+            game.setReplayWriter(writer);
+
+            assertThrows(IllegalArgumentException.class, game::initializeNewGame);
+        }
+    }
+
+    @Test
+    void test_writer_rejectsValuesWiderThanAField(@TempDir Path tempDir) throws IOException {
+        try (ReplayWriter writer = new ReplayWriter(tempDir.resolve("wide.rpl"))) {
+            Game game = TestGames.newAiGame(ReplayRecord.MAX_FIELD + 1, SEED);
+            game.setReplayWriter(writer);
+
+            assertThrows(IllegalArgumentException.class, game::initializeAiOnlyGame);
+            assertThrows(IllegalArgumentException.class, () -> writer.recordRound(ReplayRecord.MAX_FIELD + 1));
+            assertEquals(0, writer.getRecordCount());
+        }
+    }
+
+    @Test
+    void test_record_roundTripsEveryField() {
+        long r = ReplayRecord.encode(ReplayRecord.STEAL, 255, 65535, 1234, 42);
+
+        assertEquals(ReplayRecord.STEAL, ReplayRecord.typeOf(r));
+        assertEquals(255, ReplayRecord.playerOf(r));
+        assertEquals(65535, ReplayRecord.aOf(r));
+        assertEquals(1234, ReplayRecord.bOf(r));
+        assertEquals(42, ReplayRecord.cOf(r));
+    }
+
+    private static Game playRecorded(ReplayWriter writer, int maxRounds, long seed) {
+        Game game = TestGames.newAiGame(maxRounds, seed);
+        game.setReplayWriter(writer);
+        game.initializeAiOnlyGame();
+        game.runSimulationUntilTermination();
+        return game;
+    }
+}
@@ -135,10 +135,39 @@ public class RoadGapConstraintTest {
         
         assertEquals(150.0, value, "Should work with single-road segments");
     }
-    
-    
-    
-    
-    
-    
+
+    @Test
+    void test_constraintInactive_longChainAlreadyConnects() {
+
+        // 0-1-2-3-4-5 is one network even though 0 and 5 are five roads apart
+        for (int i = 0; i < 5; i++) {
+            board.placeRoad(player.getPlayerId(), i, i + 1);
+            player.recordPlacedRoad(i, i + 1);
+        }
+
+        Action action = Action.buildRoad(0, 5);
+
+        double value = constraint.evaluate(player, board, action);
+
+        assertEquals(-1.0, value, "Ends of one long chain are already connected");
+    }
+
+    @Test
+    void test_undoBridgeRoad_splitsNetworkAgain() {
+
+        board.placeRoad(player.getPlayerId(), 1, 2);
+        board.placeRoad(player.getPlayerId(), 3, 4);
+        player.recordPlacedRoad(1, 2);
+        player.recordPlacedRoad(3, 4);
+
+        Command bridge = new BuildRoadCommand(board, player, 2, 3);
+        bridge.execute();
+        assertEquals(-1.0, constraint.evaluate(player, board, Action.buildRoad(1, 4)),
+            "Bridge joined the segments");
+
+        bridge.undo();
+        assertEquals(150.0, constraint.evaluate(player, board, Action.buildRoad(2, 3)),
+            "Undo must split the network again");
+        assertFalse(player.getOwnedRoads().get(board.getEdgeIndex(2, 3)));
+    }
 }
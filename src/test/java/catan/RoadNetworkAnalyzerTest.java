@@ -107,4 +107,74 @@ public class RoadNetworkAnalyzerTest {
         Action action = Action.buildRoad(2, 10);
         assertFalse(analyzer.wouldConnectNearbySegments(player, board, action));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testOwnedRoads_areBoardEdgeIndexes() {
+        player.recordPlacedRoad(9, 3);
+        player.recordPlacedRoad(3, 9);
+        player.recordPlacedRoad(3, 4);
+
+        java.util.BitSet expected = new java.util.BitSet();
+        expected.set(board.getEdgeIndex(3, 9));
+        expected.set(board.getEdgeIndex(4, 3));
+        assertEquals(2, player.getRoadCount());
+        assertEquals(expected, player.getOwnedRoads());
+        assertTrue(player.ownsRoadConnectedTo(4, board));
+        assertFalse(player.ownsRoadConnectedTo(5, board));
+        assertFalse(player.ownsRoadConnectedTo(500, board));
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    void testOwnedRoads_offLayoutPairsStillRecorded() {
+        player.recordPlacedRoad(3, 4);
+        player.recordPlacedRoad(3, 0);
+        player.recordPlacedRoad(0, 3);
+
+        assertEquals(2, player.getRoadCount());
+        assertEquals(1, player.getOwnedRoads().cardinality());
+        assertEquals(java.util.Set.of("3-4", "0-3"), player.getOwnedRoadEdgeKeys());
+        assertTrue(player.ownsRoadConnectedTo(0, board));
+        assertEquals(2, analyzer.calculateLongestRoad(player, board));
+
+        player.unrecordPlacedRoad(0, 3);
+        assertEquals(java.util.Set.of("3-4"), player.getOwnedRoadEdgeKeys());
+        assertFalse(player.ownsRoadConnectedTo(0, board));
+    }
+
+    @Test
+    void testCalculateLongestRoad_branch_countsLongestTrailOnly() {
+        // Y shape: 0-1-2-3 with a spur 1-21; component has 4 roads, trail has 3
+        player.recordPlacedRoad(0, 1);
+        player.recordPlacedRoad(1, 2);
+        player.recordPlacedRoad(2, 3);
+        player.recordPlacedRoad(1, 21);
+        assertEquals(3, analyzer.calculateLongestRoad(player, board));
+    }
+
+    @Test
+    void testCalculateLongestRoad_loopWithTail_usesEveryRoad() {
+        // ring 0-1-2-3-4-5-0 plus tail 0-17: the trail walks the ring then the tail
+        for (int i = 0; i < 6; i++) {
+            player.recordPlacedRoad(i, (i + 1) % 6);
+        }
+        player.recordPlacedRoad(0, 17);
+        assertEquals(7, analyzer.calculateLongestRoad(player, board));
+    }
+
+    @Test
+    void testCalculateLongestRoad_opponentSettlementBreaksRoad() {
+        for (int i = 0; i < 5; i++) {
+            player.recordPlacedRoad(i, i + 1);
+        }
+        player.recordPlacedSettlement(0);
+        board.placeSettlement(player.getPlayerId(), 0);
+        assertEquals(5, analyzer.calculateLongestRoad(player, board), "own buildings do not break roads");
+
+        board.placeSettlement(2, 2);
+        assertEquals(3, analyzer.calculateLongestRoad(player, board), "cached result must be invalidated");
+
+        board.removeSettlement(2);
+        assertEquals(5, analyzer.calculateLongestRoad(player, board));
+    }
+}
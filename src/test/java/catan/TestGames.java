@@ -0,0 +1,70 @@
+package catan;
+
+/**
+ * Seeded AI-only games shared by the tests that need a real game to
+ * observe: every seat is a computer player and nothing is printed, so the
+ * same seed always plays the same game. Headless games also write no state
+ * files; quietAiGame() is for tests that check those files.
+ */
+final class TestGames {
+
+    private TestGames() {
+    }
+
+    /**
+     * Returns a headless game with the given seed that has not been set up
+     * yet, for tests that configure it (sink, replay writer, strategies)
+     * before initializeAiOnlyGame().
+     *
+     * @param maxRounds the round limit
+     * @param seed the game's seed
+     * @return the game, not yet initialized
+     */
+    static Game newAiGame(int maxRounds, long seed) {
+        Game game = new Game(maxRounds, seed);
+        game.setHeadless(true);
+        return game;
+    }
+
+    /**
+     * Returns a game with the given seed that logs nothing but, unlike a
+     * headless game, still writes its state files. Not set up yet.
+     *
+     * @param maxRounds the round limit
+     * @param seed the game's seed
+     * @return the game, not yet initialized
+     */
+    static Game quietAiGame(int maxRounds, long seed) {
+        Game game = new Game(maxRounds, seed);
+        game.setEventSink(NoOpEventSink.INSTANCE);
+        return game;
+    }
+
+    /**
+     * Returns a headless AI-only game with the given seed, set up and ready
+     * for its first round.
+     *
+     * @param maxRounds the round limit
+     * @param seed the game's seed
+     * @return the initialized game
+     */
+    static Game seededAiGame(int maxRounds, long seed) {
+        Game game = newAiGame(maxRounds, seed);
+        game.initializeAiOnlyGame();
+        return game;
+    }
+
+    /**
+     * Returns a headless AI-only game with the given seed, played until a
+     * termination condition is reached.
+     *
+     * @param maxRounds the round limit
+     * @param seed the game's seed
+     * @return the finished game
+     */
+    static Game playedAiGame(int maxRounds, long seed) {
+        Game game = seededAiGame(maxRounds, seed);
+        game.runSimulationUntilTermination();
+        return game;
+    }
+}
@@ -0,0 +1,119 @@
+package catan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import catan.TurnProfiler.Phase;
+
+/**
+ * Tests for turn phase timing: histogram accuracy, a disabled profiler
+ * recording nothing, every phase of a game being timed, the state writer
+ * phases, and the batch report and dump.
+ */
+public class TurnProfilerTest {
+
+    private static final long SEED = 555L;
+
+    @Test
+    void test_histogram_percentilesWithinBucketError() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long v = 1; v <= 100_000; v++) {
+            h.record(v);
+        }
+
+        assertEquals(100_000, h.getCount());
+        assertEquals(1, h.getMin());
+        assertEquals(100_000, h.getMax());
+        assertEquals(50_000.5, h.getMean(), 1e-9);
+        assertEquals(50_000, h.getValueAtPercentile(50.0), 50_000 / 64.0);
+        assertEquals(99_000, h.getValueAtPercentile(99.0), 99_000 / 64.0);
+        assertEquals(99_900, h.getValueAtPercentile(99.9), 99_900 / 64.0);
+        assertEquals(100_000, h.getValueAtPercentile(100.0));
+    }
+
+    @Test
+    void test_histogram_bucketsCoverEveryValueInOrder() {
+        long previous = -1;
+        for (long v : new long[] {0, 1, 63, 64, 65, 127, 128, 1000, 123_456_789L, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.indexOf(v);
+            long low = LatencyHistogram.lowestValueOf(index);
+            assertTrue(low <= v && low > previous - 1, "value " + v);
+            assertTrue(v - low <= Math.max(0, v / 64), "bucket too wide for " + v);
+            previous = low;
+        }
+    }
+
+    @Test
+    void test_disabledProfiler_recordsNothing() {
+        Game game = TestGames.seededAiGame(30, SEED);
+        assertFalse(game.getProfiler().isEnabled());
+        game.runSimulationUntilTermination();
+
+        for (Phase phase : Phase.values()) {
+            assertEquals(0, TurnProfiler.disabled().getHistogram(phase).getCount());
+        }
+        assertEquals(0, TurnProfiler.disabled().start());
+    }
+
+    @Test
+    void test_game_timesEveryTurnPhase() {
+        Game plain = TestGames.seededAiGame(30, SEED);
+        plain.runSimulationUntilTermination();
+
+        Game timed = TestGames.seededAiGame(30, SEED);
+        TurnProfiler profiler = new TurnProfiler();
+        timed.setProfiler(profiler);
+        timed.runSimulationUntilTermination();
+
+        long turns = profiler.getHistogram(Phase.TURN).getCount();
+        assertTrue(turns > 0);
+        assertEquals(turns, profiler.getHistogram(Phase.ROLL).getCount());
+        assertEquals(turns, profiler.getHistogram(Phase.DISTRIBUTE_RESOURCES).getCount()
+            + profiler.getHistogram(Phase.SEVEN_ROLL).getCount());
+        assertEquals(turns, profiler.getHistogram(Phase.VALID_ACTIONS).getCount());
+        assertEquals(turns, profiler.getHistogram(Phase.CHOOSE_ACTION).getCount());
+        assertEquals(turns, profiler.getHistogram(Phase.PROCESS_ACTION).getCount());
+        assertEquals(0, profiler.getHistogram(Phase.ROUND_STATE_WRITE).getCount(), "headless writes nothing");
+        assertEquals(plain.captureState(), timed.captureState(), "timing must not change the game");
+    }
+
+    @Test
+    void test_stateWriters_areTimedOnTheWriterThread(@TempDir Path tempDir) {
+        Game game = TestGames.quietAiGame(3, SEED);
+        game.setStateOutputDir(tempDir);
+        TurnProfiler profiler = new TurnProfiler();
+        game.setProfiler(profiler);
+        game.initializeAiOnlyGame();
+        game.runSimulationUntilTermination();
+
+        assertTrue(profiler.getHistogram(Phase.TURN_STATE_WRITE).getCount() > 0);
+        assertTrue(profiler.getHistogram(Phase.ROUND_STATE_WRITE).getCount() > 0);
+    }
+
+    @Test
+    void test_batch_combinesGamesIntoReportAndDump(@TempDir Path tempDir) throws Exception {
+        BatchSimulator simulator = new BatchSimulator(4, 40, 2, SEED);
+        TurnProfiler profiler = new TurnProfiler();
+        simulator.setProfiler(profiler);
+        simulator.run();
+
+        Game single = TestGames.seededAiGame(40, SEED);
+        TurnProfiler one = new TurnProfiler();
+        single.setProfiler(one);
+        single.runSimulationUntilTermination();
+        assertTrue(profiler.getHistogram(Phase.TURN).getCount() > one.getHistogram(Phase.TURN).getCount());
+
+        String report = profiler.toReport();
+        assertTrue(report.contains("CHOOSE_ACTION"));
+        assertTrue(report.contains("p99.9"));
+
+        Path dump = tempDir.resolve("profile.json");
+        profiler.writeJson(dump);
+        String json = new String(Files.readAllBytes(dump), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"TURN\": {\"count\": " + profiler.getHistogram(Phase.TURN).getCount()));
+        assertTrue(json.contains("\"p999\": "));
+    }
+}
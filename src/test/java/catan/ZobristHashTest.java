@@ -0,0 +1,246 @@
+package catan;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests for the incrementally maintained Zobrist hashes of Board and
+ * Player, and for the transposition table they key.
+ */
+public class ZobristHashTest {
+
+    /**
+     * Tests that the board hash follows placements, robber moves and undo
+     * through GameHistory, matching a from-scratch computation every step
+     * and returning to the start hash once everything is undone.
+     */
+    @Test
+    void test_boardHash_incrementalThroughExecuteAndUndo() {
+        Board board = new Board();
+        Player player = new Player(1, Colour.RED, new Random(1));
+        GameHistory history = new GameHistory();
+        long start = board.getZobristHash();
+        assertEquals(board.computeZobristHash(), start);
+
+        history.executeCommand(new BuildSettlementCommand(board, player, 0));
+        history.executeCommand(new BuildRoadCommand(board, player, 0, 1));
+        history.executeCommand(new BuildCityCommand(board, player, 0));
+        board.moveRobber(3);
+        assertEquals(board.computeZobristHash(), board.getZobristHash());
+        assertNotEquals(start, board.getZobristHash());
+
+        board.moveRobber(16);
+        while (history.undo()) {
+            assertEquals(board.computeZobristHash(), board.getZobristHash());
+        }
+        assertEquals(start, board.getZobristHash());
+    }
+
+    /**
+     * Tests that the same position reached in a different order has the same hash.
+     */
+    @Test
+    void test_boardHash_orderIndependent() {
+        Board a = new Board();
+        a.placeSettlement(1, 0);
+        a.placeRoad(2, 20, 21);
+
+        Board b = new Board();
+        b.placeRoad(2, 20, 21);
+        b.placeSettlement(1, 0);
+
+        assertEquals(a.getZobristHash(), b.getZobristHash());
+        assertEquals(a.getZobristHash(), new Board(a).getZobristHash());
+    }
+
+    /**
+     * Tests that the hand hash follows every hand change and matches a
+     * fresh player holding the same cards.
+     */
+    @Test
+    void test_playerHash_followsHand() {
+        Player player = new Player(2, Colour.BLUE, new Random(4));
+        long empty = player.getZobristHash();
+
+        player.addResource(Resources.WOOD, 5);
+        player.addResource(Resources.BRICK, 4);
+        player.payCost(CostTable.standard().getCostVector(ActionType.BUILD_ROAD));
+        player.discardHalfCards();
+        player.removeResources(Resources.ORE, 1);
+
+        Player same = new Player(2, Colour.BLUE, new Random(0));
+        for (Resources r : Resources.values()) {
+            same.addResource(r, player.getResourceCount(r));
+        }
+        assertEquals(same.getZobristHash(), player.getZobristHash());
+
+        for (Resources r : Resources.values()) {
+            player.removeResources(r, player.getResourceCount(r));
+        }
+        assertEquals(empty, player.getZobristHash());
+    }
+
+    /**
+     * Tests that a captured GameState hashes to the board hash combined with
+     * the players' hand hashes and the victory point and round keys.
+     */
+    @Test
+    void test_gameStateHash_composesBoardAndPlayerHashes() {
+        Game game = TestGames.seededAiGame(20, 8L);
+        game.playOneRound();
+        GameState state = game.captureState();
+
+        Board board = state.toBoard();
+        long expected = board.getZobristHash()
+            ^ Zobrist.key(Zobrist.ROUND, 0, state.getRound());
+        for (Player p : game.getPlayers()) {
+            expected ^= p.getZobristHash()
+                ^ Zobrist.key(Zobrist.VICTORY_POINTS, p.getPlayerId(), p.getVictoryPoints());
+        }
+        assertEquals(expected, state.getZobristHash());
+    }
+
+    /**
+     * Tests store and probe, and that an update of the same position replaces it.
+     */
+    @Test
+    void test_transpositionTable_storeAndProbe() {
+        TranspositionTable table = new TranspositionTable(1000);
+        assertEquals(1024, table.capacity());
+        assertEquals(TranspositionTable.MISS, table.probe(42L));
+
+        table.store(42L, -1500, 10);
+        long entry = table.probe(42L);
+        assertEquals(-1500, TranspositionTable.valueOf(entry));
+        assertEquals(10, TranspositionTable.weightOf(entry));
+
+        table.store(42L, 700, 3);
+        assertEquals(700, TranspositionTable.valueOf(table.probe(42L)));
+
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(42L));
+    }
+
+    /**
+     * Tests the replacement policy: a full bucket keeps its heavier entries
+     * in the current generation but gives way after newGeneration().
+     */
+    @Test
+    void test_transpositionTable_replacementPolicy() {
+        TranspositionTable table = new TranspositionTable(2);
+        // with a single bucket every hash collides
+        table.store(1L, 1, 50);
+        table.store(2L, 2, 40);
+        table.store(3L, 3, 10);
+
+        assertNotEquals(TranspositionTable.MISS, table.probe(1L));
+        assertNotEquals(TranspositionTable.MISS, table.probe(2L));
+        assertEquals(TranspositionTable.MISS, table.probe(3L), "Lighter entry is dropped");
+
+        table.store(4L, 4, 45);
+        assertEquals(TranspositionTable.MISS, table.probe(2L), "Lightest entry is replaced");
+        assertNotEquals(TranspositionTable.MISS, table.probe(4L));
+
+        table.newGeneration();
+        table.store(5L, 5, 1);
+        assertNotEquals(TranspositionTable.MISS, table.probe(5L), "Older generation gives way");
+    }
+
+    /**
+     * Tests that concurrent writers never make a probe return another
+     * position's value.
+     */
+    @Test
+    void test_transpositionTable_concurrentWritersNeverCorrupt() throws Exception {
+        TranspositionTable table = new TranspositionTable(64);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    long hash = Zobrist.key(9, (i + offset) % 500, 0);
+                    table.store(hash, (i + offset) % 500, 1 + (i % 7));
+                }
+            }));
+        }
+        for (Thread w : writers) w.start();
+        for (int i = 0; i < 500; i++) {
+            long entry = table.probe(Zobrist.key(9, i, 0));
+            if (entry != TranspositionTable.MISS) {
+                assertEquals(i, TranspositionTable.valueOf(entry));
+            }
+        }
+        for (Thread w : writers) w.join();
+
+        for (int i = 0; i < 500; i++) {
+            long entry = table.probe(Zobrist.key(9, i, 0));
+            if (entry != TranspositionTable.MISS) {
+                assertEquals(i, TranspositionTable.valueOf(entry));
+            }
+        }
+    }
+
+    /**
+     * Tests that a Monte Carlo strategy with a table reuses cached results
+     * and makes the same choice without rolling out again.
+     */
+    @Test
+    void test_monteCarlo_reusesTranspositionTable() {
+        Board board = new Board();
+        List<Player> players = Arrays.asList(
+            new Player(1, Colour.RED, new Random(1)), new Player(2, Colour.BLUE, new Random(2)));
+        board.placeSettlement(1, 0);
+        players.get(0).recordPlacedSettlement(0);
+        players.get(0).addVictoryPoints(1);
+        players.get(0).addResource(Resources.WHEAT, 2);
+        players.get(0).addResource(Resources.ORE, 3);
+        List<Action> actions = Arrays.asList(Action.pass(), Action.buildCity(0));
+
+        TranspositionTable table = new TranspositionTable(256);
+        try (MonteCarloStrategy strategy = new MonteCarloStrategy(new Random(3), 1, 40, 0, 30)) {
+            strategy.setTranspositionTable(table);
+            Action first = strategy.chooseAction(players.get(0), board, actions, players);
+            assertEquals(40, strategy.getLastRolloutCount());
+
+            Action second = strategy.chooseAction(players.get(0), board, actions, players);
+            assertEquals(0, strategy.getLastRolloutCount());
+            assertEquals(first.describeForLogger(), second.describeForLogger());
+        }
+    }
+
+    /**
+     * Tests that each decision starts a new table generation, so heavy
+     * entries left by earlier decisions give way to the current ones.
+     */
+    @Test
+    void test_monteCarlo_replacesStaleHeavyEntries() {
+        Board board = new Board();
+        List<Player> players = Arrays.asList(
+            new Player(1, Colour.RED, new Random(1)), new Player(2, Colour.BLUE, new Random(2)));
+        board.placeSettlement(1, 0);
+        players.get(0).recordPlacedSettlement(0);
+        players.get(0).addResource(Resources.WHEAT, 2);
+        players.get(0).addResource(Resources.ORE, 3);
+        List<Action> actions = Arrays.asList(Action.pass(), Action.buildCity(0));
+
+        // a single bucket, filled by positions an earlier decision cared about
+        TranspositionTable table = new TranspositionTable(2);
+        table.store(1L, 1, 60000);
+        table.store(2L, 2, 60000);
+
+        try (MonteCarloStrategy strategy = new MonteCarloStrategy(new Random(3), 1, 40, 0, 30)) {
+            strategy.setTranspositionTable(table);
+            strategy.chooseAction(players.get(0), board, actions, players);
+            assertEquals(TranspositionTable.MISS, table.probe(1L), "Stale heavy entry is replaced");
+            assertEquals(TranspositionTable.MISS, table.probe(2L), "Stale heavy entry is replaced");
+
+            strategy.chooseAction(players.get(0), board, actions, players);
+            assertEquals(0, strategy.getLastRolloutCount());
+        }
+    }
+}